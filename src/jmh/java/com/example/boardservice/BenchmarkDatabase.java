@@ -0,0 +1,52 @@
+package com.example.boardservice;
+
+import com.example.boardservice.domain.UserAccount;
+import com.example.boardservice.id.SnowflakeIdentifierGenerator;
+import com.example.boardservice.repository.UserAccountRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+
+import java.util.Optional;
+
+// the JPA side of the application (entities, repositories and their Querydsl fragments, snowflake ids) on the
+// in-memory H2 database of the testdb profile, for benchmarks comparing queries
+// no component scan and no web layer: services, indexes and listeners are created by the benchmarks themselves
+// the schema starts empty (no data.sql), every benchmark fills in its own corpus in @Setup
+// H2 is not MySQL, so the numbers compare query shapes (scan vs. index, join vs. bitmap), not production latency
+// read: https://docs.spring.io/spring-boot/docs/current/reference/html/features.html#features.spring-application.fluent-builder-api
+@EnableJpaAuditing
+@EnableAutoConfiguration
+@Configuration(proxyBeanMethods = false)
+public class BenchmarkDatabase {
+
+  public static final String USER_ID = "uno";
+
+  // command line arguments win over application.yaml, so they override its logging and data.sql settings
+  public static ConfigurableApplicationContext start() {
+    ConfigurableApplicationContext context = new SpringApplicationBuilder(BenchmarkDatabase.class)
+        .web(WebApplicationType.NONE)
+        .profiles("testdb")
+        .run(
+            "--spring.sql.init.mode=never",
+            "--spring.jpa.show-sql=false",
+            "--" + SnowflakeIdentifierGenerator.NODE_ID_SETTING + "=0",
+            "--logging.level.com.example.boardservice=info",
+            "--logging.level.org.springframework.web.servlet=info",
+            "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=info"
+        );
+    context.getBean(UserAccountRepository.class).save(UserAccount.of(USER_ID, "pw", null, null, null));
+
+    return context;
+  }
+
+  @Bean
+  public AuditorAware<String> auditorAware() {
+    return () -> Optional.of(USER_ID);
+  }
+}
@@ -0,0 +1,106 @@
+package com.example.boardservice.dto.response;
+
+import com.example.boardservice.dto.ArticleCommentDto;
+import com.example.boardservice.dto.UserAccountDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// CommentTreeAssembler vs. the organizeChildComments ArticleWithCommentsResponse used before it, copied below
+// both get the same rows, oldest first, with one in five comments a root and the rest replies to earlier roots
+// (the old version only nests two levels deep)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CommentTreeAssemblerBenchmark {
+
+  @Param({"10", "1000", "100000"})
+  private int comments;
+
+  private List<ArticleCommentDto> rows;
+
+  @Setup
+  public void setUp() {
+    rows = createRows(comments);
+    if (CommentTreeAssembler.assemble(rows).size() != organizeWithTreeSet(rows).size()) {
+      throw new IllegalStateException("Both versions should find the same root comments");
+    }
+  }
+
+  @Benchmark
+  public Set<ArticleCommentResponse> assembler() {
+    return CommentTreeAssembler.assemble(rows);
+  }
+
+  @Benchmark
+  public Set<ArticleCommentResponse> treeSet() {
+    return organizeWithTreeSet(rows);
+  }
+
+  private static Set<ArticleCommentResponse> organizeWithTreeSet(Collection<ArticleCommentDto> dtos) {
+    Map<Long, ArticleCommentResponse> map = dtos.stream()
+        .map(ArticleCommentResponse::from)
+        .collect(Collectors.toMap(ArticleCommentResponse::id, Function.identity()));
+
+    map.values().stream()
+        .filter(ArticleCommentResponse::hasParentComment)
+        .forEach(comment -> {
+          ArticleCommentResponse parentComment = map.get(comment.parentCommentId());
+          parentComment.childComments().add(comment);
+        });
+
+    return map.values().stream()
+        .filter(comment -> !comment.hasParentComment())
+        .collect(Collectors.toCollection(() ->
+            new TreeSet<>(Comparator
+                .comparing(ArticleCommentResponse::createdAt)
+                .reversed()
+                .thenComparingLong(ArticleCommentResponse::id))));
+  }
+
+  private static List<ArticleCommentDto> createRows(int size) {
+    UserAccountDto userAccountDto = UserAccountDto.of("uno", "password", "uno@mail.com", "Uno", null,
+        null, "uno", null, "uno");
+    LocalDateTime start = LocalDateTime.of(2023, 1, 1, 0, 0);
+    Random random = new Random(42);
+    List<Long> rootIds = new ArrayList<>();
+    List<ArticleCommentDto> rows = new ArrayList<>(size);
+    for (long id = 1; id <= size; id++) {
+      Long parentCommentId = rootIds.isEmpty() || random.nextInt(5) == 0
+          ? null
+          : rootIds.get(random.nextInt(rootIds.size()));
+      if (parentCommentId == null) {
+        rootIds.add(id);
+      }
+      LocalDateTime createdAt = start.plusSeconds(id);
+      rows.add(ArticleCommentDto.of(id, 1L, userAccountDto, parentCommentId, "comment " + id,
+          createdAt, "uno", createdAt, "uno"));
+    }
+
+    return rows;
+  }
+}
@@ -0,0 +1,105 @@
+package com.example.boardservice.id;
+
+import com.example.boardservice.BenchmarkDatabase;
+import com.example.boardservice.domain.Article;
+import com.example.boardservice.domain.Hashtag;
+import com.example.boardservice.domain.UserAccount;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// inserts 10k articles with three of 100 new hashtags each, with and without JDBC batching
+// batch size 1 sends one insert per row, which is what IDENTITY ids forced on every insert
+// snowflake ids are assigned before the insert, so hibernate can batch them (hibernate.jdbc.batch_size in application.yaml)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkInsertBenchmark {
+
+  private static final int ARTICLE_COUNT = 10_000;
+  private static final int HASHTAG_COUNT = 100;
+  private static final int FLUSH_SIZE = 500;
+
+  @Param({"1", "50"})
+  private int batchSize;
+
+  private ConfigurableApplicationContext context;
+  private EntityManagerFactory entityManagerFactory;
+  // every invocation inserts hashtags under new names, hashtag names are unique
+  private int round = 0;
+
+  @Setup
+  public void setUp() {
+    context = BenchmarkDatabase.start();
+    entityManagerFactory = context.getBean(EntityManagerFactory.class);
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public void insert() {
+    EntityManager entityManager = entityManagerFactory.createEntityManager();
+    try {
+      entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+      entityManager.getTransaction().begin();
+      insertArticles(entityManager, "round" + round++);
+      entityManager.getTransaction().commit();
+    } finally {
+      entityManager.close();
+    }
+  }
+
+  // inserts hashtags named after the prefix, then articles with three of them each
+  private void insertArticles(EntityManager entityManager, String prefix) {
+    UserAccount userAccount = entityManager.getReference(UserAccount.class, BenchmarkDatabase.USER_ID);
+    List<Hashtag> hashtags = new ArrayList<>(HASHTAG_COUNT);
+    for (int i = 0; i < HASHTAG_COUNT; i++) {
+      Hashtag hashtag = Hashtag.of(prefix + "_tag" + i);
+      entityManager.persist(hashtag);
+      hashtags.add(hashtag);
+    }
+
+    Random random = new Random(42);
+    for (int i = 0; i < ARTICLE_COUNT; i++) {
+      Article article = Article.of(userAccount, "title " + i, "content " + i);
+      Set<Hashtag> articleHashtags = new HashSet<>();
+      for (int j = 0; j < 3; j++) {
+        articleHashtags.add(hashtags.get(random.nextInt(HASHTAG_COUNT)));
+      }
+      article.addHashtags(articleHashtags);
+      entityManager.persist(article);
+      if ((i + 1) % FLUSH_SIZE == 0) {
+        entityManager.flush();
+        entityManager.clear();
+        userAccount = entityManager.getReference(UserAccount.class, BenchmarkDatabase.USER_ID);
+        hashtags = hashtags.stream().map(hashtag -> entityManager.getReference(Hashtag.class, hashtag.getId())).toList();
+      }
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package com.example.boardservice.id;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// compares the generator with a bare AtomicLong counter (the cheapest thread-safe id source there is) and with
+// the same generator behind a lock, all threads drawing from the same instance
+// 8 threads by default, other thread counts with ./gradlew jmh -PjmhIncludes=SnowflakeIdGeneratorBenchmark -PjmhThreads=16
+// ids beyond 64 per millisecond are borrowed from the future, see SnowflakeIdGenerator.clockDrift()
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class SnowflakeIdGeneratorBenchmark {
+
+  private final AtomicLong counter = new AtomicLong();
+  private final SnowflakeIdGenerator lockFree = new SnowflakeIdGenerator(1);
+  private final SnowflakeIdGenerator locked = new SnowflakeIdGenerator(1);
+
+  @Benchmark
+  public long atomicLong() {
+    return counter.incrementAndGet();
+  }
+
+  @Benchmark
+  public long snowflake() {
+    return lockFree.nextId();
+  }
+
+  @Benchmark
+  public long snowflakeSynchronized() {
+    synchronized (locked) {
+      return locked.nextId();
+    }
+  }
+}
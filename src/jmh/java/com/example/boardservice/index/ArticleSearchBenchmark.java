@@ -0,0 +1,117 @@
+package com.example.boardservice.index;
+
+import com.example.boardservice.BenchmarkDatabase;
+import com.example.boardservice.domain.Article;
+import com.example.boardservice.domain.UserAccount;
+import com.example.boardservice.repository.ArticleRepository;
+import com.example.boardservice.repository.UserAccountRepository;
+import com.example.boardservice.repository.projection.ArticleSummaryProjection;
+import com.example.boardservice.repository.querydsl.ArticlePredicates;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// a content search over 20k articles: LIKE '%keyword%' over every row vs. the n-gram index narrowing the search down
+// to candidates that are confirmed by primary key (the two paths of ArticleService#searchArticles)
+// the corpus mixes korean words with particles glued on and latin words, "spring" is in nearly every article
+// (ArticleService scans for keywords that common, instead of listing thousands of candidates)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArticleSearchBenchmark {
+
+  private static final int CORPUS_SIZE = 20_000;
+  private static final int BATCH_SIZE = 500;
+  private static final String[] KOREAN_WORDS = {
+      "스프링", "자바", "데이터베이스", "개발자", "게시판", "해시태그", "컨트롤러", "서비스", "트랜잭션", "인덱스"
+  };
+  private static final String[] KOREAN_PARTICLES = {"은", "는", "이", "가", "을", "를", "에서", "으로", "의", ""};
+  private static final String[] LATIN_WORDS = {"lorem", "ipsum", "dolor", "sit", "amet", "java", "spring", "query"};
+
+  @Param({"데이터베이스", "트랜잭션을", "spring", "해시태그 인덱스"})
+  private String keyword;
+
+  private final Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+  private ConfigurableApplicationContext context;
+  private ArticleRepository articleRepository;
+  private ArticleSearchIndex index;
+
+  @Setup
+  public void setUp() {
+    context = BenchmarkDatabase.start();
+    articleRepository = context.getBean(ArticleRepository.class);
+    UserAccount userAccount = context.getBean(UserAccountRepository.class).getReferenceById(BenchmarkDatabase.USER_ID);
+
+    Random random = new Random(42);
+    List<Article> batch = new ArrayList<>(BATCH_SIZE);
+    for (int i = 0; i < CORPUS_SIZE; i++) {
+      batch.add(Article.of(userAccount, "title " + i, syntheticContent(random, 200)));
+      if (batch.size() == BATCH_SIZE) {
+        articleRepository.saveAll(batch);
+        batch.clear();
+      }
+    }
+
+    index = new ArticleSearchIndex(articleRepository, new SimpleMeterRegistry(), Long.MAX_VALUE);
+    index.rebuild();
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public Slice<ArticleSummaryProjection> scan() {
+    return articleRepository.findSummaries(ArticlePredicates.contentContainsIgnoreCase(keyword), pageable);
+  }
+
+  @Benchmark
+  public Slice<ArticleSummaryProjection> index() {
+    Set<Long> candidateIds = index.searchContent(keyword);
+
+    return candidateIds.isEmpty()
+        ? new SliceImpl<>(List.of(), pageable, false)
+        : articleRepository.findSummaries(ArticlePredicates.contentContainsIgnoreCase(candidateIds, keyword), pageable);
+  }
+
+  private static String syntheticContent(Random random, int words) {
+    StringBuilder content = new StringBuilder();
+    for (int i = 0; i < words; i++) {
+      if (random.nextInt(4) == 0) {
+        content.append(LATIN_WORDS[random.nextInt(LATIN_WORDS.length)]);
+      } else {
+        content.append(KOREAN_WORDS[random.nextInt(KOREAN_WORDS.length)])
+            .append(KOREAN_PARTICLES[random.nextInt(KOREAN_PARTICLES.length)]);
+      }
+      content.append(' ');
+    }
+
+    return content.toString();
+  }
+}
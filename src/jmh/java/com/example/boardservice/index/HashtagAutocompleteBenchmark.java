@@ -0,0 +1,70 @@
+package com.example.boardservice.index;
+
+import com.example.boardservice.dto.HashtagSummaryDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// suggestion latency for latin and hangul prefixes over 300k hashtags, with the default max-scan of 5000:
+// short prefixes ("a", "ㅎ", "한") match more names than that and are served from the popularity order,
+// longer ones rank the names of their range directly
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HashtagAutocompleteBenchmark {
+
+  private static final int HASHTAG_COUNT = 300_000;
+  private static final String[] SYLLABLES = {"한", "국", "스", "프", "링", "자", "바", "개", "발", "데", "이", "터", "게", "시", "판"};
+
+  @Param({"a", "spr", "springb", "ㅎ", "한", "한구", "스프링"})
+  private String prefix;
+
+  private HashtagAutocompleteIndex index;
+
+  @Setup
+  public void setUp() {
+    index = new HashtagAutocompleteIndex(null, new SimpleMeterRegistry(), 5000);
+    Random random = new Random(42);
+    for (long id = 0; id < HASHTAG_COUNT; id++) {
+      index.add(id, randomHashtagName(random), random.nextInt(1000));
+    }
+  }
+
+  @Benchmark
+  public List<HashtagSummaryDto> suggest() {
+    return index.suggest(prefix, 10);
+  }
+
+  private static String randomHashtagName(Random random) {
+    StringBuilder name = new StringBuilder();
+    if (random.nextBoolean()) {
+      int length = 2 + random.nextInt(4);
+      for (int i = 0; i < length; i++) {
+        name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+      }
+    } else {
+      int length = 3 + random.nextInt(10);
+      for (int i = 0; i < length; i++) {
+        name.append((char) ('a' + random.nextInt(26)));
+      }
+    }
+
+    return name.toString();
+  }
+}
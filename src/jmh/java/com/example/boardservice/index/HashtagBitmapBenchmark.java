@@ -0,0 +1,122 @@
+package com.example.boardservice.index;
+
+import com.example.boardservice.BenchmarkDatabase;
+import com.example.boardservice.domain.Article;
+import com.example.boardservice.domain.Hashtag;
+import com.example.boardservice.domain.UserAccount;
+import com.example.boardservice.repository.ArticleRepository;
+import com.example.boardservice.repository.HashtagRepository;
+import com.example.boardservice.repository.projection.ArticleSummaryProjection;
+import com.example.boardservice.repository.querydsl.ArticlePredicates;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// the first page of a hashtag search over 50k articles with three of 200 hashtags each, and its exact total:
+// EXISTS subqueries over article_hashtag plus a count query (the Querydsl path of ArticleService) vs. bitmap
+// AND/OR/NOT plus a read of the page by primary key (the HashtagBitmapIndex path)
+// skewed popularity, like real hashtags: low numbered tags are far more common, tag150 is rare
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HashtagBitmapBenchmark {
+
+  private static final int CORPUS_SIZE = 50_000;
+  private static final int HASHTAG_COUNT = 200;
+  private static final int BATCH_SIZE = 500;
+
+  @Param({"tag0", "tag0 tag1 tag2", "+tag0 +tag1", "tag1 -tag0", "tag150"})
+  private String keyword;
+
+  private final Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "id"));
+  private ConfigurableApplicationContext context;
+  private ArticleRepository articleRepository;
+  private HashtagBitmapIndex index;
+  private HashtagQuery query;
+
+  @Setup
+  public void setUp() {
+    context = BenchmarkDatabase.start();
+    articleRepository = context.getBean(ArticleRepository.class);
+    List<Long> hashtagIds = new ArrayList<>(HASHTAG_COUNT);
+    for (int i = 0; i < HASHTAG_COUNT; i++) {
+      hashtagIds.add(context.getBean(HashtagRepository.class).save(Hashtag.of("tag" + i)).getId());
+    }
+
+    EntityManagerFactory entityManagerFactory = context.getBean(EntityManagerFactory.class);
+    Random random = new Random(42);
+    for (int inserted = 0; inserted < CORPUS_SIZE; inserted += BATCH_SIZE) {
+      EntityManager entityManager = entityManagerFactory.createEntityManager();
+      try {
+        entityManager.getTransaction().begin();
+        UserAccount userAccount = entityManager.getReference(UserAccount.class, BenchmarkDatabase.USER_ID);
+        for (int i = inserted; i < inserted + BATCH_SIZE; i++) {
+          Article article = Article.of(userAccount, "title " + i, "content " + i);
+          Set<Hashtag> articleHashtags = new HashSet<>();
+          for (int j = 0; j < 3; j++) {
+            Long hashtagId = hashtagIds.get((int) (HASHTAG_COUNT * Math.pow(random.nextDouble(), 3)));
+            articleHashtags.add(entityManager.getReference(Hashtag.class, hashtagId));
+          }
+          article.addHashtags(articleHashtags);
+          entityManager.persist(article);
+        }
+        entityManager.getTransaction().commit();
+      } finally {
+        entityManager.close();
+      }
+    }
+
+    index = new HashtagBitmapIndex(articleRepository, new SimpleMeterRegistry(), Long.MAX_VALUE);
+    // the scan streams the join table, which needs a transaction
+    context.getBean(TransactionTemplate.class).executeWithoutResult(status -> index.rebuild());
+    query = HashtagQuery.parse(keyword);
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public void querydsl(Blackhole blackhole) {
+    blackhole.consume(articleRepository.findSummaries(
+        ArticlePredicates.hashtagQuery(query.anyOf(), query.allOf(), query.noneOf()), pageable));
+    blackhole.consume(articleRepository.countByHashtagQuery(query.anyOf(), query.allOf(), query.noneOf()));
+  }
+
+  @Benchmark
+  public List<ArticleSummaryProjection> bitmap() {
+    Page<Long> articleIds = index.search(query, pageable);
+
+    return articleRepository.findSummariesById(articleIds.getContent());
+  }
+}
@@ -0,0 +1,90 @@
+package com.example.boardservice.index;
+
+import com.example.boardservice.dto.HashtagSummaryDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// BK-tree lookup of misspelled names among 150k hashtags, against a linear scan computing every distance
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HashtagFuzzyBenchmark {
+
+  private static final int HASHTAG_COUNT = 150_000;
+  private static final int QUERIES = 1 << 11;
+
+  private final List<String> names = new ArrayList<>(HASHTAG_COUNT);
+  private final List<String> queries = new ArrayList<>(QUERIES);
+  private HashtagFuzzyIndex index;
+  private int next;
+
+  @Setup
+  public void setUp() {
+    index = new HashtagFuzzyIndex(null, new SimpleMeterRegistry());
+    Random random = new Random(42);
+    for (long id = 0; id < HASHTAG_COUNT; id++) {
+      String name = randomName(random);
+      names.add(name);
+      index.add(id, name, 1 + random.nextInt(1000));
+    }
+    for (int i = 0; i < QUERIES; i++) {
+      queries.add(misspell(names.get(random.nextInt(names.size())), random));
+    }
+  }
+
+  @Benchmark
+  public List<HashtagSummaryDto> bkTree() {
+    return index.findSimilar(nextQuery(), 5);
+  }
+
+  @Benchmark
+  public long linearScan() {
+    String query = nextQuery();
+
+    return names.stream().filter(name -> HashtagFuzzyIndex.distance(query, name) <= 2).count();
+  }
+
+  private String nextQuery() {
+    return queries.get(next++ & (QUERIES - 1));
+  }
+
+  private static String randomName(Random random) {
+    int length = 4 + random.nextInt(9);
+    StringBuilder name = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      name.append((char) ('a' + random.nextInt(26)));
+    }
+
+    return name.toString();
+  }
+
+  // one random substitution, insertion or deletion
+  private static String misspell(String name, Random random) {
+    StringBuilder misspelled = new StringBuilder(name);
+    int position = random.nextInt(name.length());
+    switch (random.nextInt(3)) {
+      case 0 -> misspelled.setCharAt(position, (char) ('a' + random.nextInt(26)));
+      case 1 -> misspelled.insert(position, (char) ('a' + random.nextInt(26)));
+      default -> misspelled.deleteCharAt(position);
+    }
+
+    return misspelled.toString();
+  }
+}
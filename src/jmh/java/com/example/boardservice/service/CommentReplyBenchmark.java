@@ -0,0 +1,157 @@
+package com.example.boardservice.service;
+
+import com.example.boardservice.BenchmarkDatabase;
+import com.example.boardservice.domain.Article;
+import com.example.boardservice.domain.ArticleComment;
+import com.example.boardservice.domain.CommentPath;
+import com.example.boardservice.domain.UserAccount;
+import com.example.boardservice.dto.ArticleCommentDto;
+import com.example.boardservice.dto.UserAccountDto;
+import com.example.boardservice.repository.ArticleCommentRepository;
+import com.example.boardservice.repository.ArticleRepository;
+import com.example.boardservice.repository.UserAccountRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+// latency of replying to and deleting a comment that already has thousands of replies, through ArticleCommentService
+// ArticleCommentServiceQueryCountTest checks the statements with a few hundred replies, this measures the time at 10k:
+// - "append" is saveArticleComment, one parent lookup and one insert however many replies there are
+// - "throughParent" is what it used to do, add the reply to the parent's replies, which loads all of them
+// - "delete" removes the comment with every reply below it (a fresh thread for every iteration)
+// one invocation per iteration: appended replies add up, but stay few next to the thread's own
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 30)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CommentReplyBenchmark {
+
+  private static final int FLUSH_SIZE = 500;
+
+  @Param({"300", "10000"})
+  private int replyCount;
+
+  private ConfigurableApplicationContext context;
+  private EntityManagerFactory entityManagerFactory;
+  private ArticleCommentService articleCommentService;
+  private ArticleRepository articleRepository;
+  private ArticleCommentRepository articleCommentRepository;
+  private UserAccountRepository userAccountRepository;
+  private TransactionTemplate transactionTemplate;
+  private ArticleCommentDto reply;
+  private Long articleId;
+  private Long parentId;
+
+  @Setup
+  public void setUp() {
+    context = BenchmarkDatabase.start();
+    entityManagerFactory = context.getBean(EntityManagerFactory.class);
+    articleRepository = context.getBean(ArticleRepository.class);
+    articleCommentRepository = context.getBean(ArticleCommentRepository.class);
+    userAccountRepository = context.getBean(UserAccountRepository.class);
+    articleCommentService = new ArticleCommentService(articleRepository, articleCommentRepository, userAccountRepository, context);
+    transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+    articleId = insertArticle();
+    parentId = insertThread(articleId);
+    UserAccountDto userAccountDto = UserAccountDto.from(userAccountRepository.findById(BenchmarkDatabase.USER_ID).orElseThrow());
+    reply = ArticleCommentDto.of(articleId, userAccountDto, parentId, "reply");
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  // a thread of its own for every iteration of "delete"
+  @State(Scope.Thread)
+  public static class DeletableThread {
+    private Long parentId;
+
+    @Setup(Level.Iteration)
+    public void setUp(CommentReplyBenchmark benchmark) {
+      parentId = benchmark.insertThread(benchmark.articleId);
+    }
+  }
+
+  @Benchmark
+  public void append() {
+    transactionTemplate.executeWithoutResult(status -> articleCommentService.saveArticleComment(reply));
+  }
+
+  @Benchmark
+  public void throughParent() {
+    transactionTemplate.executeWithoutResult(status -> {
+      ArticleComment articleComment = ArticleComment.of(articleRepository.getReferenceById(articleId),
+          userAccountRepository.getReferenceById(BenchmarkDatabase.USER_ID), "reply");
+      articleCommentRepository.getReferenceById(parentId).addChildComment(articleComment);
+    });
+  }
+
+  @Benchmark
+  public void delete(DeletableThread thread) {
+    transactionTemplate.executeWithoutResult(status ->
+        articleCommentService.deleteArticleComment(thread.parentId, BenchmarkDatabase.USER_ID));
+  }
+
+  private Long insertArticle() {
+    EntityManager entityManager = entityManagerFactory.createEntityManager();
+    try {
+      entityManager.getTransaction().begin();
+      Article article = Article.of(entityManager.getReference(UserAccount.class, BenchmarkDatabase.USER_ID), "title", "content");
+      entityManager.persist(article);
+      entityManager.getTransaction().commit();
+
+      return article.getId();
+    } finally {
+      entityManager.close();
+    }
+  }
+
+  // a root comment with replyCount direct replies, returns the root's id
+  private Long insertThread(Long articleId) {
+    EntityManager entityManager = entityManagerFactory.createEntityManager();
+    try {
+      entityManager.getTransaction().begin();
+      Article article = entityManager.getReference(Article.class, articleId);
+      UserAccount userAccount = entityManager.getReference(UserAccount.class, BenchmarkDatabase.USER_ID);
+      ArticleComment parent = ArticleComment.of(article, userAccount, "parent");
+      entityManager.persist(parent);
+      Long parentId = parent.getId();
+      String path = CommentPath.childPathOf(parent);
+      for (int i = 0; i < replyCount; i++) {
+        entityManager.persist(ArticleComment.replyOf(article, userAccount, parentId, path, "reply " + i));
+        if ((i + 1) % FLUSH_SIZE == 0) {
+          entityManager.flush();
+          entityManager.clear();
+          article = entityManager.getReference(Article.class, articleId);
+          userAccount = entityManager.getReference(UserAccount.class, BenchmarkDatabase.USER_ID);
+        }
+      }
+      entityManager.getTransaction().commit();
+
+      return parentId;
+    } finally {
+      entityManager.close();
+    }
+  }
+}
@@ -0,0 +1,144 @@
+package com.example.boardservice.service;
+
+import com.example.boardservice.BenchmarkDatabase;
+import com.example.boardservice.domain.Article;
+import com.example.boardservice.domain.ArticleComment;
+import com.example.boardservice.domain.CommentPath;
+import com.example.boardservice.domain.UserAccount;
+import com.example.boardservice.dto.CommentSubtreeDto;
+import com.example.boardservice.repository.ArticleCommentRepository;
+import com.example.boardservice.repository.ArticleRepository;
+import com.example.boardservice.repository.UserAccountRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// one thread of an article with 10k comments (100 threads of 100), read through ArticleCommentService:
+// "path" is the range scan over the thread's path prefix, "parents" is the fallback for comments written before
+// paths existed, which reads every comment of the article and walks parentCommentId down from the thread's root
+// both articles have threads of the same random shape: every reply answers a random earlier comment of its thread
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CommentSubtreeBenchmark {
+
+  private static final int THREAD_COUNT = 100;
+  private static final int REPLIES_PER_THREAD = 99;
+  private static final int SIZE = 20;
+
+  // a collapsed subtree only counts its replies
+  @Param({"false", "true"})
+  private boolean collapsed;
+
+  private ConfigurableApplicationContext context;
+  private ArticleCommentService articleCommentService;
+  private TransactionTemplate transactionTemplate;
+  private Long pathArticleId;
+  private List<Long> pathRootIds;
+  private Long parentsArticleId;
+  private List<Long> parentsRootIds;
+  private int next;
+
+  @Setup
+  public void setUp() {
+    context = BenchmarkDatabase.start();
+    articleCommentService = new ArticleCommentService(context.getBean(ArticleRepository.class),
+        context.getBean(ArticleCommentRepository.class), context.getBean(UserAccountRepository.class), context);
+    transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    transactionTemplate.setReadOnly(true);
+
+    EntityManagerFactory entityManagerFactory = context.getBean(EntityManagerFactory.class);
+    pathArticleId = insertArticle(entityManagerFactory);
+    pathRootIds = insertThreads(entityManagerFactory, pathArticleId, true);
+    parentsArticleId = insertArticle(entityManagerFactory);
+    parentsRootIds = insertThreads(entityManagerFactory, parentsArticleId, false);
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public CommentSubtreeDto path() {
+    Long rootId = pathRootIds.get(next++ % THREAD_COUNT);
+
+    return transactionTemplate.execute(status ->
+        articleCommentService.getCommentSubtree(pathArticleId, rootId, collapsed, SIZE));
+  }
+
+  @Benchmark
+  public CommentSubtreeDto parents() {
+    Long rootId = parentsRootIds.get(next++ % THREAD_COUNT);
+
+    return transactionTemplate.execute(status ->
+        articleCommentService.getCommentSubtree(parentsArticleId, rootId, collapsed, SIZE));
+  }
+
+  private Long insertArticle(EntityManagerFactory entityManagerFactory) {
+    EntityManager entityManager = entityManagerFactory.createEntityManager();
+    try {
+      entityManager.getTransaction().begin();
+      Article article = Article.of(entityManager.getReference(UserAccount.class, BenchmarkDatabase.USER_ID), "title", "content");
+      entityManager.persist(article);
+      entityManager.getTransaction().commit();
+
+      return article.getId();
+    } finally {
+      entityManager.close();
+    }
+  }
+
+  // replies get their path when withPath, or none, like the ones written before paths existed
+  private List<Long> insertThreads(EntityManagerFactory entityManagerFactory, Long articleId, boolean withPath) {
+    Random random = new Random(42);
+    List<Long> rootIds = new ArrayList<>(THREAD_COUNT);
+    for (int thread = 0; thread < THREAD_COUNT; thread++) {
+      EntityManager entityManager = entityManagerFactory.createEntityManager();
+      try {
+        entityManager.getTransaction().begin();
+        Article article = entityManager.getReference(Article.class, articleId);
+        UserAccount userAccount = entityManager.getReference(UserAccount.class, BenchmarkDatabase.USER_ID);
+        List<ArticleComment> comments = new ArrayList<>(REPLIES_PER_THREAD + 1);
+        ArticleComment root = ArticleComment.of(article, userAccount, "root " + thread);
+        entityManager.persist(root);
+        comments.add(root);
+        for (int i = 0; i < REPLIES_PER_THREAD; i++) {
+          ArticleComment parent = comments.get(random.nextInt(comments.size()));
+          ArticleComment reply = ArticleComment.replyOf(article, userAccount, parent.getId(),
+              withPath ? CommentPath.childPathOf(parent) : null, "reply " + i);
+          entityManager.persist(reply);
+          comments.add(reply);
+        }
+        entityManager.getTransaction().commit();
+        rootIds.add(root.getId());
+      } finally {
+        entityManager.close();
+      }
+    }
+
+    return rootIds;
+  }
+}
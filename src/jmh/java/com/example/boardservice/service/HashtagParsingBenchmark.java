@@ -0,0 +1,86 @@
+package com.example.boardservice.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// HashtagParser's scanner vs. the regular expression it replaced, on short, long and hashtag-heavy posts
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HashtagParsingBenchmark {
+
+  @Param({"short", "long", "hashtag-heavy"})
+  private String post;
+
+  private String content;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    content = switch (post) {
+      case "short" -> "오늘 배운 것 정리 #spring #jpa";
+      case "long" -> post(random, 10_000, 0.002);
+      case "hashtag-heavy" -> post(random, 2_000, 0.3);
+      default -> throw new IllegalArgumentException("Unknown post: " + post);
+    };
+    if (!HashtagParser.parse(content).equals(parseWithRegex(content))) {
+      throw new IllegalStateException("Scanner and regular expression disagree on post: " + post);
+    }
+  }
+
+  @Benchmark
+  public Set<String> scanner() {
+    return HashtagParser.parse(content);
+  }
+
+  @Benchmark
+  public Set<String> regex() {
+    return parseWithRegex(content);
+  }
+
+  // the implementation HashtagService used before HashtagParser
+  private static Set<String> parseWithRegex(String content) {
+    Pattern pattern = Pattern.compile("#[\\w가-힣]+");
+    Matcher matcher = pattern.matcher(content.strip());
+    Set<String> result = new HashSet<>();
+    while (matcher.find()) {
+      result.add(matcher.group().replace("#", ""));
+    }
+
+    return Set.copyOf(result);
+  }
+
+  // words of hangul and latin text, with a hashtag in place of a word at the given rate
+  private static String post(Random random, int length, double hashtagRate) {
+    String[] words = {"스프링", "자바", "게시판", "spring", "boot", "jpa", "querydsl", "개발"};
+    StringBuilder post = new StringBuilder(length + 16);
+    while (post.length() < length) {
+      if (random.nextDouble() < hashtagRate) {
+        post.append('#');
+      }
+      post.append(words[random.nextInt(words.length)]).append(random.nextInt(10) == 0 ? ", " : " ");
+    }
+    post.setLength(length);
+
+    return post.toString();
+  }
+}
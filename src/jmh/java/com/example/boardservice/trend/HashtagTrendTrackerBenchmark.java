@@ -0,0 +1,66 @@
+package com.example.boardservice.trend;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// cost of recording one hashtag use into every window, from 8 posting threads at once
+// one stripe is what a single global lock used to be
+// skewed popularity, like real hashtags: low numbered tags are far more common
+// the clock moves 100ms per use, so buckets expire during the run
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class HashtagTrendTrackerBenchmark {
+
+  private static final int EVENTS = 1 << 20;
+  private static final int DISTINCT_HASHTAGS = 100_000;
+
+  @Param({"1", "4", "8"})
+  private int stripes;
+
+  private final List<List<String>> events = new ArrayList<>(EVENTS);
+  private final AtomicLong now = new AtomicLong();
+  private HashtagTrendTracker tracker;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    for (int i = 0; i < EVENTS; i++) {
+      events.add(List.of("tag" + (int) (DISTINCT_HASHTAGS * Math.pow(random.nextDouble(), 4))));
+    }
+    tracker = new HashtagTrendTracker(new SimpleMeterRegistry(), now::get, 1024, 4, 64, stripes, 1_000);
+  }
+
+  // every thread walks through the events on its own
+  @State(Scope.Thread)
+  public static class Cursor {
+    private int next;
+  }
+
+  @Benchmark
+  public void record(Cursor cursor) {
+    now.addAndGet(100);
+    tracker.record(events.get(cursor.next++ & (EVENTS - 1)));
+  }
+}
@@ -0,0 +1,123 @@
+package com.example.boardservice.cache;
+
+import com.example.boardservice.domain.constant.SearchType;
+import com.example.boardservice.dto.ArticleFragments;
+import com.example.boardservice.dto.response.ArticleWithCommentsResponse;
+import com.example.boardservice.event.ArticleCommentChangedEvent;
+import com.example.boardservice.event.ArticleDeletedEvent;
+import com.example.boardservice.event.ArticleSavedEvent;
+import com.example.boardservice.service.ArticleService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+// the article page as anonymous readers see it, rendered to HTML once and then served from memory
+// a hit neither reads the article and its comments from the database nor runs them through the templates again
+// entries are keyed by the article id, a version stamp of the article and the page of comment threads:
+// - any write to the article or its comments gives it a new stamp once the transaction has committed, so the entries
+//   rendered before can't be reached anymore, and are left to the eviction instead of being searched for
+// - HTML rendered from what was read just before a write committed is stored under the stamp that was current when
+//   the render started, which is outdated by then, so it is never served (dropping entries instead would race with it)
+// - an article whose stamp was evicted gets a new one, never one that was handed out before
+// memory is bounded by the size of the HTML held, least recently used entries are evicted first
+// entries also expire after a while: the authors' nicknames are part of the HTML, and the stamps don't follow them
+// read: https://github.com/ben-manes/caffeine/wiki/Eviction
+@Component
+public class ArticleFragmentCache {
+
+  private static final String TEMPLATE = "articles/detail-fragments";
+  private static final Set<String> BODY = Set.of("#article-body");
+  private static final Set<String> COMMENTS = Set.of("#article-comment-threads");
+  // a stamp is a few dozen bytes, far more of them fit than articles fit in maximumSize
+  private static final int MAXIMUM_VERSIONS = 100_000;
+
+  private final ArticleService articleService;
+  private final ITemplateEngine templateEngine;
+  private final Cache<FragmentKey, ArticleFragments> fragments;
+  private final Cache<Long, Long> versions;
+  private final AtomicLong clock = new AtomicLong();
+
+  public ArticleFragmentCache(
+      ArticleService articleService,
+      ITemplateEngine templateEngine,
+      MeterRegistry meterRegistry,
+      @Value("${board.article.fragments.maximum-size:32MB}") DataSize maximumSize,
+      @Value("${board.article.fragments.expire-after-write:PT10M}") Duration expireAfterWrite
+  ) {
+    this.articleService = articleService;
+    this.templateEngine = templateEngine;
+    this.fragments = Caffeine.newBuilder()
+        .maximumWeight(maximumSize.toBytes())
+        .weigher((FragmentKey key, ArticleFragments value) -> value.weight())
+        .expireAfterWrite(expireAfterWrite)
+        .recordStats()
+        .build();
+    this.versions = Caffeine.newBuilder()
+        .maximumSize(MAXIMUM_VERSIONS)
+        .build();
+    // exposed through /actuator/metrics/cache.gets?tag=cache:article.fragments (result: hit/miss), cache.evictions... etc
+    CaffeineCacheMetrics.monitor(meterRegistry, fragments, "article.fragments");
+    // the share of anonymous article pages that were served without going to the database
+    Gauge.builder("board.article.fragments.hit.ratio", fragments, cache -> cache.stats().hitRate())
+        .register(meterRegistry);
+  }
+
+  public ArticleFragments getFragments(Long articleId, String commentCursor) {
+    FragmentKey key = new FragmentKey(articleId, versions.get(articleId, id -> clock.incrementAndGet()), commentCursor);
+
+    // readers missing the same entry at once wait for a single render instead of all going to the database
+    return fragments.get(key, this::render);
+  }
+
+  public void invalidate(Long articleId) {
+    versions.put(articleId, clock.incrementAndGet());
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onArticleSaved(ArticleSavedEvent event) {
+    invalidate(event.articleId());
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onArticleDeleted(ArticleDeletedEvent event) {
+    invalidate(event.articleId());
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onArticleCommentChanged(ArticleCommentChangedEvent event) {
+    invalidate(event.articleId());
+  }
+
+  private ArticleFragments render(FragmentKey key) {
+    ArticleWithCommentsResponse article = ArticleWithCommentsResponse.from(
+        articleService.getArticleWithComments(key.articleId(), key.commentCursor()));
+    // rendered outside of the request that missed: nothing of that reader's (session, csrf token... etc)
+    // can end up in HTML that is handed out to everyone else
+    Context context = new Context(Locale.getDefault(), Map.of(
+        "article", article,
+        "searchTypeHashtag", SearchType.HASHTAG
+    ));
+
+    return ArticleFragments.of(
+        article.id(),
+        templateEngine.process(TEMPLATE, BODY, context),
+        templateEngine.process(TEMPLATE, COMMENTS, context)
+    );
+  }
+
+  private record FragmentKey(Long articleId, long version, String commentCursor) {}
+}
@@ -0,0 +1,29 @@
+package com.example.boardservice.cache;
+
+import com.example.boardservice.domain.ArticleComment;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.rest.core.annotation.HandleAfterCreate;
+import org.springframework.data.rest.core.annotation.HandleAfterDelete;
+import org.springframework.data.rest.core.annotation.HandleAfterSave;
+import org.springframework.data.rest.core.annotation.RepositoryEventHandler;
+import org.springframework.stereotype.Component;
+
+// comments written through Spring Data REST (/api/articleComments) go straight to the repository, so the
+// services don't get to announce them and ArticleFragmentCache would keep serving the page as it was until it expires
+// (articles can't be written through the REST API, see ArticleRepository)
+// the after-* events come once the repository call has committed
+// read: https://docs.spring.io/spring-data/rest/docs/current/reference/html/#events
+@RequiredArgsConstructor
+@RepositoryEventHandler
+@Component
+public class ArticleFragmentRestEventHandler {
+
+  private final ArticleFragmentCache articleFragmentCache;
+
+  @HandleAfterCreate
+  @HandleAfterSave
+  @HandleAfterDelete
+  public void onArticleCommentWritten(ArticleComment articleComment) {
+    articleFragmentCache.invalidate(articleComment.getArticle().getId());
+  }
+}
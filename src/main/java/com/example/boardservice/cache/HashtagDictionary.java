@@ -0,0 +1,94 @@
+package com.example.boardservice.cache;
+
+import com.example.boardservice.event.HashtagCreatedEvent;
+import com.example.boardservice.event.HashtagDeletedEvent;
+import com.example.boardservice.repository.HashtagRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+// in-memory hashtag name -> id dictionary, so that saving an article doesn't need a query to find out
+// which of its hashtags already exist
+// bounded: least recently used hashtags are evicted, a miss simply falls back to the database
+// an entry must never outlive its hashtag (that would link articles to a deleted id), see evict()
+// deletes made by other nodes can't evict it though, HashtagService finds out when the counter update of such an id
+// doesn't find its row
+// read: https://github.com/ben-manes/caffeine/wiki/Eviction
+@Slf4j
+@Component
+public class HashtagDictionary {
+
+  private final HashtagRepository hashtagRepository;
+  private final Cache<String, Long> hashtagIds;
+  private final int maximumSize;
+
+  public HashtagDictionary(
+      HashtagRepository hashtagRepository,
+      MeterRegistry meterRegistry,
+      @Value("${board.hashtag.dictionary.maximum-size:10000}") int maximumSize
+  ) {
+    this.hashtagRepository = hashtagRepository;
+    this.maximumSize = maximumSize;
+    this.hashtagIds = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .recordStats()
+        .build();
+    // exposed through /actuator/metrics/cache.gets?tag=cache:hashtag.dictionary (result: hit/miss), cache.evictions... etc
+    CaffeineCacheMetrics.monitor(meterRegistry, hashtagIds, "hashtag.dictionary");
+  }
+
+  // start out with the newest hashtags, the ones most likely to be reused soon
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    hashtagRepository.findAllBy(PageRequest.of(0, maximumSize, Sort.by(Sort.Direction.DESC, "id")))
+        .forEach(hashtag -> hashtagIds.put(hashtag.getHashtagName(), hashtag.getId()));
+    log.info("Hashtag dictionary loaded - hashtags: {}", hashtagIds.estimatedSize());
+  }
+
+  // ids of the given names that are in the dictionary, names that are missing may still exist in the database
+  public Map<String, Long> findIds(Collection<String> hashtagNames) {
+    Map<String, Long> result = new HashMap<>();
+    hashtagNames.forEach(hashtagName -> {
+      Long hashtagId = hashtagIds.getIfPresent(hashtagName);
+      if (hashtagId != null) {
+        result.put(hashtagName, hashtagId);
+      }
+    });
+
+    return result;
+  }
+
+  public void put(String hashtagName, Long hashtagId) {
+    hashtagIds.put(hashtagName, hashtagId);
+  }
+
+  public void evict(String hashtagName) {
+    hashtagIds.invalidate(hashtagName);
+  }
+
+  // inserted hashtags only become visible to other transactions once committed
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onHashtagCreated(HashtagCreatedEvent event) {
+    put(event.hashtagName(), event.hashtagId());
+  }
+
+  // OrphanHashtagSweeper already evicts before deleting, but a concurrent transaction may have read the
+  // (not yet deleted) row back into the dictionary in the meantime, so evict once more after commit
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onHashtagDeleted(HashtagDeletedEvent event) {
+    evict(event.hashtagName());
+  }
+}
@@ -0,0 +1,115 @@
+package com.example.boardservice.cache;
+
+import com.example.boardservice.domain.constant.HashtagSort;
+import com.example.boardservice.dto.HashtagDirectoryPage;
+import com.example.boardservice.dto.HashtagSummaryDto;
+import com.example.boardservice.event.HashtagCreatedEvent;
+import com.example.boardservice.event.HashtagDeletedEvent;
+import com.example.boardservice.repository.HashtagRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+// paginated, sorted listing of every hashtag, cached one page at a time
+// only the pages people actually look at are held (bounded, least recently used are evicted), so memory doesn't
+// grow with the number of hashtags, and a page is one indexed query away on a miss
+// pages are dropped whenever a hashtag is created or deleted; article counts change far more often than that,
+// so pages also expire after a while instead of being dropped on every article write
+// a page is read as a slice (no COUNT(*) per miss), the total shown under it is a counter kept aside: adjusted by
+// the creates and deletes this node hears about, and recounted on a schedule for the ones it doesn't (other nodes)
+// read: https://github.com/ben-manes/caffeine/wiki/Eviction
+@Component
+public class HashtagDirectory {
+
+  private final HashtagRepository hashtagRepository;
+  private final Cache<PageKey, HashtagDirectoryPage> pages;
+  // -1 until the first count
+  private final AtomicLong hashtagCount = new AtomicLong(-1);
+
+  public HashtagDirectory(
+      HashtagRepository hashtagRepository,
+      MeterRegistry meterRegistry,
+      @Value("${board.hashtag.directory.maximum-pages:1000}") int maximumPages,
+      @Value("${board.hashtag.directory.expire-after-write:PT1M}") Duration expireAfterWrite
+  ) {
+    this.hashtagRepository = hashtagRepository;
+    this.pages = Caffeine.newBuilder()
+        .maximumSize(maximumPages)
+        .expireAfterWrite(expireAfterWrite)
+        .recordStats()
+        .build();
+    // exposed through /actuator/metrics/cache.gets?tag=cache:hashtag.directory (result: hit/miss), cache.evictions... etc
+    CaffeineCacheMetrics.monitor(meterRegistry, pages, "hashtag.directory");
+  }
+
+  public HashtagDirectoryPage getPage(HashtagSort sort, int pageNumber, int pageSize) {
+    return pages.get(new PageKey(sort, pageNumber, pageSize), this::load);
+  }
+
+  public void invalidate() {
+    pages.invalidateAll();
+  }
+
+  // runs right after startup as well
+  @Scheduled(fixedDelayString = "${board.hashtag.directory.count-refresh-interval:PT5M}")
+  public void refreshCount() {
+    hashtagCount.set(hashtagRepository.count());
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onHashtagCreated(HashtagCreatedEvent event) {
+    hashtagCount.incrementAndGet();
+    invalidate();
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onHashtagDeleted(HashtagDeletedEvent event) {
+    hashtagCount.decrementAndGet();
+    invalidate();
+  }
+
+  private HashtagDirectoryPage load(PageKey key) {
+    PageRequest pageable = PageRequest.of(key.pageNumber(), key.pageSize(), key.sort().getSort());
+    Slice<HashtagSummaryDto> slice = hashtagRepository.findSummariesBy(pageable).map(HashtagSummaryDto::from);
+    if (hashtagCount.get() < 0) {
+      refreshCount();
+    }
+    // the counter may be behind (deletes on other nodes, creates in between): the slice itself knows better,
+    // and PageImpl cuts the total down to the last page when the slice is short
+    long total = Math.max(hashtagCount.get(), pageable.getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0));
+    Page<HashtagSummaryDto> hashtags = new PageImpl<>(slice.getContent(), pageable, total);
+
+    return HashtagDirectoryPage.of(hashtags, eTagOf(key, hashtags));
+  }
+
+  // computed from what the page shows rather than from a version number, so a page that was reloaded
+  // (expired, or invalidated by a hashtag on another page) but didn't change still answers 304 Not Modified
+  private static String eTagOf(PageKey key, Page<HashtagSummaryDto> hashtags) {
+    CRC32 checksum = new CRC32();
+    update(checksum, key.sort().name() + ':' + key.pageNumber() + ':' + key.pageSize() + ':' + hashtags.getTotalElements());
+    hashtags.forEach(hashtag -> update(checksum, hashtag.hashtagName() + '=' + hashtag.articleCount()));
+
+    return Long.toHexString(checksum.getValue());
+  }
+
+  private static void update(CRC32 checksum, String value) {
+    checksum.update(value.getBytes(StandardCharsets.UTF_8));
+    checksum.update('\n');
+  }
+
+  private record PageKey(HashtagSort sort, int pageNumber, int pageSize) {}
+}
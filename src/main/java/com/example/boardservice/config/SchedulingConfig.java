@@ -0,0 +1,10 @@
+package com.example.boardservice.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// enable @Scheduled background jobs (see package scheduler)
+@EnableScheduling
+@Configuration
+public class SchedulingConfig {
+}
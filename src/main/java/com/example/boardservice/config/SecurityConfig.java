@@ -45,6 +45,12 @@ public class SecurityConfig {
             .requestMatchers(mvc.pattern(HttpMethod.GET, "/")).permitAll()
             .requestMatchers(mvc.pattern(HttpMethod.GET, "/articles")).permitAll()
             .requestMatchers(mvc.pattern(HttpMethod.GET, "/articles/search-hashtag")).permitAll()
+            // reading an article, not the forms under /articles: anonymous readers are served from ArticleFragmentCache
+            .requestMatchers(mvc.pattern(HttpMethod.GET, "/articles/{articleId:\\d+}")).permitAll()
+            .requestMatchers(mvc.pattern(HttpMethod.GET, "/api/hashtags")).permitAll()
+            .requestMatchers(mvc.pattern(HttpMethod.GET, "/api/hashtags/autocomplete")).permitAll()
+            .requestMatchers(mvc.pattern(HttpMethod.GET, "/api/hashtags/similar")).permitAll()
+            .requestMatchers(mvc.pattern(HttpMethod.GET, "/api/hashtags/trending")).permitAll()
             .anyRequest().authenticated())
             // .formLogin() marked for deprecation in 7
             // instead use .formLogin(Customizer.withDefaults()) to use defaults
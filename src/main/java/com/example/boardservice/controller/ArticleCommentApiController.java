@@ -0,0 +1,67 @@
+package com.example.boardservice.controller;
+
+import com.example.boardservice.dto.CursorPage;
+import com.example.boardservice.dto.response.ArticleCommentResponse;
+import com.example.boardservice.dto.response.CommentSubtreeResponse;
+import com.example.boardservice.dto.response.CommentThreadPageResponse;
+import com.example.boardservice.service.ArticleCommentService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.rest.webmvc.RepositoryRestController;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+// "load more" for the comment threads of the article page, which only renders the first page of them
+// the cursors come from the previous page (or from the article page itself)
+@RequiredArgsConstructor
+@RepositoryRestController
+public class ArticleCommentApiController {
+
+  private static final int MAX_PAGE_SIZE = 100;
+  private static final int MAX_SUBTREE_SIZE = 1000;
+
+  private final ArticleCommentService articleCommentService;
+
+  @GetMapping("/articles/{articleId}/comments")
+  public ResponseEntity<CommentThreadPageResponse> commentThreads(
+      @PathVariable Long articleId,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") int size,
+      @RequestParam(defaultValue = "3") int replySize
+  ) {
+    int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    int replyPageSize = Math.max(1, Math.min(replySize, MAX_PAGE_SIZE));
+
+    return ResponseEntity.ok(CommentThreadPageResponse.from(
+        articleCommentService.getCommentThreads(articleId, cursor, pageSize, replyPageSize)));
+  }
+
+  @GetMapping("/articles/{articleId}/comments/{commentId}/replies")
+  public ResponseEntity<CursorPage<ArticleCommentResponse>> replies(
+      @PathVariable Long articleId,
+      @PathVariable Long commentId,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") int size
+  ) {
+    int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+    return ResponseEntity.ok(articleCommentService.getReplies(articleId, commentId, cursor, pageSize)
+        .map(ArticleCommentResponse::from));
+  }
+
+  // expands a thread to any depth, or with collapsed=true only counts its replies
+  // up to `size` of the oldest replies are nested, replyCount says whether there are more
+  @GetMapping("/articles/{articleId}/comments/{commentId}/subtree")
+  public ResponseEntity<CommentSubtreeResponse> subtree(
+      @PathVariable Long articleId,
+      @PathVariable Long commentId,
+      @RequestParam(defaultValue = "false") boolean collapsed,
+      @RequestParam(defaultValue = "200") int size
+  ) {
+    int subtreeSize = Math.max(1, Math.min(size, MAX_SUBTREE_SIZE));
+
+    return ResponseEntity.ok(CommentSubtreeResponse.from(
+        articleCommentService.getCommentSubtree(articleId, commentId, collapsed, subtreeSize)));
+  }
+}
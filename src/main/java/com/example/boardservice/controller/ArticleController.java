@@ -1,17 +1,29 @@
 package com.example.boardservice.controller;
 
+import com.example.boardservice.cache.ArticleFragmentCache;
 import com.example.boardservice.domain.constant.FormStatus;
+import com.example.boardservice.domain.constant.HashtagSort;
 import com.example.boardservice.domain.constant.SearchType;
+import com.example.boardservice.domain.constant.TrendWindow;
+import com.example.boardservice.dto.CursorPage;
+import com.example.boardservice.dto.HashtagSummaryDto;
 import com.example.boardservice.dto.UserAccountDto;
 import com.example.boardservice.dto.request.ArticleRequest;
 import com.example.boardservice.dto.response.ArticleResponse;
+import com.example.boardservice.dto.response.ArticleSummaryResponse;
 import com.example.boardservice.dto.response.ArticleWithCommentsResponse;
+import com.example.boardservice.dto.response.TrendingHashtagResponse;
 import com.example.boardservice.dto.security.BoardPrincipal;
 import com.example.boardservice.service.ArticleService;
+import com.example.boardservice.service.HashtagService;
 import com.example.boardservice.service.PaginationService;
+import com.example.boardservice.trend.HashtagTrendTracker;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -19,6 +31,7 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.ModelMap;
 import org.springframework.web.bind.annotation.*;
 
+import java.security.Principal;
 import java.util.List;
 
 @RequiredArgsConstructor
@@ -26,17 +39,36 @@ import java.util.List;
 @Controller
 public class ArticleController {
 
+  private static final int HASHTAG_DIRECTORY_SIZE = 50;
+
   private final ArticleService articleService;
   private final PaginationService paginationService;
+  private final HashtagService hashtagService;
+  private final HashtagTrendTracker hashtagTrendTracker;
+  private final ArticleFragmentCache articleFragmentCache;
 
   @GetMapping
   public String articles(
       @RequestParam(required = false) SearchType searchType,
       @RequestParam(required = false) String searchKeyword,
+      // presence of the cursor parameter (even if empty) switches the unfiltered list to keyset pagination
+      @RequestParam(required = false) String cursor,
       @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
       ModelMap map
   ) {
-    Page<ArticleResponse> articles = articleService.searchArticles(searchType, searchKeyword, pageable).map(ArticleResponse::from);
+    if (cursor != null && (searchKeyword == null || searchKeyword.isBlank())) {
+      CursorPage<ArticleSummaryResponse> articles = articleService.searchArticlesByCursor(cursor, pageable.getPageSize()).map(ArticleSummaryResponse::from);
+
+      // the template still iterates over a Page, it just doesn't render page numbers for it
+      map.addAttribute("articles", new PageImpl<>(articles.content()));
+      map.addAttribute("cursorPaginationBar", paginationService.getCursorPaginationBar(articles));
+      map.addAttribute("searchTypes", SearchType.values());
+      map.addAttribute("searchTypeHashtag", SearchType.HASHTAG);
+
+      return "articles/index";
+    }
+
+    Page<ArticleSummaryResponse> articles = articleService.searchArticles(searchType, searchKeyword, pageable).map(ArticleSummaryResponse::from);
     List<Integer> barNumbers = paginationService.getPaginationBarNumbers(pageable.getPageNumber(), articles.getTotalPages());
 
     map.addAttribute("articles", articles);
@@ -48,8 +80,23 @@ public class ArticleController {
   }
 
   @GetMapping("/{articleId}")
-  public String article(@PathVariable Long articleId, ModelMap map) {
-    ArticleWithCommentsResponse article = ArticleWithCommentsResponse.from(articleService.getArticleWithComments(articleId));
+  public String article(
+      @PathVariable Long articleId,
+      // cursor of the next page of comment threads, the first page is rendered without one
+      @RequestParam(required = false) String comments,
+      // null for anonymous readers
+      Principal principal,
+      ModelMap map
+  ) {
+    // anonymous readers all see the same page: it is pasted together from HTML that was rendered once,
+    // and a hit goes neither to the database nor through the templates of the article and its comments
+    if (principal == null) {
+      map.addAttribute("fragments", articleFragmentCache.getFragments(articleId, comments));
+
+      return "articles/detail-anonymous";
+    }
+
+    ArticleWithCommentsResponse article = ArticleWithCommentsResponse.from(articleService.getArticleWithComments(articleId, comments));
 
     map.addAttribute("article", article);
     map.addAttribute("articleComments", article.articleCommentsResponse());
@@ -59,15 +106,31 @@ public class ArticleController {
     return "articles/detail";
   }
 
+  // newest first by id, the order HashtagBitmapIndex can serve (ids are time-ordered, see Article.id)
   @GetMapping("/search-hashtag")
   public String searchArticleHashtag(@RequestParam(required = false) String searchKeyword,
-                              @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+                              @PageableDefault(size = 10, sort = "id", direction = Sort.Direction.DESC) Pageable pageable,
                               ModelMap map) {
-    Page<ArticleResponse> articles = articleService.searchArticlesViaHashtag(searchKeyword, pageable).map(ArticleResponse::from);
-    List<Integer> barNumbers = paginationService.getPaginationBarNumbers(pageable.getPageNumber(), articles.getTotalPages());
-    List<String> hashtags = articleService.getHashtags();
+    Slice<ArticleResponse> articles = articleService.searchArticlesViaHashtag(searchKeyword, pageable).map(ArticleResponse::from);
+    // without a count, the bar only goes as far as the pages known to exist: this one and the next
+    int knownPages = articles instanceof Page<ArticleResponse> page
+        ? page.getTotalPages()
+        : articles.getNumber() + (articles.hasNext() ? 2 : 1);
+    List<Integer> barNumbers = paginationService.getPaginationBarNumbers(pageable.getPageNumber(), knownPages);
+    // only the most used hashtags, the full (paginated) list is available through /api/hashtags
+    List<String> hashtags = hashtagService.getHashtagDirectory(HashtagSort.POPULARITY, PageRequest.of(0, HASHTAG_DIRECTORY_SIZE))
+        .hashtags().map(HashtagSummaryDto::hashtagName).getContent();
+    List<TrendingHashtagResponse> trendingHashtags = hashtagTrendTracker.getTrendingHashtags(TrendWindow.DAY, 10).stream()
+        .map(TrendingHashtagResponse::from)
+        .toList();
     map.addAttribute("articles", articles);
     map.addAttribute("hashtags", hashtags);
+    map.addAttribute("trendingHashtags", trendingHashtags);
+    // a search that found nothing is most likely a typo, offer hashtags with a similar name instead of an empty page
+    List<String> similarHashtags = articles.isEmpty() && searchKeyword != null && !searchKeyword.isBlank()
+        ? hashtagService.findSimilarHashtags(searchKeyword, 5).stream().map(HashtagSummaryDto::hashtagName).toList()
+        : List.of();
+    map.addAttribute("similarHashtags", similarHashtags);
     map.addAttribute("paginationBarNumbers", barNumbers);
     map.addAttribute("searchType", SearchType.HASHTAG);
 
@@ -0,0 +1,31 @@
+package com.example.boardservice.controller;
+
+import com.example.boardservice.dto.CursorPage;
+import com.example.boardservice.dto.response.ArticleSummaryResponse;
+import com.example.boardservice.service.ArticleService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.rest.webmvc.RepositoryRestController;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+// adds a keyset paginated listing next to the Spring Data REST endpoints
+// @RepositoryRestController places the handler under the data rest base path (/api)
+@RequiredArgsConstructor
+@RepositoryRestController
+public class ArticleCursorApiController {
+
+  private static final int MAX_PAGE_SIZE = 100;
+
+  private final ArticleService articleService;
+
+  @GetMapping("/articles/cursor")
+  public ResponseEntity<CursorPage<ArticleSummaryResponse>> articles(
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") int size
+  ) {
+    int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+    return ResponseEntity.ok(articleService.searchArticlesByCursor(cursor, pageSize).map(ArticleSummaryResponse::from));
+  }
+}
@@ -0,0 +1,91 @@
+package com.example.boardservice.controller;
+
+import com.example.boardservice.domain.constant.HashtagSort;
+import com.example.boardservice.domain.constant.TrendWindow;
+import com.example.boardservice.dto.HashtagDirectoryPage;
+import com.example.boardservice.dto.response.HashtagDirectoryResponse;
+import com.example.boardservice.dto.response.HashtagSummaryResponse;
+import com.example.boardservice.dto.response.TrendingHashtagResponse;
+import com.example.boardservice.index.HashtagAutocompleteIndex;
+import com.example.boardservice.service.HashtagService;
+import com.example.boardservice.trend.HashtagTrendTracker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.rest.webmvc.RepositoryRestController;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+
+// hashtag listings under the data rest base path (/api)
+@RequiredArgsConstructor
+@RepositoryRestController
+public class HashtagApiController {
+
+  private static final int MAX_PAGE_SIZE = 200;
+  private static final int MAX_SUGGESTIONS = 20;
+
+  private final HashtagService hashtagService;
+  private final HashtagTrendTracker hashtagTrendTracker;
+  private final HashtagAutocompleteIndex hashtagAutocompleteIndex;
+
+  // every hashtag, one page at a time
+  // the ETag lets browsers revalidate a page they already have and get an empty 304 Not Modified back
+  // read: https://developer.mozilla.org/en-US/docs/Web/HTTP/Headers/ETag
+  @GetMapping("/hashtags")
+  public ResponseEntity<HashtagDirectoryResponse> hashtags(
+      @RequestParam(defaultValue = "NAME") HashtagSort sort,
+      @RequestParam(defaultValue = "0") int page,
+      @RequestParam(defaultValue = "50") int size,
+      WebRequest webRequest
+  ) {
+    PageRequest pageable = PageRequest.of(Math.max(0, page), Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+    HashtagDirectoryPage directoryPage = hashtagService.getHashtagDirectory(sort, pageable);
+    // sets the 304 status and headers on the response by itself, the body must be left empty
+    if (webRequest.checkNotModified(directoryPage.eTag())) {
+      return null;
+    }
+
+    return ResponseEntity.ok()
+        // browsers may keep the page, but have to revalidate it before every use
+        .cacheControl(CacheControl.noCache())
+        .eTag(directoryPage.eTag())
+        .body(HashtagDirectoryResponse.from(directoryPage));
+  }
+
+  // typeahead for hashtag search boxes, eg. /api/hashtags/autocomplete?prefix=스프 or ?prefix=#spr
+  @GetMapping("/hashtags/autocomplete")
+  public ResponseEntity<List<HashtagSummaryResponse>> autocomplete(
+      @RequestParam String prefix,
+      @RequestParam(defaultValue = "10") int size
+  ) {
+    return ResponseEntity.ok(hashtagAutocompleteIndex.suggest(prefix, Math.max(1, Math.min(size, MAX_SUGGESTIONS))).stream()
+        .map(HashtagSummaryResponse::from)
+        .toList());
+  }
+
+  // "did you mean": hashtags within a small edit distance of a (misspelled) name
+  @GetMapping("/hashtags/similar")
+  public ResponseEntity<List<HashtagSummaryResponse>> similarHashtags(
+      @RequestParam String name,
+      @RequestParam(defaultValue = "5") int size
+  ) {
+    return ResponseEntity.ok(hashtagService.findSimilarHashtags(name, Math.max(1, Math.min(size, MAX_SUGGESTIONS))).stream()
+        .map(HashtagSummaryResponse::from)
+        .toList());
+  }
+
+  // most used hashtags of the last hour/day/week
+  @GetMapping("/hashtags/trending")
+  public ResponseEntity<List<TrendingHashtagResponse>> trendingHashtags(
+      @RequestParam(defaultValue = "DAY") TrendWindow window,
+      @RequestParam(defaultValue = "10") int size
+  ) {
+    return ResponseEntity.ok(hashtagTrendTracker.getTrendingHashtags(window, Math.max(1, size)).stream()
+        .map(TrendingHashtagResponse::from)
+        .toList());
+  }
+}
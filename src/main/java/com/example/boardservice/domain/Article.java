@@ -1,9 +1,11 @@
 package com.example.boardservice.domain;
 
+import com.example.boardservice.id.SnowflakeIdentifierGenerator;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.GenericGenerator;
 import org.apache.catalina.User;
 
 import java.util.Collection;
@@ -21,14 +23,28 @@ import java.util.Set;
     @Index(columnList = "createdAt"),
     @Index(columnList = "createdBy")
 })
+// fetch plans for the use cases that read the author or the hashtags along with the article, see ArticleRepository
+// both associations are lazy by default, so anything not named in a plan costs a query of its own when touched
+// read: https://docs.jboss.org/hibernate/orm/6.3/userguide/html_single/Hibernate_User_Guide.html#fetching-strategies-dynamic-fetching-entity-graph
+@NamedEntityGraph(name = "Article.withUserAccount", attributeNodes = @NamedAttributeNode("userAccount"))
+@NamedEntityGraph(name = "Article.withUserAccountAndHashtags", attributeNodes = {
+    @NamedAttributeNode("userAccount"),
+    @NamedAttributeNode("hashtags")
+})
 @Entity
 public class Article extends AuditingFields {
   // declare primary key and how to generate said key (JPA)
+  // time-ordered ids generated on the app node (see SnowflakeIdGenerator): no round trip to the database per id,
+  // so inserts can still be batched, and several nodes can insert into the same table
+  // the seed rows of data.sql have small ids, far below any generated one
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(generator = "article_id")
+  @GenericGenerator(name = "article_id", type = SnowflakeIdentifierGenerator.class)
   private Long id;
 
-  @Setter @ManyToOne(optional = false) @JoinColumn(name = "userId") private UserAccount userAccount;
+  // lazy, like every to-one association here: a proxy until read, and excluded from toString so logging doesn't load it
+  @ToString.Exclude
+  @Setter @ManyToOne(optional = false, fetch = FetchType.LAZY) @JoinColumn(name = "userId") private UserAccount userAccount;
 
   // note that id does not have annotation @Setter
   // we want id to be unchangeable
@@ -86,6 +102,10 @@ public class Article extends AuditingFields {
     this.getHashtags().addAll(hashtags);
   }
 
+  public void removeHashtags(Collection<Hashtag> hashtags) {
+    this.getHashtags().removeAll(hashtags);
+  }
+
   public void clearHashtags() {
     this.getHashtags().clear();
   }
@@ -1,9 +1,11 @@
 package com.example.boardservice.domain;
 
+import com.example.boardservice.id.SnowflakeIdentifierGenerator;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.GenericGenerator;
 
 import java.util.LinkedHashSet;
 import java.util.Objects;
@@ -15,30 +17,47 @@ import java.util.Set;
 @Table(indexes = {
     @Index(columnList = "content"),
     @Index(columnList = "createdAt"),
-    @Index(columnList = "createdBy")
+    @Index(columnList = "createdBy"),
+    // comment threads are read page by page: the root comments of an article (parentCommentId is null) or the
+    // replies to a comment, in createdAt order, see ArticleCommentRepositoryCustom
+    @Index(columnList = "article_id, parentCommentId, createdAt"),
+    // the replies below a comment at any depth share a path prefix, see CommentPath
+    @Index(columnList = "article_id, path")
 })
+// the author is the only association shown with a comment, see Article for the fetch plans
+@NamedEntityGraph(name = "ArticleComment.withUserAccount", attributeNodes = @NamedAttributeNode("userAccount"))
 @Entity
 // inherit class with fields to extend this class to 'link' the two modules
 // the superclass needs to be annotated with @MappedSuperclass
 public class ArticleComment extends AuditingFields {
+  // time-ordered ids, see Article.id
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(generator = "article_comment_id")
+  @GenericGenerator(name = "article_comment_id", type = SnowflakeIdentifierGenerator.class)
   private Long id;
   // can also be implemented without annotation, eg. private Long articleId
   // but best practice is to decouple and use annotation
+  // lazy, see Article.userAccount: getArticle().getId() reads the foreign key without loading the article
+  @ToString.Exclude
   @Setter
-  @ManyToOne(optional = false)
+  @ManyToOne(optional = false, fetch = FetchType.LAZY)
   private Article article;
 
+  @ToString.Exclude
   @Setter
   @JoinColumn(name = "userId")
-  @ManyToOne(optional = false)
+  @ManyToOne(optional = false, fetch = FetchType.LAZY)
   private UserAccount userAccount;
 
   @Setter
   @Column(updatable = false)
   private Long parentCommentId;
 
+  // ids of the ancestors, root first (see CommentPath), null for root comments
+  // set once along with parentCommentId, and by CommentPathBackfill for replies written before paths existed
+  @Column(length = CommentPath.MAX_LENGTH)
+  private String path;
+
   @ToString.Exclude
   @OrderBy("createdAt ASC")
   @OneToMany(mappedBy = "parentCommentId", cascade = CascadeType.ALL)
@@ -61,11 +80,43 @@ public class ArticleComment extends AuditingFields {
     return new ArticleComment(article, userAccount, null, content);
   }
 
+  // a reply that is simply inserted: unlike addChildComment it never touches the parent's childComments
+  // path is CommentPath.childPathOf(parent), or null if the parent's own path hasn't been backfilled yet
+  public static ArticleComment replyOf(Article article, UserAccount userAccount, Long parentCommentId, String path, String content) {
+    checkDepth(path, parentCommentId);
+    ArticleComment reply = new ArticleComment(article, userAccount, parentCommentId, content);
+    reply.path = path;
+
+    return reply;
+  }
+
+  // loads every reply of this comment to add one more, see replyOf
   public void addChildComment(ArticleComment child) {
+    String childPath = CommentPath.childPathOf(this);
+    checkDepth(childPath, id);
     child.setParentCommentId(this.getId());
+    child.path = childPath;
     this.getChildComments().add(child);
   }
 
+  private static void checkDepth(String path, Long parentCommentId) {
+    if (CommentPath.depthOf(path) > CommentPath.MAX_DEPTH) {
+      throw new IllegalArgumentException("Replies can't be nested more than " + CommentPath.MAX_DEPTH + " levels deep - parentCommentId: " + parentCommentId);
+    }
+  }
+
+  // root comments need no path, replies only have one once their parent has
+  public boolean hasPath() {
+    return parentCommentId == null || path != null;
+  }
+
+  // for replies written before paths existed
+  public void backfillPath(ArticleComment parent) {
+    if (path == null && parent.hasPath()) {
+      path = CommentPath.childPathOf(parent);
+    }
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
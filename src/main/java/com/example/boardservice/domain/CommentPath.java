@@ -0,0 +1,40 @@
+package com.example.boardservice.domain;
+
+// materialized path of a comment: the ids of its ancestors, root first, see ArticleComment.path
+// every id takes SEGMENT_LENGTH base 36 characters, zero padded, so that
+// - the path of a reply is the path of its parent followed by the parent's segment
+// - a comment's replies at any depth are exactly the comments whose path starts with childPathOf(comment),
+//   a range scan of the (article_id, path) index
+// - the depth of a comment is the length of its path divided by SEGMENT_LENGTH
+// 11 base 36 characters hold any 53 bit snowflake id (see SnowflakeIdGenerator)
+// read: https://docs.mongodb.com/manual/tutorial/model-tree-structures-with-materialized-paths/
+public final class CommentPath {
+
+  public static final int SEGMENT_LENGTH = 11;
+  public static final int MAX_DEPTH = 45;
+  public static final int MAX_LENGTH = SEGMENT_LENGTH * MAX_DEPTH;
+  private static final String PADDING = "0".repeat(SEGMENT_LENGTH);
+
+  private CommentPath() {
+  }
+
+  public static String segmentOf(long id) {
+    String segment = Long.toString(id, Character.MAX_RADIX);
+
+    return PADDING.substring(segment.length()) + segment;
+  }
+
+  // the path of the replies to the given comment, and the prefix of the paths of everything below it
+  public static String childPathOf(ArticleComment parent) {
+    return childPathOf(parent.getPath(), parent.getId());
+  }
+
+  public static String childPathOf(String parentPath, long parentId) {
+    return (parentPath == null ? "" : parentPath) + segmentOf(parentId);
+  }
+
+  // 0 for root comments, 1 for replies to them... etc
+  public static int depthOf(String path) {
+    return path == null ? 0 : path.length() / SEGMENT_LENGTH;
+  }
+}
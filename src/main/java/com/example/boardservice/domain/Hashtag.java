@@ -1,10 +1,14 @@
 package com.example.boardservice.domain;
 
+import com.example.boardservice.event.HashtagEntityListener;
+import com.example.boardservice.id.SnowflakeIdentifierGenerator;
 import jakarta.annotation.Nullable;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.GenericGenerator;
 
 import java.util.LinkedHashSet;
 import java.util.Objects;
@@ -16,17 +20,28 @@ import java.util.Set;
 @Table(indexes = {
     @Index(columnList = "hashtagName", unique = true),
     @Index(columnList = "createdAt"),
-    @Index(columnList = "createdBy")
+    @Index(columnList = "createdBy"),
+    // lets OrphanHashtagSweeper find hashtags without articles without scanning the table
+    // and serves the popularity ordering of the hashtag directory (articleCount desc, hashtagName) from the index
+    @Index(columnList = "articleCount DESC, hashtagName")
 })
+// keeps HashtagDictionary in sync with inserted/deleted hashtags
+@EntityListeners(HashtagEntityListener.class)
 @Entity
 public class Hashtag extends AuditingFields {
+  // time-ordered ids, see Article.id
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(generator = "hashtag_id")
+  @GenericGenerator(name = "hashtag_id", type = SnowflakeIdentifierGenerator.class)
   private Long id;
 
 
   @ToString.Exclude @ManyToMany(mappedBy = "hashtags") private Set<Article> articles = new LinkedHashSet<>();
   @Setter @Column(nullable = false) private String hashtagName;
+  // number of articles linked to this hashtag, maintained with bulk updates by ArticleService so that
+  // finding out whether a hashtag is still in use doesn't mean loading its articles
+  // repaired nightly by HashtagArticleCountReconciler in case it drifts
+  @ColumnDefault("0") @Column(nullable = false) private long articleCount = 0;
 
   // opinions/best practices regarding empty constructors
   // read: https://stackoverflow.com/questions/18993936/how-to-best-explain-and-use-empty-constructors-in-java
@@ -0,0 +1,19 @@
+package com.example.boardservice.domain.constant;
+
+import lombok.Getter;
+
+// how the total number of results is obtained for a page of articles
+public enum CountMode {
+  // run a COUNT query (skipped when the page itself reveals the total, eg. a short last page)
+  EXACT("Exact"),
+  // reuse the last COUNT for the same search until an article is written
+  CACHED("Cached"),
+  // no COUNT at all: read one row past the page and only report whether a next page exists
+  ESTIMATED("Estimated");
+
+  @Getter private final String description;
+
+  CountMode(String description) {
+    this.description = description;
+  }
+}
@@ -0,0 +1,19 @@
+package com.example.boardservice.domain.constant;
+
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+
+// orderings of the hashtag directory
+// name is the tie-breaker of every ordering, so pages are stable
+public enum HashtagSort {
+  NAME("Name", Sort.by("hashtagName")),
+  POPULARITY("Popularity", Sort.by(Sort.Direction.DESC, "articleCount").and(Sort.by("hashtagName")));
+
+  @Getter private final String description;
+  @Getter private final Sort sort;
+
+  HashtagSort(String description, Sort sort) {
+    this.description = description;
+    this.sort = sort;
+  }
+}
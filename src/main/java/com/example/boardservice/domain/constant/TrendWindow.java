@@ -0,0 +1,23 @@
+package com.example.boardservice.domain.constant;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+// time windows trending hashtags are ranked over
+// each window is split into buckets that expire one at a time, so the window slides in bucket sized steps
+public enum TrendWindow {
+  HOUR("Last hour", Duration.ofHours(1), 12),
+  DAY("Last 24 hours", Duration.ofDays(1), 24),
+  WEEK("Last 7 days", Duration.ofDays(7), 28);
+
+  @Getter private final String description;
+  @Getter private final Duration length;
+  @Getter private final int buckets;
+
+  TrendWindow(String description, Duration length, int buckets) {
+    this.description = description;
+    this.length = length;
+    this.buckets = buckets;
+  }
+}
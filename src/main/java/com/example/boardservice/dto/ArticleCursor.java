@@ -0,0 +1,50 @@
+package com.example.boardservice.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// position of an article in the (createdAt DESC, id DESC) ordering of the article list
+// keyset (seek) pagination continues from this position instead of skipping OFFSET n rows
+// read: https://use-the-index-luke.com/no-offset
+// backward marks cursors that page towards newer articles (the 'previous' link)
+public record ArticleCursor(LocalDateTime createdAt, Long id, boolean backward) {
+
+  private static final String DELIMITER = "|";
+
+  public static ArticleCursor of(LocalDateTime createdAt, Long id, boolean backward) {
+    return new ArticleCursor(createdAt, id, backward);
+  }
+
+  public static ArticleCursor nextOf(ArticleSummaryDto article) {
+    return ArticleCursor.of(article.createdAt(), article.id(), false);
+  }
+
+  public static ArticleCursor previousOf(ArticleSummaryDto article) {
+    return ArticleCursor.of(article.createdAt(), article.id(), true);
+  }
+
+  // cursors are handed out to clients as opaque strings, so their format can change without breaking links
+  public String encode() {
+    String raw = (backward ? "p" : "n") + DELIMITER + createdAt + DELIMITER + id;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  // returns null for blank or malformed cursors, which callers treat as the first page
+  public static ArticleCursor decode(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return null;
+    }
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      String[] parts = raw.split("\\|");
+      if (parts.length != 3) {
+        return null;
+      }
+      return ArticleCursor.of(LocalDateTime.parse(parts[1]), Long.valueOf(parts[2]), "p".equals(parts[0]));
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      return null;
+    }
+  }
+}
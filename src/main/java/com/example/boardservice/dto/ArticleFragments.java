@@ -0,0 +1,16 @@
+package com.example.boardservice.dto;
+
+// the parts of an article page that look the same to every anonymous reader, already rendered to HTML
+// body is the title, author, hashtags and content of the article, comments is one page of its comment threads
+// see ArticleFragmentCache
+public record ArticleFragments(Long articleId, String body, String comments) {
+
+  public static ArticleFragments of(Long articleId, String body, String comments) {
+    return new ArticleFragments(articleId, body, comments);
+  }
+
+  // an upper bound of the memory held by the HTML, 2 bytes per char (strings that fit in latin-1 take half that)
+  public int weight() {
+    return 2 * (body.length() + comments.length());
+  }
+}
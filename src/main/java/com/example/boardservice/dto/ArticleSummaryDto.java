@@ -0,0 +1,36 @@
+package com.example.boardservice.dto;
+
+import com.example.boardservice.repository.projection.ArticleSummaryProjection;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+// an article as the list and search pages show it, without its content (see ArticleSummaryProjection)
+public record ArticleSummaryDto(
+    Long id,
+    String title,
+    Set<String> hashtagNames,
+    LocalDateTime createdAt,
+    String userId,
+    String email,
+    String nickname
+) {
+
+  public static ArticleSummaryDto of(Long id, String title, Set<String> hashtagNames, LocalDateTime createdAt, String userId, String email, String nickname) {
+    return new ArticleSummaryDto(id, title, hashtagNames, createdAt, userId, email, nickname);
+  }
+
+  // the hashtags are read separately, for a whole page at once
+  public static ArticleSummaryDto from(ArticleSummaryProjection projection, Set<String> hashtagNames) {
+    return new ArticleSummaryDto(
+        projection.id(),
+        projection.title(),
+        hashtagNames,
+        projection.createdAt(),
+        projection.userId(),
+        projection.email(),
+        projection.nickname()
+    );
+  }
+
+}
@@ -5,6 +5,7 @@ import com.example.boardservice.domain.Hashtag;
 
 import java.time.LocalDateTime;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -18,19 +19,24 @@ public record ArticleWithCommentsDto(
     LocalDateTime createdAt,
     String createdBy,
     LocalDateTime modifiedAt,
-    String modifiedBy
+    String modifiedBy,
+    // articleCommentDtos only holds one page of comment threads, these point to the rest (see CommentThreadPage)
+    String commentCursor,
+    Map<Long, String> replyCursors
 ) {
   public static ArticleWithCommentsDto of(Long id, UserAccountDto userAccountDto, Set<ArticleCommentDto> articleCommentDtos, String title, String content, Set<HashtagDto> hashtagDtos, LocalDateTime createdAt, String createdBy, LocalDateTime modifiedAt, String modifiedBy) {
-    return new ArticleWithCommentsDto(id, userAccountDto, articleCommentDtos, title, content, hashtagDtos, createdAt, createdBy, modifiedAt, modifiedBy);
+    return new ArticleWithCommentsDto(id, userAccountDto, articleCommentDtos, title, content, hashtagDtos, createdAt, createdBy, modifiedAt, modifiedBy, null, Map.of());
   }
 
-  public static ArticleWithCommentsDto from(Article entity) {
+  public static ArticleWithCommentsDto of(Long id, UserAccountDto userAccountDto, Set<ArticleCommentDto> articleCommentDtos, String title, String content, Set<HashtagDto> hashtagDtos, LocalDateTime createdAt, String createdBy, LocalDateTime modifiedAt, String modifiedBy, String commentCursor, Map<Long, String> replyCursors) {
+    return new ArticleWithCommentsDto(id, userAccountDto, articleCommentDtos, title, content, hashtagDtos, createdAt, createdBy, modifiedAt, modifiedBy, commentCursor, replyCursors);
+  }
+
+  public static ArticleWithCommentsDto from(Article entity, CommentThreadPage commentThreads) {
     return new ArticleWithCommentsDto(
         entity.getId(),
         UserAccountDto.from(entity.getUserAccount()),
-        entity.getArticleComments().stream()
-            .map(ArticleCommentDto::from)
-            .collect(Collectors.toCollection(LinkedHashSet::new)),
+        new LinkedHashSet<>(commentThreads.comments()),
         entity.getTitle(),
         entity.getContent(),
         entity.getHashtags().stream()
@@ -39,7 +45,9 @@ public record ArticleWithCommentsDto(
         entity.getCreatedAt(),
         entity.getCreatedBy(),
         entity.getModifiedAt(),
-        entity.getModifiedBy()
+        entity.getModifiedBy(),
+        commentThreads.nextCursor(),
+        commentThreads.replyCursors()
     );
   }
 
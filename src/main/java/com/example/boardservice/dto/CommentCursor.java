@@ -0,0 +1,45 @@
+package com.example.boardservice.dto;
+
+import com.example.boardservice.domain.ArticleComment;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// position of a comment among its siblings (root comments of an article, or replies to a comment)
+// comment threads are paged with keyset pagination over (createdAt, id) like the article list, see ArticleCursor
+public record CommentCursor(LocalDateTime createdAt, Long id) {
+
+  private static final String DELIMITER = "|";
+
+  public static CommentCursor of(LocalDateTime createdAt, Long id) {
+    return new CommentCursor(createdAt, id);
+  }
+
+  public static CommentCursor after(ArticleComment articleComment) {
+    return CommentCursor.of(articleComment.getCreatedAt(), articleComment.getId());
+  }
+
+  public String encode() {
+    String raw = createdAt + DELIMITER + id;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  // returns null for blank or malformed cursors, which callers treat as the first page
+  public static CommentCursor decode(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return null;
+    }
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      String[] parts = raw.split("\\|");
+      if (parts.length != 2) {
+        return null;
+      }
+      return CommentCursor.of(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      return null;
+    }
+  }
+}
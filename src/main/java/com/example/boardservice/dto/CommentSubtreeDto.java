@@ -0,0 +1,18 @@
+package com.example.boardservice.dto;
+
+import java.util.List;
+
+// a comment with the replies below it, oldest first (replies is empty for a collapsed subtree, replyCount isn't)
+// replyCount counts every reply below the comment, also the ones left out of replies
+// depth is 0 for root comments
+public record CommentSubtreeDto(
+    ArticleCommentDto comment,
+    List<ArticleCommentDto> replies,
+    int depth,
+    long replyCount
+) {
+
+  public static CommentSubtreeDto of(ArticleCommentDto comment, List<ArticleCommentDto> replies, int depth, long replyCount) {
+    return new CommentSubtreeDto(comment, replies, depth, replyCount);
+  }
+}
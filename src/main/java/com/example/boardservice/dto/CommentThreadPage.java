@@ -0,0 +1,22 @@
+package com.example.boardservice.dto;
+
+import java.util.List;
+import java.util.Map;
+
+// a page of comment threads: root comments (newest first), each followed by its first replies (oldest first)
+// replyCursors holds, for every root with more replies than shown, the cursor to read the rest from
+// nextCursor is null when there are no more root comments
+public record CommentThreadPage(
+    List<ArticleCommentDto> comments,
+    Map<Long, String> replyCursors,
+    String nextCursor
+) {
+
+  public static CommentThreadPage of(List<ArticleCommentDto> comments, Map<Long, String> replyCursors, String nextCursor) {
+    return new CommentThreadPage(comments, replyCursors, nextCursor);
+  }
+
+  public static CommentThreadPage empty() {
+    return new CommentThreadPage(List.of(), Map.of(), null);
+  }
+}
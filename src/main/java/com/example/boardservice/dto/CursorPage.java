@@ -0,0 +1,33 @@
+package com.example.boardservice.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+// a page of keyset pagination: unlike Page, it carries no page number or total count (no COUNT(*) query)
+// the cursors are null when there is nothing more to read in that direction
+public record CursorPage<T>(
+    List<T> content,
+    String previousCursor,
+    String nextCursor
+) {
+
+  public static <T> CursorPage<T> of(List<T> content, String previousCursor, String nextCursor) {
+    return new CursorPage<>(content, previousCursor, nextCursor);
+  }
+
+  public static <T> CursorPage<T> empty() {
+    return new CursorPage<>(List.of(), null, null);
+  }
+
+  public <R> CursorPage<R> map(Function<? super T, ? extends R> converter) {
+    return new CursorPage<>(content.stream().<R>map(converter).toList(), previousCursor, nextCursor);
+  }
+
+  public boolean hasPrevious() {
+    return previousCursor != null;
+  }
+
+  public boolean hasNext() {
+    return nextCursor != null;
+  }
+}
@@ -0,0 +1,12 @@
+package com.example.boardservice.dto;
+
+import org.springframework.data.domain.Page;
+
+// one page of the hashtag directory along with a fingerprint of its content
+// eTag changes whenever the page would render differently, see HashtagDirectory
+public record HashtagDirectoryPage(Page<HashtagSummaryDto> hashtags, String eTag) {
+
+  public static HashtagDirectoryPage of(Page<HashtagSummaryDto> hashtags, String eTag) {
+    return new HashtagDirectoryPage(hashtags, eTag);
+  }
+}
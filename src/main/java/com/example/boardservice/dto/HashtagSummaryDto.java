@@ -0,0 +1,14 @@
+package com.example.boardservice.dto;
+
+import com.example.boardservice.repository.projection.HashtagSummaryProjection;
+
+public record HashtagSummaryDto(String hashtagName, long articleCount) {
+
+  public static HashtagSummaryDto of(String hashtagName, long articleCount) {
+    return new HashtagSummaryDto(hashtagName, articleCount);
+  }
+
+  public static HashtagSummaryDto from(HashtagSummaryProjection projection) {
+    return new HashtagSummaryDto(projection.getHashtagName(), projection.getArticleCount());
+  }
+}
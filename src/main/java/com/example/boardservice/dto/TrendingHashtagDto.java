@@ -0,0 +1,9 @@
+package com.example.boardservice.dto;
+
+// count is an estimate: it may be slightly too high, but never too low
+public record TrendingHashtagDto(String hashtagName, long count) {
+
+  public static TrendingHashtagDto of(String hashtagName, long count) {
+    return new TrendingHashtagDto(hashtagName, count);
+  }
+}
@@ -38,22 +38,40 @@ public record ArticleCommentResponse(
   }
 
   public static ArticleCommentResponse from(ArticleCommentDto dto) {
-    String nickname = dto.userAccountDto().nickname();
-    if (nickname == null || nickname.isBlank()) {
-      nickname = dto.userAccountDto().userId();
-    }
-
     return ArticleCommentResponse.of(
         dto.id(),
         dto.content(),
         dto.createdAt(),
         dto.userAccountDto().email(),
-        nickname,
+        nicknameOf(dto),
         dto.userAccountDto().userId(),
         dto.parentCommentId()
     );
   }
 
+  // for callers that pass the child comments already in their display order, see CommentTreeAssembler
+  public static ArticleCommentResponse from(ArticleCommentDto dto, Set<ArticleCommentResponse> childComments) {
+    return new ArticleCommentResponse(
+        dto.id(),
+        dto.content(),
+        dto.createdAt(),
+        dto.userAccountDto().email(),
+        nicknameOf(dto),
+        dto.userAccountDto().userId(),
+        dto.parentCommentId(),
+        childComments
+    );
+  }
+
+  private static String nicknameOf(ArticleCommentDto dto) {
+    String nickname = dto.userAccountDto().nickname();
+    if (nickname == null || nickname.isBlank()) {
+      nickname = dto.userAccountDto().userId();
+    }
+
+    return nickname;
+  }
+
   public boolean hasParentComment() {
     return parentCommentId != null;
   }
@@ -0,0 +1,38 @@
+package com.example.boardservice.dto.response;
+
+import com.example.boardservice.dto.ArticleSummaryDto;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+// a row of the article list, ArticleResponse without the content
+public record ArticleSummaryResponse(
+    Long id,
+    String title,
+    Set<String> hashtags,
+    LocalDateTime createdAt,
+    String email,
+    String nickname
+) {
+
+  public static ArticleSummaryResponse of(Long id, String title, Set<String> hashtags, LocalDateTime createdAt, String email, String nickname) {
+    return new ArticleSummaryResponse(id, title, hashtags, createdAt, email, nickname);
+  }
+
+  public static ArticleSummaryResponse from(ArticleSummaryDto dto) {
+    String nickname = dto.nickname();
+    if (nickname == null || nickname.isBlank()) {
+      nickname = dto.userId();
+    }
+
+    return new ArticleSummaryResponse(
+        dto.id(),
+        dto.title(),
+        dto.hashtagNames(),
+        dto.createdAt(),
+        dto.email(),
+        nickname
+    );
+  }
+
+}
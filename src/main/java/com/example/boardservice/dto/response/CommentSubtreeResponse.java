@@ -0,0 +1,30 @@
+package com.example.boardservice.dto.response;
+
+import com.example.boardservice.dto.ArticleCommentDto;
+import com.example.boardservice.dto.CommentSubtreeDto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+// the comment with its replies nested in childComments, down to any depth
+public record CommentSubtreeResponse(
+    ArticleCommentResponse comment,
+    int depth,
+    long replyCount
+) implements Serializable {
+
+  public static CommentSubtreeResponse of(ArticleCommentResponse comment, int depth, long replyCount) {
+    return new CommentSubtreeResponse(comment, depth, replyCount);
+  }
+
+  public static CommentSubtreeResponse from(CommentSubtreeDto dto) {
+    List<ArticleCommentDto> rows = new ArrayList<>(dto.replies().size() + 1);
+    rows.add(dto.comment());
+    rows.addAll(dto.replies());
+    // the comment is the only one whose parent isn't among the rows, so it's the single top level comment
+    ArticleCommentResponse comment = CommentTreeAssembler.assemble(rows).iterator().next();
+
+    return new CommentSubtreeResponse(comment, dto.depth(), dto.replyCount());
+  }
+}
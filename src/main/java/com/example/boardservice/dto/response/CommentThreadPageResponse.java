@@ -0,0 +1,27 @@
+package com.example.boardservice.dto.response;
+
+import com.example.boardservice.dto.CommentThreadPage;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Set;
+
+// root comments with their first replies nested in childComments, like the comments of ArticleWithCommentsResponse
+public record CommentThreadPageResponse(
+    Set<ArticleCommentResponse> comments,
+    Map<Long, String> replyCursors,
+    String nextCursor
+) implements Serializable {
+
+  public static CommentThreadPageResponse of(Set<ArticleCommentResponse> comments, Map<Long, String> replyCursors, String nextCursor) {
+    return new CommentThreadPageResponse(comments, replyCursors, nextCursor);
+  }
+
+  public static CommentThreadPageResponse from(CommentThreadPage page) {
+    return new CommentThreadPageResponse(
+        CommentTreeAssembler.assemble(page.comments()),
+        page.replyCursors(),
+        page.nextCursor()
+    );
+  }
+}
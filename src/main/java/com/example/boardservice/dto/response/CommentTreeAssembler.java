@@ -0,0 +1,93 @@
+package com.example.boardservice.dto.response;
+
+import com.example.boardservice.dto.ArticleCommentDto;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// builds reply trees of any depth out of a flat list of comments, without comparing comments to each other
+// the rows are expected oldest first (createdAt, then id), the order `order by created_at, id` reads them in;
+// rows in any other order are sorted first, the O(n log n) the TreeSet based version used to pay on every call
+// - a reply is never older than the comment it replies to, so its parent comes before it in the rows
+// - replies are shown oldest first, so collecting them in row order keeps them in display order
+// - root comments are shown newest first, the oldest first list of them is walked backwards at the end
+// the children of a comment are a LinkedHashSet filled before the comment itself is created (newest rows first):
+// a record's hashCode includes its replies, a set that is filled after its comment was hashed would corrupt the
+// set holding that comment
+// so every comment is hashed once for each of its ancestors, O(n * depth) with depth at most CommentPath.MAX_DEPTH
+final class CommentTreeAssembler {
+
+  static final Comparator<ArticleCommentDto> ROW_ORDER = Comparator
+      .comparing(ArticleCommentDto::createdAt)
+      .thenComparingLong(ArticleCommentDto::id);
+
+  private CommentTreeAssembler() {
+  }
+
+  static Set<ArticleCommentResponse> assemble(Collection<ArticleCommentDto> rows) {
+    List<ArticleCommentDto> ordered = inRowOrder(rows);
+    Set<Long> seen = HashSet.newHashSet(ordered.size());
+    Map<Long, List<Long>> childIds = new HashMap<>();
+    List<ArticleCommentDto> roots = new ArrayList<>();
+    for (ArticleCommentDto row : ordered) {
+      if (row.parentCommentId() != null && seen.contains(row.parentCommentId())) {
+        childIds.computeIfAbsent(row.parentCommentId(), id -> new ArrayList<>()).add(row.id());
+      } else {
+        // a reply whose parent wasn't read along with it is shown at the top level rather than dropped
+        roots.add(row);
+      }
+      seen.add(row.id());
+    }
+
+    // replies come after their parent, so walking backwards creates every comment after all of its replies
+    Map<Long, ArticleCommentResponse> created = HashMap.newHashMap(ordered.size());
+    for (int i = ordered.size() - 1; i >= 0; i--) {
+      ArticleCommentDto row = ordered.get(i);
+      List<Long> replyIds = childIds.getOrDefault(row.id(), List.of());
+      Set<ArticleCommentResponse> childComments = LinkedHashSet.newLinkedHashSet(replyIds.size());
+      for (Long replyId : replyIds) {
+        childComments.add(created.remove(replyId));
+      }
+      created.put(row.id(), ArticleCommentResponse.from(row, childComments));
+    }
+
+    return newestFirst(roots.stream().map(root -> created.get(root.id())).toList());
+  }
+
+  private static List<ArticleCommentDto> inRowOrder(Collection<ArticleCommentDto> rows) {
+    List<ArticleCommentDto> ordered = new ArrayList<>(rows);
+    for (int i = 1; i < ordered.size(); i++) {
+      if (ROW_ORDER.compare(ordered.get(i - 1), ordered.get(i)) > 0) {
+        ordered.sort(ROW_ORDER);
+        break;
+      }
+    }
+
+    return ordered;
+  }
+
+  // newest first, comments posted at the same time stay in id order
+  private static Set<ArticleCommentResponse> newestFirst(List<ArticleCommentResponse> roots) {
+    Set<ArticleCommentResponse> ordered = LinkedHashSet.newLinkedHashSet(roots.size());
+    int end = roots.size();
+    while (end > 0) {
+      int start = end - 1;
+      while (start > 0 && roots.get(start - 1).createdAt().equals(roots.get(end - 1).createdAt())) {
+        start--;
+      }
+      for (int i = start; i < end; i++) {
+        ordered.add(roots.get(i));
+      }
+      end = start;
+    }
+
+    return ordered;
+  }
+}
@@ -0,0 +1,15 @@
+package com.example.boardservice.dto.response;
+
+// pagination bar for keyset pages
+// there are no page numbers to show, so the bar links to the first page and to the neighbouring pages
+public record CursorPaginationBar(
+    boolean hasPrevious,
+    String previousCursor,
+    boolean hasNext,
+    String nextCursor
+) {
+
+  public static CursorPaginationBar of(String previousCursor, String nextCursor) {
+    return new CursorPaginationBar(previousCursor != null, previousCursor, nextCursor != null, nextCursor);
+  }
+}
@@ -0,0 +1,29 @@
+package com.example.boardservice.dto.response;
+
+import com.example.boardservice.dto.HashtagDirectoryPage;
+
+import java.util.List;
+
+// a flat page instead of serializing PageImpl, whose JSON layout isn't meant to be stable
+public record HashtagDirectoryResponse(
+    List<HashtagSummaryResponse> hashtags,
+    int page,
+    int size,
+    long totalElements,
+    int totalPages
+) {
+
+  public static HashtagDirectoryResponse of(List<HashtagSummaryResponse> hashtags, int page, int size, long totalElements, int totalPages) {
+    return new HashtagDirectoryResponse(hashtags, page, size, totalElements, totalPages);
+  }
+
+  public static HashtagDirectoryResponse from(HashtagDirectoryPage directoryPage) {
+    return new HashtagDirectoryResponse(
+        directoryPage.hashtags().map(HashtagSummaryResponse::from).getContent(),
+        directoryPage.hashtags().getNumber(),
+        directoryPage.hashtags().getSize(),
+        directoryPage.hashtags().getTotalElements(),
+        directoryPage.hashtags().getTotalPages()
+    );
+  }
+}
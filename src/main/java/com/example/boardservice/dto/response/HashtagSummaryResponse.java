@@ -0,0 +1,14 @@
+package com.example.boardservice.dto.response;
+
+import com.example.boardservice.dto.HashtagSummaryDto;
+
+public record HashtagSummaryResponse(String hashtagName, long articleCount) {
+
+  public static HashtagSummaryResponse of(String hashtagName, long articleCount) {
+    return new HashtagSummaryResponse(hashtagName, articleCount);
+  }
+
+  public static HashtagSummaryResponse from(HashtagSummaryDto dto) {
+    return new HashtagSummaryResponse(dto.hashtagName(), dto.articleCount());
+  }
+}
@@ -0,0 +1,14 @@
+package com.example.boardservice.dto.response;
+
+import com.example.boardservice.dto.TrendingHashtagDto;
+
+public record TrendingHashtagResponse(String hashtagName, long count) {
+
+  public static TrendingHashtagResponse of(String hashtagName, long count) {
+    return new TrendingHashtagResponse(hashtagName, count);
+  }
+
+  public static TrendingHashtagResponse from(TrendingHashtagDto dto) {
+    return new TrendingHashtagResponse(dto.hashtagName(), dto.count());
+  }
+}
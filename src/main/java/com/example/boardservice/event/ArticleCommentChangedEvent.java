@@ -0,0 +1,10 @@
+package com.example.boardservice.event;
+
+// published by ArticleCommentService whenever a comment of the article is posted, edited or deleted
+// listeners should react to this after the surrounding transaction commits
+public record ArticleCommentChangedEvent(Long articleId) {
+
+  public static ArticleCommentChangedEvent of(Long articleId) {
+    return new ArticleCommentChangedEvent(articleId);
+  }
+}
@@ -0,0 +1,12 @@
+package com.example.boardservice.event;
+
+import java.util.Set;
+
+// published by ArticleService whenever an article is actually removed from the database
+// title, content and hashtagNames are what it had, see ArticleSavedEvent
+public record ArticleDeletedEvent(Long articleId, String title, String content, Set<String> hashtagNames) {
+
+  public static ArticleDeletedEvent of(Long articleId, String title, String content, Set<String> hashtagNames) {
+    return new ArticleDeletedEvent(articleId, title, content, hashtagNames);
+  }
+}
@@ -0,0 +1,23 @@
+package com.example.boardservice.event;
+
+import java.util.Set;
+
+// published by ArticleService whenever an article is created or edited
+// listeners (search indexes, caches... etc) should react to this after the surrounding transaction commits
+// hashtagNames holds every hashtag linked to the article after the change, removedHashtagNames the ones the edit
+// unlinked
+// previousTitle and previousContent are the text an edit replaced (null for a new article)
+// the indexes work out what to unlink from these, instead of keeping the terms and hashtags of every article around
+public record ArticleSavedEvent(Long articleId, String title, String content, Set<String> hashtagNames,
+                                Set<String> removedHashtagNames, String previousTitle, String previousContent) {
+
+  // a new article
+  public static ArticleSavedEvent of(Long articleId, String title, String content, Set<String> hashtagNames) {
+    return new ArticleSavedEvent(articleId, title, content, hashtagNames, Set.of(), null, null);
+  }
+
+  public static ArticleSavedEvent of(Long articleId, String title, String content, Set<String> hashtagNames,
+                                     Set<String> removedHashtagNames, String previousTitle, String previousContent) {
+    return new ArticleSavedEvent(articleId, title, content, hashtagNames, removedHashtagNames, previousTitle, previousContent);
+  }
+}
@@ -0,0 +1,12 @@
+package com.example.boardservice.event;
+
+import java.util.Set;
+
+// published by HashtagService whenever the article counters of hashtags are changed by delta
+// lets in-memory copies of the counters (eg. HashtagAutocompleteIndex) follow without reading them back
+public record HashtagArticleCountAdjustedEvent(Set<Long> hashtagIds, long delta) {
+
+  public static HashtagArticleCountAdjustedEvent of(Set<Long> hashtagIds, long delta) {
+    return new HashtagArticleCountAdjustedEvent(hashtagIds, delta);
+  }
+}
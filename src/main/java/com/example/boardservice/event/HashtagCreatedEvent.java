@@ -0,0 +1,9 @@
+package com.example.boardservice.event;
+
+// published by HashtagEntityListener once a new hashtag has been inserted (and given its id)
+public record HashtagCreatedEvent(Long hashtagId, String hashtagName) {
+
+  public static HashtagCreatedEvent of(Long hashtagId, String hashtagName) {
+    return new HashtagCreatedEvent(hashtagId, hashtagName);
+  }
+}
@@ -0,0 +1,9 @@
+package com.example.boardservice.event;
+
+// published by HashtagEntityListener whenever a hashtag is removed from the database
+public record HashtagDeletedEvent(Long hashtagId, String hashtagName) {
+
+  public static HashtagDeletedEvent of(Long hashtagId, String hashtagName) {
+    return new HashtagDeletedEvent(hashtagId, hashtagName);
+  }
+}
@@ -0,0 +1,29 @@
+package com.example.boardservice.event;
+
+import com.example.boardservice.domain.Hashtag;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+
+// turns hashtag inserts and deletes into application events, wherever they come from
+// (cascading from Article can still insert hashtags, HashtagUpsertService inserts through JDBC and publishes
+// HashtagCreatedEvent itself)
+// bulk deletes bypass entity listeners, OrphanHashtagSweeper publishes HashtagDeletedEvent for those itself
+// spring boot hands hibernate a bean container, so entity listeners are created by spring and can be injected
+// read: https://docs.spring.io/spring-framework/docs/current/javadoc-api/org/springframework/orm/hibernate5/SpringBeanContainer.html
+@RequiredArgsConstructor
+public class HashtagEntityListener {
+
+  private final ApplicationEventPublisher eventPublisher;
+
+  @PostPersist
+  public void onPostPersist(Hashtag hashtag) {
+    eventPublisher.publishEvent(HashtagCreatedEvent.of(hashtag.getId(), hashtag.getHashtagName()));
+  }
+
+  @PostRemove
+  public void onPostRemove(Hashtag hashtag) {
+    eventPublisher.publishEvent(HashtagDeletedEvent.of(hashtag.getId(), hashtag.getHashtagName()));
+  }
+}
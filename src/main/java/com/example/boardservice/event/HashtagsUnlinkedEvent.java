@@ -0,0 +1,11 @@
+package com.example.boardservice.event;
+
+import java.util.Set;
+
+// published by HashtagService when hashtags lose articles, some of them may have no articles left
+public record HashtagsUnlinkedEvent(Set<Long> hashtagIds) {
+
+  public static HashtagsUnlinkedEvent of(Set<Long> hashtagIds) {
+    return new HashtagsUnlinkedEvent(hashtagIds);
+  }
+}
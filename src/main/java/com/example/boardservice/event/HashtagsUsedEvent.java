@@ -0,0 +1,12 @@
+package com.example.boardservice.event;
+
+import java.util.Set;
+
+// published by ArticleService when hashtags are written in a new article or searched for (with results)
+// feeds HashtagTrendTracker
+public record HashtagsUsedEvent(Set<String> hashtagNames) {
+
+  public static HashtagsUsedEvent of(Set<String> hashtagNames) {
+    return new HashtagsUsedEvent(hashtagNames);
+  }
+}
@@ -0,0 +1,71 @@
+package com.example.boardservice.id;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// time-ordered ids that several app nodes can generate without asking the database
+// an id is | 41 bits milliseconds since EPOCH | 6 bits node id | 6 bits sequence within the millisecond |
+// that's 53 bits instead of the usual 63: ids stay exact as javascript numbers (Number.MAX_SAFE_INTEGER is 2^53 - 1),
+// so json clients can keep treating them as numbers. in exchange a node gets 64 ids per millisecond, and 64 nodes
+// read: https://en.wikipedia.org/wiki/Snowflake_ID
+//
+// the hot path is a single compare-and-set on (timestamp, sequence), no locks:
+// - a node asking for more than 64 ids in a millisecond borrows the next millisecond instead of waiting for it
+// - when the system clock goes backwards (NTP correction), the node keeps counting from the last timestamp it used
+//   until the clock has caught up, so ids never repeat and never go backwards
+// a restart while the clock is behind the ids issued before it could repeat them, keep NTP in slew mode
+public final class SnowflakeIdGenerator {
+
+  // 2023-01-01T00:00:00Z, 41 bits of milliseconds last until 2092
+  public static final long EPOCH = Instant.parse("2023-01-01T00:00:00Z").toEpochMilli();
+  public static final int NODE_BITS = 6;
+  public static final int SEQUENCE_BITS = 6;
+  public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+  private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+  private final long nodeBits;
+  private final LongSupplier clock;
+  // (milliseconds since EPOCH << SEQUENCE_BITS) | sequence of the last id, the node id is added on the way out
+  // incrementing it rolls the sequence over into the next millisecond
+  private final AtomicLong lastState = new AtomicLong();
+
+  public SnowflakeIdGenerator(int nodeId) {
+    this(nodeId, System::currentTimeMillis);
+  }
+
+  SnowflakeIdGenerator(int nodeId, LongSupplier clock) {
+    if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+      throw new IllegalArgumentException("node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+    }
+    this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+    this.clock = clock;
+  }
+
+  public long nextId() {
+    long state;
+    while (true) {
+      long last = lastState.get();
+      // a clock that went backwards or a used up millisecond both end up at last + 1
+      state = Math.max(last + 1, (clock.getAsLong() - EPOCH) << SEQUENCE_BITS);
+      if (lastState.compareAndSet(last, state)) {
+        break;
+      }
+    }
+
+    return (state >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS) | nodeBits | (state & SEQUENCE_MASK);
+  }
+
+  // how far (in milliseconds) the ids run ahead of the system clock, because of bursts or a clock that went back
+  public long clockDrift() {
+    return Math.max(0, (lastState.get() >>> SEQUENCE_BITS) - (clock.getAsLong() - EPOCH));
+  }
+
+  public static Instant timestampOf(long id) {
+    return Instant.ofEpochMilli((id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH);
+  }
+
+  public static int nodeIdOf(long id) {
+    return (int) (id >>> SEQUENCE_BITS) & MAX_NODE_ID;
+  }
+}
@@ -0,0 +1,35 @@
+package com.example.boardservice.id;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+// plugs SnowflakeIdGenerator into hibernate (see Article.id), ids are assigned in memory as entities are persisted
+// hibernate creates one instance per entity, which is fine: ids only have to be unique within their table
+// the node id comes from the hibernate setting NODE_ID_SETTING (board.id.node-id, see application.yaml)
+// there is no fallback: two nodes guessing the same id would hand out the same ids, so startup fails without one
+public class SnowflakeIdentifierGenerator implements IdentifierGenerator {
+
+  public static final String NODE_ID_SETTING = "board.id.node-id";
+
+  private SnowflakeIdGenerator generator;
+
+  @Override
+  public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) {
+    Object nodeId = serviceRegistry.getService(ConfigurationService.class).getSettings().get(NODE_ID_SETTING);
+    if (nodeId == null || nodeId.toString().isBlank()) {
+      throw new IllegalStateException("No " + NODE_ID_SETTING + " configured, every app node sharing a database needs "
+          + "its own (0 ~ " + SnowflakeIdGenerator.MAX_NODE_ID + "), e.g. through the BOARD_NODE_ID environment variable");
+    }
+    generator = new SnowflakeIdGenerator(Integer.parseInt(nodeId.toString().trim()));
+  }
+
+  @Override
+  public Object generate(SharedSessionContractImplementor session, Object object) {
+    return generator.nextId();
+  }
+}
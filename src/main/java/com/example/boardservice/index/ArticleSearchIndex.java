@@ -0,0 +1,403 @@
+package com.example.boardservice.index;
+
+import com.example.boardservice.event.ArticleDeletedEvent;
+import com.example.boardservice.event.ArticleSavedEvent;
+import com.example.boardservice.repository.ArticleRepository;
+import com.example.boardservice.repository.projection.ArticleTextProjection;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// in-process inverted index (term -> posting list of article ids) for title and content searches
+// replaces LIKE '%keyword%' scans, which have to read every row of the article table
+// terms are produced by ArticleTokenizer (n-grams of every run of letters and digits)
+// posting lists are compressed (roaring) bitmaps of primitive ids, and the index doesn't remember which terms an
+// article has: a write names the text it replaces (see ArticleSavedEvent), whose terms are recomputed to unlink them
+// read: https://en.wikipedia.org/wiki/Inverted_index
+@Slf4j
+@Component
+public class ArticleSearchIndex {
+
+  private static final int REBUILD_BATCH_SIZE = 500;
+
+  private final ArticleRepository articleRepository;
+  private final long maxBytes;
+  // roaring bitmaps are not thread-safe: many concurrent searches, one writer at a time
+  // the state below is only read or replaced with the lock held
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private IndexState state = new IndexState();
+  // writes that arrive while rebuild() is reading the article table, replayed onto the rebuilt state in order
+  // (the scan may have read an article's text from before them), null when no rebuild is running
+  private List<ArticleWrite> pendingWrites;
+  private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+  private final Timer queryTimer;
+  private volatile boolean ready = false;
+  // set once the index outgrows maxBytes: it drops its data and stops following writes until a rebuild fits again
+  private volatile boolean overBudget = false;
+
+  public ArticleSearchIndex(
+      ArticleRepository articleRepository,
+      MeterRegistry meterRegistry,
+      @Value("${board.search.index.max-bytes:134217728}") long maxBytes
+  ) {
+    this.articleRepository = articleRepository;
+    this.maxBytes = maxBytes;
+    // exposed through /actuator/metrics/board.search.index.*
+    Gauge.builder("board.search.index.articles", this, index -> index.state.documentCount())
+        .description("Number of articles held in the search index")
+        .register(meterRegistry);
+    Gauge.builder("board.search.index.terms", this, index -> index.state.termCount())
+        .description("Number of distinct terms held in the search index")
+        .register(meterRegistry);
+    Gauge.builder("board.search.index.bytes", this, index -> index.state.sizeInBytes())
+        .description("Estimated heap used by the search index")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+    this.queryTimer = Timer.builder("board.search.index.query")
+        .description("Latency of search index lookups")
+        .register(meterRegistry);
+  }
+
+  // the index lives in memory only, so fill it from the article table once the application (and data.sql) is up
+  // the index keeps serving (and following writes) while the new state is built aside
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuild() {
+    // the startup rebuild and a scheduled one may overlap
+    if (!rebuilding.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      lock.writeLock().lock();
+      try {
+        pendingWrites = new ArrayList<>();
+      } finally {
+        lock.writeLock().unlock();
+      }
+
+      IndexState rebuilt = new IndexState();
+      try {
+        Slice<ArticleTextProjection> slice = articleRepository.findAllBy(PageRequest.of(0, REBUILD_BATCH_SIZE, Sort.by("id")));
+        while (true) {
+          slice.forEach(article -> rebuilt.apply(ArticleWrite.created(article.getId(), article.getTitle(), article.getContent())));
+          // give up early instead of filling the heap with an index we are not going to use
+          if (rebuilt.sizeInBytes() > maxBytes) {
+            lock.writeLock().lock();
+            try {
+              pendingWrites = null;
+              disable(rebuilt.sizeInBytes());
+            } finally {
+              lock.writeLock().unlock();
+            }
+            return;
+          }
+          if (!slice.hasNext()) {
+            break;
+          }
+          slice = articleRepository.findAllBy(slice.nextPageable());
+        }
+      } catch (RuntimeException e) {
+        // keep serving the old state, and stop buffering writes for a rebuild that isn't coming
+        lock.writeLock().lock();
+        try {
+          pendingWrites = null;
+        } finally {
+          lock.writeLock().unlock();
+        }
+        throw e;
+      }
+      // switch to run-length encoding wherever it is smaller, and measure what the estimate guessed
+      rebuilt.optimize();
+
+      lock.writeLock().lock();
+      try {
+        state = rebuilt;
+        overBudget = false;
+        pendingWrites.forEach(state::apply);
+        pendingWrites = null;
+        checkBudget();
+      } finally {
+        lock.writeLock().unlock();
+      }
+    } finally {
+      rebuilding.set(false);
+    }
+
+    ready = true;
+    log.info("Article search index rebuilt - articles: {}, terms: {}, bytes: {}",
+        state.documentCount(), state.termCount(), state.sizeInBytes());
+  }
+
+  // articles may have been deleted since the index outgrew its budget, try again once in a while
+  @Scheduled(fixedDelayString = "${board.search.index.retry-interval:PT1H}")
+  public void rebuildIfOverBudget() {
+    if (overBudget) {
+      rebuild();
+    }
+  }
+
+  // fallbackExecution lets the index follow changes made outside of a transaction as well
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onArticleSaved(ArticleSavedEvent event) {
+    update(event.articleId(), event.previousTitle(), event.previousContent(), event.title(), event.content());
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onArticleDeleted(ArticleDeletedEvent event) {
+    remove(event.articleId(), event.title(), event.content());
+  }
+
+  public boolean isReady() {
+    return ready;
+  }
+
+  // the index can only narrow down keywords that produce at least one query term
+  // (eg. single characters are not indexed), everything else has to go to the database
+  public boolean canSearch(String keyword) {
+    return ready && !overBudget && !ArticleTokenizer.queryTerms(keyword).isEmpty();
+  }
+
+  // a new article
+  public void index(Long articleId, String title, String content) {
+    write(ArticleWrite.created(articleId, title, content));
+  }
+
+  // an edited article, along with the text it had before the edit
+  public void update(Long articleId, String previousTitle, String previousContent, String title, String content) {
+    write(new ArticleWrite(articleId, previousTitle, previousContent, title, content));
+  }
+
+  // a deleted article, along with the text it had
+  public void remove(Long articleId, String title, String content) {
+    write(new ArticleWrite(articleId, title, content, null, null));
+  }
+
+  // returns ids of articles whose title contains every term of the keyword
+  // n-gram matches are candidates: the terms may appear apart from each other, so callers should
+  // confirm the keyword against the (now few) candidate rows
+  public Set<Long> searchTitle(String keyword) {
+    return queryTimer.record(() -> search(ArticleTokenizer.queryTerms(keyword), true));
+  }
+
+  public Set<Long> searchContent(String keyword) {
+    return queryTimer.record(() -> search(ArticleTokenizer.queryTerms(keyword), false));
+  }
+
+  // an oversized index ignores writes, unless a rebuild is running (which may find the index within budget again)
+  private void write(ArticleWrite write) {
+    lock.writeLock().lock();
+    try {
+      if (pendingWrites != null) {
+        pendingWrites.add(write);
+      }
+      if (!overBudget) {
+        state.apply(write);
+        checkBudget();
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private Set<Long> search(Set<String> terms, boolean title) {
+    if (terms.isEmpty()) {
+      return Set.of();
+    }
+    Roaring64NavigableMap matches;
+    lock.readLock().lock();
+    try {
+      matches = (title ? state.titleIndex : state.contentIndex).search(terms);
+    } finally {
+      lock.readLock().unlock();
+    }
+
+    Set<Long> articleIds = new HashSet<>();
+    LongIterator iterator = matches.getLongIterator();
+    while (iterator.hasNext()) {
+      articleIds.add(iterator.next());
+    }
+
+    return articleIds;
+  }
+
+  // called with the write lock held
+  private void checkBudget() {
+    if (state.sizeInBytes() > maxBytes) {
+      disable(state.sizeInBytes());
+    }
+  }
+
+  // called with the write lock held
+  private void disable(long bytes) {
+    state = new IndexState();
+    overBudget = true;
+    log.warn("Article search index exceeds its heap budget ({} > {} bytes), title/content searches fall back to the database",
+        bytes, maxBytes);
+  }
+
+  // one write to an article: the text it replaces (null for a new article) and the text it has now (null once deleted)
+  record ArticleWrite(Long articleId, String previousTitle, String previousContent, String title, String content) {
+    static ArticleWrite created(Long articleId, String title, String content) {
+      return new ArticleWrite(articleId, null, null, title, content);
+    }
+
+    boolean deleted() {
+      return title == null && content == null;
+    }
+  }
+
+  // everything the index holds, replaced as a whole by a rebuild
+  static final class IndexState {
+    private final InvertedIndex titleIndex = new InvertedIndex();
+    private final InvertedIndex contentIndex = new InvertedIndex();
+    private final Roaring64NavigableMap articleIds = new Roaring64NavigableMap();
+    private long articleCount = 0;
+
+    void apply(ArticleWrite write) {
+      titleIndex.replace(write.articleId(), write.previousTitle(), write.title());
+      contentIndex.replace(write.articleId(), write.previousContent(), write.content());
+      boolean indexed = articleIds.contains(write.articleId());
+      if (write.deleted() && indexed) {
+        articleIds.removeLong(write.articleId());
+        articleCount--;
+      } else if (!write.deleted() && !indexed) {
+        articleIds.addLong(write.articleId());
+        articleCount++;
+      }
+    }
+
+    void optimize() {
+      titleIndex.optimize();
+      contentIndex.optimize();
+      articleIds.runOptimize();
+    }
+
+    long documentCount() {
+      return articleCount;
+    }
+
+    int termCount() {
+      return titleIndex.termCount() + contentIndex.termCount();
+    }
+
+    // also read by the gauge without the lock, so it only adds up counters
+    long sizeInBytes() {
+      return Math.max(0, titleIndex.sizeInBytes + contentIndex.sizeInBytes + articleCount * InvertedIndex.POSTING_BYTES);
+    }
+  }
+
+  // one inverted index per searchable field
+  static final class InvertedIndex {
+    // rough heap cost of a term besides its bitmap (the n-gram string and its map entry)
+    private static final long TERM_BYTES = 64;
+    // rough cost of one more id in a bitmap, used between two measurements
+    // (far less where ids are dense, around this much where they are as sparse as snowflake ids)
+    private static final long POSTING_BYTES = 16;
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    // estimated while following writes, measured by optimize()
+    private long sizeInBytes = 0;
+
+    // unlinks the article from the terms only its previous text had, and links it to every term of its text
+    // (all of them, the previous text may not have been indexed yet, see rebuild())
+    void replace(Long articleId, String previousText, String text) {
+      Set<String> terms = ArticleTokenizer.indexTerms(text);
+      for (String term : ArticleTokenizer.indexTerms(previousText)) {
+        if (!terms.contains(term)) {
+          remove(term, articleId);
+        }
+      }
+      terms.forEach(term -> add(term, articleId));
+    }
+
+    // intersect posting lists starting from the shortest one, so the cost depends on the rarest term
+    // rather than on the number of articles
+    Roaring64NavigableMap search(Set<String> terms) {
+      List<PostingList> postingLists = new ArrayList<>(terms.size());
+      for (String term : terms) {
+        PostingList postingList = postings.get(term);
+        if (postingList == null) {
+          return new Roaring64NavigableMap();
+        }
+        postingLists.add(postingList);
+      }
+      postingLists.sort(Comparator.comparingLong(postingList -> postingList.size));
+
+      Roaring64NavigableMap result = new Roaring64NavigableMap();
+      result.or(postingLists.get(0).articleIds);
+      for (int i = 1; i < postingLists.size() && !result.isEmpty(); i++) {
+        result.and(postingLists.get(i).articleIds);
+      }
+
+      return result;
+    }
+
+    int termCount() {
+      return postings.size();
+    }
+
+    void optimize() {
+      sizeInBytes = 0;
+      for (PostingList postingList : postings.values()) {
+        postingList.articleIds.runOptimize();
+        sizeInBytes += TERM_BYTES + postingList.articleIds.getLongSizeInBytes();
+      }
+    }
+
+    private void add(String term, Long articleId) {
+      PostingList postingList = postings.get(term);
+      if (postingList == null) {
+        postingList = new PostingList();
+        postings.put(term, postingList);
+        sizeInBytes += TERM_BYTES;
+      }
+      if (!postingList.articleIds.contains(articleId)) {
+        postingList.articleIds.addLong(articleId);
+        postingList.size++;
+        sizeInBytes += POSTING_BYTES;
+      }
+    }
+
+    private void remove(String term, Long articleId) {
+      PostingList postingList = postings.get(term);
+      if (postingList == null || !postingList.articleIds.contains(articleId)) {
+        return;
+      }
+      postingList.articleIds.removeLong(articleId);
+      postingList.size--;
+      sizeInBytes -= POSTING_BYTES;
+      if (postingList.size == 0) {
+        postings.remove(term);
+        sizeInBytes -= TERM_BYTES;
+      }
+    }
+  }
+
+  // the size is kept alongside the bitmap: roaring caches cardinalities lazily, which isn't safe for concurrent readers
+  private static final class PostingList {
+    private final Roaring64NavigableMap articleIds = new Roaring64NavigableMap();
+    private long size = 0;
+  }
+}
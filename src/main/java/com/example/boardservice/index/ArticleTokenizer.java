@@ -0,0 +1,74 @@
+package com.example.boardservice.index;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+// splits article text into search index terms
+// every run of letters and digits, whatever its script, is lowercased and broken into overlapping bigrams and trigrams
+// - Korean is agglutinative (particles and endings are glued onto the word, eg. 스프링을, 스프링에서), so
+//   whitespace tokens rarely match what users type
+// - the LIKE '%keyword%' search this replaces finds keywords inside words ("spring" in "springboot"), n-grams do too
+// - a run that switches script (Spring과) stays one run, so a keyword across the switch (g과) is found as well
+// a keyword can only be inside a document if each of its runs is inside one of the document's runs, so the query
+// terms of a matching document are always among its index terms: the index never misses what LIKE would find
+// read: https://en.wikipedia.org/wiki/N-gram
+public final class ArticleTokenizer {
+
+  private ArticleTokenizer() {}
+
+  // every term a document should be findable by
+  public static Set<String> indexTerms(String text) {
+    Set<String> terms = new HashSet<>();
+    scan(text, terms, false);
+
+    return terms;
+  }
+
+  // the smallest set of terms a matching document must contain
+  // runs of 3+ characters are covered by trigrams only, since trigrams are more selective than bigrams
+  // single characters are not indexed, so a keyword made only of those yields no terms
+  public static Set<String> queryTerms(String keyword) {
+    Set<String> terms = new HashSet<>();
+    scan(keyword, terms, true);
+
+    return terms;
+  }
+
+  private static void scan(String text, Set<String> terms, boolean query) {
+    if (text == null || text.isBlank()) {
+      return;
+    }
+    int length = text.length();
+    int i = 0;
+    while (i < length) {
+      if (isWordCharacter(text.charAt(i))) {
+        int start = i;
+        while (i < length && isWordCharacter(text.charAt(i))) {
+          i++;
+        }
+        addNGrams(text.substring(start, i).toLowerCase(Locale.ROOT), terms, query);
+      } else {
+        i++;
+      }
+    }
+  }
+
+  private static void addNGrams(String run, Set<String> terms, boolean query) {
+    int runLength = run.length();
+    if (!query || runLength == 2) {
+      for (int i = 0; i + 2 <= runLength; i++) {
+        terms.add(run.substring(i, i + 2));
+      }
+    }
+    if (runLength >= 3) {
+      for (int i = 0; i + 3 <= runLength; i++) {
+        terms.add(run.substring(i, i + 3));
+      }
+    }
+  }
+
+  private static boolean isWordCharacter(char c) {
+    return Character.isLetterOrDigit(c) || c == '_';
+  }
+}
@@ -0,0 +1,62 @@
+package com.example.boardservice.index;
+
+import java.util.Locale;
+
+// decomposes Hangul syllables into the jamo (letters) they are typed with
+// while typing, the IME shows incomplete syllables (eg. 하 -> 한 -> 한ㄱ -> 한구 -> 한국), which are not string
+// prefixes of the word being typed. their jamo sequences are, though: ㅎㅏ, ㅎㅏㄴ, ㅎㅏㄴㄱ, ㅎㅏㄴㄱㅜ are all
+// prefixes of ㅎㅏㄴㄱㅜㄱ
+// compound vowels and final consonants are split into the keys that produce them (ㅘ -> ㅗㅏ, ㄺ -> ㄹㄱ),
+// so that 고 is a prefix of 과 and 달 is a prefix of 닭
+// read: https://en.wikipedia.org/wiki/Korean_language_and_computers#Hangul_in_Unicode
+public final class HangulJamo {
+
+  private static final char HANGUL_FIRST = '가';
+  private static final char HANGUL_LAST = '힣';
+  private static final int JUNGSEONG_COUNT = 21;
+  private static final int JONGSEONG_COUNT = 28;
+
+  // compatibility jamo (the letters of a keyboard) for each position of a syllable
+  private static final String[] CHOSEONG = {
+      "ㄱ", "ㄲ", "ㄴ", "ㄷ", "ㄸ", "ㄹ", "ㅁ", "ㅂ", "ㅃ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅉ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"
+  };
+  private static final String[] JUNGSEONG = {
+      "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅛ", "ㅜ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅠ",
+      "ㅡ", "ㅡㅣ", "ㅣ"
+  };
+  private static final String[] JONGSEONG = {
+      "", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ", "ㅁ",
+      "ㅂ", "ㅂㅅ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"
+  };
+  // compound letters typed on their own (eg. a trailing ㄳ while typing), U+3131 ~ U+3163
+  private static final char COMPATIBILITY_FIRST = 'ㄱ';
+  private static final String[] COMPATIBILITY = {
+      "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄸ", "ㄹ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ",
+      "ㅁ", "ㅂ", "ㅃ", "ㅂㅅ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅉ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ",
+      "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅛ", "ㅜ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅠ",
+      "ㅡ", "ㅡㅣ", "ㅣ"
+  };
+
+  private HangulJamo() {}
+
+  // lowercase, with every Hangul syllable or compatibility jamo replaced by its basic jamo
+  public static String decompose(String text) {
+    String lowerCase = text.toLowerCase(Locale.ROOT);
+    StringBuilder result = new StringBuilder(lowerCase.length() * 3);
+    for (int i = 0; i < lowerCase.length(); i++) {
+      char c = lowerCase.charAt(i);
+      if (c >= HANGUL_FIRST && c <= HANGUL_LAST) {
+        int offset = c - HANGUL_FIRST;
+        result.append(CHOSEONG[offset / (JUNGSEONG_COUNT * JONGSEONG_COUNT)])
+            .append(JUNGSEONG[offset % (JUNGSEONG_COUNT * JONGSEONG_COUNT) / JONGSEONG_COUNT])
+            .append(JONGSEONG[offset % JONGSEONG_COUNT]);
+      } else if (c >= COMPATIBILITY_FIRST && c < COMPATIBILITY_FIRST + COMPATIBILITY.length) {
+        result.append(COMPATIBILITY[c - COMPATIBILITY_FIRST]);
+      } else {
+        result.append(c);
+      }
+    }
+
+    return result.toString();
+  }
+}
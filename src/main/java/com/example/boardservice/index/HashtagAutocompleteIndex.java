@@ -0,0 +1,187 @@
+package com.example.boardservice.index;
+
+import com.example.boardservice.dto.HashtagSummaryDto;
+import com.example.boardservice.event.HashtagArticleCountAdjustedEvent;
+import com.example.boardservice.event.HashtagCreatedEvent;
+import com.example.boardservice.event.HashtagDeletedEvent;
+import com.example.boardservice.repository.HashtagRepository;
+import com.example.boardservice.repository.projection.HashtagSummaryProjection;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+// hashtag typeahead: hashtags whose name starts with what has been typed so far, most used first
+// names are kept sorted by their jamo decomposition (see HangulJamo), so every name starting with a prefix sits
+// in one contiguous range of the map, and a half typed syllable (한구 for 한국) still finds the hashtag
+// a second skip list keeps the same hashtags ordered by popularity: a short prefix matches too many names to rank
+// them all, but its most used hashtags are near the top of that order
+// the skip lists are updated in place as hashtags are created/deleted, no rebuild needed
+// read: https://en.wikipedia.org/wiki/Skip_list
+@Slf4j
+@Component
+public class HashtagAutocompleteIndex {
+
+  // most used first, ties on article count are broken by name, so suggestions don't jump around between keystrokes
+  // (names are unique, so this is a total order of the hashtags)
+  private static final Comparator<Suggestion> POPULARITY = Comparator
+      .comparingLong((Suggestion suggestion) -> suggestion.articleCount).reversed()
+      .thenComparing(suggestion -> suggestion.hashtagName);
+  // separates the jamo key from the name: several names can share a key (Java, java)
+  private static final char KEY_SEPARATOR = '\u0000';
+
+  private final HashtagRepository hashtagRepository;
+  private final int maxScan;
+  private final NavigableMap<String, Suggestion> suggestionsByKey = new ConcurrentSkipListMap<>();
+  private final Map<Long, Suggestion> suggestionsById = new ConcurrentHashMap<>();
+  // a suggestion is replaced rather than changed when its article count changes, its position depends on it
+  private final NavigableSet<Suggestion> suggestionsByPopularity = new ConcurrentSkipListSet<>(POPULARITY);
+  private final Timer queryTimer;
+
+  public HashtagAutocompleteIndex(
+      HashtagRepository hashtagRepository,
+      MeterRegistry meterRegistry,
+      @Value("${board.hashtag.autocomplete.max-scan:5000}") int maxScan
+  ) {
+    this.hashtagRepository = hashtagRepository;
+    this.maxScan = maxScan;
+    // exposed through /actuator/metrics/board.hashtag.autocomplete.*
+    Gauge.builder("board.hashtag.autocomplete.hashtags", suggestionsById, Map::size)
+        .description("Number of hashtags held in the autocomplete index")
+        .register(meterRegistry);
+    this.queryTimer = Timer.builder("board.hashtag.autocomplete.query")
+        .description("Latency of hashtag autocomplete lookups")
+        .register(meterRegistry);
+  }
+
+  // the stream needs an open transaction
+  @Transactional(readOnly = true)
+  @EventListener(ApplicationReadyEvent.class)
+  public synchronized void rebuild() {
+    suggestionsByKey.clear();
+    suggestionsById.clear();
+    suggestionsByPopularity.clear();
+    try (Stream<HashtagSummaryProjection> hashtags = hashtagRepository.streamAllSummaries()) {
+      hashtags.forEach(hashtag -> add(hashtag.getId(), hashtag.getHashtagName(), hashtag.getArticleCount()));
+    }
+    log.info("Hashtag autocomplete index rebuilt - hashtags: {}", suggestionsById.size());
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onHashtagCreated(HashtagCreatedEvent event) {
+    add(event.hashtagId(), event.hashtagName(), 0);
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onHashtagDeleted(HashtagDeletedEvent event) {
+    remove(event.hashtagId());
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public synchronized void onArticleCountAdjusted(HashtagArticleCountAdjustedEvent event) {
+    event.hashtagIds().forEach(hashtagId -> {
+      Suggestion suggestion = suggestionsById.get(hashtagId);
+      if (suggestion != null) {
+        add(hashtagId, suggestion.hashtagName, suggestion.articleCount + event.delta());
+      }
+    });
+  }
+
+  // writes are serialized, lookups are not: a lookup running alongside a write may miss the hashtag being written
+  public synchronized void add(Long hashtagId, String hashtagName, long articleCount) {
+    remove(hashtagId);
+    Suggestion suggestion = new Suggestion(HangulJamo.decompose(hashtagName) + KEY_SEPARATOR + hashtagName, hashtagName, articleCount);
+    suggestionsById.put(hashtagId, suggestion);
+    suggestionsByKey.put(suggestion.key, suggestion);
+    suggestionsByPopularity.add(suggestion);
+  }
+
+  public synchronized void remove(Long hashtagId) {
+    Suggestion suggestion = suggestionsById.remove(hashtagId);
+    if (suggestion != null) {
+      suggestionsByKey.remove(suggestion.key);
+      suggestionsByPopularity.remove(suggestion);
+    }
+  }
+
+  // the most used hashtags starting with the prefix (case-insensitive, leading '#' ignored)
+  // the names starting with the prefix are ranked directly when there are at most maxScan of them, a shorter prefix
+  // that matches more names walks the hashtags from the most used down instead, until enough of them match
+  public List<HashtagSummaryDto> suggest(String prefix, int size) {
+    if (prefix == null) {
+      return List.of();
+    }
+    String hashtagPrefix = prefix.strip().startsWith("#") ? prefix.strip().substring(1) : prefix.strip();
+    if (hashtagPrefix.isEmpty() || size < 1) {
+      return List.of();
+    }
+
+    return queryTimer.record(() -> {
+      String keyPrefix = HangulJamo.decompose(hashtagPrefix);
+      Collection<Suggestion> range = suggestionsByKey.subMap(keyPrefix, true, keyPrefix + Character.MAX_VALUE, false).values();
+      List<Suggestion> best = rankRange(range, size);
+      if (best == null) {
+        best = suggestionsByPopularity.stream()
+            .filter(suggestion -> suggestion.key.startsWith(keyPrefix))
+            .limit(size)
+            .toList();
+      }
+
+      return best.stream()
+          .map(suggestion -> HashtagSummaryDto.of(suggestion.hashtagName, suggestion.articleCount))
+          .toList();
+    });
+  }
+
+  // the best `size` suggestions of the range, or null when the range holds more than maxScan names
+  private List<Suggestion> rankRange(Collection<Suggestion> range, int size) {
+    // keeps the best `size` suggestions seen so far, the worst of them on top
+    PriorityQueue<Suggestion> best = new PriorityQueue<>(size + 1, POPULARITY.reversed());
+    int scanned = 0;
+    for (Suggestion suggestion : range) {
+      if (++scanned > maxScan) {
+        return null;
+      }
+      best.offer(suggestion);
+      if (best.size() > size) {
+        best.poll();
+      }
+    }
+
+    List<Suggestion> result = new ArrayList<>(best);
+    result.sort(POPULARITY);
+
+    return result;
+  }
+
+  private static final class Suggestion {
+    private final String key;
+    private final String hashtagName;
+    private final long articleCount;
+
+    private Suggestion(String key, String hashtagName, long articleCount) {
+      this.key = key;
+      this.hashtagName = hashtagName;
+      this.articleCount = articleCount;
+    }
+  }
+}
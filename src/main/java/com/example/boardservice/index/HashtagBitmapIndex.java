@@ -0,0 +1,340 @@
+package com.example.boardservice.index;
+
+import com.example.boardservice.event.ArticleDeletedEvent;
+import com.example.boardservice.event.ArticleSavedEvent;
+import com.example.boardservice.repository.ArticleRepository;
+import com.example.boardservice.repository.projection.ArticleHashtagProjection;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// in-process hashtag -> article id posting lists, kept as compressed (roaring) bitmaps
+// AND/OR/NOT across hashtags become bitmap intersections/unions/differences instead of joins over
+// article_hashtag, and the result cardinality gives an exact total for free
+// article ids are handed out in insert order, so walking a bitmap backwards yields the articles by descending id
+// (only the order of the ids: createdAt is set by auditing and may disagree with it, eg. for imported articles)
+// read: https://roaringbitmap.org/about/
+@Slf4j
+@Component
+public class HashtagBitmapIndex {
+
+  // how often the size of the bitmaps is checked against the budget while rebuilding
+  private static final int SIZE_CHECK_INTERVAL = 100_000;
+  private static final Sort ID_DESC = Sort.by(Sort.Direction.DESC, "id");
+
+  private final ArticleRepository articleRepository;
+  private final long maxBytes;
+  // roaring bitmaps are not thread-safe: many concurrent searches, one writer at a time
+  // the map below is only read or replaced with the lock held
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  // keyed by hashtag name: names are unique, and queries arrive as names
+  // the index doesn't remember the hashtags of an article, a write names the ones it unlinks (see ArticleSavedEvent)
+  private Map<String, Roaring64NavigableMap> postings = new HashMap<>();
+  // writes that arrive while rebuild() is scanning the join table, replayed onto the rebuilt map in order
+  // (the scan may have read the links from before them), null when no rebuild is running
+  private List<HashtagWrite> pendingWrites;
+  private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+  private final Timer queryTimer;
+  private volatile long sizeInBytes = 0;
+  private volatile boolean ready = false;
+  // set once the bitmaps outgrow maxBytes: the index drops its data and stops following writes until a rebuild fits again
+  private volatile boolean overBudget = false;
+
+  public HashtagBitmapIndex(
+      ArticleRepository articleRepository,
+      MeterRegistry meterRegistry,
+      @Value("${board.search.hashtag-index.max-bytes:67108864}") long maxBytes
+  ) {
+    this.articleRepository = articleRepository;
+    this.maxBytes = maxBytes;
+    // exposed through /actuator/metrics/board.search.hashtag-index.*
+    Gauge.builder("board.search.hashtag-index.bytes", this, index -> index.sizeInBytes)
+        .description("Estimated heap used by the hashtag bitmaps")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+    Gauge.builder("board.search.hashtag-index.hashtags", this, index -> index.postings.size())
+        .description("Number of hashtags held in the hashtag index")
+        .register(meterRegistry);
+    this.queryTimer = Timer.builder("board.search.hashtag-index.query")
+        .description("Latency of hashtag index lookups")
+        .register(meterRegistry);
+  }
+
+  // streams the whole join table once; the stream needs an open transaction
+  // the index keeps serving (and following writes) while the new map is built aside, writes that arrive in the
+  // meantime are also buffered, since the scan may have read the links from before them
+  @Transactional(readOnly = true)
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuild() {
+    // the startup rebuild and a scheduled one may overlap
+    if (!rebuilding.compareAndSet(false, true)) {
+      return;
+    }
+    int hashtagCount;
+    try {
+      lock.writeLock().lock();
+      try {
+        pendingWrites = new ArrayList<>();
+      } finally {
+        lock.writeLock().unlock();
+      }
+
+      Map<String, Roaring64NavigableMap> rebuilt = new HashMap<>();
+      try (Stream<ArticleHashtagProjection> links = articleRepository.streamAllArticleHashtags()) {
+        Iterator<ArticleHashtagProjection> iterator = links.iterator();
+        long count = 0;
+        while (iterator.hasNext()) {
+          ArticleHashtagProjection link = iterator.next();
+          rebuilt.computeIfAbsent(link.getHashtagName(), key -> new Roaring64NavigableMap()).addLong(link.getArticleId());
+          // give up early instead of filling the heap with an index we are not going to use
+          if (++count % SIZE_CHECK_INTERVAL == 0 && sizeOf(rebuilt) > maxBytes) {
+            lock.writeLock().lock();
+            try {
+              pendingWrites = null;
+              disable(sizeOf(rebuilt));
+            } finally {
+              lock.writeLock().unlock();
+            }
+            return;
+          }
+        }
+      } catch (RuntimeException e) {
+        // keep serving the old map, and stop buffering writes for a rebuild that isn't coming
+        lock.writeLock().lock();
+        try {
+          pendingWrites = null;
+        } finally {
+          lock.writeLock().unlock();
+        }
+        throw e;
+      }
+      // switch to run-length encoding wherever it is smaller (long runs of consecutive ids)
+      rebuilt.values().forEach(Roaring64NavigableMap::runOptimize);
+
+      lock.writeLock().lock();
+      try {
+        postings = rebuilt;
+        sizeInBytes = sizeOf(postings);
+        overBudget = false;
+        pendingWrites.forEach(this::apply);
+        pendingWrites = null;
+        checkBudget();
+        hashtagCount = postings.size();
+      } finally {
+        lock.writeLock().unlock();
+      }
+    } finally {
+      rebuilding.set(false);
+    }
+
+    ready = true;
+    log.info("Hashtag index rebuilt - hashtags: {}, bytes: {}", hashtagCount, sizeInBytes);
+  }
+
+  // articles may have been deleted since the index outgrew its budget, try again once in a while
+  // called through the proxy by the scheduler, so the stream of rebuild() gets its transaction
+  @Transactional(readOnly = true)
+  @Scheduled(fixedDelayString = "${board.search.hashtag-index.retry-interval:PT1H}")
+  public void rebuildIfOverBudget() {
+    if (overBudget) {
+      rebuild();
+    }
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onArticleSaved(ArticleSavedEvent event) {
+    update(event.articleId(), event.removedHashtagNames(), event.hashtagNames());
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onArticleDeleted(ArticleDeletedEvent event) {
+    remove(event.articleId(), event.hashtagNames());
+  }
+
+  // the index only knows the order of the ids, other orderings (and an oversized index) have to go to the database
+  public boolean canSearch(Sort sort) {
+    return ready && !overBudget && ID_DESC.equals(sort);
+  }
+
+  // a new article with its hashtags
+  public void index(Long articleId, Set<String> hashtagNames) {
+    update(articleId, Set.of(), hashtagNames);
+  }
+
+  // an edited article: the hashtags it no longer links, and every hashtag it links now
+  // an oversized index ignores writes, unless a rebuild is running (which may find the index within budget again)
+  public void update(Long articleId, Set<String> removedHashtagNames, Set<String> hashtagNames) {
+    HashtagWrite write = new HashtagWrite(articleId, Set.copyOf(removedHashtagNames), Set.copyOf(hashtagNames));
+    lock.writeLock().lock();
+    try {
+      if (pendingWrites != null) {
+        pendingWrites.add(write);
+      }
+      if (!overBudget) {
+        apply(write);
+        checkBudget();
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  // a deleted article, along with the hashtags it linked
+  public void remove(Long articleId, Set<String> hashtagNames) {
+    update(articleId, hashtagNames, Set.of());
+  }
+
+  // returns ids of matching articles by descending id, along with the total number of matches
+  public Page<Long> search(HashtagQuery query, Pageable pageable) {
+    return queryTimer.record(() -> {
+      Roaring64NavigableMap matches = match(query);
+      List<Long> articleIds = new ArrayList<>();
+      LongIterator iterator = matches.getReverseLongIterator();
+      long skip = pageable.isPaged() ? pageable.getOffset() : 0;
+      int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+      while (iterator.hasNext() && articleIds.size() < limit) {
+        long articleId = iterator.next();
+        if (skip > 0) {
+          skip--;
+        } else {
+          articleIds.add(articleId);
+        }
+      }
+
+      return new PageImpl<>(articleIds, pageable, matches.getLongCardinality());
+    });
+  }
+
+  public boolean isReady() {
+    return ready;
+  }
+
+  private Roaring64NavigableMap match(HashtagQuery query) {
+    Roaring64NavigableMap result = new Roaring64NavigableMap();
+    if (query.isEmpty()) {
+      return result;
+    }
+
+    lock.readLock().lock();
+    try {
+      // start from the required hashtags (the smaller set in practice), otherwise from the union
+      if (!query.allOf().isEmpty()) {
+        boolean first = true;
+        for (String hashtagName : query.allOf()) {
+          Roaring64NavigableMap articleIds = postings.get(hashtagName);
+          if (articleIds == null) {
+            return new Roaring64NavigableMap();
+          }
+          if (first) {
+            result.or(articleIds);
+            first = false;
+          } else {
+            result.and(articleIds);
+          }
+        }
+        if (!query.anyOf().isEmpty()) {
+          result.and(union(query.anyOf()));
+        }
+      } else {
+        result.or(union(query.anyOf()));
+      }
+      for (String hashtagName : query.noneOf()) {
+        Roaring64NavigableMap articleIds = postings.get(hashtagName);
+        if (articleIds != null) {
+          result.andNot(articleIds);
+        }
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+
+    return result;
+  }
+
+  private Roaring64NavigableMap union(Set<String> hashtagNames) {
+    Roaring64NavigableMap union = new Roaring64NavigableMap();
+    hashtagNames.stream()
+        .map(postings::get)
+        .filter(Objects::nonNull)
+        .forEach(union::or);
+
+    return union;
+  }
+
+  // called with the write lock held
+  // only the bitmaps of the write's hashtags are touched, and sizeInBytes is adjusted by their change
+  // every current hashtag is looked at, its bitmap only changes if it didn't have the article yet
+  private void apply(HashtagWrite write) {
+    for (String hashtagName : write.removedHashtagNames()) {
+      Roaring64NavigableMap articleIds = postings.get(hashtagName);
+      if (articleIds == null || write.hashtagNames().contains(hashtagName)) {
+        continue;
+      }
+      sizeInBytes -= articleIds.getLongSizeInBytes();
+      articleIds.removeLong(write.articleId());
+      if (articleIds.isEmpty()) {
+        postings.remove(hashtagName);
+      } else {
+        sizeInBytes += articleIds.getLongSizeInBytes();
+      }
+    }
+    for (String hashtagName : write.hashtagNames()) {
+      Roaring64NavigableMap articleIds = postings.computeIfAbsent(hashtagName, key -> new Roaring64NavigableMap());
+      if (articleIds.contains(write.articleId())) {
+        continue;
+      }
+      sizeInBytes -= articleIds.getLongSizeInBytes();
+      articleIds.addLong(write.articleId());
+      sizeInBytes += articleIds.getLongSizeInBytes();
+    }
+  }
+
+  // called with the write lock held
+  private void checkBudget() {
+    if (sizeInBytes > maxBytes) {
+      disable(sizeInBytes);
+    }
+  }
+
+  // called with the write lock held
+  private void disable(long bytes) {
+    postings = new HashMap<>();
+    overBudget = true;
+    sizeInBytes = 0;
+    log.warn("Hashtag index exceeds its heap budget ({} > {} bytes), hashtag searches fall back to the database", bytes, maxBytes);
+  }
+
+  // one write to an article's links: the hashtags it unlinks and the ones it links (empty once deleted)
+  private record HashtagWrite(Long articleId, Set<String> removedHashtagNames, Set<String> hashtagNames) {
+  }
+
+  private static long sizeOf(Map<String, Roaring64NavigableMap> bitmaps) {
+    return bitmaps.values().stream().mapToLong(Roaring64NavigableMap::getLongSizeInBytes).sum();
+  }
+}
@@ -0,0 +1,292 @@
+package com.example.boardservice.index;
+
+import com.example.boardservice.dto.HashtagSummaryDto;
+import com.example.boardservice.event.HashtagArticleCountAdjustedEvent;
+import com.example.boardservice.event.HashtagCreatedEvent;
+import com.example.boardservice.event.HashtagDeletedEvent;
+import com.example.boardservice.repository.HashtagRepository;
+import com.example.boardservice.repository.projection.HashtagSummaryProjection;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// "did you mean" for misspelled hashtags: finds hashtags within a small edit distance of a name
+// a BK-tree places every name under its parent at the edge labelled with their edit distance. by the triangle
+// inequality, a match within maxDistance of the query can only be below an edge in [d - maxDistance, d + maxDistance]
+// (d being the distance between query and node), so a lookup only visits a small part of the vocabulary
+// distances are measured between jamo decompositions (see HangulJamo), so a korean typo (스푸링 for 스프링) costs 1
+// read: https://en.wikipedia.org/wiki/BK-tree
+@Slf4j
+@Component
+public class HashtagFuzzyIndex {
+
+  private static final Comparator<Match> RANKING = Comparator
+      .comparingInt(Match::distance)
+      .thenComparing(Comparator.comparingLong(Match::articleCount).reversed())
+      .thenComparing(Match::hashtagName);
+
+  private final HashtagRepository hashtagRepository;
+  // BK-trees can't remove a node without rebuilding the subtree below it, so deleted hashtags only
+  // empty their node; the tree is rebuilt once too many nodes are empty
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Map<Long, Entry> entriesById = new ConcurrentHashMap<>();
+  private final Timer queryTimer;
+  private Node root;
+  private int nodeCount;
+  private int emptyNodeCount;
+
+  public HashtagFuzzyIndex(HashtagRepository hashtagRepository, MeterRegistry meterRegistry) {
+    this.hashtagRepository = hashtagRepository;
+    // exposed through /actuator/metrics/board.hashtag.fuzzy.*
+    Gauge.builder("board.hashtag.fuzzy.hashtags", entriesById, Map::size)
+        .description("Number of hashtags held in the fuzzy hashtag index")
+        .register(meterRegistry);
+    this.queryTimer = Timer.builder("board.hashtag.fuzzy.query")
+        .description("Latency of fuzzy hashtag lookups")
+        .register(meterRegistry);
+  }
+
+  // the stream needs an open transaction
+  @Transactional(readOnly = true)
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuild() {
+    lock.writeLock().lock();
+    try {
+      clear();
+      try (Stream<HashtagSummaryProjection> hashtags = hashtagRepository.streamAllSummaries()) {
+        hashtags.forEach(hashtag -> insert(new Entry(hashtag.getId(), hashtag.getHashtagName(), hashtag.getArticleCount())));
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+    log.info("Fuzzy hashtag index rebuilt - hashtags: {}, nodes: {}", entriesById.size(), nodeCount);
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onHashtagCreated(HashtagCreatedEvent event) {
+    add(event.hashtagId(), event.hashtagName(), 0);
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onHashtagDeleted(HashtagDeletedEvent event) {
+    remove(event.hashtagId());
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onArticleCountAdjusted(HashtagArticleCountAdjustedEvent event) {
+    event.hashtagIds().forEach(hashtagId -> {
+      Entry entry = entriesById.get(hashtagId);
+      if (entry != null) {
+        entry.articleCount.addAndGet(event.delta());
+      }
+    });
+  }
+
+  public void add(Long hashtagId, String hashtagName, long articleCount) {
+    lock.writeLock().lock();
+    try {
+      removeEntry(hashtagId);
+      insert(new Entry(hashtagId, hashtagName, articleCount));
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void remove(Long hashtagId) {
+    lock.writeLock().lock();
+    try {
+      removeEntry(hashtagId);
+      if (emptyNodeCount > nodeCount / 2) {
+        List<Entry> entries = new ArrayList<>(entriesById.values());
+        clear();
+        entries.forEach(this::insert);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  // hashtags with articles that are at most 1 (names up to 4 letters) or 2 edits away from the name,
+  // closest and most used first; the name itself is not suggested
+  public List<HashtagSummaryDto> findSimilar(String hashtagName, int size) {
+    if (hashtagName == null) {
+      return List.of();
+    }
+    String name = hashtagName.strip().startsWith("#") ? hashtagName.strip().substring(1) : hashtagName.strip();
+    if (name.isEmpty() || size < 1) {
+      return List.of();
+    }
+    String key = HangulJamo.decompose(name);
+    int maxDistance = key.length() <= 4 ? 1 : 2;
+
+    return queryTimer.record(() -> {
+      List<Match> matches = new ArrayList<>();
+      lock.readLock().lock();
+      try {
+        Deque<Node> pending = new ArrayDeque<>();
+        if (root != null) {
+          pending.push(root);
+        }
+        while (!pending.isEmpty()) {
+          Node node = pending.pop();
+          int distance = distance(key, node.key);
+          if (distance <= maxDistance) {
+            for (Entry entry : node.entries.values()) {
+              if (!entry.hashtagName.equals(name) && entry.articleCount.get() > 0) {
+                matches.add(new Match(entry.hashtagName, entry.articleCount.get(), distance));
+              }
+            }
+          }
+          if (node.children != null) {
+            for (int edge = Math.max(1, distance - maxDistance); edge <= distance + maxDistance; edge++) {
+              Node child = node.children.get(edge);
+              if (child != null) {
+                pending.push(child);
+              }
+            }
+          }
+        }
+      } finally {
+        lock.readLock().unlock();
+      }
+
+      return matches.stream()
+          .sorted(RANKING)
+          .limit(size)
+          .map(match -> HashtagSummaryDto.of(match.hashtagName(), match.articleCount()))
+          .toList();
+    });
+  }
+
+  // caller must hold the write lock
+  private void insert(Entry entry) {
+    entriesById.put(entry.hashtagId, entry);
+    if (root == null) {
+      root = new Node(entry.key);
+      root.entries.put(entry.hashtagId, entry);
+      nodeCount++;
+      return;
+    }
+
+    Node node = root;
+    while (true) {
+      int distance = distance(entry.key, node.key);
+      // names with the same key (Java, java) share a node
+      if (distance == 0) {
+        if (node.entries.isEmpty()) {
+          emptyNodeCount--;
+        }
+        node.entries.put(entry.hashtagId, entry);
+        return;
+      }
+      if (node.children == null) {
+        node.children = new HashMap<>();
+      }
+      Node child = node.children.get(distance);
+      if (child == null) {
+        child = new Node(entry.key);
+        child.entries.put(entry.hashtagId, entry);
+        node.children.put(distance, child);
+        nodeCount++;
+        return;
+      }
+      node = child;
+    }
+  }
+
+  // caller must hold the write lock
+  private void removeEntry(Long hashtagId) {
+    Entry entry = entriesById.remove(hashtagId);
+    if (entry == null) {
+      return;
+    }
+    Node node = root;
+    while (node != null) {
+      int distance = distance(entry.key, node.key);
+      if (distance == 0) {
+        node.entries.remove(hashtagId);
+        if (node.entries.isEmpty()) {
+          emptyNodeCount++;
+        }
+        return;
+      }
+      node = node.children == null ? null : node.children.get(distance);
+    }
+  }
+
+  private void clear() {
+    entriesById.clear();
+    root = null;
+    nodeCount = 0;
+    emptyNodeCount = 0;
+  }
+
+  // Levenshtein distance with two rows
+  // read: https://en.wikipedia.org/wiki/Levenshtein_distance#Iterative_with_two_matrix_rows
+  static int distance(String source, String target) {
+    int[] previous = new int[target.length() + 1];
+    int[] current = new int[target.length() + 1];
+    for (int j = 0; j <= target.length(); j++) {
+      previous[j] = j;
+    }
+    for (int i = 1; i <= source.length(); i++) {
+      current[0] = i;
+      char sourceChar = source.charAt(i - 1);
+      for (int j = 1; j <= target.length(); j++) {
+        int substitution = previous[j - 1] + (sourceChar == target.charAt(j - 1) ? 0 : 1);
+        current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+      }
+      int[] swap = previous;
+      previous = current;
+      current = swap;
+    }
+
+    return previous[target.length()];
+  }
+
+  private static final class Node {
+    private final String key;
+    private final Map<Long, Entry> entries = new HashMap<>(2);
+    // edit distance -> child, created on the first child
+    private Map<Integer, Node> children;
+
+    private Node(String key) {
+      this.key = key;
+    }
+  }
+
+  private static final class Entry {
+    private final Long hashtagId;
+    private final String hashtagName;
+    private final String key;
+    private final AtomicLong articleCount;
+
+    private Entry(Long hashtagId, String hashtagName, long articleCount) {
+      this.hashtagId = hashtagId;
+      this.hashtagName = hashtagName;
+      this.key = HangulJamo.decompose(hashtagName);
+      this.articleCount = new AtomicLong(articleCount);
+    }
+  }
+
+  private record Match(String hashtagName, long articleCount, int distance) {}
+}
@@ -0,0 +1,63 @@
+package com.example.boardservice.index;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+// boolean hashtag search parsed from the search keyword
+// "java spring" -> articles with java OR spring (the behaviour of the old IN query)
+// "+java +spring" -> articles with java AND spring
+// "java -spring" -> articles with java but NOT spring
+// a leading '#' is ignored, so "#java" works as well
+public record HashtagQuery(Set<String> anyOf, Set<String> allOf, Set<String> noneOf) {
+
+  public static HashtagQuery of(Set<String> anyOf, Set<String> allOf, Set<String> noneOf) {
+    return new HashtagQuery(
+        Collections.unmodifiableSet(anyOf),
+        Collections.unmodifiableSet(allOf),
+        Collections.unmodifiableSet(noneOf));
+  }
+
+  public static HashtagQuery anyOf(Set<String> hashtagNames) {
+    return of(hashtagNames, Set.of(), Set.of());
+  }
+
+  public static HashtagQuery parse(String keyword) {
+    Set<String> anyOf = new LinkedHashSet<>();
+    Set<String> allOf = new LinkedHashSet<>();
+    Set<String> noneOf = new LinkedHashSet<>();
+    if (keyword == null || keyword.isBlank()) {
+      return of(anyOf, allOf, noneOf);
+    }
+
+    for (String token : keyword.trim().split("\\s+")) {
+      Set<String> target = switch (token.charAt(0)) {
+        case '+' -> allOf;
+        case '-' -> noneOf;
+        default -> anyOf;
+      };
+      String hashtagName = target == anyOf ? token : token.substring(1);
+      if (hashtagName.startsWith("#")) {
+        hashtagName = hashtagName.substring(1);
+      }
+      if (!hashtagName.isEmpty()) {
+        target.add(hashtagName);
+      }
+    }
+
+    return of(anyOf, allOf, noneOf);
+  }
+
+  // excluding alone would match (almost) every article, so a query needs at least one positive term
+  public boolean isEmpty() {
+    return anyOf.isEmpty() && allOf.isEmpty();
+  }
+
+  // stable key regardless of the order the terms were typed in, eg. for caching counts
+  public String cacheKey() {
+    return String.join(" ", new TreeSet<>(anyOf))
+        + "|" + String.join(" ", new TreeSet<>(allOf))
+        + "|" + String.join(" ", new TreeSet<>(noneOf));
+  }
+}
@@ -2,19 +2,32 @@ package com.example.boardservice.repository;
 
 import com.example.boardservice.domain.ArticleComment;
 import com.example.boardservice.domain.QArticleComment;
+import com.example.boardservice.repository.projection.CommentParentProjection;
+import com.example.boardservice.repository.projection.DeletableCommentProjection;
+import com.example.boardservice.repository.querydsl.ArticleCommentRepositoryCustom;
+import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.DateTimeExpression;
 import com.querydsl.core.types.dsl.StringExpression;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.data.querydsl.binding.QuerydslBinderCustomizer;
 import org.springframework.data.querydsl.binding.QuerydslBindings;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.data.rest.core.annotation.RestResource;
 
 import java.util.List;
+import java.util.Optional;
 
 @RepositoryRestResource
 public interface ArticleCommentRepository extends
     JpaRepository<ArticleComment, Long>,
+    ArticleCommentRepositoryCustom,
     QuerydslPredicateExecutor<ArticleComment>,
     QuerydslBinderCustomizer<QArticleComment> {
 
@@ -22,10 +35,60 @@ public interface ArticleCommentRepository extends
   // read more here: https://docs.spring.io/spring-data/jpa/docs/current/reference/html/#repository-query-keywords
   // underbar means that element after underbar is mapped under the element before underbar
   // just think of it as accessing an object parameter like this: Article.Id
+  @EntityGraph("ArticleComment.withUserAccount")
   List<ArticleComment> findByArticle_Id(Long articleId);
 
+  // Spring Data REST renders the author inside the comment, outside of any transaction
+  @Override
+  @EntityGraph("ArticleComment.withUserAccount")
+  Optional<ArticleComment> findById(Long articleCommentId);
+  @Override
+  @EntityGraph("ArticleComment.withUserAccount")
+  Page<ArticleComment> findAll(Pageable pageable);
+  @Override
+  @EntityGraph("ArticleComment.withUserAccount")
+  Page<ArticleComment> findAll(Predicate predicate, Pageable pageable);
+
+  // loads the comment and deletes its replies one by one through the childComments cascade, see deleteSubtree
   void deleteByIdAndUserAccount_UserId(Long articleCommentId, String userId);
 
+  // the comment, only if it is the user's: the authorization check of a delete
+  // internal query methods are hidden from Spring Data REST, which would otherwise export them under /search
+  @RestResource(exported = false)
+  @Query("""
+      select c.id as id, c.article.id as articleId, c.parentCommentId as parentCommentId, c.path as path
+      from ArticleComment c
+      where c.id = :articleCommentId and c.userAccount.userId = :userId
+      """)
+  Optional<DeletableCommentProjection> findDeletableComment(@Param("articleCommentId") Long articleCommentId, @Param("userId") String userId);
+
+  // set-based deletes, none of them loads the comments or goes through the childComments cascade
+  // every reply below a comment at any depth (pathPrefix is CommentPath.childPathOf(comment)), in one range delete
+  @RestResource(exported = false)
+  @Modifying
+  @Query("delete from ArticleComment c where c.article.id = :articleId and c.path like concat(:pathPrefix, '%')")
+  int deleteSubtree(@Param("articleId") Long articleId, @Param("pathPrefix") String pathPrefix);
+
+  @RestResource(exported = false)
+  @Modifying
+  @Query("delete from ArticleComment c where c.id = :articleCommentId")
+  int deleteRowById(@Param("articleCommentId") Long articleCommentId);
+
+  @RestResource(exported = false)
+  @Modifying
+  @Query("delete from ArticleComment c where c.article.id = :articleId")
+  int deleteByArticleId(@Param("articleId") Long articleId);
+
+  // the comment to reply to, if it exists in the given article: a primary key lookup, the article is its foreign key
+  @RestResource(exported = false)
+  Optional<CommentParentProjection> findByIdAndArticle_Id(Long articleCommentId, Long articleId);
+
+  // replies written before ArticleComment.path existed, after the given id, see CommentPathBackfill
+  @RestResource(exported = false)
+  List<ArticleComment> findByParentCommentIdIsNotNullAndPathIsNullAndIdGreaterThan(Long articleCommentId, Pageable pageable);
+  @RestResource(exported = false)
+  boolean existsByArticle_IdAndParentCommentIdIsNotNullAndPathIsNull(Long articleId);
+
   @Override
   default void customize(QuerydslBindings bindings, QArticleComment root) {
     bindings.excludeUnlistedProperties(true);
@@ -2,16 +2,32 @@ package com.example.boardservice.repository;
 
 import com.example.boardservice.domain.Article;
 import com.example.boardservice.domain.QArticle;
+import com.example.boardservice.repository.projection.ArticleHashtagProjection;
+import com.example.boardservice.repository.projection.ArticleTextProjection;
 import com.example.boardservice.repository.querydsl.ArticleRepositoryCustom;
+import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.DateTimeExpression;
 import com.querydsl.core.types.dsl.StringExpression;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.data.querydsl.binding.QuerydslBinderCustomizer;
 import org.springframework.data.querydsl.binding.QuerydslBindings;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.data.rest.core.annotation.RestResource;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /*
 difference between domain (DAO) and repository implementations
@@ -28,12 +44,81 @@ public interface ArticleRepository extends
     QuerydslPredicateExecutor<Article>,
     QuerydslBinderCustomizer<QArticle> {
 
+  // the detail and edit pages show the author and the hashtags, read along with the article in one query
+  @RestResource(exported = false)
+  @EntityGraph("Article.withUserAccountAndHashtags")
+  Optional<Article> findWithUserAccountAndHashtagsById(Long articleId);
+
+  // the hashtag search page, which the hashtag bitmap index answers with article ids
+  @RestResource(exported = false)
+  @EntityGraph("Article.withUserAccountAndHashtags")
+  List<Article> findWithUserAccountAndHashtagsByIdIn(Collection<Long> articleIds);
+
+  // articles are only written through ArticleService: a write straight to the repository would skip the hashtags,
+  // their counters and the events the search indexes and caches follow, so Spring Data REST only exports reads
+  // (POST/PUT/PATCH go through save, DELETE through deleteById and delete)
+  // read: https://docs.spring.io/spring-data/rest/docs/current/reference/html/#customizing-sdr.http-methods
+  @Override
+  @RestResource(exported = false)
+  <S extends Article> S save(S article);
+  @Override
+  @RestResource(exported = false)
+  void deleteById(Long articleId);
+  @Override
+  @RestResource(exported = false)
+  void delete(Article article);
+
+  // Spring Data REST renders the author inside the article, outside of any transaction
+  @Override
+  @EntityGraph("Article.withUserAccount")
+  Optional<Article> findById(Long articleId);
+  @Override
+  @EntityGraph("Article.withUserAccount")
+  Page<Article> findAll(Pageable pageable);
+  @Override
+  @EntityGraph("Article.withUserAccount")
+  Page<Article> findAll(Predicate predicate, Pageable pageable);
+
+  // exported as /api/articles/search/..., with the author rendered inline as well
+  @EntityGraph("Article.withUserAccount")
   Page<Article> findByTitleContaining(String title, Pageable pageable);
+  @EntityGraph("Article.withUserAccount")
   Page<Article> findByContentContaining(String content, Pageable pageable);
+  @EntityGraph("Article.withUserAccount")
   Page<Article> findByUserAccount_UserIdContaining(String userId, Pageable pageable);
+  @EntityGraph("Article.withUserAccount")
   Page<Article> findByUserAccount_NicknameContaining(String nickname, Pageable pageable);
 
-  void deleteByIdAndUserAccount_UserId(Long articleId, String userId);
+  // the counts of the article list and search pages, paired with findSummaries according to a CountMode
+  // (see ArticleCountService), internal query methods are hidden from Spring Data REST with exported = false
+  @RestResource(exported = false)
+  long countByTitleContainingIgnoreCase(String title);
+  @RestResource(exported = false)
+  long countByContentContainingIgnoreCase(String content);
+  @RestResource(exported = false)
+  long countByUserAccount_UserIdContaining(String userId);
+  @RestResource(exported = false)
+  long countByUserAccount_NicknameContaining(String nickname);
+
+  // Slice skips the count query, which we don't need when walking the whole table in batches
+  @RestResource(exported = false)
+  Slice<ArticleTextProjection> findAllBy(Pageable pageable);
+
+  // every article-hashtag link, read once at startup by HashtagBitmapIndex
+  // streaming keeps the whole join table from being materialized at once (needs an open transaction)
+  @RestResource(exported = false)
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  @Query("select a.id as articleId, h.hashtagName as hashtagName from Article a join a.hashtags h")
+  Stream<ArticleHashtagProjection> streamAllArticleHashtags();
+
+  // the hashtags of one page of the article list, so that the page never loads the articles themselves
+  @RestResource(exported = false)
+  @Query("select a.id as articleId, h.hashtagName as hashtagName from Article a join a.hashtags h where a.id in :articleIds")
+  List<ArticleHashtagProjection> findArticleHashtags(@Param("articleIds") Collection<Long> articleIds);
+
+  // returns the number of deleted articles, so callers can tell whether the user was allowed to delete it
+  @RestResource(exported = false)
+  long deleteByIdAndUserAccount_UserId(Long articleId, String userId);
 
 
   @Override
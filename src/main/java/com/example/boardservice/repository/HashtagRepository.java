@@ -1,18 +1,94 @@
 package com.example.boardservice.repository;
 
 import com.example.boardservice.domain.Hashtag;
-import com.example.boardservice.repository.querydsl.HashtagRepositoryCustom;
+import com.example.boardservice.repository.projection.HashtagNameProjection;
+import com.example.boardservice.repository.projection.HashtagSummaryProjection;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.rest.core.annotation.RestResource;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 public interface HashtagRepository extends
     JpaRepository<Hashtag, Long>,
-    HashtagRepositoryCustom,
     QuerydslPredicateExecutor<Hashtag> {
   Optional<Hashtag> findByHashtagName(String hashtagName);
   List<Hashtag> findByHashtagNameIn(Set<String> hashtagNames);
+
+  // hashtag article counters are only ever changed relatively, in one statement, so concurrent
+  // transactions can't overwrite each other's changes
+  // bulk updates bypass the persistence context: articleCount of already loaded hashtags is stale afterwards
+  // returns the number of updated hashtags, fewer than given when some of them have been deleted
+  // (the updated rows stay locked until the transaction ends, see HashtagService.linkHashtags)
+  @Modifying
+  @Query("update Hashtag h set h.articleCount = h.articleCount + :delta where h.id in :hashtagIds")
+  int adjustArticleCount(@Param("hashtagIds") Collection<Long> hashtagIds, @Param("delta") long delta);
+
+  // orphan hashtags (no articles left) created before the given time, OrphanHashtagSweeper removes them in batches
+  List<HashtagNameProjection> findByArticleCountLessThanEqualAndCreatedAtBefore(
+      long articleCount, LocalDateTime createdAt, Pageable pageable);
+
+  // the articleCount check is repeated, a hashtag may have been linked again since it was selected
+  // the links themselves are checked as well: the counter of a hashtag linked by a transaction that hasn't adjusted
+  // it yet (or one that drifted) may still read 0, and deleting a linked hashtag would fail the whole batch
+  // returns the number of deleted hashtags, the given ids that are left were kept
+  @Modifying
+  @Query("""
+      delete from Hashtag h
+      where h.id in :hashtagIds
+        and h.articleCount <= 0
+        and not exists (select a.id from Article a join a.hashtags ah where ah.id = h.id)
+      """)
+  int deleteUnusedByIdIn(@Param("hashtagIds") Collection<Long> hashtagIds);
+
+  // which of the given hashtags still exist, eg. the ones deleteUnusedByIdIn had to leave alone
+  @Query("select h.id from Hashtag h where h.id in :hashtagIds")
+  Set<Long> findIdsByIdIn(@Param("hashtagIds") Collection<Long> hashtagIds);
+
+  // the next batch of hashtags in id order, locked (select ... for update) until the end of the transaction:
+  // an article linking or unlinking one of them waits on adjustArticleCount, so HashtagArticleCountReconciler
+  // recounts links that can't change underneath it, and no delta lands between its count and its update
+  @RestResource(exported = false)
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select h from Hashtag h where h.id > :afterId order by h.id")
+  List<Hashtag> findAndLockByIdGreaterThan(@Param("afterId") long afterId, Pageable pageable);
+
+  // recounts the links of the given hashtags where their counter disagrees with article_hashtag,
+  // returns the number of repaired hashtags (lock them first, see findAndLockByIdGreaterThan)
+  @Modifying
+  @Query("""
+      update Hashtag h
+      set h.articleCount = (select count(a) from Article a join a.hashtags ah where ah.id = h.id)
+      where h.id in :hashtagIds
+        and h.articleCount <> (select count(a) from Article a join a.hashtags ah where ah.id = h.id)
+      """)
+  int reconcileArticleCounts(@Param("hashtagIds") Collection<Long> hashtagIds);
+
+  // used to warm up HashtagDictionary
+  @RestResource(exported = false)
+  List<HashtagNameProjection> findAllBy(Pageable pageable);
+
+  // one page of the hashtag directory, see HashtagDirectory
+  // a slice reads one row past the page instead of counting every hashtag, the directory keeps the total itself
+  Slice<HashtagSummaryProjection> findSummariesBy(Pageable pageable);
+
+  // every hashtag with its counter, used to build HashtagAutocompleteIndex (needs an open transaction)
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  @Query("select h.id as id, h.hashtagName as hashtagName, h.articleCount as articleCount from Hashtag h")
+  Stream<HashtagSummaryProjection> streamAllSummaries();
 }
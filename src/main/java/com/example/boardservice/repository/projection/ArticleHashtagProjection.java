@@ -0,0 +1,7 @@
+package com.example.boardservice.repository.projection;
+
+// one row of the article_hashtag join table, with the hashtag name resolved
+public interface ArticleHashtagProjection {
+  Long getArticleId();
+  String getHashtagName();
+}
@@ -0,0 +1,16 @@
+package com.example.boardservice.repository.projection;
+
+import java.time.LocalDateTime;
+
+// the columns of an article the list and search pages show: no content, and only the author's name and email
+// constructor projection filled in by Querydsl, see ArticleRepositoryCustomImpl#findSummaries
+// read: http://querydsl.com/static/querydsl/latest/reference/html/ch03s02.html
+public record ArticleSummaryProjection(
+    Long id,
+    String title,
+    LocalDateTime createdAt,
+    String userId,
+    String email,
+    String nickname
+) {
+}
@@ -0,0 +1,9 @@
+package com.example.boardservice.repository.projection;
+
+// closed interface projection: Spring Data only selects the columns exposed by these getters
+// read: https://docs.spring.io/spring-data/jpa/docs/current/reference/html/#projections.interfaces
+public interface ArticleTextProjection {
+  Long getId();
+  String getTitle();
+  String getContent();
+}
@@ -0,0 +1,19 @@
+package com.example.boardservice.repository.projection;
+
+import com.example.boardservice.domain.CommentPath;
+
+// what a reply needs from the comment it replies to, without loading the entity (and its replies)
+public interface CommentParentProjection {
+  Long getId();
+  Long getParentCommentId();
+  String getPath();
+
+  // the path of the replies to this comment, null while its own path hasn't been backfilled (see CommentPathBackfill)
+  default String childPath() {
+    if (getParentCommentId() != null && getPath() == null) {
+      return null;
+    }
+
+    return CommentPath.childPathOf(getPath(), getId());
+  }
+}
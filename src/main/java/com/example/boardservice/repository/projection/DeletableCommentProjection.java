@@ -0,0 +1,6 @@
+package com.example.boardservice.repository.projection;
+
+// a comment its author is about to delete, with what it takes to find its replies (see CommentParentProjection)
+public interface DeletableCommentProjection extends CommentParentProjection {
+  Long getArticleId();
+}
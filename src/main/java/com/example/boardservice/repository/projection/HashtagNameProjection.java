@@ -0,0 +1,7 @@
+package com.example.boardservice.repository.projection;
+
+// hashtag id and name only, without loading the entity
+public interface HashtagNameProjection {
+  Long getId();
+  String getHashtagName();
+}
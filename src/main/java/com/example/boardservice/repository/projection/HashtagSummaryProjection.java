@@ -0,0 +1,8 @@
+package com.example.boardservice.repository.projection;
+
+// what the hashtag directory lists, without loading the entity
+public interface HashtagSummaryProjection {
+  Long getId();
+  String getHashtagName();
+  long getArticleCount();
+}
@@ -0,0 +1,26 @@
+package com.example.boardservice.repository.querydsl;
+
+import com.example.boardservice.domain.ArticleComment;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ArticleCommentRepositoryCustom {
+  // root comments of an article after the given position, newest first (keyset pagination over (createdAt, id))
+  // createdAt and id are null for the first page
+  List<ArticleComment> findRootsByCursor(Long articleId, LocalDateTime createdAt, Long id, int limit);
+
+  // replies to a comment after the given position, oldest first
+  List<ArticleComment> findRepliesByCursor(Long articleId, Long parentCommentId, LocalDateTime createdAt, Long id, int limit);
+
+  // the first `limit` replies (oldest first) of each of the given comments, in one query
+  // ordered by parent, then oldest first
+  List<ArticleComment> findFirstReplies(Long articleId, Collection<Long> parentCommentIds, int limit);
+
+  // the first `limit` replies at any depth below a comment, given CommentPath.childPathOf(comment), oldest first
+  // a reply is never older than the comment it replies to, so the replies that fit always come with their parents
+  List<ArticleComment> findSubtree(Long articleId, String pathPrefix, int limit);
+
+  long countSubtree(Long articleId, String pathPrefix);
+}
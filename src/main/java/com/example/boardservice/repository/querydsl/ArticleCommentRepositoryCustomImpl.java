@@ -0,0 +1,115 @@
+package com.example.boardservice.repository.querydsl;
+
+import com.example.boardservice.domain.ArticleComment;
+import com.example.boardservice.domain.QArticleComment;
+import com.querydsl.jpa.JPQLQuery;
+import org.springframework.data.jpa.repository.support.QuerydslRepositorySupport;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+// every query here seeks on the (article_id, parentCommentId, createdAt) or (article_id, path) index of
+// ArticleComment, reading only the rows asked for instead of every comment of the article
+// the author of every comment is shown with it, so each query fetches it in the same statement (userAccount is lazy)
+public class ArticleCommentRepositoryCustomImpl extends QuerydslRepositorySupport implements ArticleCommentRepositoryCustom {
+
+  // numbers the replies of each parent oldest first, so that the first n replies of every parent on a page come
+  // back in a single query (a LIMIT would apply to all parents together)
+  // native, since JPQL has no window functions; entities are loaded by id afterwards
+  private static final String FIRST_REPLY_IDS = """
+      select r.id from (
+        select c.id, row_number() over (partition by c.parent_comment_id order by c.created_at, c.id) as rn
+        from article_comment c
+        where c.article_id = :articleId and c.parent_comment_id in (:parentCommentIds)
+      ) r
+      where r.rn <= :maxReplies
+      """;
+
+  public ArticleCommentRepositoryCustomImpl() {
+    super(ArticleComment.class);
+  }
+
+  @Override
+  public List<ArticleComment> findRootsByCursor(Long articleId, LocalDateTime createdAt, Long id, int limit) {
+    QArticleComment articleComment = QArticleComment.articleComment;
+
+    JPQLQuery<ArticleComment> query = from(articleComment)
+        .innerJoin(articleComment.userAccount).fetchJoin()
+        .where(articleComment.article.id.eq(articleId), articleComment.parentCommentId.isNull());
+    if (createdAt != null && id != null) {
+      query.where(articleComment.createdAt.lt(createdAt)
+          .or(articleComment.createdAt.eq(createdAt).and(articleComment.id.lt(id))));
+    }
+
+    return query
+        .orderBy(articleComment.createdAt.desc(), articleComment.id.desc())
+        .limit(limit)
+        .fetch();
+  }
+
+  @Override
+  public List<ArticleComment> findRepliesByCursor(Long articleId, Long parentCommentId, LocalDateTime createdAt, Long id, int limit) {
+    QArticleComment articleComment = QArticleComment.articleComment;
+
+    JPQLQuery<ArticleComment> query = from(articleComment)
+        .innerJoin(articleComment.userAccount).fetchJoin()
+        .where(articleComment.article.id.eq(articleId), articleComment.parentCommentId.eq(parentCommentId));
+    if (createdAt != null && id != null) {
+      query.where(articleComment.createdAt.gt(createdAt)
+          .or(articleComment.createdAt.eq(createdAt).and(articleComment.id.gt(id))));
+    }
+
+    return query
+        .orderBy(articleComment.createdAt.asc(), articleComment.id.asc())
+        .limit(limit)
+        .fetch();
+  }
+
+  @Override
+  public List<ArticleComment> findFirstReplies(Long articleId, Collection<Long> parentCommentIds, int limit) {
+    if (parentCommentIds.isEmpty()) {
+      return List.of();
+    }
+    @SuppressWarnings("unchecked")
+    List<Number> ids = getEntityManager().createNativeQuery(FIRST_REPLY_IDS)
+        .setParameter("articleId", articleId)
+        .setParameter("parentCommentIds", parentCommentIds)
+        .setParameter("maxReplies", limit)
+        .getResultList();
+    if (ids.isEmpty()) {
+      return List.of();
+    }
+    QArticleComment articleComment = QArticleComment.articleComment;
+
+    return from(articleComment)
+        .innerJoin(articleComment.userAccount).fetchJoin()
+        .where(articleComment.id.in(ids.stream().map(Number::longValue).toList()))
+        .orderBy(articleComment.parentCommentId.asc(), articleComment.createdAt.asc(), articleComment.id.asc())
+        .fetch();
+  }
+
+  @Override
+  public List<ArticleComment> findSubtree(Long articleId, String pathPrefix, int limit) {
+    QArticleComment articleComment = QArticleComment.articleComment;
+
+    return from(articleComment)
+        .innerJoin(articleComment.userAccount).fetchJoin()
+        .where(articleComment.article.id.eq(articleId), articleComment.path.startsWith(pathPrefix))
+        .orderBy(articleComment.createdAt.asc(), articleComment.id.asc())
+        .limit(limit)
+        .fetch();
+  }
+
+  @Override
+  public long countSubtree(Long articleId, String pathPrefix) {
+    QArticleComment articleComment = QArticleComment.articleComment;
+
+    Long count = from(articleComment)
+        .where(articleComment.article.id.eq(articleId), articleComment.path.startsWith(pathPrefix))
+        .select(articleComment.count())
+        .fetchOne();
+
+    return count == null ? 0L : count;
+  }
+}
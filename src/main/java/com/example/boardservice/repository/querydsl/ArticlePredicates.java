@@ -0,0 +1,61 @@
+package com.example.boardservice.repository.querydsl;
+
+import com.example.boardservice.domain.QArticle;
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Predicate;
+
+import java.util.Collection;
+
+// the filters of the article list and search pages, for ArticleRepositoryCustom#findSummaries
+// Querydsl expressions compare by value, so the same search builds equal predicates
+public final class ArticlePredicates {
+
+  private static final QArticle article = QArticle.article;
+
+  private ArticlePredicates() {
+  }
+
+  public static Predicate all() {
+    return new BooleanBuilder();
+  }
+
+  // LIKE '%keyword%' on lower(...), the same as the ContainingIgnoreCase derived queries counting the results
+  // title and content searches ignore case whether the search index answers them or not (see ArticleTokenizer)
+  public static Predicate titleContainsIgnoreCase(String keyword) {
+    return article.title.containsIgnoreCase(keyword);
+  }
+
+  public static Predicate contentContainsIgnoreCase(String keyword) {
+    return article.content.containsIgnoreCase(keyword);
+  }
+
+  public static Predicate userIdContains(String keyword) {
+    return article.userAccount.userId.contains(keyword);
+  }
+
+  public static Predicate nicknameContains(String keyword) {
+    return article.userAccount.nickname.contains(keyword);
+  }
+
+  // the candidates of the in-memory search index, confirmed against the keyword by primary key
+  public static Predicate titleContainsIgnoreCase(Collection<Long> candidateIds, String keyword) {
+    return article.id.in(candidateIds).and(article.title.containsIgnoreCase(keyword));
+  }
+
+  public static Predicate contentContainsIgnoreCase(Collection<Long> candidateIds, String keyword) {
+    return article.id.in(candidateIds).and(article.content.containsIgnoreCase(keyword));
+  }
+
+  // boolean hashtag search: any of anyOf (ignored when empty), all of allOf and none of noneOf
+  // any() is rendered as an EXISTS subquery, so articles are not multiplied by the join like in findByHashtagNames
+  public static Predicate hashtagQuery(Collection<String> anyOf, Collection<String> allOf, Collection<String> noneOf) {
+    BooleanBuilder where = new BooleanBuilder();
+    if (!anyOf.isEmpty()) {
+      where.and(article.hashtags.any().hashtagName.in(anyOf));
+    }
+    allOf.forEach(hashtagName -> where.and(article.hashtags.any().hashtagName.eq(hashtagName)));
+    noneOf.forEach(hashtagName -> where.andNot(article.hashtags.any().hashtagName.eq(hashtagName)));
+
+    return where;
+  }
+}
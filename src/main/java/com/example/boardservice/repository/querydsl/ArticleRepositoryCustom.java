@@ -1,9 +1,13 @@
 package com.example.boardservice.repository.querydsl;
 
 import com.example.boardservice.domain.Article;
+import com.example.boardservice.repository.projection.ArticleSummaryProjection;
+import com.querydsl.core.types.Predicate;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 
@@ -13,4 +17,21 @@ public interface ArticleRepositoryCustom {
   List<String> findAllDistinctHashtags();
 
   Page<Article> findByHashtagNames(Collection<String> hashtagNames, Pageable pageable);
+
+  // boolean hashtag search: any of anyOf (ignored when empty), all of allOf and none of noneOf
+  // each article is returned once, no matter how many of the hashtags it carries
+  // the slice and the count are separate queries, so that the count can be skipped or cached
+  Slice<Article> findSliceByHashtagQuery(Collection<String> anyOf, Collection<String> allOf, Collection<String> noneOf, Pageable pageable);
+  long countByHashtagQuery(Collection<String> anyOf, Collection<String> allOf, Collection<String> noneOf);
+
+  // the article list and search pages: one query for the summary columns of a page, the content is never read
+  // the hashtags of the page are read with ArticleRepository#findArticleHashtags
+  // predicate comes from ArticlePredicates, the slice reads one row past the page instead of counting
+  Slice<ArticleSummaryProjection> findSummaries(Predicate predicate, Pageable pageable);
+  List<ArticleSummaryProjection> findSummariesById(Collection<Long> articleIds);
+
+  // keyset (seek) pagination over (createdAt, id), no offset and no count query
+  // older = true walks towards older articles (createdAt DESC, id DESC), otherwise towards newer ones in ascending order
+  // a null position starts from the newest (or oldest) article
+  List<ArticleSummaryProjection> findSummariesByCursor(LocalDateTime createdAt, Long id, boolean older, int limit);
 }
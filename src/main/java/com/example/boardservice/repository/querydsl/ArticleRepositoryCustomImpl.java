@@ -3,14 +3,26 @@ package com.example.boardservice.repository.querydsl;
 import com.example.boardservice.domain.Article;
 import com.example.boardservice.domain.QArticle;
 import com.example.boardservice.domain.QHashtag;
+import com.example.boardservice.repository.projection.ArticleSummaryProjection;
+import com.querydsl.core.types.ConstructorExpression;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.Projections;
 import com.querydsl.jpa.JPQLQuery;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.support.QuerydslRepositorySupport;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public class ArticleRepositoryCustomImpl extends QuerydslRepositorySupport implements ArticleRepositoryCustom {
 
@@ -41,4 +53,126 @@ public class ArticleRepositoryCustomImpl extends QuerydslRepositorySupport imple
     return new PageImpl<>(articles, pageable, query.fetchCount());
   }
 
-}
\ No newline at end of file
+  // the ids of the page first, then the articles with their authors and hashtags: fetching the hashtag collection
+  // in the paged query itself would make hibernate apply the limit in memory
+  @Override
+  public Slice<Article> findSliceByHashtagQuery(Collection<String> anyOf, Collection<String> allOf, Collection<String> noneOf, Pageable pageable) {
+    QArticle article = QArticle.article;
+
+    JPQLQuery<Long> query = from(article)
+        .where(ArticlePredicates.hashtagQuery(anyOf, allOf, noneOf))
+        .select(article.id);
+    getQuerydsl().applySorting(pageable.getSort(), query);
+    if (pageable.isUnpaged()) {
+      return new SliceImpl<>(findWithUserAccountAndHashtagsInOrder(query.fetch()), pageable, false);
+    }
+    // read one row past the page to find out whether there is a next page
+    List<Long> articleIds = query
+        .offset(pageable.getOffset())
+        .limit(pageable.getPageSize() + 1L)
+        .fetch();
+    boolean hasNext = articleIds.size() > pageable.getPageSize();
+
+    return new SliceImpl<>(
+        findWithUserAccountAndHashtagsInOrder(hasNext ? articleIds.subList(0, pageable.getPageSize()) : articleIds),
+        pageable, hasNext);
+  }
+
+  @Override
+  public long countByHashtagQuery(Collection<String> anyOf, Collection<String> allOf, Collection<String> noneOf) {
+    QArticle article = QArticle.article;
+
+    Long count = from(article)
+        .where(ArticlePredicates.hashtagQuery(anyOf, allOf, noneOf))
+        .select(article.count())
+        .fetchOne();
+
+    return count == null ? 0L : count;
+  }
+
+  @Override
+  public Slice<ArticleSummaryProjection> findSummaries(Predicate predicate, Pageable pageable) {
+    JPQLQuery<ArticleSummaryProjection> query = from(QArticle.article)
+        .where(predicate)
+        .select(summaryOf(QArticle.article));
+    getQuerydsl().applySorting(summarySort(pageable.getSort()), query);
+    if (pageable.isUnpaged()) {
+      return new SliceImpl<>(query.fetch(), pageable, false);
+    }
+    // read one row past the page to find out whether there is a next page
+    List<ArticleSummaryProjection> articles = query
+        .offset(pageable.getOffset())
+        .limit(pageable.getPageSize() + 1L)
+        .fetch();
+    boolean hasNext = articles.size() > pageable.getPageSize();
+
+    return new SliceImpl<>(hasNext ? articles.subList(0, pageable.getPageSize()) : articles, pageable, hasNext);
+  }
+
+  @Override
+  public List<ArticleSummaryProjection> findSummariesById(Collection<Long> articleIds) {
+    QArticle article = QArticle.article;
+
+    return from(article)
+        .where(article.id.in(articleIds))
+        .select(summaryOf(article))
+        .fetch();
+  }
+
+  @Override
+  public List<ArticleSummaryProjection> findSummariesByCursor(LocalDateTime createdAt, Long id, boolean older, int limit) {
+    QArticle article = QArticle.article;
+
+    JPQLQuery<ArticleSummaryProjection> query = from(article).select(summaryOf(article));
+    if (createdAt != null && id != null) {
+      // (createdAt, id) < (:createdAt, :id) spelled out, since JPQL has no row value comparison
+      // the leading createdAt predicate lets the database seek on the createdAt index
+      query.where(older
+          ? article.createdAt.lt(createdAt).or(article.createdAt.eq(createdAt).and(article.id.lt(id)))
+          : article.createdAt.gt(createdAt).or(article.createdAt.eq(createdAt).and(article.id.gt(id))));
+    }
+
+    return query
+        .orderBy(
+            older ? article.createdAt.desc() : article.createdAt.asc(),
+            older ? article.id.desc() : article.id.asc())
+        .limit(limit)
+        .fetch();
+  }
+
+  // the author columns are read through the implicit join on userAccount, which the userId and nickname searches share
+  private static ConstructorExpression<ArticleSummaryProjection> summaryOf(QArticle article) {
+    return Projections.constructor(ArticleSummaryProjection.class,
+        article.id,
+        article.title,
+        article.createdAt,
+        article.userAccount.userId,
+        article.userAccount.email,
+        article.userAccount.nickname);
+  }
+
+  // the same fetch plan as the Article.withUserAccountAndHashtags entity graph, in the order of the given ids
+  private List<Article> findWithUserAccountAndHashtagsInOrder(List<Long> articleIds) {
+    if (articleIds.isEmpty()) {
+      return List.of();
+    }
+    QArticle article = QArticle.article;
+    Map<Long, Article> articles = from(article)
+        .innerJoin(article.userAccount).fetchJoin()
+        .leftJoin(article.hashtags).fetchJoin()
+        .where(article.id.in(articleIds))
+        .fetch().stream()
+        .collect(Collectors.toMap(Article::getId, Function.identity(), (first, duplicate) -> first));
+
+    return articleIds.stream()
+        .map(articles::get)
+        .filter(Objects::nonNull)
+        .toList();
+  }
+
+  // the list can be sorted by hashtags, but ordering by a collection would repeat every article once per hashtag
+  private static Sort summarySort(Sort sort) {
+    return Sort.by(sort.filter(order -> !"hashtags".equals(order.getProperty())).toList());
+  }
+
+}
@@ -1,7 +0,0 @@
-package com.example.boardservice.repository.querydsl;
-
-import java.util.List;
-
-public interface HashtagRepositoryCustom {
-  List<String> findAllHashtagNames();
-}
\ No newline at end of file
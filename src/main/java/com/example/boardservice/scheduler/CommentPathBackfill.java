@@ -0,0 +1,103 @@
+package com.example.boardservice.scheduler;
+
+import com.example.boardservice.domain.ArticleComment;
+import com.example.boardservice.repository.ArticleCommentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// migrates replies written before ArticleComment.path existed: ddl-auto adds the column empty, this fills it in
+// runs once on startup and does nothing once every reply has a path
+// replies are read in id order (oldest first), one transaction per batch: a parent usually gets its path before its
+// replies are reached, or earlier in the same batch (the persistence context hands out the same instance for it)
+// each pass walks every reply still without a path by id, so a batch stuck on parents without a path doesn't stop
+// the ones after it; passes repeat until one fills in nothing, which only leaves replies whose parent is gone
+@Slf4j
+@Component
+public class CommentPathBackfill {
+
+  private final ArticleCommentRepository articleCommentRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+
+  public CommentPathBackfill(
+      ArticleCommentRepository articleCommentRepository,
+      PlatformTransactionManager transactionManager,
+      @Value("${board.comment.path-backfill.batch-size:500}") int batchSize
+  ) {
+    this.articleCommentRepository = articleCommentRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.batchSize = batchSize;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    backfill();
+  }
+
+  public long backfill() {
+    long backfilled = 0;
+    long pass;
+    do {
+      pass = backfillPass();
+      backfilled += pass;
+    } while (pass > 0);
+    if (backfilled > 0) {
+      log.info("Backfilled the paths of {} comments", backfilled);
+    }
+
+    return backfilled;
+  }
+
+  private long backfillPass() {
+    long backfilled = 0;
+    long lastId = 0;
+    while (true) {
+      long afterId = lastId;
+      Batch batch = transactionTemplate.execute(status -> backfillBatch(afterId));
+      if (batch == null || batch.lastId() == null) {
+        return backfilled;
+      }
+      backfilled += batch.backfilled();
+      lastId = batch.lastId();
+    }
+  }
+
+  private Batch backfillBatch(long afterId) {
+    List<ArticleComment> replies = articleCommentRepository.findByParentCommentIdIsNotNullAndPathIsNullAndIdGreaterThan(
+        afterId, PageRequest.of(0, batchSize, Sort.by("id")));
+    if (replies.isEmpty()) {
+      return new Batch(0, null);
+    }
+    Map<Long, ArticleComment> parents = articleCommentRepository.findAllById(replies.stream()
+            .map(ArticleComment::getParentCommentId)
+            .collect(Collectors.toSet())).stream()
+        .collect(Collectors.toMap(ArticleComment::getId, Function.identity()));
+
+    int backfilled = 0;
+    for (ArticleComment reply : replies) {
+      ArticleComment parent = parents.get(reply.getParentCommentId());
+      if (parent != null && parent.hasPath()) {
+        reply.backfillPath(parent);
+        backfilled++;
+      }
+    }
+
+    return new Batch(backfilled, replies.get(replies.size() - 1).getId());
+  }
+
+  // lastId is null once there are no replies left after the previous batch
+  private record Batch(int backfilled, Long lastId) {
+  }
+}
@@ -0,0 +1,83 @@
+package com.example.boardservice.scheduler;
+
+import com.example.boardservice.domain.Hashtag;
+import com.example.boardservice.repository.HashtagRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+// Hashtag.articleCount is maintained incrementally, so anything that links or unlinks articles behind the
+// services' back (manual SQL, a bug... etc) makes it drift from article_hashtag
+// recount every hashtag once in a while, batch by batch in id order:
+// - a batch is locked first (select ... for update), articles linking or unlinking its hashtags wait for the recount
+//   instead of having their deltas overwritten by a count that didn't see them
+// - one transaction per batch keeps locks short, and its snapshot (REPEATABLE READ) starts after the locks were taken,
+//   so the recount sees every link committed before them
+// read: https://dev.mysql.com/doc/refman/8.0/en/innodb-locking-reads.html
+@Slf4j
+@Component
+public class HashtagArticleCountReconciler {
+
+  private final HashtagRepository hashtagRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+  private final Counter repairedCounter;
+
+  public HashtagArticleCountReconciler(
+      HashtagRepository hashtagRepository,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${board.hashtag.article-count.reconcile-batch-size:500}") int batchSize
+  ) {
+    this.hashtagRepository = hashtagRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.batchSize = batchSize;
+    // exposed through /actuator/metrics/board.hashtag.article-count.repaired
+    this.repairedCounter = Counter.builder("board.hashtag.article-count.repaired")
+        .description("Number of hashtags whose article counter had drifted and was repaired")
+        .register(meterRegistry);
+  }
+
+  // nightly by default, when there is little traffic
+  @Scheduled(cron = "${board.hashtag.article-count.reconcile-cron:0 30 4 * * *}")
+  public int reconcile() {
+    int repaired = 0;
+    Batch batch = Batch.START;
+    do {
+      long afterId = batch.lastId();
+      batch = transactionTemplate.execute(status -> reconcileBatch(afterId));
+      repaired += batch.repaired();
+    } while (batch.size() == batchSize);
+    repairedCounter.increment(repaired);
+    if (repaired > 0) {
+      log.warn("Repaired drifted article counters of {} hashtags", repaired);
+    }
+
+    return repaired;
+  }
+
+  private Batch reconcileBatch(long afterId) {
+    List<Long> hashtagIds = hashtagRepository.findAndLockByIdGreaterThan(afterId, PageRequest.of(0, batchSize)).stream()
+        .map(Hashtag::getId)
+        .toList();
+    if (hashtagIds.isEmpty()) {
+      return new Batch(afterId, 0, 0);
+    }
+
+    return new Batch(hashtagIds.get(hashtagIds.size() - 1), hashtagIds.size(),
+        hashtagRepository.reconcileArticleCounts(hashtagIds));
+  }
+
+  private record Batch(long lastId, int size, int repaired) {
+    // snowflake ids are positive
+    private static final Batch START = new Batch(0, 0, 0);
+  }
+}
@@ -0,0 +1,144 @@
+package com.example.boardservice.scheduler;
+
+import com.example.boardservice.cache.HashtagDictionary;
+import com.example.boardservice.event.HashtagDeletedEvent;
+import com.example.boardservice.event.HashtagsUnlinkedEvent;
+import com.example.boardservice.repository.HashtagRepository;
+import com.example.boardservice.repository.projection.HashtagNameProjection;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// deletes hashtags that no article uses anymore, in the background
+// editing or deleting an article used to delete orphan hashtags one by one inside the user's transaction,
+// now it only unlinks them (see Hashtag.articleCount) and orphans are collected here in batches with set-based deletes
+// runs on a fixed schedule, and earlier once enough hashtags have been unlinked
+// hashtags younger than the grace period are skipped, brand-new hashtags are the ones most likely to be posted again soon
+@Slf4j
+@Component
+public class OrphanHashtagSweeper {
+
+  private final HashtagRepository hashtagRepository;
+  private final HashtagDictionary hashtagDictionary;
+  private final ApplicationEventPublisher eventPublisher;
+  private final TransactionTemplate transactionTemplate;
+  private final TaskScheduler taskScheduler;
+  private final int batchSize;
+  private final long threshold;
+  private final Duration gracePeriod;
+  // hashtags unlinked since the last sweep, an upper bound of the number of orphans
+  private final AtomicLong pendingCount = new AtomicLong();
+  private final AtomicBoolean sweeping = new AtomicBoolean(false);
+  private final Timer sweepTimer;
+  private final Counter removedCounter;
+
+  public OrphanHashtagSweeper(
+      HashtagRepository hashtagRepository,
+      HashtagDictionary hashtagDictionary,
+      ApplicationEventPublisher eventPublisher,
+      PlatformTransactionManager transactionManager,
+      TaskScheduler taskScheduler,
+      MeterRegistry meterRegistry,
+      @Value("${board.hashtag.sweeper.batch-size:500}") int batchSize,
+      @Value("${board.hashtag.sweeper.threshold:1000}") long threshold,
+      @Value("${board.hashtag.sweeper.grace-period:PT10M}") Duration gracePeriod
+  ) {
+    this.hashtagRepository = hashtagRepository;
+    this.hashtagDictionary = hashtagDictionary;
+    this.eventPublisher = eventPublisher;
+    // one transaction per batch keeps locks short
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.taskScheduler = taskScheduler;
+    this.batchSize = batchSize;
+    this.threshold = threshold;
+    this.gracePeriod = gracePeriod;
+    // exposed through /actuator/metrics/board.hashtag.sweep*
+    this.sweepTimer = Timer.builder("board.hashtag.sweep")
+        .description("Duration of orphan hashtag sweeps")
+        .register(meterRegistry);
+    this.removedCounter = Counter.builder("board.hashtag.sweep.removed")
+        .description("Number of orphan hashtags removed")
+        .register(meterRegistry);
+    Gauge.builder("board.hashtag.sweep.pending", pendingCount, AtomicLong::get)
+        .description("Number of hashtags unlinked from articles since the last sweep")
+        .register(meterRegistry);
+  }
+
+  // counted after commit only, a rolled back edit didn't unlink anything
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onHashtagsUnlinked(HashtagsUnlinkedEvent event) {
+    if (pendingCount.addAndGet(event.hashtagIds().size()) >= threshold) {
+      // never sweep on the thread of the request that crossed the threshold
+      taskScheduler.schedule(this::sweep, Instant.now());
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${board.hashtag.sweeper.interval:PT10M}")
+  public void sweep() {
+    // the scheduled run and a threshold run may overlap
+    if (!sweeping.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      pendingCount.set(0);
+      int removed = sweepTimer.record(this::sweepBatches);
+      if (removed > 0) {
+        log.info("Removed {} orphan hashtags", removed);
+      }
+    } finally {
+      sweeping.set(false);
+    }
+  }
+
+  private int sweepBatches() {
+    int removed = 0;
+    int deleted;
+    do {
+      deleted = transactionTemplate.execute(status -> deleteBatch());
+      removed += deleted;
+      removedCounter.increment(deleted);
+    } while (deleted == batchSize);
+
+    return removed;
+  }
+
+  private int deleteBatch() {
+    List<HashtagNameProjection> orphans = hashtagRepository.findByArticleCountLessThanEqualAndCreatedAtBefore(0,
+        LocalDateTime.now().minus(gracePeriod), PageRequest.of(0, batchSize, Sort.by("id")));
+    if (orphans.isEmpty()) {
+      return 0;
+    }
+    // evict before deleting, so that no new link to these ids is made from the dictionary meanwhile
+    orphans.forEach(orphan -> hashtagDictionary.evict(orphan.getHashtagName()));
+    List<Long> orphanIds = orphans.stream().map(HashtagNameProjection::getId).toList();
+    int deleted = hashtagRepository.deleteUnusedByIdIn(orphanIds);
+    // some orphans may have been linked again since they were selected, and were kept by the delete
+    Set<Long> keptIds = deleted < orphans.size() ? hashtagRepository.findIdsByIdIn(orphanIds) : Set.of();
+    // bulk deletes bypass entity listeners, announce the deletions here (applied after commit)
+    orphans.stream()
+        .filter(orphan -> !keptIds.contains(orphan.getId()))
+        .forEach(orphan -> eventPublisher.publishEvent(HashtagDeletedEvent.of(orphan.getId(), orphan.getHashtagName())));
+
+    return deleted;
+  }
+}
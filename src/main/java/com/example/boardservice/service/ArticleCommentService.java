@@ -2,18 +2,32 @@ package com.example.boardservice.service;
 
 import com.example.boardservice.domain.Article;
 import com.example.boardservice.domain.ArticleComment;
+import com.example.boardservice.domain.CommentPath;
 import com.example.boardservice.domain.UserAccount;
 import com.example.boardservice.dto.ArticleCommentDto;
+import com.example.boardservice.dto.CommentCursor;
+import com.example.boardservice.dto.CommentSubtreeDto;
+import com.example.boardservice.dto.CommentThreadPage;
+import com.example.boardservice.dto.CursorPage;
+import com.example.boardservice.event.ArticleCommentChangedEvent;
 import com.example.boardservice.repository.ArticleCommentRepository;
 import com.example.boardservice.repository.ArticleRepository;
 import com.example.boardservice.repository.UserAccountRepository;
+import com.example.boardservice.repository.projection.CommentParentProjection;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -24,6 +38,7 @@ public class ArticleCommentService {
   private final ArticleRepository articleRepository;
   private final ArticleCommentRepository articleCommentRepository;
   private final UserAccountRepository userAccountRepository;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Transactional(readOnly = true)
   public List<ArticleCommentDto> searchArticleComments (Long articleId) {
@@ -34,24 +49,159 @@ public class ArticleCommentService {
         .toList();
   }
 
+  // a page of comment threads: up to `size` root comments, each with up to `replySize` of its first replies
+  // only the comments of the page are read, so a request costs the same however many comments the article has
+  @Transactional(readOnly = true)
+  public CommentThreadPage getCommentThreads(Long articleId, String cursor, int size, int replySize) {
+    CommentCursor position = CommentCursor.decode(cursor);
+    // one row past the page tells whether there is a next page
+    List<ArticleComment> rows = position == null
+        ? articleCommentRepository.findRootsByCursor(articleId, null, null, size + 1)
+        : articleCommentRepository.findRootsByCursor(articleId, position.createdAt(), position.id(), size + 1);
+    List<ArticleComment> roots = rows.subList(0, Math.min(size, rows.size()));
+    if (roots.isEmpty()) {
+      return CommentThreadPage.empty();
+    }
+
+    List<ArticleCommentDto> comments = new ArrayList<>();
+    roots.forEach(root -> comments.add(ArticleCommentDto.from(root)));
+    Map<Long, String> replyCursors = new HashMap<>();
+    // replies arrive grouped by parent, oldest first, with one reply past replySize where a parent has more
+    List<ArticleComment> replies = articleCommentRepository.findFirstReplies(
+        articleId, roots.stream().map(ArticleComment::getId).toList(), replySize + 1);
+    ArticleComment previous = null;
+    int shown = 0;
+    for (ArticleComment reply : replies) {
+      if (previous == null || !previous.getParentCommentId().equals(reply.getParentCommentId())) {
+        shown = 0;
+      }
+      if (shown < replySize) {
+        comments.add(ArticleCommentDto.from(reply));
+        shown++;
+      } else if (previous != null) {
+        replyCursors.put(reply.getParentCommentId(), CommentCursor.after(previous).encode());
+      }
+      previous = reply;
+    }
+
+    return CommentThreadPage.of(
+        comments,
+        replyCursors,
+        rows.size() > size ? CommentCursor.after(roots.get(roots.size() - 1)).encode() : null
+    );
+  }
+
+  // the replies to a comment after the cursor, oldest first
+  @Transactional(readOnly = true)
+  public CursorPage<ArticleCommentDto> getReplies(Long articleId, Long parentCommentId, String cursor, int size) {
+    CommentCursor position = CommentCursor.decode(cursor);
+    List<ArticleComment> rows = position == null
+        ? articleCommentRepository.findRepliesByCursor(articleId, parentCommentId, null, null, size + 1)
+        : articleCommentRepository.findRepliesByCursor(articleId, parentCommentId, position.createdAt(), position.id(), size + 1);
+    List<ArticleComment> replies = rows.subList(0, Math.min(size, rows.size()));
+    if (replies.isEmpty()) {
+      return CursorPage.empty();
+    }
+
+    return CursorPage.of(
+        replies.stream().map(ArticleCommentDto::from).toList(),
+        null,
+        rows.size() > size ? CommentCursor.after(replies.get(replies.size() - 1)).encode() : null
+    );
+  }
+
+  // a comment with the replies below it, at any depth, from one range scan over the comments' paths
+  // at most `size` replies are read, the oldest ones: replyCount tells how many there are in all
+  // a collapsed subtree only counts the replies
+  @Transactional(readOnly = true)
+  public CommentSubtreeDto getCommentSubtree(Long articleId, Long articleCommentId, boolean collapsed, int size) {
+    ArticleComment articleComment = articleCommentRepository.findById(articleCommentId)
+        .filter(comment -> comment.getArticle().getId().equals(articleId))
+        .orElseThrow(() -> new EntityNotFoundException("Comment does not exist - articleCommentId: " + articleCommentId));
+    // comments written before paths existed are found by walking parentCommentId until CommentPathBackfill has run:
+    // the comment itself, and any comment of the article with replies the backfill hasn't reached (the range scan
+    // would miss them)
+    if (!articleComment.hasPath()
+        || articleCommentRepository.existsByArticle_IdAndParentCommentIdIsNotNullAndPathIsNull(articleId)) {
+      return getCommentSubtreeByParents(articleComment, collapsed, size);
+    }
+    String pathPrefix = CommentPath.childPathOf(articleComment);
+    int depth = CommentPath.depthOf(articleComment.getPath());
+    if (collapsed) {
+      return CommentSubtreeDto.of(ArticleCommentDto.from(articleComment), List.of(), depth,
+          articleCommentRepository.countSubtree(articleId, pathPrefix));
+    }
+    // one row past the limit tells whether the replies have to be counted
+    List<ArticleComment> rows = articleCommentRepository.findSubtree(articleId, pathPrefix, size + 1);
+    List<ArticleCommentDto> replies = rows.subList(0, Math.min(size, rows.size())).stream()
+        .map(ArticleCommentDto::from)
+        .toList();
+    long replyCount = rows.size() > size ? articleCommentRepository.countSubtree(articleId, pathPrefix) : replies.size();
+
+    return CommentSubtreeDto.of(ArticleCommentDto.from(articleComment), replies, depth, replyCount);
+  }
+
+  // what finding a subtree took before paths existed: every comment of the article is read, and the replies are
+  // collected by walking parentCommentId down from the comment (and the depth by walking it up)
+  private CommentSubtreeDto getCommentSubtreeByParents(ArticleComment articleComment, boolean collapsed, int size) {
+    Map<Long, ArticleComment> commentsById = new HashMap<>();
+    Map<Long, List<ArticleComment>> childrenById = new HashMap<>();
+    for (ArticleComment comment : articleCommentRepository.findByArticle_Id(articleComment.getArticle().getId())) {
+      commentsById.put(comment.getId(), comment);
+      if (comment.getParentCommentId() != null) {
+        childrenById.computeIfAbsent(comment.getParentCommentId(), id -> new ArrayList<>()).add(comment);
+      }
+    }
+    List<ArticleComment> replies = new ArrayList<>();
+    Deque<ArticleComment> pending = new ArrayDeque<>(childrenById.getOrDefault(articleComment.getId(), List.of()));
+    while (!pending.isEmpty()) {
+      ArticleComment reply = pending.pop();
+      replies.add(reply);
+      pending.addAll(childrenById.getOrDefault(reply.getId(), List.of()));
+    }
+    int depth = 0;
+    ArticleComment ancestor = articleComment;
+    while (ancestor != null && ancestor.getParentCommentId() != null) {
+      depth++;
+      ancestor = commentsById.get(ancestor.getParentCommentId());
+    }
+    if (collapsed) {
+      return CommentSubtreeDto.of(ArticleCommentDto.from(articleComment), List.of(), depth, replies.size());
+    }
+    // the oldest replies first, like findSubtree
+    List<ArticleCommentDto> oldestReplies = replies.stream()
+        .sorted(Comparator.comparing(ArticleComment::getCreatedAt).thenComparing(ArticleComment::getId))
+        .limit(size)
+        .map(ArticleCommentDto::from)
+        .toList();
+
+    return CommentSubtreeDto.of(ArticleCommentDto.from(articleComment), oldestReplies, depth, replies.size());
+  }
+
   public void saveArticleComment(ArticleCommentDto dto) {
     try {
       Article article = articleRepository.getReferenceById(dto.articleId());
       UserAccount userAccount = userAccountRepository.getReferenceById(dto.userAccountDto().userId());
-      ArticleComment articleComment = dto.toEntity(article, userAccount);
+      ArticleComment articleComment;
 
-      // if save request came in with parent id, register it as child of that parent comment
+      // a reply is inserted on its own, after one lookup of its parent by primary key
+      // the parent's replies are never loaded, so replying to a thread costs the same however long it is
       if (dto.parentCommentId() != null) {
-        ArticleComment parentComment = articleCommentRepository.getReferenceById(dto.parentCommentId());
-        parentComment.addChildComment(articleComment);
+        CommentParentProjection parentComment = articleCommentRepository.findByIdAndArticle_Id(dto.parentCommentId(), dto.articleId())
+            .orElseThrow(() -> new EntityNotFoundException("Parent comment does not exist in the article - parentCommentId: " + dto.parentCommentId()));
+        articleComment = ArticleComment.replyOf(article, userAccount, parentComment.getId(), parentComment.childPath(), dto.content());
+      } else {
+        articleComment = dto.toEntity(article, userAccount);
       }
-      // otherwise, the entity is not yet written into persistence and not managed by entity manager
+      // either way, the entity is not yet written into persistence and not managed by entity manager
       // call .save() to persist comment
-      else {
-        articleCommentRepository.save(articleComment);
-      }
+      articleCommentRepository.save(articleComment);
+      eventPublisher.publishEvent(ArticleCommentChangedEvent.of(dto.articleId()));
     } catch (EntityNotFoundException e) {
       log.warn("Failed to save comment. Required information could not be found - dto: {}", e.getLocalizedMessage());
+    } catch (IllegalArgumentException e) {
+      // a reply nested deeper than CommentPath.MAX_DEPTH, see ArticleComment.replyOf
+      log.warn("Failed to save comment. Reply is nested too deep - dto: {}", e.getLocalizedMessage());
     }
   }
   public void updateArticleComment(ArticleCommentDto dto) {
@@ -61,13 +211,36 @@ public class ArticleCommentService {
       // if updated body is not empty, update comment body by reflecting change in repository
       if (dto.content() != null) {
         articleComment.setContent(dto.content());
+        eventPublisher.publishEvent(ArticleCommentChangedEvent.of(articleComment.getArticle().getId()));
       }
     } catch (EntityNotFoundException e) {
       log.warn("Failed to update comment. Could not find comment - dto: {}", dto);
     }
   }
+
+  // deletes the comment with every reply below it, whoever wrote them, in a fixed number of statements
+  // like before, only the author can delete a comment and anyone else deletes nothing
   public void deleteArticleComment(Long articleCommentId, String userId) {
-    articleCommentRepository.deleteByIdAndUserAccount_UserId(articleCommentId, userId);
+    articleCommentRepository.findDeletableComment(articleCommentId, userId).ifPresent(articleComment -> {
+      String pathPrefix = articleComment.childPath();
+      // comments written before paths existed fall back to the cascade until CommentPathBackfill has run: the
+      // comment itself, and any comment of the article with replies the backfill hasn't reached (the range delete
+      // would miss them)
+      if (pathPrefix == null
+          || articleCommentRepository.existsByArticle_IdAndParentCommentIdIsNotNullAndPathIsNull(articleComment.getArticleId())) {
+        articleCommentRepository.deleteByIdAndUserAccount_UserId(articleCommentId, userId);
+      } else {
+        articleCommentRepository.deleteSubtree(articleComment.getArticleId(), pathPrefix);
+        articleCommentRepository.deleteRowById(articleCommentId);
+      }
+      eventPublisher.publishEvent(ArticleCommentChangedEvent.of(articleComment.getArticleId()));
+    });
+  }
+
+  // every comment of the article in one statement, for ArticleService.deleteArticle
+  // the caller is responsible for checking that the user may delete the article, and for announcing the deletion
+  public void deleteArticleComments(Long articleId) {
+    articleCommentRepository.deleteByArticleId(articleId);
   }
 
 }
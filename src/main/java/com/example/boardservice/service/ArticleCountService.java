@@ -0,0 +1,103 @@
+package com.example.boardservice.service;
+
+import com.example.boardservice.domain.constant.CountMode;
+import com.example.boardservice.event.ArticleDeletedEvent;
+import com.example.boardservice.event.ArticleSavedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// turns a Slice (page content + whether a next page exists) into a Page when the CountMode asks for a total
+// every search page used to run its query twice: once for the rows and once for COUNT(*)
+// cached counts are keyed by the count key and a generation, like the version stamps of ArticleFragmentCache:
+// - any article write moves the generation on once its transaction has committed, so every count taken before
+//   can't be reached anymore, and is left to the eviction instead of being cleared
+// - a count read just before a write committed is stored under the generation that was current when it started,
+//   which is outdated by then, so it is never served (clearing the cache instead would race with it)
+// the number of counts is bounded (search keywords are arbitrary), least recently used ones are evicted first
+// counts also expire after a while, for articles written by other nodes
+// read: https://github.com/ben-manes/caffeine/wiki/Eviction
+@Service
+public class ArticleCountService {
+
+  private final Cache<CountKey, Long> cachedCounts;
+  private final AtomicLong generation = new AtomicLong();
+  private final MeterRegistry meterRegistry;
+
+  public ArticleCountService(
+      MeterRegistry meterRegistry,
+      @Value("${board.search.count.cache.maximum-size:10000}") long maximumSize,
+      @Value("${board.search.count.cache.expire-after-write:PT1M}") Duration expireAfterWrite
+  ) {
+    this.meterRegistry = meterRegistry;
+    this.cachedCounts = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(expireAfterWrite)
+        .recordStats()
+        .build();
+    // exposed through /actuator/metrics/cache.gets?tag=cache:article.counts (result: hit/miss), cache.evictions... etc
+    CaffeineCacheMetrics.monitor(meterRegistry, cachedCounts, "article.counts");
+  }
+
+  // EXACT and CACHED always return a Page, ESTIMATED only a Slice: without a count there is no total to report
+  public <T> Slice<T> toResult(Slice<T> slice, CountMode countMode, String countKey, LongSupplier countQuery) {
+    Pageable pageable = slice.getPageable();
+    Slice<T> result = switch (countMode) {
+      // PageableExecutionUtils only calls the count query when the page content can't tell the total
+      case EXACT -> PageableExecutionUtils.getPage(slice.getContent(), pageable, countQuery);
+      case CACHED -> PageableExecutionUtils.getPage(slice.getContent(), pageable, () -> cachedCount(countKey, countQuery));
+      case ESTIMATED -> slice;
+    };
+    record(countMode, "database");
+
+    return result;
+  }
+
+  // the search indexes know the total of their results anyway, so they answer every mode with a Page
+  // recorded all the same, so that board.search.count covers every search and not only the database ones
+  public <T> Page<T> fromIndex(Page<T> page, CountMode countMode) {
+    record(countMode, "index");
+
+    return page;
+  }
+
+  // any article write may change any count
+  public void invalidate() {
+    generation.incrementAndGet();
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onArticleSaved(ArticleSavedEvent event) {
+    invalidate();
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onArticleDeleted(ArticleDeletedEvent event) {
+    invalidate();
+  }
+
+  // /actuator/metrics/board.search.count?tag=mode:ESTIMATED&tag=source:database
+  private void record(CountMode countMode, String source) {
+    meterRegistry.counter("board.search.count", "mode", countMode.name(), "source", source).increment();
+  }
+
+  // also used on its own, for counts that are read far more often than articles are written
+  // readers missing the same count at once wait for a single count query instead of all running it
+  long cachedCount(String countKey, LongSupplier countQuery) {
+    return cachedCounts.get(new CountKey(countKey, generation.get()), key -> countQuery.getAsLong());
+  }
+
+  private record CountKey(String countKey, long generation) {}
+}
@@ -3,23 +3,49 @@ package com.example.boardservice.service;
 import com.example.boardservice.domain.Article;
 import com.example.boardservice.domain.Hashtag;
 import com.example.boardservice.domain.UserAccount;
+import com.example.boardservice.domain.constant.CountMode;
 import com.example.boardservice.domain.constant.SearchType;
+import com.example.boardservice.dto.ArticleCursor;
 import com.example.boardservice.dto.ArticleDto;
+import com.example.boardservice.dto.ArticleSummaryDto;
 import com.example.boardservice.dto.ArticleWithCommentsDto;
+import com.example.boardservice.dto.CommentThreadPage;
+import com.example.boardservice.dto.CursorPage;
+import com.example.boardservice.event.ArticleDeletedEvent;
+import com.example.boardservice.event.ArticleSavedEvent;
+import com.example.boardservice.event.HashtagsUsedEvent;
+import com.example.boardservice.index.ArticleSearchIndex;
+import com.example.boardservice.index.HashtagBitmapIndex;
+import com.example.boardservice.index.HashtagQuery;
 import com.example.boardservice.repository.ArticleRepository;
-import com.example.boardservice.repository.HashtagRepository;
 import com.example.boardservice.repository.UserAccountRepository;
+import com.example.boardservice.repository.projection.ArticleHashtagProjection;
+import com.example.boardservice.repository.projection.ArticleSummaryProjection;
+import com.example.boardservice.repository.querydsl.ArticlePredicates;
+import com.querydsl.core.types.Predicate;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 // what are services anyway, and what logic should live in the service layer?
@@ -31,56 +57,160 @@ import java.util.stream.Collectors;
 @Transactional
 @Service
 public class ArticleService {
+  private static final int COMMENT_PAGE_SIZE = 20;
+  private static final int COMMENT_REPLY_SIZE = 3;
+  // past this many candidates, the keyword is common enough that a scan beats an IN list of all their ids
+  // (which would also run into the parameter limits of some drivers, and keep the planner from using an index)
+  static final int MAX_CANDIDATE_IDS = 1_000;
+
   private final ArticleRepository articleRepository;
   private final UserAccountRepository userAccountRepository;
-  private final HashtagRepository hashtagRepository;
   private final HashtagService hashtagService;
+  private final ArticleSearchIndex articleSearchIndex;
+  private final HashtagBitmapIndex hashtagBitmapIndex;
+  private final ApplicationEventPublisher eventPublisher;
+  private final ArticleCountService articleCountService;
+  private final ArticleCommentService articleCommentService;
 
   @Transactional(readOnly = true)
-  public Page<ArticleDto> searchArticles(SearchType searchType, String searchKeyword, Pageable pageable) {
+  public Page<ArticleSummaryDto> searchArticles(SearchType searchType, String searchKeyword, Pageable pageable) {
+    // EXACT always ends in a Page, whichever way the search is answered
+    return (Page<ArticleSummaryDto>) searchArticles(searchType, searchKeyword, pageable, CountMode.EXACT);
+  }
+
+  // countMode decides how the total of the returned page is obtained, see CountMode (ESTIMATED has none, so it returns a Slice)
+  // the list only shows summaries: a page costs one query for its rows and one for their hashtags (plus the count),
+  // and the article content is never read, see ArticleSummaryProjection
+  @Transactional(readOnly = true)
+  public Slice<ArticleSummaryDto> searchArticles(SearchType searchType, String searchKeyword, Pageable pageable, CountMode countMode) {
     if (searchKeyword == null || searchKeyword.isBlank()) {
-      return articleRepository.findAll(pageable).map(ArticleDto::from);
+      return withHashtags(articleCountService.toResult(articleRepository.findSummaries(ArticlePredicates.all(), pageable),
+          countMode, "ALL", articleRepository::count));
     }
 
-    return switch (searchType) {
-      case TITLE -> articleRepository.findByTitleContaining(searchKeyword, pageable).map(ArticleDto::from);
-      case CONTENT -> articleRepository.findByContentContaining(searchKeyword, pageable).map(ArticleDto::from);
-      case ID -> articleRepository.findByUserAccount_UserIdContaining(searchKeyword, pageable).map(ArticleDto::from);
-      case NICKNAME -> articleRepository.findByUserAccount_NicknameContaining(searchKeyword, pageable).map(ArticleDto::from);
-      case HASHTAG -> articleRepository.findByHashtagNames(Arrays.stream(searchKeyword.split(" ")).toList(), pageable)
-          .map(ArticleDto::from);
+    Slice<ArticleSummaryProjection> articles = switch (searchType) {
+      // answer title/content searches from the search index once it has been built, and fall back to
+      // LIKE '%keyword%' queries while the application is still starting up or the keyword can't be indexed
+      // the index narrows the search down to a few candidates, which are then confirmed by primary key
+      // (the count of a candidate query only touches the candidate rows, so it is always exact)
+      case TITLE -> {
+        Supplier<Slice<ArticleSummaryProjection>> scan = () -> articleCountService.toResult(
+            articleRepository.findSummaries(ArticlePredicates.titleContainsIgnoreCase(searchKeyword), pageable), countMode,
+            "TITLE:" + searchKeyword, () -> articleRepository.countByTitleContainingIgnoreCase(searchKeyword));
+        yield articleSearchIndex.canSearch(searchKeyword)
+            ? findCandidates(articleSearchIndex.searchTitle(searchKeyword), pageable, countMode,
+                ids -> ArticlePredicates.titleContainsIgnoreCase(ids, searchKeyword), scan)
+            : scan.get();
+      }
+      case CONTENT -> {
+        Supplier<Slice<ArticleSummaryProjection>> scan = () -> articleCountService.toResult(
+            articleRepository.findSummaries(ArticlePredicates.contentContainsIgnoreCase(searchKeyword), pageable), countMode,
+            "CONTENT:" + searchKeyword, () -> articleRepository.countByContentContainingIgnoreCase(searchKeyword));
+        yield articleSearchIndex.canSearch(searchKeyword)
+            ? findCandidates(articleSearchIndex.searchContent(searchKeyword), pageable, countMode,
+                ids -> ArticlePredicates.contentContainsIgnoreCase(ids, searchKeyword), scan)
+            : scan.get();
+      }
+      case ID -> articleCountService.toResult(articleRepository.findSummaries(ArticlePredicates.userIdContains(searchKeyword), pageable), countMode,
+          "ID:" + searchKeyword, () -> articleRepository.countByUserAccount_UserIdContaining(searchKeyword));
+      case NICKNAME -> articleCountService.toResult(articleRepository.findSummaries(ArticlePredicates.nicknameContains(searchKeyword), pageable), countMode,
+          "NICKNAME:" + searchKeyword, () -> articleRepository.countByUserAccount_NicknameContaining(searchKeyword));
+      case HASHTAG -> searchSummariesViaHashtagQuery(HashtagQuery.parse(searchKeyword), pageable, countMode);
     };
+
+    return withHashtags(articles);
+  }
+
+  // keyset pagination of the article list, newest first
+  // fetches one row more than requested to find out whether another page exists, instead of counting
+  @Transactional(readOnly = true)
+  public CursorPage<ArticleSummaryDto> searchArticlesByCursor(String cursor, int size) {
+    ArticleCursor position = ArticleCursor.decode(cursor);
+    boolean backward = position != null && position.backward();
+    List<ArticleSummaryProjection> rows = position == null
+        ? articleRepository.findSummariesByCursor(null, null, true, size + 1)
+        : articleRepository.findSummariesByCursor(position.createdAt(), position.id(), !backward, size + 1);
+
+    boolean hasMore = rows.size() > size;
+    List<ArticleSummaryProjection> articles = new ArrayList<>(rows.subList(0, Math.min(size, rows.size())));
+    // paging backward ran into the newest articles (some were deleted since the cursor was handed out):
+    // a short page there is the start of the list, so serve the full first page with its usual links
+    if (backward && articles.size() < size) {
+      return searchArticlesByCursor(null, size);
+    }
+    // nothing left after a forward cursor, the articles past it were deleted: still link back towards newer ones
+    if (articles.isEmpty()) {
+      return position == null
+          ? CursorPage.empty()
+          : CursorPage.of(List.of(), ArticleCursor.of(position.createdAt(), position.id(), true).encode(), null);
+    }
+    // rows towards newer articles arrive in ascending order
+    if (backward) {
+      Collections.reverse(articles);
+    }
+    boolean hasPrevious = backward ? hasMore : position != null;
+    boolean hasNext = backward || hasMore;
+    List<ArticleSummaryDto> content = withHashtags(articles);
+
+    return CursorPage.of(
+        content,
+        hasPrevious ? ArticleCursor.previousOf(content.get(0)).encode() : null,
+        hasNext ? ArticleCursor.nextOf(content.get(content.size() - 1)).encode() : null
+    );
   }
 
   @Transactional(readOnly = true)
   public ArticleWithCommentsDto getArticleWithComments(Long articleId) {
-    return articleRepository.findById(articleId)
-        .map(ArticleWithCommentsDto::from)
+    return getArticleWithComments(articleId, null);
+  }
+
+  // the article with one page of its comment threads, see ArticleCommentService#getCommentThreads
+  // the article's comment collection is never loaded, an article with 100k comments costs as much as one with 20
+  @Transactional(readOnly = true)
+  public ArticleWithCommentsDto getArticleWithComments(Long articleId, String commentCursor) {
+    Article article = articleRepository.findWithUserAccountAndHashtagsById(articleId)
         .orElseThrow(() -> new EntityNotFoundException("Article does not exist - articleId: " + articleId));
+    CommentThreadPage commentThreads = articleCommentService.getCommentThreads(
+        articleId, commentCursor, COMMENT_PAGE_SIZE, COMMENT_REPLY_SIZE);
+
+    return ArticleWithCommentsDto.from(article, commentThreads);
   }
 
   @Transactional(readOnly = true)
   public ArticleDto getArticle(Long articleId) {
-    return articleRepository.findById(articleId)
+    return articleRepository.findWithUserAccountAndHashtagsById(articleId)
         .map(ArticleDto::from)
         .orElseThrow(() -> new EntityNotFoundException("Article does not exist - articleId: " + articleId));
   }
+  // the hashtag search page only offers previous/next, so it doesn't need a count by default
   @Transactional(readOnly = true)
-  public Page<ArticleDto> searchArticlesViaHashtag(String hashtagName, Pageable pageable) {
+  public Slice<ArticleDto> searchArticlesViaHashtag(String hashtagName, Pageable pageable) {
+    return searchArticlesViaHashtag(hashtagName, pageable, CountMode.ESTIMATED);
+  }
+
+  @Transactional(readOnly = true)
+  public Slice<ArticleDto> searchArticlesViaHashtag(String hashtagName, Pageable pageable, CountMode countMode) {
     if (hashtagName == null || hashtagName.isBlank()) {
       return Page.empty(pageable);
     }
-    return articleRepository.findByHashtagNames(List.of(hashtagName), pageable)
-            .map(ArticleDto::from);
+    return searchArticlesViaHashtagQuery(HashtagQuery.anyOf(Set.of(hashtagName)), pageable, countMode);
   }
 
   public void saveArticle(ArticleDto dto) {
     UserAccount userAccount = userAccountRepository.getReferenceById(dto.userAccountDto().userId());
-    Set<Hashtag> hashtags = renewHashtagsFromContent(dto.content());
+    // parse hashtags from article body
+    Set<String> hashtagNames = hashtagService.parseHashtagNames(dto.content());
     Article article = dto.toEntity(userAccount);
-    article.addHashtags(hashtags);
+    // one counter update for the hashtags HashtagService's dictionary knows (which also checks they still exist),
+    // a lookup by name for the rest, and new ones are created within a savepoint, see HashtagService.linkHashtags
+    article.addHashtags(hashtagService.linkHashtags(hashtagNames));
 
-    articleRepository.save(article);
+    Article savedArticle = articleRepository.save(article);
+    eventPublisher.publishEvent(ArticleSavedEvent.of(
+        savedArticle.getId(), savedArticle.getTitle(), savedArticle.getContent(), hashtagNames));
+    if (!hashtagNames.isEmpty()) {
+      eventPublisher.publishEvent(HashtagsUsedEvent.of(hashtagNames));
+    }
   }
 
   public void updateArticle(Long articleId, ArticleDto dto) {
@@ -89,11 +219,19 @@ public class ArticleService {
       UserAccount userAccount = userAccountRepository.getReferenceById(dto.userAccountDto().userId());
       // only want the original author to be able to edit article
       if (article.getUserAccount().equals(userAccount)) {
+        // the text and hashtags before the edit, the indexes unlink the terms and hashtags that are gone from them
+        String previousTitle = article.getTitle();
+        String previousContent = article.getContent();
+        Set<String> previousHashtagNames = article.getHashtags().stream()
+            .map(Hashtag::getHashtagName)
+            .collect(Collectors.toUnmodifiableSet());
         // guard against null values for non-nullable fields
         if (dto.title() != null) {
           article.setTitle(dto.title());
         }
-        if (dto.content() != null) {
+        // hashtags come from the content, so there is nothing to relink unless the content changed
+        boolean contentChanged = dto.content() != null && !dto.content().equals(article.getContent());
+        if (contentChanged) {
           article.setContent(dto.content());
         }
 //        article.setHashtag(dto.hashtag()); TODO
@@ -101,19 +239,15 @@ public class ArticleService {
         // changes to entity will be detected automatically and necessary queries will be sent to persistence
         // layer accordingly
 
-        // get set of entity ids of hashtags registered to this article
-        Set<Long> hashtagIds = article.getHashtags().stream()
-                .map(Hashtag::getId)
-                .collect(Collectors.toUnmodifiableSet());
-        // remove all hashtags from current article
-        article.clearHashtags();
-        articleRepository.flush();
-        // check each hashtag and remove it from db if it is not bound to any articles
-        hashtagIds.forEach(hashtagService::deleteHashtagWithoutArticles);
-        // get updated list of hashtags for current article
-        Set<Hashtag> hashtags = renewHashtagsFromContent(dto.content());
-        // bind them to current article
-        article.addHashtags(hashtags);
+        Set<String> hashtagNames = contentChanged
+            ? relinkHashtags(article, hashtagService.parseHashtagNames(dto.content()))
+            : previousHashtagNames;
+        Set<String> removedHashtagNames = previousHashtagNames.stream()
+            .filter(hashtagName -> !hashtagNames.contains(hashtagName))
+            .collect(Collectors.toUnmodifiableSet());
+
+        eventPublisher.publishEvent(ArticleSavedEvent.of(article.getId(), article.getTitle(), article.getContent(),
+            hashtagNames, removedHashtagNames, previousTitle, previousContent));
       }
     }
     catch (EntityNotFoundException e) {
@@ -127,43 +261,177 @@ public class ArticleService {
     Set<Long> hashtagIds = article.getHashtags().stream()
                     .map(Hashtag::getId)
                     .collect(Collectors.toUnmodifiableSet());
+    Set<String> hashtagNames = article.getHashtags().stream()
+        .map(Hashtag::getHashtagName)
+        .collect(Collectors.toUnmodifiableSet());
+    String title = article.getTitle();
+    String content = article.getContent();
+
+    // the comments go first, set-based: the cascade from Article.articleComments would load and delete them one by one
+    if (article.getUserAccount().getUserId().equals(userId)) {
+      articleCommentService.deleteArticleComments(articleId);
+    }
+    long deletedCount = articleRepository.deleteByIdAndUserAccount_UserId(articleId, userId);
+    // only the author can delete an article, so nothing may have been deleted at all
+    if (deletedCount > 0) {
+      // hashtags left without articles are deleted later on by OrphanHashtagSweeper
+      hashtagService.adjustArticleCount(hashtagIds, -1);
+      eventPublisher.publishEvent(ArticleDeletedEvent.of(articleId, title, content, hashtagNames));
+    }
+  }
+
+
+  // shown on every article page, the same total the unfiltered list counts, and cached under the same key
+  public long getArticleCount() {
+    return articleCountService.cachedCount("ALL", articleRepository::count);
+  }
 
-    articleRepository.deleteByIdAndUserAccount_UserId(articleId, userId);
-    articleRepository.flush();
+  // answered from the hashtag bitmap index when it can (it also knows the exact total for free),
+  // otherwise from the database
+  // the hashtag search page shows the content of the articles, so it still reads them whole
+  private Slice<ArticleDto> searchArticlesViaHashtagQuery(HashtagQuery query, Pageable pageable, CountMode countMode) {
+    if (query.isEmpty()) {
+      return Page.empty(pageable);
+    }
+    Slice<ArticleDto> articles;
+    if (hashtagBitmapIndex.canSearch(pageable.getSort())) {
+      Page<Long> articleIds = hashtagBitmapIndex.search(query, pageable);
+      articles = articleCountService.fromIndex(
+          new PageImpl<>(findAllByIdInOrder(articleIds.getContent()), pageable, articleIds.getTotalElements()), countMode
+      ).map(ArticleDto::from);
+    } else {
+      articles = articleCountService.toResult(
+          articleRepository.findSliceByHashtagQuery(query.anyOf(), query.allOf(), query.noneOf(), pageable), countMode,
+          "HASHTAG:" + query.cacheKey(),
+          () -> articleRepository.countByHashtagQuery(query.anyOf(), query.allOf(), query.noneOf())
+      ).map(ArticleDto::from);
+    }
+    publishSearchedHashtags(query, articles);
 
-    hashtagIds.forEach(hashtagService::deleteHashtagWithoutArticles);
+    return articles;
   }
 
+  // the same search for the article list, which only needs the summaries
+  private Slice<ArticleSummaryProjection> searchSummariesViaHashtagQuery(HashtagQuery query, Pageable pageable, CountMode countMode) {
+    if (query.isEmpty()) {
+      return Page.empty(pageable);
+    }
+    Slice<ArticleSummaryProjection> articles;
+    if (hashtagBitmapIndex.canSearch(pageable.getSort())) {
+      Page<Long> articleIds = hashtagBitmapIndex.search(query, pageable);
+      articles = articleCountService.fromIndex(
+          new PageImpl<>(findSummariesByIdInOrder(articleIds.getContent()), pageable, articleIds.getTotalElements()), countMode);
+    } else {
+      articles = articleCountService.toResult(
+          articleRepository.findSummaries(ArticlePredicates.hashtagQuery(query.anyOf(), query.allOf(), query.noneOf()), pageable),
+          countMode, "HASHTAG:" + query.cacheKey(),
+          () -> articleRepository.countByHashtagQuery(query.anyOf(), query.allOf(), query.noneOf()));
+    }
+    publishSearchedHashtags(query, articles);
+
+    return articles;
+  }
 
-  public List<String> getHashtags() {
-    return hashtagRepository.findAllHashtagNames(); // TODO: might want to move this into HashtagService
+  // searches that found something count towards trending hashtags
+  private void publishSearchedHashtags(HashtagQuery query, Slice<?> articles) {
+    if (articles.hasContent()) {
+      Set<String> searchedNames = new HashSet<>(query.anyOf());
+      searchedNames.addAll(query.allOf());
+      eventPublisher.publishEvent(HashtagsUsedEvent.of(searchedNames));
+    }
   }
 
+  // applies only the difference between the current and the parsed hashtags, so that only the changed
+  // article_hashtag rows are deleted/inserted (clearing the collection makes hibernate delete and re-insert all of them)
+  // hashtags left without articles are deleted later on by OrphanHashtagSweeper
+  private Set<String> relinkHashtags(Article article, Set<String> hashtagNames) {
+    Set<Hashtag> removedHashtags = article.getHashtags().stream()
+        .filter(hashtag -> !hashtagNames.contains(hashtag.getHashtagName()))
+        .collect(Collectors.toSet());
+    Set<String> linkedNames = article.getHashtags().stream()
+        .map(Hashtag::getHashtagName)
+        .collect(Collectors.toSet());
+    Set<String> addedNames = hashtagNames.stream()
+        .filter(hashtagName -> !linkedNames.contains(hashtagName))
+        .collect(Collectors.toSet());
 
-  public long getArticleCount() {
-    return articleRepository.count();
+    if (!removedHashtags.isEmpty()) {
+      article.removeHashtags(removedHashtags);
+      hashtagService.adjustArticleCount(hashtagIdsOf(removedHashtags), -1);
+    }
+    if (!addedNames.isEmpty()) {
+      article.addHashtags(hashtagService.linkHashtags(addedNames));
+    }
+
+    return hashtagNames;
   }
 
-  private Set<Hashtag> renewHashtagsFromContent(String content) {
-    // parse hashtags from article body
-    Set<String> hashtagNamesInContent = hashtagService.parseHashtagNames(content);
-    // generate set of hashtag entities that exist in both the article body and the db
-    Set<Hashtag> hashtags = hashtagService.findHashtagsByNames(hashtagNamesInContent);
-    // convert entities to strings
-    Set<String> existingHashtagNames = hashtags.stream()
-            .map(Hashtag::getHashtagName)
-            .collect(Collectors.toUnmodifiableSet());
-    // for each hashtag from article body, add it to set of hashtag entities
-    // if it doesn't exist in db
-    hashtagNamesInContent.forEach(newHashtagName -> {
-      if (!existingHashtagNames.contains(newHashtagName)) {
-        hashtags.add(Hashtag.of(newHashtagName));
-      }
-    });
-    // the reason we had to do this was that for hashtags that already exist in the db,
-    // we want the correct entity
-    // for those that do not, need to create a new entity separately
+  private Set<Long> hashtagIdsOf(Collection<Hashtag> hashtags) {
+    return hashtags.stream()
+        .map(Hashtag::getId)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toUnmodifiableSet());
+  }
+
+  // an IN query doesn't keep the order of the given ids
+  private List<Article> findAllByIdInOrder(List<Long> articleIds) {
+    Map<Long, Article> articles = articleRepository.findWithUserAccountAndHashtagsByIdIn(articleIds).stream()
+        .collect(Collectors.toMap(Article::getId, Function.identity()));
+
+    return articleIds.stream()
+        .map(articles::get)
+        .filter(Objects::nonNull)
+        .toList();
+  }
+
+  private List<ArticleSummaryProjection> findSummariesByIdInOrder(List<Long> articleIds) {
+    Map<Long, ArticleSummaryProjection> articles = articleRepository.findSummariesById(articleIds).stream()
+        .collect(Collectors.toMap(ArticleSummaryProjection::id, Function.identity()));
+
+    return articleIds.stream()
+        .map(articles::get)
+        .filter(Objects::nonNull)
+        .toList();
+  }
+
+  // the count only runs when the page alone doesn't tell the total
+  // too many candidates and the keyword goes to the database like an unindexed one, see MAX_CANDIDATE_IDS
+  private Slice<ArticleSummaryProjection> findCandidates(Set<Long> candidateIds, Pageable pageable, CountMode countMode,
+                                                         Function<Set<Long>, Predicate> query,
+                                                         Supplier<Slice<ArticleSummaryProjection>> scan) {
+    if (candidateIds.isEmpty()) {
+      return articleCountService.fromIndex(Page.empty(pageable), countMode);
+    }
+    if (candidateIds.size() > MAX_CANDIDATE_IDS) {
+      return scan.get();
+    }
+    Predicate predicate = query.apply(candidateIds);
+
+    return articleCountService.fromIndex(PageableExecutionUtils.getPage(
+        articleRepository.findSummaries(predicate, pageable).getContent(), pageable, () -> articleRepository.count(predicate)), countMode);
+  }
+
+  // the hashtags of every article on the page in a single query
+  // keeps the total when there is one
+  private Slice<ArticleSummaryDto> withHashtags(Slice<ArticleSummaryProjection> articles) {
+    List<ArticleSummaryDto> content = withHashtags(articles.getContent());
+    if (articles instanceof Page<ArticleSummaryProjection> page) {
+      return new PageImpl<>(content, page.getPageable(), page.getTotalElements());
+    }
+    return new SliceImpl<>(content, articles.getPageable(), articles.hasNext());
+  }
+
+  private List<ArticleSummaryDto> withHashtags(List<ArticleSummaryProjection> articles) {
+    if (articles.isEmpty()) {
+      return List.of();
+    }
+    Map<Long, Set<String>> hashtagNames = articleRepository.findArticleHashtags(
+            articles.stream().map(ArticleSummaryProjection::id).toList()).stream()
+        .collect(Collectors.groupingBy(ArticleHashtagProjection::getArticleId,
+            Collectors.mapping(ArticleHashtagProjection::getHashtagName, Collectors.toUnmodifiableSet())));
 
-    return hashtags;
+    return articles.stream()
+        .map(article -> ArticleSummaryDto.from(article, hashtagNames.getOrDefault(article.id(), Set.of())))
+        .toList();
   }
 }
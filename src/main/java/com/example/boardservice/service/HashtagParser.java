@@ -0,0 +1,47 @@
+package com.example.boardservice.service;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+// finds every #hashtag in the content in a single pass, same as matching "#[\\w가-힣]+" where \w is [a-zA-Z0-9_]
+// a hand-written scanner instead of a regex: no Pattern/Matcher per call, no backtracking, and the only
+// allocations are the hashtag names themselves (plus the set, once a hashtag has actually been found)
+public final class HashtagParser {
+
+  private HashtagParser() {}
+
+  public static Set<String> parse(String content) {
+    if (content == null) {
+      return Set.of();
+    }
+    Set<String> result = null;
+    int length = content.length();
+    int i = content.indexOf('#');
+    while (i >= 0) {
+      int start = i + 1;
+      int end = start;
+      while (end < length && isHashtagCharacter(content.charAt(end))) {
+        end++;
+      }
+      if (end > start) {
+        if (result == null) {
+          result = new HashSet<>();
+        }
+        result.add(content.substring(start, end));
+      }
+      // the character that ended the hashtag may start the next one, eg. #java#spring
+      i = content.indexOf('#', end);
+    }
+
+    return result == null ? Set.of() : Collections.unmodifiableSet(result);
+  }
+
+  private static boolean isHashtagCharacter(char c) {
+    return (c >= 'a' && c <= 'z')
+        || (c >= 'A' && c <= 'Z')
+        || (c >= '0' && c <= '9')
+        || c == '_'
+        || (c >= '가' && c <= '힣');
+  }
+}
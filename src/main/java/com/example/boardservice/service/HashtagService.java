@@ -1,45 +1,138 @@
 package com.example.boardservice.service;
 
+import com.example.boardservice.cache.HashtagDictionary;
+import com.example.boardservice.cache.HashtagDirectory;
 import com.example.boardservice.domain.Hashtag;
+import com.example.boardservice.domain.constant.HashtagSort;
+import com.example.boardservice.dto.HashtagDirectoryPage;
+import com.example.boardservice.dto.HashtagSummaryDto;
+import com.example.boardservice.event.HashtagArticleCountAdjustedEvent;
+import com.example.boardservice.event.HashtagsUnlinkedEvent;
+import com.example.boardservice.index.HashtagFuzzyIndex;
 import com.example.boardservice.repository.HashtagRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Service
 public class HashtagService {
 
   private final HashtagRepository hashtagRepository;
+  private final HashtagDictionary hashtagDictionary;
+  private final HashtagDirectory hashtagDirectory;
+  private final HashtagFuzzyIndex hashtagFuzzyIndex;
+  private final HashtagUpsertService hashtagUpsertService;
+  private final ApplicationEventPublisher eventPublisher;
 
+  // kept on the service so that ArticleService can be tested with a mocked parse, see HashtagParser
   public Set<String> parseHashtagNames(String content) {
-    if (content == null) {
-      return Set.of();
-    }
-    Pattern pattern = Pattern.compile("#[\\w가-힣]+");
-    Matcher matcher = pattern.matcher(content.strip());
-    Set<String> result = new HashSet<>();
+    return HashtagParser.parse(content);
+  }
 
-    while (matcher.find()) {
-      // parse hashtags and strip pound(#)
-      result.add(matcher.group().replace("#", ""));
-    }
+  // served from HashtagDirectory, a page is only queried when it isn't cached
+  public HashtagDirectoryPage getHashtagDirectory(HashtagSort sort, Pageable pageable) {
+    return hashtagDirectory.getPage(sort, pageable.getPageNumber(), pageable.getPageSize());
+  }
 
-    return Set.copyOf(result);
+  // "did you mean" suggestions for a hashtag search that found nothing
+  public List<HashtagSummaryDto> findSimilarHashtags(String hashtagName, int size) {
+    return hashtagFuzzyIndex.findSimilar(hashtagName, size);
   }
 
   public Set<Hashtag> findHashtagsByNames(Set<String> hashtagNames) {
     return new HashSet<>(hashtagRepository.findByHashtagNameIn(hashtagNames));
   }
 
-  public void deleteHashtagWithoutArticles(Long hashtagId) {
-    Hashtag hashtag = hashtagRepository.getReferenceById(hashtagId);
-    if (hashtag.getArticles().isEmpty()) {
-      hashtagRepository.delete(hashtag);
+  // returns a hashtag entity for every name, and counts one more article in Hashtag.articleCount of each of them
+  // (call it for the hashtags an article is about to link, the article doesn't have to be flushed yet)
+  // new hashtags are created by HashtagUpsertService, so that concurrent posts introducing the same hashtag don't
+  // fail on its unique index
+  // hashtags known to HashtagDictionary are not read at all: the counter update is what checks that they still
+  // exist, and it locks them until the transaction ends, so OrphanHashtagSweeper can't delete them before the
+  // article links them
+  // the hashtags returned are uninitialized proxies, so don't read anything but their ids
+  public Set<Hashtag> linkHashtags(Set<String> hashtagNames) {
+    if (hashtagNames.isEmpty()) {
+      return new HashSet<>();
     }
+    Map<String, Long> linkedIds = new HashMap<>();
+    Map<String, Long> knownIds = hashtagDictionary.findIds(hashtagNames);
+    Set<String> unknownNames = new HashSet<>(hashtagNames);
+    unknownNames.removeAll(knownIds.keySet());
+    // the dictionary of this node only hears about the deletes of this node: an entry may point at a hashtag
+    // another node has deleted since, its name is resolved again below (it may even exist again, under a new id)
+    unknownNames.addAll(countArticle(knownIds, linkedIds));
+
+    if (!unknownNames.isEmpty()) {
+      Map<String, Long> foundIds = hashtagRepository.findByHashtagNameIn(unknownNames).stream()
+          .collect(Collectors.toMap(Hashtag::getHashtagName, Hashtag::getId));
+      foundIds.forEach(hashtagDictionary::put);
+      unknownNames.removeAll(foundIds.keySet());
+      // the read doesn't lock, a hashtag may be swept before the counter update gets to it
+      unknownNames.addAll(countArticle(foundIds, linkedIds));
+      // not put into the dictionary: a hashtag created here doesn't exist for anybody else until this transaction
+      // commits, the dictionary learns about it from HashtagCreatedEvent
+      // HashtagUpsertService either inserted the row or read it with a lock, so it can't be gone
+      Map<String, Long> createdIds = hashtagUpsertService.getOrCreateIds(unknownNames);
+      if (!createdIds.isEmpty()) {
+        hashtagRepository.adjustArticleCount(Set.copyOf(createdIds.values()), 1);
+        linkedIds.putAll(createdIds);
+      }
+    }
+    eventPublisher.publishEvent(HashtagArticleCountAdjustedEvent.of(Set.copyOf(linkedIds.values()), 1));
+
+    return linkedIds.values().stream()
+        .map(hashtagRepository::getReferenceById)
+        .collect(Collectors.toCollection(HashSet::new));
+  }
+
+  // keeps Hashtag.articleCount in step with article_hashtag, call it once links have been added (delta > 0)
+  // or removed (delta < 0)
+  public void adjustArticleCount(Collection<Long> hashtagIds, long delta) {
+    if (hashtagIds.isEmpty()) {
+      return;
+    }
+    hashtagRepository.adjustArticleCount(hashtagIds, delta);
+    eventPublisher.publishEvent(HashtagArticleCountAdjustedEvent.of(Set.copyOf(hashtagIds), delta));
+    // some of them may be orphans now, let the sweeper know
+    if (delta < 0) {
+      eventPublisher.publishEvent(HashtagsUnlinkedEvent.of(Set.copyOf(hashtagIds)));
+    }
+  }
+
+  // counts one more article for each of the given hashtags, and moves the ones that were counted into linkedIds
+  // returns the names whose hashtag is gone (and evicts them from the dictionary)
+  // the update locked every row it found, so a hashtag missing now stays missing until this transaction ends
+  private Set<String> countArticle(Map<String, Long> hashtagIds, Map<String, Long> linkedIds) {
+    if (hashtagIds.isEmpty()) {
+      return Set.of();
+    }
+    int updatedCount = hashtagRepository.adjustArticleCount(Set.copyOf(hashtagIds.values()), 1);
+    if (updatedCount == hashtagIds.size()) {
+      linkedIds.putAll(hashtagIds);
+      return Set.of();
+    }
+    Set<Long> existingIds = hashtagRepository.findIdsByIdIn(Set.copyOf(hashtagIds.values()));
+    Set<String> staleNames = new HashSet<>();
+    hashtagIds.forEach((hashtagName, hashtagId) -> {
+      if (existingIds.contains(hashtagId)) {
+        linkedIds.put(hashtagName, hashtagId);
+      } else {
+        hashtagDictionary.evict(hashtagName);
+        staleNames.add(hashtagName);
+      }
+    });
+
+    return staleNames;
   }
 }
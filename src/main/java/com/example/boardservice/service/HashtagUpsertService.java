@@ -0,0 +1,144 @@
+package com.example.boardservice.service;
+
+import com.example.boardservice.domain.Hashtag;
+import com.example.boardservice.event.HashtagCreatedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+// get-or-create for hashtags that may be posted by several users at the same time
+// new hashtags used to be inserted along with the article (cascade), so when two articles introduced the same
+// hashtag at once, the unique index on hashtagName failed the second article as a whole
+// here a new hashtag is inserted in the transaction of the article, within a savepoint: a duplicate name only rolls
+// back to the savepoint, and the row of the transaction that inserted the name first is read back instead
+// (the insert waits for a concurrent insert of the same name to commit before it fails, on MySQL and PostgreSQL)
+// the row goes through JDBC rather than hibernate: a failed flush would leave the session of the article unusable,
+// and a failed hibernate query would mark the whole transaction rollback-only
+// read: https://docs.spring.io/spring-framework/reference/data-access/transaction/declarative/tx-propagation.html
+@Slf4j
+@Service
+public class HashtagUpsertService {
+
+  private static final String INSERT_HASHTAG = """
+      insert into hashtag (id, hashtag_name, article_count, created_at, created_by, modified_at, modified_by)
+      values (?, ?, 0, ?, ?, ?, ?)
+      """;
+  // a locking read sees the latest committed row, a plain one may still read the snapshot taken before the
+  // other insert committed (MySQL's default REPEATABLE READ)
+  // the article locks the row right after anyway, to count itself in Hashtag.articleCount
+  private static final String SELECT_HASHTAG_ID = "select id from hashtag where hashtag_name = ? for update";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final EntityManager entityManager;
+  private final AuditorAware<String> auditorAware;
+  private final ApplicationEventPublisher eventPublisher;
+  private final TransactionTemplate transactionTemplate;
+  private final int maxAttempts;
+  private final Counter conflictCounter;
+
+  public HashtagUpsertService(
+      JdbcTemplate jdbcTemplate,
+      EntityManager entityManager,
+      AuditorAware<String> auditorAware,
+      ApplicationEventPublisher eventPublisher,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${board.hashtag.upsert.max-attempts:3}") int maxAttempts
+  ) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.entityManager = entityManager;
+    this.auditorAware = auditorAware;
+    this.eventPublisher = eventPublisher;
+    // a savepoint within the transaction of the caller (the article being saved), no second connection
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+    this.maxAttempts = maxAttempts;
+    // exposed through /actuator/metrics/board.hashtag.upsert.conflicts
+    this.conflictCounter = Counter.builder("board.hashtag.upsert.conflicts")
+        .description("Number of hashtag inserts that lost the race against a concurrent insert of the same name")
+        .register(meterRegistry);
+  }
+
+  // ids of the given hashtags, inserting the ones that don't exist yet
+  // names are handled in a fixed order, so that two transactions creating the same hashtags wait on each other
+  // in the same order instead of deadlocking
+  // must be called within a transaction, new hashtags are committed (or rolled back) along with it
+  public Map<String, Long> getOrCreateIds(Set<String> hashtagNames) {
+    Map<String, Long> ids = new HashMap<>();
+    for (String hashtagName : new TreeSet<>(hashtagNames)) {
+      ids.put(hashtagName, getOrCreateId(hashtagName));
+    }
+
+    return ids;
+  }
+
+  // the caller has already looked for the name, so this starts with the insert
+  // (a locking read of a missing row would take a gap lock on MySQL, and two such reads deadlock on their inserts)
+  public Long getOrCreateId(String hashtagName) {
+    for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+      try {
+        return insert(hashtagName);
+      } catch (DataIntegrityViolationException | ConcurrencyFailureException e) {
+        // unique index violation (or a lock timeout waiting for the other insert), only the savepoint was rolled back
+        conflictCounter.increment();
+        log.debug("Hashtag {} was inserted concurrently (attempt {})", hashtagName, attempt);
+      }
+      Optional<Long> hashtagId = findId(hashtagName);
+      if (hashtagId.isPresent()) {
+        return hashtagId.get();
+      }
+    }
+
+    // the other insert still hasn't committed (databases that report the conflict without waiting for it)
+    throw new IllegalStateException("Hashtag was inserted concurrently but is not readable yet - hashtagName: " + hashtagName);
+  }
+
+  private Optional<Long> findId(String hashtagName) {
+    List<Long> ids = jdbcTemplate.queryForList(SELECT_HASHTAG_ID, Long.class, hashtagName);
+
+    return ids.stream().findFirst();
+  }
+
+  private Long insert(String hashtagName) {
+    Long hashtagId = nextId();
+    LocalDateTime now = LocalDateTime.now();
+    String auditor = auditorAware.getCurrentAuditor().orElse(null);
+    transactionTemplate.executeWithoutResult(status ->
+        jdbcTemplate.update(INSERT_HASHTAG, hashtagId, hashtagName, now, auditor, now, auditor));
+    // inserts through JDBC bypass HashtagEntityListener, announce the hashtag here (applied after commit)
+    eventPublisher.publishEvent(HashtagCreatedEvent.of(hashtagId, hashtagName));
+
+    return hashtagId;
+  }
+
+  // the same (time-ordered) id hibernate would have given the hashtag, see Hashtag.id
+  private Long nextId() {
+    SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+    IdentifierGenerator generator = (IdentifierGenerator) session.getFactory().getMappingMetamodel()
+        .getEntityDescriptor(Hashtag.class)
+        .getGenerator();
+
+    return (Long) generator.generate(session, null);
+  }
+}
@@ -1,5 +1,7 @@
 package com.example.boardservice.service;
 
+import com.example.boardservice.dto.CursorPage;
+import com.example.boardservice.dto.response.CursorPaginationBar;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -17,6 +19,12 @@ public class PaginationService {
     return IntStream.range(startNumber, endNumber).boxed().toList();
   }
 
+  // keyset pages don't know their page number or the total page count
+  // so the bar is rendered from the neighbouring cursors only
+  public CursorPaginationBar getCursorPaginationBar(CursorPage<?> page) {
+    return CursorPaginationBar.of(page.previousCursor(), page.nextCursor());
+  }
+
   public int currentBarLength() {
     return BAR_LENGTH;
   }
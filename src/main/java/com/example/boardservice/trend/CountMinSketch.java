@@ -0,0 +1,68 @@
+package com.example.boardservice.trend;
+
+import java.util.Arrays;
+
+// fixed size frequency table: memory depends on width * depth only, never on the number of distinct items
+// each item is counted in one cell per row, and the smallest of those cells is its estimate
+// collisions can only add to a cell, so estimates are never below the true count
+// read: http://dimacs.rutgers.edu/~graham/pubs/papers/cmencyc.pdf
+final class CountMinSketch {
+
+  private final int depth;
+  private final int mask;
+  private final int[] counts;
+
+  // width is rounded up to a power of two, so a cell can be picked with a mask instead of a modulo
+  CountMinSketch(int width, int depth) {
+    if (width < 1 || depth < 1) {
+      throw new IllegalArgumentException("width and depth must be positive");
+    }
+    int roundedWidth = Integer.highestOneBit(width) == width ? width : Integer.highestOneBit(width) << 1;
+    this.depth = depth;
+    this.mask = roundedWidth - 1;
+    this.counts = new int[roundedWidth * depth];
+  }
+
+  // conservative update: only raise the cells that are at the current minimum
+  // cells already inflated by collisions are left alone, which keeps the overestimation down
+  void add(String item) {
+    int hash = item.hashCode();
+    long estimate = estimate(hash);
+    for (int row = 0; row < depth; row++) {
+      int cell = cell(hash, row);
+      if (counts[cell] == estimate && counts[cell] < Integer.MAX_VALUE) {
+        counts[cell]++;
+      }
+    }
+  }
+
+  long estimate(String item) {
+    return estimate(item.hashCode());
+  }
+
+  void clear() {
+    Arrays.fill(counts, 0);
+  }
+
+  private long estimate(int hash) {
+    int min = Integer.MAX_VALUE;
+    for (int row = 0; row < depth; row++) {
+      min = Math.min(min, counts[cell(hash, row)]);
+    }
+
+    return min;
+  }
+
+  // one hash per row, derived from String.hashCode by mixing in the row number
+  // (the finalizer of murmur3, so that similar hash codes still spread over the whole row)
+  private int cell(int hash, int row) {
+    int h = hash ^ (row * 0x9E3779B9);
+    h ^= h >>> 16;
+    h *= 0x85EBCA6B;
+    h ^= h >>> 13;
+    h *= 0xC2B2AE35;
+    h ^= h >>> 16;
+
+    return row * (mask + 1) + (h & mask);
+  }
+}
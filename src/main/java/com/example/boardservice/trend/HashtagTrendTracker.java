@@ -0,0 +1,185 @@
+package com.example.boardservice.trend;
+
+import com.example.boardservice.domain.constant.TrendWindow;
+import com.example.boardservice.dto.TrendingHashtagDto;
+import com.example.boardservice.event.HashtagsUsedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+// ranks hashtags by how often they were used (written in new articles or searched for) in the last hour/day/week
+// every window is a SlidingWindowSketch, so memory stays the same no matter how many hashtags or events there are:
+// buckets * width * depth counters per window and stripe (~1MB per stripe with the defaults)
+// counts are approximate (never too low), which is good enough for a ranking
+// read: https://en.wikipedia.org/wiki/Streaming_algorithm#Heavy_hitters
+@Component
+public class HashtagTrendTracker {
+
+  private final LongSupplier currentTimeMillis;
+  private final int candidateCapacity;
+  private final long snapshotMillis;
+  // every post records its hashtags, so the sketches are split into stripes with a lock each, like LongAdder's cells
+  // a hashtag's count is the sum of its estimates over the stripes, still never too low
+  private final Stripe[] stripes;
+  // rankings are read on every hashtag search page, they are merged from the stripes at most once per snapshotMillis
+  private final Map<TrendWindow, AtomicReference<Snapshot>> snapshots = new EnumMap<>(TrendWindow.class);
+  private final Counter eventCounter;
+
+  @Autowired
+  public HashtagTrendTracker(
+      MeterRegistry meterRegistry,
+      @Value("${board.hashtag.trending.sketch-width:1024}") int width,
+      @Value("${board.hashtag.trending.sketch-depth:4}") int depth,
+      @Value("${board.hashtag.trending.candidates:64}") int candidateCapacity,
+      @Value("${board.hashtag.trending.stripes:4}") int stripes,
+      @Value("${board.hashtag.trending.snapshot-ttl:PT1S}") Duration snapshotTtl
+  ) {
+    this(meterRegistry, System::currentTimeMillis, width, depth, candidateCapacity, stripes, snapshotTtl.toMillis());
+  }
+
+  // lets tests move the clock
+  HashtagTrendTracker(MeterRegistry meterRegistry, LongSupplier currentTimeMillis, int width, int depth,
+                      int candidateCapacity, int stripes, long snapshotMillis) {
+    if (stripes < 1) {
+      throw new IllegalArgumentException("stripes must be positive");
+    }
+    this.currentTimeMillis = currentTimeMillis;
+    this.candidateCapacity = candidateCapacity;
+    this.snapshotMillis = snapshotMillis;
+    this.stripes = new Stripe[stripes];
+    for (int i = 0; i < stripes; i++) {
+      this.stripes[i] = new Stripe(width, depth, candidateCapacity);
+    }
+    // filled up front, so that the map itself is never written to again and can be read without a lock
+    for (TrendWindow window : TrendWindow.values()) {
+      snapshots.put(window, new AtomicReference<>(Snapshot.EXPIRED));
+    }
+    this.eventCounter = Counter.builder("board.hashtag.trending.events")
+        .description("Number of hashtag uses recorded for trending hashtags")
+        .register(meterRegistry);
+  }
+
+  // only count what was actually committed
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onHashtagsUsed(HashtagsUsedEvent event) {
+    record(event.hashtagNames());
+  }
+
+  public void record(Collection<String> hashtagNames) {
+    long now = currentTimeMillis.getAsLong();
+    Stripe stripe = lockStripe();
+    try {
+      for (String hashtagName : hashtagNames) {
+        for (SlidingWindowSketch sketch : stripe.windows.values()) {
+          sketch.add(hashtagName, now);
+        }
+      }
+    } finally {
+      stripe.lock.unlock();
+    }
+    eventCounter.increment(hashtagNames.size());
+  }
+
+  // at most as many hashtags as there are candidates can be ranked
+  public List<TrendingHashtagDto> getTrendingHashtags(TrendWindow window, int size) {
+    long now = currentTimeMillis.getAsLong();
+    Snapshot snapshot = snapshots.get(window).get();
+    if (!snapshot.isFresh(now, snapshotMillis)) {
+      // concurrent readers may both merge, the later snapshot simply wins
+      snapshot = new Snapshot(rank(window, now), now);
+      snapshots.get(window).set(snapshot);
+    }
+    List<TrendingHashtagDto> ranking = snapshot.ranking();
+
+    return ranking.size() > size ? ranking.subList(0, size) : ranking;
+  }
+
+  // the stripe of the current thread, or the first free one after it, so that a post only waits when every stripe is busy
+  private Stripe lockStripe() {
+    int home = (int) (Thread.currentThread().threadId() % stripes.length);
+    for (int i = 0; i < stripes.length; i++) {
+      Stripe stripe = stripes[(home + i) % stripes.length];
+      if (stripe.lock.tryLock()) {
+        return stripe;
+      }
+    }
+    Stripe stripe = stripes[home];
+    stripe.lock.lock();
+
+    return stripe;
+  }
+
+  // every stripe is locked twice, briefly: once for its candidates, once to estimate all of them
+  // a hashtag may be a candidate in one stripe only, and still have been counted in the others
+  private List<TrendingHashtagDto> rank(TrendWindow window, long now) {
+    Set<String> candidates = new HashSet<>();
+    for (Stripe stripe : stripes) {
+      stripe.lock.lock();
+      try {
+        candidates.addAll(stripe.windows.get(window).candidates(now));
+      } finally {
+        stripe.lock.unlock();
+      }
+    }
+
+    Map<String, Long> counts = new HashMap<>(candidates.size() * 2);
+    for (Stripe stripe : stripes) {
+      stripe.lock.lock();
+      try {
+        SlidingWindowSketch sketch = stripe.windows.get(window);
+        candidates.forEach(hashtagName -> counts.merge(hashtagName, sketch.estimate(hashtagName, now), Long::sum));
+      } finally {
+        stripe.lock.unlock();
+      }
+    }
+
+    List<Map.Entry<String, Long>> ranking = new ArrayList<>(counts.entrySet());
+    ranking.removeIf(entry -> entry.getValue() == 0);
+    ranking.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+        .thenComparing(Map.Entry.comparingByKey()));
+
+    return ranking.stream()
+        .limit(candidateCapacity)
+        .map(entry -> TrendingHashtagDto.of(entry.getKey(), entry.getValue()))
+        .toList();
+  }
+
+  // one set of windows, only touched while holding its lock
+  private static final class Stripe {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<TrendWindow, SlidingWindowSketch> windows = new EnumMap<>(TrendWindow.class);
+
+    private Stripe(int width, int depth, int candidateCapacity) {
+      for (TrendWindow window : TrendWindow.values()) {
+        windows.put(window, new SlidingWindowSketch(window, width, depth, candidateCapacity));
+      }
+    }
+  }
+
+  private record Snapshot(List<TrendingHashtagDto> ranking, long takenAt) {
+    // taken "in the future", so never fresh
+    private static final Snapshot EXPIRED = new Snapshot(List.of(), Long.MAX_VALUE);
+
+    // a clock that went backwards expires it as well
+    private boolean isFresh(long now, long snapshotMillis) {
+      return now >= takenAt && now - takenAt < snapshotMillis;
+    }
+  }
+}
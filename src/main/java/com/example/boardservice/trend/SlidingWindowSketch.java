@@ -0,0 +1,116 @@
+package com.example.boardservice.trend;
+
+import com.example.boardservice.domain.constant.TrendWindow;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+// counts hashtag uses over one TrendWindow in constant memory
+// the window is a ring of CountMinSketch buckets: a bucket is reused (cleared) once it falls out of the window,
+// and the count of a hashtag is the sum of its estimates over the buckets still inside the window
+// the heaviest hitters are kept as a small set of candidates, so a top-k query doesn't need to know every hashtag
+// not thread-safe, each stripe of HashtagTrendTracker guards its own sketches with a lock
+final class SlidingWindowSketch {
+
+  private final long bucketMillis;
+  private final CountMinSketch[] buckets;
+  // epoch bucket number each slot currently holds, -1 for never used
+  private final long[] bucketNumbers;
+  private final int candidateCapacity;
+  private final Map<String, Long> candidates;
+  private long refreshedBucketNumber = -1;
+
+  SlidingWindowSketch(TrendWindow window, int width, int depth, int candidateCapacity) {
+    this.bucketMillis = window.getLength().toMillis() / window.getBuckets();
+    this.buckets = new CountMinSketch[window.getBuckets()];
+    this.bucketNumbers = new long[window.getBuckets()];
+    for (int i = 0; i < buckets.length; i++) {
+      buckets[i] = new CountMinSketch(width, depth);
+      bucketNumbers[i] = -1;
+    }
+    this.candidateCapacity = candidateCapacity;
+    this.candidates = new HashMap<>(candidateCapacity * 2);
+  }
+
+  void add(String hashtagName, long nowMillis) {
+    long bucketNumber = nowMillis / bucketMillis;
+    refreshCandidates(bucketNumber);
+
+    int slot = slotOf(bucketNumber);
+    if (bucketNumbers[slot] != bucketNumber) {
+      buckets[slot].clear();
+      bucketNumbers[slot] = bucketNumber;
+    }
+    buckets[slot].add(hashtagName);
+
+    offer(hashtagName, estimateAt(hashtagName, bucketNumber));
+  }
+
+  long estimate(String hashtagName, long nowMillis) {
+    return estimateAt(hashtagName, nowMillis / bucketMillis);
+  }
+
+  // the heavy hitters still inside the window, HashtagTrendTracker ranks them by their counts over every stripe
+  Set<String> candidates(long nowMillis) {
+    refreshCandidates(nowMillis / bucketMillis);
+
+    return Set.copyOf(candidates.keySet());
+  }
+
+  // keeps the candidate if it is heavier than the lightest one, evicting that one when full
+  private void offer(String hashtagName, long count) {
+    if (candidates.containsKey(hashtagName) || candidates.size() < candidateCapacity) {
+      candidates.put(hashtagName, count);
+      return;
+    }
+
+    Map.Entry<String, Long> lightest = null;
+    for (Map.Entry<String, Long> candidate : candidates.entrySet()) {
+      if (lightest == null || candidate.getValue() < lightest.getValue()) {
+        lightest = candidate;
+      }
+    }
+    if (lightest != null && lightest.getValue() < count) {
+      candidates.remove(lightest.getKey());
+      candidates.put(hashtagName, count);
+    }
+  }
+
+  // stored candidate counts go stale as buckets expire, which would keep old heavy hitters around forever
+  // they are re-estimated once per bucket, so this costs nothing for the events in between
+  private void refreshCandidates(long bucketNumber) {
+    if (refreshedBucketNumber == bucketNumber) {
+      return;
+    }
+    refreshedBucketNumber = bucketNumber;
+
+    Iterator<Map.Entry<String, Long>> iterator = candidates.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<String, Long> candidate = iterator.next();
+      long count = estimateAt(candidate.getKey(), bucketNumber);
+      if (count == 0) {
+        iterator.remove();
+      } else {
+        candidate.setValue(count);
+      }
+    }
+  }
+
+  private long estimateAt(String hashtagName, long bucketNumber) {
+    long count = 0;
+    for (int slot = 0; slot < buckets.length; slot++) {
+      // slots that haven't been reused yet may still hold buckets from before the window
+      if (bucketNumbers[slot] > bucketNumber - buckets.length && bucketNumbers[slot] <= bucketNumber) {
+        count += buckets[slot].estimate(hashtagName);
+      }
+    }
+
+    return count;
+  }
+
+  private int slotOf(long bucketNumber) {
+    return (int) (bucketNumber % buckets.length);
+  }
+}
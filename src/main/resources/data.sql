@@ -9,901 +9,901 @@ insert into user_account (user_id, user_password, nickname, email, memo, created
 ;
 
 -- 123 게시글
-insert into article (user_id, title, content, created_by, modified_by, created_at, modified_at) values
-                                                                                                    ('uno2', 'Quisque ut erat.', 'Vestibulum quam sapien, varius ut, blandit non, interdum in, ante. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Duis faucibus accumsan odio. Curabitur convallis.
+insert into article (id, user_id, title, content, created_by, modified_by, created_at, modified_at) values
+                                                                                                    (1, 'uno2', 'Quisque ut erat.', 'Vestibulum quam sapien, varius ut, blandit non, interdum in, ante. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Duis faucibus accumsan odio. Curabitur convallis.
 
 Duis consequat dui nec nisi volutpat eleifend. Donec ut dolor. Morbi vel lectus in quam fringilla rhoncus.
 
 Mauris enim leo, rhoncus sed, vestibulum sit amet, cursus id, turpis. Integer aliquet, massa id lobortis convallis, tortor risus dapibus augue, vel accumsan tellus nisi eu orci. Mauris lacinia sapien quis libero.
 
 #pink', 'Kamilah', 'Murial', '2021-05-30 23:53:46', '2021-03-10 08:48:50'),
-                                                                                                    ('uno2', 'Morbi ut odio.', 'Phasellus in felis. Donec semper sapien a libero. Nam dui.
+                                                                                                    (2, 'uno2', 'Morbi ut odio.', 'Phasellus in felis. Donec semper sapien a libero. Nam dui.
 
 Proin leo odio, porttitor id, consequat in, consequat ut, nulla. Sed accumsan felis. Ut at dolor quis odio consequat varius.
 
 Integer ac leo. Pellentesque ultrices mattis odio. Donec vitae nisi.
 
 #purple', 'Arv', 'Keelby', '2021-05-06 11:51:24', '2021-05-23 08:34:54'),
-                                                                                                    ('uno2', 'Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Duis faucibus accumsan odio.', 'Etiam vel augue. Vestibulum rutrum rutrum neque. Aenean auctor gravida sem.
+                                                                                                    (3, 'uno2', 'Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Duis faucibus accumsan odio.', 'Etiam vel augue. Vestibulum rutrum rutrum neque. Aenean auctor gravida sem.
 
 #purple', 'Adams', 'Thalia', '2021-08-13 08:32:22', '2021-04-02 02:58:19'),
-                                                                                                    ('uno', 'Fusce posuere felis sed lacus.', 'Integer ac leo. Pellentesque ultrices mattis odio. Donec vitae nisi.
+                                                                                                    (4, 'uno', 'Fusce posuere felis sed lacus.', 'Integer ac leo. Pellentesque ultrices mattis odio. Donec vitae nisi.
 
 #mauv', 'Johny', 'Constantin', '2021-09-05 04:28:16', '2021-10-31 17:46:08'),
-                                                                                                    ('uno', 'Aliquam erat volutpat.', 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.
+                                                                                                    (5, 'uno', 'Aliquam erat volutpat.', 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.
 
 #green', 'Karlene', 'Marmaduke', '2022-01-25 16:10:23', '2021-11-08 08:47:03'),
-                                                                                                    ('uno', 'Donec ut mauris eget massa tempor convallis.', 'Cras non velit nec nisi vulputate nonummy. Maecenas tincidunt lacus at velit. Vivamus vel nulla eget eros elementum pellentesque.
+                                                                                                    (6, 'uno', 'Donec ut mauris eget massa tempor convallis.', 'Cras non velit nec nisi vulputate nonummy. Maecenas tincidunt lacus at velit. Vivamus vel nulla eget eros elementum pellentesque.
 
 Quisque porta volutpat erat. Quisque erat eros, viverra eget, congue eget, semper rutrum, nulla. Nunc purus.
 
 #maroon', 'Alonso', 'Eustacia', '2022-01-26 06:33:42', '2021-12-08 11:27:30'),
-                                                                                                    ('uno', 'Nullam molestie nibh in lectus.', 'Proin leo odio, porttitor id, consequat in, consequat ut, nulla. Sed accumsan felis. Ut at dolor quis odio consequat varius.
+                                                                                                    (7, 'uno', 'Nullam molestie nibh in lectus.', 'Proin leo odio, porttitor id, consequat in, consequat ut, nulla. Sed accumsan felis. Ut at dolor quis odio consequat varius.
 
 Integer ac leo. Pellentesque ultrices mattis odio. Donec vitae nisi.
 
 #orange', 'Dedra', 'Wilek', '2021-05-04 19:51:29', '2021-10-09 16:52:09'),
-                                                                                                    ('uno', 'Sed ante.', 'Fusce posuere felis sed lacus. Morbi sem mauris, laoreet ut, rhoncus aliquet, pulvinar sed, nisl. Nunc rhoncus dui vel sem.
+                                                                                                    (8, 'uno', 'Sed ante.', 'Fusce posuere felis sed lacus. Morbi sem mauris, laoreet ut, rhoncus aliquet, pulvinar sed, nisl. Nunc rhoncus dui vel sem.
 
 Sed sagittis. Nam congue, risus semper porta volutpat, quam pede lobortis ligula, sit amet eleifend pede libero quis orci. Nullam molestie nibh in lectus.
 
 #teal', 'Doe', 'Jodi', '2021-10-23 23:45:21', '2021-08-05 14:19:36'),
-                                                                                                    ('uno', 'In hac habitasse platea dictumst.', 'Sed ante. Vivamus tortor. Duis mattis egestas metus.
+                                                                                                    (9, 'uno', 'In hac habitasse platea dictumst.', 'Sed ante. Vivamus tortor. Duis mattis egestas metus.
 
 Aenean fermentum. Donec ut mauris eget massa tempor convallis. Nulla neque libero, convallis eget, eleifend luctus, ultricies eu, nibh.
 
 #khaki', 'Fitz', 'Jemmie', '2021-01-10 21:03:03', '2021-04-15 05:02:39'),
-                                                                                                    ('uno', 'Vivamus in felis eu sapien cursus vestibulum.', 'Nulla ut erat id mauris vulputate elementum. Nullam varius. Nulla facilisi.
+                                                                                                    (10, 'uno', 'Vivamus in felis eu sapien cursus vestibulum.', 'Nulla ut erat id mauris vulputate elementum. Nullam varius. Nulla facilisi.
 
 Cras non velit nec nisi vulputate nonummy. Maecenas tincidunt lacus at velit. Vivamus vel nulla eget eros elementum pellentesque.
 
 Quisque porta volutpat erat. Quisque erat eros, viverra eget, congue eget, semper rutrum, nulla. Nunc purus.
 
 #puce', 'Grace', 'Bryn', '2021-09-28 07:01:29', '2021-09-01 13:54:55'),
-                                                                                                    ('uno', 'Morbi a ipsum.', 'Mauris enim leo, rhoncus sed, vestibulum sit amet, cursus id, turpis. Integer aliquet, massa id lobortis convallis, tortor risus dapibus augue, vel accumsan tellus nisi eu orci. Mauris lacinia sapien quis libero.
+                                                                                                    (11, 'uno', 'Morbi a ipsum.', 'Mauris enim leo, rhoncus sed, vestibulum sit amet, cursus id, turpis. Integer aliquet, massa id lobortis convallis, tortor risus dapibus augue, vel accumsan tellus nisi eu orci. Mauris lacinia sapien quis libero.
 
 #orange', 'Lalo', 'Lorrie', '2022-01-26 03:40:15', '2021-07-18 05:30:34'),
-                                                                                                    ('uno', 'Cum sociis natoque penatibus et magnis dis parturient montes, nascetur ridiculus mus.', 'Sed ante. Vivamus tortor. Duis mattis egestas metus.
+                                                                                                    (12, 'uno', 'Cum sociis natoque penatibus et magnis dis parturient montes, nascetur ridiculus mus.', 'Sed ante. Vivamus tortor. Duis mattis egestas metus.
 
 Aenean fermentum. Donec ut mauris eget massa tempor convallis. Nulla neque libero, convallis eget, eleifend luctus, ultricies eu, nibh.
 
 #purple', 'Jane', 'Tresa', '2021-07-22 22:25:07', '2021-05-16 14:20:27'),
-                                                                                                    ('uno', 'Duis at velit eu est congue elementum.', 'Curabitur in libero ut massa volutpat convallis. Morbi odio odio, elementum eu, interdum eu, tincidunt in, leo. Maecenas pulvinar lobortis est.
+                                                                                                    (13, 'uno', 'Duis at velit eu est congue elementum.', 'Curabitur in libero ut massa volutpat convallis. Morbi odio odio, elementum eu, interdum eu, tincidunt in, leo. Maecenas pulvinar lobortis est.
 
 #maroon', 'Cookie', 'Rosalia', '2021-02-20 10:06:13', '2021-10-10 06:05:30'),
-                                                                                                    ('uno', 'In hac habitasse platea dictumst.', 'In hac habitasse platea dictumst. Morbi vestibulum, velit id pretium iaculis, diam erat fermentum justo, nec condimentum neque sapien placerat ante. Nulla justo.
+                                                                                                    (14, 'uno', 'In hac habitasse platea dictumst.', 'In hac habitasse platea dictumst. Morbi vestibulum, velit id pretium iaculis, diam erat fermentum justo, nec condimentum neque sapien placerat ante. Nulla justo.
 
 Aliquam quis turpis eget elit sodales scelerisque. Mauris sit amet eros. Suspendisse accumsan tortor quis turpis.', 'Gerti', 'Everard', '2021-08-17 15:14:51', '2021-10-01 13:01:41'),
-                                                                                                    ('uno', 'Nulla suscipit ligula in lacus.', 'Sed sagittis. Nam congue, risus semper porta volutpat, quam pede lobortis ligula, sit amet eleifend pede libero quis orci. Nullam molestie nibh in lectus.
+                                                                                                    (15, 'uno', 'Nulla suscipit ligula in lacus.', 'Sed sagittis. Nam congue, risus semper porta volutpat, quam pede lobortis ligula, sit amet eleifend pede libero quis orci. Nullam molestie nibh in lectus.
 
 Pellentesque at nulla. Suspendisse potenti. Cras in purus eu magna vulputate luctus.
 
 Cum sociis natoque penatibus et magnis dis parturient montes, nascetur ridiculus mus. Vivamus vestibulum sagittis sapien. Cum sociis natoque penatibus et magnis dis parturient montes, nascetur ridiculus mus.
 
 #khaki', 'Adolf', 'Tiff', '2021-12-03 03:44:00', '2021-07-12 00:20:12'),
-                                                                                                    ('uno', 'Cum sociis natoque penatibus et magnis dis parturient montes, nascetur ridiculus mus.', 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.
+                                                                                                    (16, 'uno', 'Cum sociis natoque penatibus et magnis dis parturient montes, nascetur ridiculus mus.', 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.
 
 Aenean lectus. Pellentesque eget nunc. Donec quis orci eget orci vehicula condimentum.', 'Vivyanne', 'Humbert', '2021-08-11 04:04:05', '2021-09-05 17:15:51'),
-                                                                                                    ('uno', 'Donec semper sapien a libero.', 'Donec diam neque, vestibulum eget, vulputate ut, ultrices vel, augue. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Donec pharetra, magna vestibulum aliquet ultrices, erat tortor sollicitudin mi, sit amet lobortis sapien sapien non mi. Integer ac neque.', 'Ki', 'Ophelia', '2021-12-21 13:27:54', '2021-05-07 08:06:52'),
-                                                                                                    ('uno', 'Quisque id justo sit amet sapien dignissim vestibulum.', 'Cum sociis natoque penatibus et magnis dis parturient montes, nascetur ridiculus mus. Vivamus vestibulum sagittis sapien. Cum sociis natoque penatibus et magnis dis parturient montes, nascetur ridiculus mus.
+                                                                                                    (17, 'uno', 'Donec semper sapien a libero.', 'Donec diam neque, vestibulum eget, vulputate ut, ultrices vel, augue. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Donec pharetra, magna vestibulum aliquet ultrices, erat tortor sollicitudin mi, sit amet lobortis sapien sapien non mi. Integer ac neque.', 'Ki', 'Ophelia', '2021-12-21 13:27:54', '2021-05-07 08:06:52'),
+                                                                                                    (18, 'uno', 'Quisque id justo sit amet sapien dignissim vestibulum.', 'Cum sociis natoque penatibus et magnis dis parturient montes, nascetur ridiculus mus. Vivamus vestibulum sagittis sapien. Cum sociis natoque penatibus et magnis dis parturient montes, nascetur ridiculus mus.
 
 Etiam vel augue. Vestibulum rutrum rutrum neque. Aenean auctor gravida sem.
 
 #goldenrod', 'Jackelyn', 'Vlad', '2021-06-29 13:00:35', '2021-05-11 00:47:43'),
-                                                                                                    ('uno', 'Morbi quis tortor id nulla ultrices aliquet.', 'Nullam sit amet turpis elementum ligula vehicula consequat. Morbi a ipsum. Integer a nibh.
+                                                                                                    (19, 'uno', 'Morbi quis tortor id nulla ultrices aliquet.', 'Nullam sit amet turpis elementum ligula vehicula consequat. Morbi a ipsum. Integer a nibh.
 
 #yellow', 'Jesus', 'Peri', '2021-06-18 20:56:37', '2021-07-05 18:44:15'),
-                                                                                                    ('uno', 'In sagittis dui vel nisl.', 'Aenean fermentum. Donec ut mauris eget massa tempor convallis. Nulla neque libero, convallis eget, eleifend luctus, ultricies eu, nibh.
+                                                                                                    (20, 'uno', 'In sagittis dui vel nisl.', 'Aenean fermentum. Donec ut mauris eget massa tempor convallis. Nulla neque libero, convallis eget, eleifend luctus, ultricies eu, nibh.
 
 Quisque id justo sit amet sapien dignissim vestibulum. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Nulla dapibus dolor vel est. Donec odio justo, sollicitudin ut, suscipit a, feugiat et, eros.
 
 #orange', 'Abbot', 'Carolann', '2021-06-16 12:20:50', '2021-01-26 02:34:46'),
-                                                                                                    ('uno', 'Integer non velit.', 'Quisque porta volutpat erat. Quisque erat eros, viverra eget, congue eget, semper rutrum, nulla. Nunc purus.
+                                                                                                    (21, 'uno', 'Integer non velit.', 'Quisque porta volutpat erat. Quisque erat eros, viverra eget, congue eget, semper rutrum, nulla. Nunc purus.
 
 Phasellus in felis. Donec semper sapien a libero. Nam dui.
 
 #fuscia', 'Shae', 'Rhody', '2021-01-14 23:22:59', '2022-01-31 12:02:00'),
-                                                                                                    ('uno', 'Quisque id justo sit amet sapien dignissim vestibulum.', 'Aenean lectus. Pellentesque eget nunc. Donec quis orci eget orci vehicula condimentum.
+                                                                                                    (22, 'uno', 'Quisque id justo sit amet sapien dignissim vestibulum.', 'Aenean lectus. Pellentesque eget nunc. Donec quis orci eget orci vehicula condimentum.
 
 Curabitur in libero ut massa volutpat convallis. Morbi odio odio, elementum eu, interdum eu, tincidunt in, leo. Maecenas pulvinar lobortis est.
 
 #puce', 'Dominik', 'Enos', '2021-12-17 17:42:09', '2021-06-28 19:55:49'),
-                                                                                                    ('uno', 'Nullam varius.', 'Cum sociis natoque penatibus et magnis dis parturient montes, nascetur ridiculus mus. Vivamus vestibulum sagittis sapien. Cum sociis natoque penatibus et magnis dis parturient montes, nascetur ridiculus mus.
+                                                                                                    (23, 'uno', 'Nullam varius.', 'Cum sociis natoque penatibus et magnis dis parturient montes, nascetur ridiculus mus. Vivamus vestibulum sagittis sapien. Cum sociis natoque penatibus et magnis dis parturient montes, nascetur ridiculus mus.
 
 Etiam vel augue. Vestibulum rutrum rutrum neque. Aenean auctor gravida sem.
 
 Praesent id massa id nisl venenatis lacinia. Aenean sit amet justo. Morbi ut odio.', 'Sheila-kathryn', 'Lil', '2021-06-11 13:47:12', '2021-11-30 13:45:21'),
-                                                                                                    ('uno', 'Sed ante.', 'Integer ac leo. Pellentesque ultrices mattis odio. Donec vitae nisi.
+                                                                                                    (24, 'uno', 'Sed ante.', 'Integer ac leo. Pellentesque ultrices mattis odio. Donec vitae nisi.
 
 Nam ultrices, libero non mattis pulvinar, nulla pede ullamcorper augue, a suscipit nulla elit ac nulla. Sed vel enim sit amet nunc viverra dapibus. Nulla suscipit ligula in lacus.
 
 Curabitur at ipsum ac tellus semper interdum. Mauris ullamcorper purus sit amet nulla. Quisque arcu libero, rutrum ac, lobortis vel, dapibus at, diam.
 
 #teal', 'Moina', 'Coletta', '2021-09-01 00:39:21', '2021-06-20 13:09:41'),
-                                                                                                    ('uno', 'Morbi non lectus.', 'Nullam sit amet turpis elementum ligula vehicula consequat. Morbi a ipsum. Integer a nibh.
+                                                                                                    (25, 'uno', 'Morbi non lectus.', 'Nullam sit amet turpis elementum ligula vehicula consequat. Morbi a ipsum. Integer a nibh.
 
 In quis justo. Maecenas rhoncus aliquam lacus. Morbi quis tortor id nulla ultrices aliquet.
 
 Maecenas leo odio, condimentum id, luctus nec, molestie sed, justo. Pellentesque viverra pede ac diam. Cras pellentesque volutpat dui.
 
 #fuscia', 'Niel', 'Alexio', '2021-04-13 02:59:34', '2021-01-26 00:43:20'),
-                                                                                                    ('uno', 'Quisque erat eros, viverra eget, congue eget, semper rutrum, nulla.', 'Curabitur in libero ut massa volutpat convallis. Morbi odio odio, elementum eu, interdum eu, tincidunt in, leo. Maecenas pulvinar lobortis est.
+                                                                                                    (26, 'uno', 'Quisque erat eros, viverra eget, congue eget, semper rutrum, nulla.', 'Curabitur in libero ut massa volutpat convallis. Morbi odio odio, elementum eu, interdum eu, tincidunt in, leo. Maecenas pulvinar lobortis est.
 
 #maroon', 'Gannie', 'Alicea', '2021-05-18 21:27:32', '2021-04-26 23:42:00'),
-                                                                                                    ('uno', 'Lorem ipsum dolor sit amet, consectetuer adipiscing elit.', 'Duis bibendum. Morbi non quam nec dui luctus rutrum. Nulla tellus.
+                                                                                                    (27, 'uno', 'Lorem ipsum dolor sit amet, consectetuer adipiscing elit.', 'Duis bibendum. Morbi non quam nec dui luctus rutrum. Nulla tellus.
 
 In sagittis dui vel nisl. Duis ac nibh. Fusce lacus purus, aliquet at, feugiat non, pretium quis, lectus.
 
 Suspendisse potenti. In eleifend quam a odio. In hac habitasse platea dictumst.
 
 #teal', 'Burg', 'Saudra', '2022-01-09 16:49:14', '2021-01-30 05:24:22'),
-                                                                                                    ('uno', 'Nulla justo.', 'Maecenas leo odio, condimentum id, luctus nec, molestie sed, justo. Pellentesque viverra pede ac diam. Cras pellentesque volutpat dui.
+                                                                                                    (28, 'uno', 'Nulla justo.', 'Maecenas leo odio, condimentum id, luctus nec, molestie sed, justo. Pellentesque viverra pede ac diam. Cras pellentesque volutpat dui.
 
 Maecenas tristique, est et tempus semper, est quam pharetra magna, ac consequat metus sapien ut nunc. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Mauris viverra diam vitae quam. Suspendisse potenti.
 
 Nullam porttitor lacus at turpis. Donec posuere metus vitae ipsum. Aliquam non mauris.
 
 #turquoise', 'Monah', 'Alexandro', '2021-08-25 08:42:32', '2021-06-24 17:50:44'),
-                                                                                                    ('uno', 'Pellentesque viverra pede ac diam.', 'Cum sociis natoque penatibus et magnis dis parturient montes, nascetur ridiculus mus. Vivamus vestibulum sagittis sapien. Cum sociis natoque penatibus et magnis dis parturient montes, nascetur ridiculus mus.
+                                                                                                    (29, 'uno', 'Pellentesque viverra pede ac diam.', 'Cum sociis natoque penatibus et magnis dis parturient montes, nascetur ridiculus mus. Vivamus vestibulum sagittis sapien. Cum sociis natoque penatibus et magnis dis parturient montes, nascetur ridiculus mus.
 
 #fuscia', 'Tadeas', 'Lynnelle', '2021-04-16 16:05:00', '2021-11-18 17:42:45'),
-                                                                                                    ('uno', 'Curabitur gravida nisi at nibh.', 'Quisque porta volutpat erat. Quisque erat eros, viverra eget, congue eget, semper rutrum, nulla. Nunc purus.', 'Clim', 'Carin', '2021-11-14 22:48:52', '2021-01-15 04:11:23'),
-                                                                                                    ('uno', 'Duis aliquam convallis nunc.', 'Duis consequat dui nec nisi volutpat eleifend. Donec ut dolor. Morbi vel lectus in quam fringilla rhoncus.
+                                                                                                    (30, 'uno', 'Curabitur gravida nisi at nibh.', 'Quisque porta volutpat erat. Quisque erat eros, viverra eget, congue eget, semper rutrum, nulla. Nunc purus.', 'Clim', 'Carin', '2021-11-14 22:48:52', '2021-01-15 04:11:23'),
+                                                                                                    (31, 'uno', 'Duis aliquam convallis nunc.', 'Duis consequat dui nec nisi volutpat eleifend. Donec ut dolor. Morbi vel lectus in quam fringilla rhoncus.
 
 Mauris enim leo, rhoncus sed, vestibulum sit amet, cursus id, turpis. Integer aliquet, massa id lobortis convallis, tortor risus dapibus augue, vel accumsan tellus nisi eu orci. Mauris lacinia sapien quis libero.
 
 #blue', 'Vonnie', 'Amery', '2021-07-07 06:30:56', '2021-06-21 07:33:19'),
-                                                                                                    ('uno', 'Aliquam augue quam, sollicitudin vitae, consectetuer eget, rutrum at, lorem.', 'Proin leo odio, porttitor id, consequat in, consequat ut, nulla. Sed accumsan felis. Ut at dolor quis odio consequat varius.
+                                                                                                    (32, 'uno', 'Aliquam augue quam, sollicitudin vitae, consectetuer eget, rutrum at, lorem.', 'Proin leo odio, porttitor id, consequat in, consequat ut, nulla. Sed accumsan felis. Ut at dolor quis odio consequat varius.
 
 Integer ac leo. Pellentesque ultrices mattis odio. Donec vitae nisi.
 
 #yellow', 'Billi', 'Laure', '2021-10-22 11:07:01', '2022-01-24 21:15:02'),
-                                                                                                    ('uno', 'Donec semper sapien a libero.', 'In hac habitasse platea dictumst. Etiam faucibus cursus urna. Ut tellus.
+                                                                                                    (33, 'uno', 'Donec semper sapien a libero.', 'In hac habitasse platea dictumst. Etiam faucibus cursus urna. Ut tellus.
 
 #pink', 'Terese', 'Dalli', '2021-07-04 02:06:12', '2021-10-27 03:27:56'),
-                                                                                                    ('uno', 'Phasellus in felis.', 'Fusce posuere felis sed lacus. Morbi sem mauris, laoreet ut, rhoncus aliquet, pulvinar sed, nisl. Nunc rhoncus dui vel sem.
+                                                                                                    (34, 'uno', 'Phasellus in felis.', 'Fusce posuere felis sed lacus. Morbi sem mauris, laoreet ut, rhoncus aliquet, pulvinar sed, nisl. Nunc rhoncus dui vel sem.
 
 Sed sagittis. Nam congue, risus semper porta volutpat, quam pede lobortis ligula, sit amet eleifend pede libero quis orci. Nullam molestie nibh in lectus.
 
 #goldenrod', 'Arlen', 'Francoise', '2021-03-06 10:32:19', '2021-09-16 12:49:52'),
-                                                                                                    ('uno', 'Etiam vel augue.', 'In sagittis dui vel nisl. Duis ac nibh. Fusce lacus purus, aliquet at, feugiat non, pretium quis, lectus.
+                                                                                                    (35, 'uno', 'Etiam vel augue.', 'In sagittis dui vel nisl. Duis ac nibh. Fusce lacus purus, aliquet at, feugiat non, pretium quis, lectus.
 
 Suspendisse potenti. In eleifend quam a odio. In hac habitasse platea dictumst.
 
 #blue', 'Roderich', 'Daphna', '2021-07-29 05:37:58', '2021-09-09 14:57:16'),
-                                                                                                    ('uno', 'In hac habitasse platea dictumst.', 'Sed sagittis. Nam congue, risus semper porta volutpat, quam pede lobortis ligula, sit amet eleifend pede libero quis orci. Nullam molestie nibh in lectus.
+                                                                                                    (36, 'uno', 'In hac habitasse platea dictumst.', 'Sed sagittis. Nam congue, risus semper porta volutpat, quam pede lobortis ligula, sit amet eleifend pede libero quis orci. Nullam molestie nibh in lectus.
 
 Pellentesque at nulla. Suspendisse potenti. Cras in purus eu magna vulputate luctus.', 'Jeremy', 'Allx', '2021-03-29 02:31:37', '2021-10-04 04:51:02'),
-                                                                                                    ('uno', 'Nunc purus.', 'Proin leo odio, porttitor id, consequat in, consequat ut, nulla. Sed accumsan felis. Ut at dolor quis odio consequat varius.
+                                                                                                    (37, 'uno', 'Nunc purus.', 'Proin leo odio, porttitor id, consequat in, consequat ut, nulla. Sed accumsan felis. Ut at dolor quis odio consequat varius.
 
 #purple', 'Neely', 'Hubey', '2021-12-09 23:08:51', '2022-01-19 22:52:00'),
-                                                                                                    ('uno', 'Duis bibendum, felis sed interdum venenatis, turpis enim blandit mi, in porttitor pede justo eu massa.', 'Fusce consequat. Nulla nisl. Nunc nisl.
+                                                                                                    (38, 'uno', 'Duis bibendum, felis sed interdum venenatis, turpis enim blandit mi, in porttitor pede justo eu massa.', 'Fusce consequat. Nulla nisl. Nunc nisl.
 
 Duis bibendum, felis sed interdum venenatis, turpis enim blandit mi, in porttitor pede justo eu massa. Donec dapibus. Duis at velit eu est congue elementum.
 
 #green', 'Kasper', 'Nealy', '2021-01-06 11:57:12', '2021-09-22 23:51:12'),
-                                                                                                    ('uno', 'Curabitur at ipsum ac tellus semper interdum.', 'Nulla ut erat id mauris vulputate elementum. Nullam varius. Nulla facilisi.
+                                                                                                    (39, 'uno', 'Curabitur at ipsum ac tellus semper interdum.', 'Nulla ut erat id mauris vulputate elementum. Nullam varius. Nulla facilisi.
 
 Cras non velit nec nisi vulputate nonummy. Maecenas tincidunt lacus at velit. Vivamus vel nulla eget eros elementum pellentesque.
 
 Quisque porta volutpat erat. Quisque erat eros, viverra eget, congue eget, semper rutrum, nulla. Nunc purus.', 'Herminia', 'Alexandra', '2022-01-24 16:01:31', '2021-09-04 09:45:28'),
-                                                                                                    ('uno', 'Morbi non lectus.', 'Proin eu mi. Nulla ac enim. In tempor, turpis nec euismod scelerisque, quam turpis adipiscing lorem, vitae mattis nibh ligula nec sem.
+                                                                                                    (40, 'uno', 'Morbi non lectus.', 'Proin eu mi. Nulla ac enim. In tempor, turpis nec euismod scelerisque, quam turpis adipiscing lorem, vitae mattis nibh ligula nec sem.
 
 Duis aliquam convallis nunc. Proin at turpis a pede posuere nonummy. Integer non velit.
 
 #turquoise', 'Dionne', 'Arvy', '2021-04-07 19:45:14', '2021-05-04 04:31:17'),
-                                                                                                    ('uno', 'Morbi vestibulum, velit id pretium iaculis, diam erat fermentum justo, nec condimentum neque sapien placerat ante.', 'Praesent blandit. Nam nulla. Integer pede justo, lacinia eget, tincidunt eget, tempus vel, pede.', 'Armin', 'Hetti', '2021-12-13 04:47:57', '2021-11-21 10:40:03'),
-                                                                                                    ('uno', 'Quisque erat eros, viverra eget, congue eget, semper rutrum, nulla.', 'Lorem ipsum dolor sit amet, consectetuer adipiscing elit. Proin risus. Praesent lectus.
+                                                                                                    (41, 'uno', 'Morbi vestibulum, velit id pretium iaculis, diam erat fermentum justo, nec condimentum neque sapien placerat ante.', 'Praesent blandit. Nam nulla. Integer pede justo, lacinia eget, tincidunt eget, tempus vel, pede.', 'Armin', 'Hetti', '2021-12-13 04:47:57', '2021-11-21 10:40:03'),
+                                                                                                    (42, 'uno', 'Quisque erat eros, viverra eget, congue eget, semper rutrum, nulla.', 'Lorem ipsum dolor sit amet, consectetuer adipiscing elit. Proin risus. Praesent lectus.
 
 #fuscia', 'Eamon', 'Alberta', '2021-01-14 18:42:07', '2021-08-08 01:49:02'),
-                                                                                                    ('uno', 'Vestibulum quam sapien, varius ut, blandit non, interdum in, ante.', 'In sagittis dui vel nisl. Duis ac nibh. Fusce lacus purus, aliquet at, feugiat non, pretium quis, lectus.
+                                                                                                    (43, 'uno', 'Vestibulum quam sapien, varius ut, blandit non, interdum in, ante.', 'In sagittis dui vel nisl. Duis ac nibh. Fusce lacus purus, aliquet at, feugiat non, pretium quis, lectus.
 
 Suspendisse potenti. In eleifend quam a odio. In hac habitasse platea dictumst.
 
 Maecenas ut massa quis augue luctus tincidunt. Nulla mollis molestie lorem. Quisque ut erat.
 
 #violet', 'Udale', 'Steffane', '2021-01-09 05:17:28', '2022-01-07 13:29:29'),
-                                                                                                    ('uno', 'Ut tellus.', 'Aenean lectus. Pellentesque eget nunc. Donec quis orci eget orci vehicula condimentum.
+                                                                                                    (44, 'uno', 'Ut tellus.', 'Aenean lectus. Pellentesque eget nunc. Donec quis orci eget orci vehicula condimentum.
 
 Curabitur in libero ut massa volutpat convallis. Morbi odio odio, elementum eu, interdum eu, tincidunt in, leo. Maecenas pulvinar lobortis est.
 
 Phasellus sit amet erat. Nulla tempus. Vivamus in felis eu sapien cursus vestibulum.', 'Jackie', 'Emelda', '2021-11-20 09:06:53', '2021-06-29 21:11:43'),
-                                                                                                    ('uno', 'Lorem ipsum dolor sit amet, consectetuer adipiscing elit.', 'Phasellus in felis. Donec semper sapien a libero. Nam dui.
+                                                                                                    (45, 'uno', 'Lorem ipsum dolor sit amet, consectetuer adipiscing elit.', 'Phasellus in felis. Donec semper sapien a libero. Nam dui.
 
 #red #white', 'Judye', 'Hulda', '2022-01-31 02:12:17', '2021-11-13 04:25:33'),
-                                                                                                    ('uno', 'Donec quis orci eget orci vehicula condimentum.', 'Vestibulum ac est lacinia nisi venenatis tristique. Fusce congue, diam id ornare imperdiet, sapien urna pretium nisl, ut volutpat sapien arcu sed augue. Aliquam erat volutpat.
+                                                                                                    (46, 'uno', 'Donec quis orci eget orci vehicula condimentum.', 'Vestibulum ac est lacinia nisi venenatis tristique. Fusce congue, diam id ornare imperdiet, sapien urna pretium nisl, ut volutpat sapien arcu sed augue. Aliquam erat volutpat.
 
 In congue. Etiam justo. Etiam pretium iaculis justo.', 'Hana', 'Anabel', '2021-05-19 15:38:50', '2021-09-18 12:45:53'),
-                                                                                                    ('uno', 'Pellentesque eget nunc.', 'Nullam porttitor lacus at turpis. Donec posuere metus vitae ipsum. Aliquam non mauris.
+                                                                                                    (47, 'uno', 'Pellentesque eget nunc.', 'Nullam porttitor lacus at turpis. Donec posuere metus vitae ipsum. Aliquam non mauris.
 
 #purple', 'Gil', 'Gerri', '2021-07-13 02:04:06', '2021-04-28 03:43:55'),
-                                                                                                    ('uno', 'Nam dui.', 'Phasellus in felis. Donec semper sapien a libero. Nam dui.
+                                                                                                    (48, 'uno', 'Nam dui.', 'Phasellus in felis. Donec semper sapien a libero. Nam dui.
 
 #crimson', 'Peyton', 'Leena', '2021-01-09 14:46:57', '2021-10-20 07:05:55'),
-                                                                                                    ('uno', 'Morbi a ipsum.', 'In hac habitasse platea dictumst. Etiam faucibus cursus urna. Ut tellus.
+                                                                                                    (49, 'uno', 'Morbi a ipsum.', 'In hac habitasse platea dictumst. Etiam faucibus cursus urna. Ut tellus.
 
 Nulla ut erat id mauris vulputate elementum. Nullam varius. Nulla facilisi.
 
 Cras non velit nec nisi vulputate nonummy. Maecenas tincidunt lacus at velit. Vivamus vel nulla eget eros elementum pellentesque.
 
 #indigo', 'Pepillo', 'Bride', '2021-07-23 15:14:41', '2021-07-29 20:10:02'),
-                                                                                                    ('uno', 'Aenean auctor gravida sem.', 'Fusce posuere felis sed lacus. Morbi sem mauris, laoreet ut, rhoncus aliquet, pulvinar sed, nisl. Nunc rhoncus dui vel sem.
+                                                                                                    (50, 'uno', 'Aenean auctor gravida sem.', 'Fusce posuere felis sed lacus. Morbi sem mauris, laoreet ut, rhoncus aliquet, pulvinar sed, nisl. Nunc rhoncus dui vel sem.
 
 #khaki', 'Tull', 'Tracee', '2021-03-01 23:36:57', '2021-04-20 05:54:22'),
-                                                                                                    ('uno', 'Morbi quis tortor id nulla ultrices aliquet.', 'In hac habitasse platea dictumst. Morbi vestibulum, velit id pretium iaculis, diam erat fermentum justo, nec condimentum neque sapien placerat ante. Nulla justo.
+                                                                                                    (51, 'uno', 'Morbi quis tortor id nulla ultrices aliquet.', 'In hac habitasse platea dictumst. Morbi vestibulum, velit id pretium iaculis, diam erat fermentum justo, nec condimentum neque sapien placerat ante. Nulla justo.
 
 Aliquam quis turpis eget elit sodales scelerisque. Mauris sit amet eros. Suspendisse accumsan tortor quis turpis.', 'Gregorius', 'Marlane', '2021-08-16 16:20:12', '2021-09-28 15:21:22'),
-                                                                                                    ('uno', 'Nulla nisl.', 'Duis aliquam convallis nunc. Proin at turpis a pede posuere nonummy. Integer non velit.
+                                                                                                    (52, 'uno', 'Nulla nisl.', 'Duis aliquam convallis nunc. Proin at turpis a pede posuere nonummy. Integer non velit.
 
 #turquoise', 'Cindi', 'Cary', '2021-09-29 02:56:11', '2021-04-26 00:16:31'),
-                                                                                                    ('uno', 'Maecenas tristique, est et tempus semper, est quam pharetra magna, ac consequat metus sapien ut nunc.', 'Curabitur gravida nisi at nibh. In hac habitasse platea dictumst. Aliquam augue quam, sollicitudin vitae, consectetuer eget, rutrum at, lorem.
+                                                                                                    (53, 'uno', 'Maecenas tristique, est et tempus semper, est quam pharetra magna, ac consequat metus sapien ut nunc.', 'Curabitur gravida nisi at nibh. In hac habitasse platea dictumst. Aliquam augue quam, sollicitudin vitae, consectetuer eget, rutrum at, lorem.
 
 Integer tincidunt ante vel ipsum. Praesent blandit lacinia erat. Vestibulum sed magna at nunc commodo placerat.', 'Rachel', 'Maurise', '2021-11-05 23:17:06', '2021-06-02 11:12:17'),
-                                                                                                    ('uno', 'Morbi non quam nec dui luctus rutrum.', 'Morbi porttitor lorem id ligula. Suspendisse ornare consequat lectus. In est risus, auctor sed, tristique in, tempus sit amet, sem.
+                                                                                                    (54, 'uno', 'Morbi non quam nec dui luctus rutrum.', 'Morbi porttitor lorem id ligula. Suspendisse ornare consequat lectus. In est risus, auctor sed, tristique in, tempus sit amet, sem.
 
 #pink', 'Muriel', 'Ki', '2021-06-29 18:05:20', '2021-11-14 19:30:51'),
-                                                                                                    ('uno', 'Phasellus in felis.', 'Curabitur gravida nisi at nibh. In hac habitasse platea dictumst. Aliquam augue quam, sollicitudin vitae, consectetuer eget, rutrum at, lorem.
+                                                                                                    (55, 'uno', 'Phasellus in felis.', 'Curabitur gravida nisi at nibh. In hac habitasse platea dictumst. Aliquam augue quam, sollicitudin vitae, consectetuer eget, rutrum at, lorem.
 
 Integer tincidunt ante vel ipsum. Praesent blandit lacinia erat. Vestibulum sed magna at nunc commodo placerat.
 
 Praesent blandit. Nam nulla. Integer pede justo, lacinia eget, tincidunt eget, tempus vel, pede.
 
 #orange', 'Emanuele', 'Frank', '2021-01-13 10:45:47', '2022-01-07 02:08:42'),
-                                                                                                    ('uno', 'Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Donec pharetra, magna vestibulum aliquet ultrices, erat tortor sollicitudin mi, sit amet lobortis sapien sapien non mi.', 'Aenean fermentum. Donec ut mauris eget massa tempor convallis. Nulla neque libero, convallis eget, eleifend luctus, ultricies eu, nibh.
+                                                                                                    (56, 'uno', 'Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Donec pharetra, magna vestibulum aliquet ultrices, erat tortor sollicitudin mi, sit amet lobortis sapien sapien non mi.', 'Aenean fermentum. Donec ut mauris eget massa tempor convallis. Nulla neque libero, convallis eget, eleifend luctus, ultricies eu, nibh.
 
 Quisque id justo sit amet sapien dignissim vestibulum. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Nulla dapibus dolor vel est. Donec odio justo, sollicitudin ut, suscipit a, feugiat et, eros.', 'Arlen', 'Kelley', '2021-01-18 04:14:36', '2021-01-12 15:49:40'),
-                                                                                                    ('uno', 'Nunc nisl.', 'Duis aliquam convallis nunc. Proin at turpis a pede posuere nonummy. Integer non velit.
+                                                                                                    (57, 'uno', 'Nunc nisl.', 'Duis aliquam convallis nunc. Proin at turpis a pede posuere nonummy. Integer non velit.
 
 #orange', 'Brant', 'Rycca', '2021-10-24 18:34:37', '2021-09-24 11:55:07'),
-                                                                                                    ('uno', 'Nulla justo.', 'Morbi porttitor lorem id ligula. Suspendisse ornare consequat lectus. In est risus, auctor sed, tristique in, tempus sit amet, sem.
+                                                                                                    (58, 'uno', 'Nulla justo.', 'Morbi porttitor lorem id ligula. Suspendisse ornare consequat lectus. In est risus, auctor sed, tristique in, tempus sit amet, sem.
 
 #pink', 'Glenn', 'Isaiah', '2021-12-27 21:37:13', '2021-06-21 11:23:36'),
-                                                                                                    ('uno', 'Praesent lectus.', 'Nulla ut erat id mauris vulputate elementum. Nullam varius. Nulla facilisi.
+                                                                                                    (59, 'uno', 'Praesent lectus.', 'Nulla ut erat id mauris vulputate elementum. Nullam varius. Nulla facilisi.
 
 Cras non velit nec nisi vulputate nonummy. Maecenas tincidunt lacus at velit. Vivamus vel nulla eget eros elementum pellentesque.
 
 Quisque porta volutpat erat. Quisque erat eros, viverra eget, congue eget, semper rutrum, nulla. Nunc purus.
 
 #crimson', 'Doro', 'Adah', '2021-04-15 20:39:03', '2021-07-29 20:08:20'),
-                                                                                                    ('uno', 'Etiam pretium iaculis justo.', 'Nam ultrices, libero non mattis pulvinar, nulla pede ullamcorper augue, a suscipit nulla elit ac nulla. Sed vel enim sit amet nunc viverra dapibus. Nulla suscipit ligula in lacus.
+                                                                                                    (60, 'uno', 'Etiam pretium iaculis justo.', 'Nam ultrices, libero non mattis pulvinar, nulla pede ullamcorper augue, a suscipit nulla elit ac nulla. Sed vel enim sit amet nunc viverra dapibus. Nulla suscipit ligula in lacus.
 
 Curabitur at ipsum ac tellus semper interdum. Mauris ullamcorper purus sit amet nulla. Quisque arcu libero, rutrum ac, lobortis vel, dapibus at, diam.
 
 #crimson', 'Coletta', 'Magdalene', '2021-11-14 13:15:09', '2021-10-13 16:51:20'),
-                                                                                                    ('uno', 'Lorem ipsum dolor sit amet, consectetuer adipiscing elit.', 'Aliquam quis turpis eget elit sodales scelerisque. Mauris sit amet eros. Suspendisse accumsan tortor quis turpis.
+                                                                                                    (61, 'uno', 'Lorem ipsum dolor sit amet, consectetuer adipiscing elit.', 'Aliquam quis turpis eget elit sodales scelerisque. Mauris sit amet eros. Suspendisse accumsan tortor quis turpis.
 
 Sed ante. Vivamus tortor. Duis mattis egestas metus.
 
 #teal', 'Miltie', 'Krissy', '2021-11-29 14:30:18', '2021-06-28 06:23:31'),
-                                                                                                    ('uno', 'Fusce congue, diam id ornare imperdiet, sapien urna pretium nisl, ut volutpat sapien arcu sed augue.', 'Maecenas ut massa quis augue luctus tincidunt. Nulla mollis molestie lorem. Quisque ut erat.
+                                                                                                    (62, 'uno', 'Fusce congue, diam id ornare imperdiet, sapien urna pretium nisl, ut volutpat sapien arcu sed augue.', 'Maecenas ut massa quis augue luctus tincidunt. Nulla mollis molestie lorem. Quisque ut erat.
 
 Curabitur gravida nisi at nibh. In hac habitasse platea dictumst. Aliquam augue quam, sollicitudin vitae, consectetuer eget, rutrum at, lorem.
 
 Integer tincidunt ante vel ipsum. Praesent blandit lacinia erat. Vestibulum sed magna at nunc commodo placerat.', 'Alvan', 'Stu', '2021-02-07 15:13:30', '2021-03-20 08:42:35'),
-                                                                                                    ('uno', 'Maecenas tincidunt lacus at velit.', 'Nulla ut erat id mauris vulputate elementum. Nullam varius. Nulla facilisi.
+                                                                                                    (63, 'uno', 'Maecenas tincidunt lacus at velit.', 'Nulla ut erat id mauris vulputate elementum. Nullam varius. Nulla facilisi.
 
 #violet', 'Lurleen', 'Sly', '2021-10-12 02:16:28', '2021-03-28 22:35:10'),
-                                                                                                    ('uno', 'Integer pede justo, lacinia eget, tincidunt eget, tempus vel, pede.', 'Suspendisse potenti. In eleifend quam a odio. In hac habitasse platea dictumst.
+                                                                                                    (64, 'uno', 'Integer pede justo, lacinia eget, tincidunt eget, tempus vel, pede.', 'Suspendisse potenti. In eleifend quam a odio. In hac habitasse platea dictumst.
 
 #violet', 'Gus', 'Roy', '2021-04-30 18:14:12', '2021-08-07 12:28:47'),
-                                                                                                    ('uno', 'Nulla facilisi.', 'Aenean fermentum. Donec ut mauris eget massa tempor convallis. Nulla neque libero, convallis eget, eleifend luctus, ultricies eu, nibh.
+                                                                                                    (65, 'uno', 'Nulla facilisi.', 'Aenean fermentum. Donec ut mauris eget massa tempor convallis. Nulla neque libero, convallis eget, eleifend luctus, ultricies eu, nibh.
 
 Quisque id justo sit amet sapien dignissim vestibulum. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Nulla dapibus dolor vel est. Donec odio justo, sollicitudin ut, suscipit a, feugiat et, eros.
 
 #violet', 'Alfons', 'Meredith', '2021-11-30 09:26:07', '2021-05-25 03:28:14'),
-                                                                                                    ('uno', 'Nunc nisl.', 'Duis consequat dui nec nisi volutpat eleifend. Donec ut dolor. Morbi vel lectus in quam fringilla rhoncus.
+                                                                                                    (66, 'uno', 'Nunc nisl.', 'Duis consequat dui nec nisi volutpat eleifend. Donec ut dolor. Morbi vel lectus in quam fringilla rhoncus.
 
 Mauris enim leo, rhoncus sed, vestibulum sit amet, cursus id, turpis. Integer aliquet, massa id lobortis convallis, tortor risus dapibus augue, vel accumsan tellus nisi eu orci. Mauris lacinia sapien quis libero.
 
 Nullam sit amet turpis elementum ligula vehicula consequat. Morbi a ipsum. Integer a nibh.
 
 #turquoise', 'Alaine', 'Kaile', '2021-05-19 04:01:38', '2022-01-20 20:21:15'),
-                                                                                                    ('uno', 'Praesent blandit lacinia erat.', 'In hac habitasse platea dictumst. Morbi vestibulum, velit id pretium iaculis, diam erat fermentum justo, nec condimentum neque sapien placerat ante. Nulla justo.
+                                                                                                    (67, 'uno', 'Praesent blandit lacinia erat.', 'In hac habitasse platea dictumst. Morbi vestibulum, velit id pretium iaculis, diam erat fermentum justo, nec condimentum neque sapien placerat ante. Nulla justo.
 
 Aliquam quis turpis eget elit sodales scelerisque. Mauris sit amet eros. Suspendisse accumsan tortor quis turpis.
 
 Sed ante. Vivamus tortor. Duis mattis egestas metus.
 
 #puce', 'Bancroft', 'Brittne', '2021-11-07 20:25:38', '2021-07-15 23:44:30'),
-                                                                                                    ('uno', 'Quisque porta volutpat erat.', 'Quisque porta volutpat erat. Quisque erat eros, viverra eget, congue eget, semper rutrum, nulla. Nunc purus.
+                                                                                                    (68, 'uno', 'Quisque porta volutpat erat.', 'Quisque porta volutpat erat. Quisque erat eros, viverra eget, congue eget, semper rutrum, nulla. Nunc purus.
 
 #fuscia', 'Sibyl', 'Felicia', '2021-07-23 03:14:59', '2021-09-23 12:59:16'),
-                                                                                                    ('uno', 'In tempor, turpis nec euismod scelerisque, quam turpis adipiscing lorem, vitae mattis nibh ligula nec sem.', 'Cum sociis natoque penatibus et magnis dis parturient montes, nascetur ridiculus mus. Vivamus vestibulum sagittis sapien. Cum sociis natoque penatibus et magnis dis parturient montes, nascetur ridiculus mus.', 'Nikos', 'Brooks', '2021-05-26 23:29:09', '2021-10-30 22:20:34'),
-                                                                                                    ('uno', 'Proin eu mi.', 'In sagittis dui vel nisl. Duis ac nibh. Fusce lacus purus, aliquet at, feugiat non, pretium quis, lectus.
+                                                                                                    (69, 'uno', 'In tempor, turpis nec euismod scelerisque, quam turpis adipiscing lorem, vitae mattis nibh ligula nec sem.', 'Cum sociis natoque penatibus et magnis dis parturient montes, nascetur ridiculus mus. Vivamus vestibulum sagittis sapien. Cum sociis natoque penatibus et magnis dis parturient montes, nascetur ridiculus mus.', 'Nikos', 'Brooks', '2021-05-26 23:29:09', '2021-10-30 22:20:34'),
+                                                                                                    (70, 'uno', 'Proin eu mi.', 'In sagittis dui vel nisl. Duis ac nibh. Fusce lacus purus, aliquet at, feugiat non, pretium quis, lectus.
 
 Suspendisse potenti. In eleifend quam a odio. In hac habitasse platea dictumst.
 
 Maecenas ut massa quis augue luctus tincidunt. Nulla mollis molestie lorem. Quisque ut erat.
 
 #puce', 'Christa', 'Avrom', '2021-01-03 15:19:52', '2021-07-26 09:56:42'),
-                                                                                                    ('uno', 'Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Mauris viverra diam vitae quam.', 'Quisque porta volutpat erat. Quisque erat eros, viverra eget, congue eget, semper rutrum, nulla. Nunc purus.
+                                                                                                    (71, 'uno', 'Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Mauris viverra diam vitae quam.', 'Quisque porta volutpat erat. Quisque erat eros, viverra eget, congue eget, semper rutrum, nulla. Nunc purus.
 
 #pink', 'Kassey', 'Abbi', '2021-10-23 18:21:35', '2021-08-12 08:13:10'),
-                                                                                                    ('uno', 'Fusce posuere felis sed lacus.', 'Phasellus sit amet erat. Nulla tempus. Vivamus in felis eu sapien cursus vestibulum.
+                                                                                                    (72, 'uno', 'Fusce posuere felis sed lacus.', 'Phasellus sit amet erat. Nulla tempus. Vivamus in felis eu sapien cursus vestibulum.
 
 #fuscia', 'Thebault', 'Adi', '2021-04-23 16:56:09', '2022-01-14 06:35:51'),
-                                                                                                    ('uno', 'Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.', 'Cras non velit nec nisi vulputate nonummy. Maecenas tincidunt lacus at velit. Vivamus vel nulla eget eros elementum pellentesque.
+                                                                                                    (73, 'uno', 'Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.', 'Cras non velit nec nisi vulputate nonummy. Maecenas tincidunt lacus at velit. Vivamus vel nulla eget eros elementum pellentesque.
 
 Quisque porta volutpat erat. Quisque erat eros, viverra eget, congue eget, semper rutrum, nulla. Nunc purus.
 
 Phasellus in felis. Donec semper sapien a libero. Nam dui.
 
 #red', 'Claire', 'Alyson', '2021-06-05 04:03:52', '2021-04-21 16:51:40'),
-                                                                                                    ('uno', 'Proin eu mi.', 'Integer tincidunt ante vel ipsum. Praesent blandit lacinia erat. Vestibulum sed magna at nunc commodo placerat.
+                                                                                                    (74, 'uno', 'Proin eu mi.', 'Integer tincidunt ante vel ipsum. Praesent blandit lacinia erat. Vestibulum sed magna at nunc commodo placerat.
 
 Praesent blandit. Nam nulla. Integer pede justo, lacinia eget, tincidunt eget, tempus vel, pede.', 'Rodrick', 'Judd', '2021-09-15 04:12:40', '2021-07-16 08:11:59'),
-                                                                                                    ('uno', 'Cras in purus eu magna vulputate luctus.', 'Vestibulum quam sapien, varius ut, blandit non, interdum in, ante. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Duis faucibus accumsan odio. Curabitur convallis.
+                                                                                                    (75, 'uno', 'Cras in purus eu magna vulputate luctus.', 'Vestibulum quam sapien, varius ut, blandit non, interdum in, ante. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Duis faucibus accumsan odio. Curabitur convallis.
 
 Duis consequat dui nec nisi volutpat eleifend. Donec ut dolor. Morbi vel lectus in quam fringilla rhoncus.
 
 #turquoise', 'Heidi', 'Madlen', '2021-09-28 19:02:55', '2021-07-10 16:49:00'),
-                                                                                                    ('uno', 'Lorem ipsum dolor sit amet, consectetuer adipiscing elit.', 'Duis bibendum, felis sed interdum venenatis, turpis enim blandit mi, in porttitor pede justo eu massa. Donec dapibus. Duis at velit eu est congue elementum.
+                                                                                                    (76, 'uno', 'Lorem ipsum dolor sit amet, consectetuer adipiscing elit.', 'Duis bibendum, felis sed interdum venenatis, turpis enim blandit mi, in porttitor pede justo eu massa. Donec dapibus. Duis at velit eu est congue elementum.
 
 In hac habitasse platea dictumst. Morbi vestibulum, velit id pretium iaculis, diam erat fermentum justo, nec condimentum neque sapien placerat ante. Nulla justo.
 
 Aliquam quis turpis eget elit sodales scelerisque. Mauris sit amet eros. Suspendisse accumsan tortor quis turpis.
 
 #blue', 'Yasmeen', 'Edie', '2021-12-29 02:35:31', '2021-09-28 00:32:13'),
-                                                                                                    ('uno', 'Morbi vestibulum, velit id pretium iaculis, diam erat fermentum justo, nec condimentum neque sapien placerat ante.', 'In congue. Etiam justo. Etiam pretium iaculis justo.
+                                                                                                    (77, 'uno', 'Morbi vestibulum, velit id pretium iaculis, diam erat fermentum justo, nec condimentum neque sapien placerat ante.', 'In congue. Etiam justo. Etiam pretium iaculis justo.
 
 In hac habitasse platea dictumst. Etiam faucibus cursus urna. Ut tellus.
 
 Nulla ut erat id mauris vulputate elementum. Nullam varius. Nulla facilisi.
 
 #pink', 'Abbot', 'Nicoline', '2022-01-30 03:12:36', '2021-06-05 04:08:51'),
-                                                                                                    ('uno', 'Nulla suscipit ligula in lacus.', 'Duis aliquam convallis nunc. Proin at turpis a pede posuere nonummy. Integer non velit.
+                                                                                                    (78, 'uno', 'Nulla suscipit ligula in lacus.', 'Duis aliquam convallis nunc. Proin at turpis a pede posuere nonummy. Integer non velit.
 
 Donec diam neque, vestibulum eget, vulputate ut, ultrices vel, augue. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Donec pharetra, magna vestibulum aliquet ultrices, erat tortor sollicitudin mi, sit amet lobortis sapien sapien non mi. Integer ac neque.
 
 Duis bibendum. Morbi non quam nec dui luctus rutrum. Nulla tellus.', 'Guthry', 'Darla', '2021-05-17 21:21:38', '2021-12-25 10:06:03'),
-                                                                                                    ('uno', 'Maecenas rhoncus aliquam lacus.', 'Nam ultrices, libero non mattis pulvinar, nulla pede ullamcorper augue, a suscipit nulla elit ac nulla. Sed vel enim sit amet nunc viverra dapibus. Nulla suscipit ligula in lacus.', 'Andris', 'Leigh', '2021-02-16 03:49:50', '2021-01-23 08:55:39'),
-                                                                                                    ('uno', 'Vestibulum ac est lacinia nisi venenatis tristique.', 'Duis bibendum, felis sed interdum venenatis, turpis enim blandit mi, in porttitor pede justo eu massa. Donec dapibus. Duis at velit eu est congue elementum.
+                                                                                                    (79, 'uno', 'Maecenas rhoncus aliquam lacus.', 'Nam ultrices, libero non mattis pulvinar, nulla pede ullamcorper augue, a suscipit nulla elit ac nulla. Sed vel enim sit amet nunc viverra dapibus. Nulla suscipit ligula in lacus.', 'Andris', 'Leigh', '2021-02-16 03:49:50', '2021-01-23 08:55:39'),
+                                                                                                    (80, 'uno', 'Vestibulum ac est lacinia nisi venenatis tristique.', 'Duis bibendum, felis sed interdum venenatis, turpis enim blandit mi, in porttitor pede justo eu massa. Donec dapibus. Duis at velit eu est congue elementum.
 
 In hac habitasse platea dictumst. Morbi vestibulum, velit id pretium iaculis, diam erat fermentum justo, nec condimentum neque sapien placerat ante. Nulla justo.
 
 Aliquam quis turpis eget elit sodales scelerisque. Mauris sit amet eros. Suspendisse accumsan tortor quis turpis.
 
 #purple', 'Alika', 'Egbert', '2021-03-25 21:56:32', '2021-08-06 09:25:55'),
-                                                                                                    ('uno', 'In congue.', 'Vestibulum quam sapien, varius ut, blandit non, interdum in, ante. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Duis faucibus accumsan odio. Curabitur convallis.
+                                                                                                    (81, 'uno', 'In congue.', 'Vestibulum quam sapien, varius ut, blandit non, interdum in, ante. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Duis faucibus accumsan odio. Curabitur convallis.
 
 #violet', 'Rosaleen', 'Laurel', '2021-05-31 02:31:10', '2021-05-25 07:40:17'),
-                                                                                                    ('uno', 'Nam tristique tortor eu pede.', 'Vestibulum quam sapien, varius ut, blandit non, interdum in, ante. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Duis faucibus accumsan odio. Curabitur convallis.
+                                                                                                    (82, 'uno', 'Nam tristique tortor eu pede.', 'Vestibulum quam sapien, varius ut, blandit non, interdum in, ante. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Duis faucibus accumsan odio. Curabitur convallis.
 
 Duis consequat dui nec nisi volutpat eleifend. Donec ut dolor. Morbi vel lectus in quam fringilla rhoncus.
 
 #turquoise', 'Rosie', 'Jeddy', '2021-04-21 13:04:12', '2021-12-21 21:27:10'),
-                                                                                                    ('uno', 'In sagittis dui vel nisl.', 'Praesent id massa id nisl venenatis lacinia. Aenean sit amet justo. Morbi ut odio.
+                                                                                                    (83, 'uno', 'In sagittis dui vel nisl.', 'Praesent id massa id nisl venenatis lacinia. Aenean sit amet justo. Morbi ut odio.
 
 Cras mi pede, malesuada in, imperdiet et, commodo vulputate, justo. In blandit ultrices enim. Lorem ipsum dolor sit amet, consectetuer adipiscing elit.
 
 Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.
 
 #purple', 'Hermann', 'Dynah', '2021-08-11 15:17:07', '2021-07-26 14:59:15'),
-                                                                                                    ('uno', 'Ut tellus.', 'Fusce posuere felis sed lacus. Morbi sem mauris, laoreet ut, rhoncus aliquet, pulvinar sed, nisl. Nunc rhoncus dui vel sem.
+                                                                                                    (84, 'uno', 'Ut tellus.', 'Fusce posuere felis sed lacus. Morbi sem mauris, laoreet ut, rhoncus aliquet, pulvinar sed, nisl. Nunc rhoncus dui vel sem.
 
 Sed sagittis. Nam congue, risus semper porta volutpat, quam pede lobortis ligula, sit amet eleifend pede libero quis orci. Nullam molestie nibh in lectus.
 
 Pellentesque at nulla. Suspendisse potenti. Cras in purus eu magna vulputate luctus.
 
 #crimson', 'Blanch', 'Florinda', '2021-04-07 02:11:09', '2021-03-11 07:18:08'),
-                                                                                                    ('uno', 'Pellentesque at nulla.', 'Praesent id massa id nisl venenatis lacinia. Aenean sit amet justo. Morbi ut odio.
+                                                                                                    (85, 'uno', 'Pellentesque at nulla.', 'Praesent id massa id nisl venenatis lacinia. Aenean sit amet justo. Morbi ut odio.
 
 Cras mi pede, malesuada in, imperdiet et, commodo vulputate, justo. In blandit ultrices enim. Lorem ipsum dolor sit amet, consectetuer adipiscing elit.
 
 #teal', 'Gleda', 'Ellary', '2021-02-09 04:55:31', '2021-06-03 13:44:00'),
-                                                                                                    ('uno', 'Donec odio justo, sollicitudin ut, suscipit a, feugiat et, eros.', 'Morbi non lectus. Aliquam sit amet diam in magna bibendum imperdiet. Nullam orci pede, venenatis non, sodales sed, tincidunt eu, felis.
+                                                                                                    (86, 'uno', 'Donec odio justo, sollicitudin ut, suscipit a, feugiat et, eros.', 'Morbi non lectus. Aliquam sit amet diam in magna bibendum imperdiet. Nullam orci pede, venenatis non, sodales sed, tincidunt eu, felis.
 
 Fusce posuere felis sed lacus. Morbi sem mauris, laoreet ut, rhoncus aliquet, pulvinar sed, nisl. Nunc rhoncus dui vel sem.
 
 Sed sagittis. Nam congue, risus semper porta volutpat, quam pede lobortis ligula, sit amet eleifend pede libero quis orci. Nullam molestie nibh in lectus.
 
 #red', 'Joete', 'Tedmund', '2021-02-24 21:47:59', '2021-03-26 22:36:33'),
-                                                                                                    ('uno', 'Suspendisse potenti.', 'Vestibulum ac est lacinia nisi venenatis tristique. Fusce congue, diam id ornare imperdiet, sapien urna pretium nisl, ut volutpat sapien arcu sed augue. Aliquam erat volutpat.
+                                                                                                    (87, 'uno', 'Suspendisse potenti.', 'Vestibulum ac est lacinia nisi venenatis tristique. Fusce congue, diam id ornare imperdiet, sapien urna pretium nisl, ut volutpat sapien arcu sed augue. Aliquam erat volutpat.
 
 In congue. Etiam justo. Etiam pretium iaculis justo.
 
 In hac habitasse platea dictumst. Etiam faucibus cursus urna. Ut tellus.', 'Jamie', 'Alexa', '2021-08-06 04:32:39', '2021-02-19 12:04:36'),
-                                                                                                    ('uno', 'Nulla suscipit ligula in lacus.', 'Curabitur in libero ut massa volutpat convallis. Morbi odio odio, elementum eu, interdum eu, tincidunt in, leo. Maecenas pulvinar lobortis est.
+                                                                                                    (88, 'uno', 'Nulla suscipit ligula in lacus.', 'Curabitur in libero ut massa volutpat convallis. Morbi odio odio, elementum eu, interdum eu, tincidunt in, leo. Maecenas pulvinar lobortis est.
 
 Phasellus sit amet erat. Nulla tempus. Vivamus in felis eu sapien cursus vestibulum.
 
 #violet', 'Doris', 'Mendel', '2021-09-17 11:09:35', '2021-05-08 09:41:26'),
-                                                                                                    ('uno', 'Nulla ac enim.', 'Integer tincidunt ante vel ipsum. Praesent blandit lacinia erat. Vestibulum sed magna at nunc commodo placerat.', 'Bartie', 'Tess', '2021-11-23 16:40:31', '2021-02-14 18:25:25'),
-                                                                                                    ('uno', 'Morbi ut odio.', 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.
+                                                                                                    (89, 'uno', 'Nulla ac enim.', 'Integer tincidunt ante vel ipsum. Praesent blandit lacinia erat. Vestibulum sed magna at nunc commodo placerat.', 'Bartie', 'Tess', '2021-11-23 16:40:31', '2021-02-14 18:25:25'),
+                                                                                                    (90, 'uno', 'Morbi ut odio.', 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.
 
 #khaki', 'Sile', 'Bertram', '2021-07-05 03:55:44', '2021-04-26 06:11:20'),
-                                                                                                    ('uno', 'Proin interdum mauris non ligula pellentesque ultrices.', 'In sagittis dui vel nisl. Duis ac nibh. Fusce lacus purus, aliquet at, feugiat non, pretium quis, lectus.
+                                                                                                    (91, 'uno', 'Proin interdum mauris non ligula pellentesque ultrices.', 'In sagittis dui vel nisl. Duis ac nibh. Fusce lacus purus, aliquet at, feugiat non, pretium quis, lectus.
 
 Suspendisse potenti. In eleifend quam a odio. In hac habitasse platea dictumst.
 
 #orange', 'Stillman', 'Robinett', '2021-01-28 08:36:31', '2022-01-22 04:26:21'),
-                                                                                                    ('uno', 'Lorem ipsum dolor sit amet, consectetuer adipiscing elit.', 'Integer ac leo. Pellentesque ultrices mattis odio. Donec vitae nisi.
+                                                                                                    (92, 'uno', 'Lorem ipsum dolor sit amet, consectetuer adipiscing elit.', 'Integer ac leo. Pellentesque ultrices mattis odio. Donec vitae nisi.
 
 Nam ultrices, libero non mattis pulvinar, nulla pede ullamcorper augue, a suscipit nulla elit ac nulla. Sed vel enim sit amet nunc viverra dapibus. Nulla suscipit ligula in lacus.
 
 Curabitur at ipsum ac tellus semper interdum. Mauris ullamcorper purus sit amet nulla. Quisque arcu libero, rutrum ac, lobortis vel, dapibus at, diam.
 
 #purple', 'Teresa', 'Geordie', '2021-10-01 23:56:53', '2021-03-14 14:48:32'),
-                                                                                                    ('uno', 'Vivamus in felis eu sapien cursus vestibulum.', 'Etiam vel augue. Vestibulum rutrum rutrum neque. Aenean auctor gravida sem.
+                                                                                                    (93, 'uno', 'Vivamus in felis eu sapien cursus vestibulum.', 'Etiam vel augue. Vestibulum rutrum rutrum neque. Aenean auctor gravida sem.
 
 Praesent id massa id nisl venenatis lacinia. Aenean sit amet justo. Morbi ut odio.
 
 #turquoise', 'Silvie', 'Ely', '2021-06-25 15:27:52', '2021-07-11 22:35:10'),
-                                                                                                    ('uno', 'Sed ante.', 'Duis aliquam convallis nunc. Proin at turpis a pede posuere nonummy. Integer non velit.
+                                                                                                    (94, 'uno', 'Sed ante.', 'Duis aliquam convallis nunc. Proin at turpis a pede posuere nonummy. Integer non velit.
 
 Donec diam neque, vestibulum eget, vulputate ut, ultrices vel, augue. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Donec pharetra, magna vestibulum aliquet ultrices, erat tortor sollicitudin mi, sit amet lobortis sapien sapien non mi. Integer ac neque.
 
 Duis bibendum. Morbi non quam nec dui luctus rutrum. Nulla tellus.
 
 #turquoise', 'Marline', 'Avigdor', '2021-10-28 11:05:02', '2022-01-01 22:59:45'),
-                                                                                                    ('uno', 'Morbi non quam nec dui luctus rutrum.', 'Nullam porttitor lacus at turpis. Donec posuere metus vitae ipsum. Aliquam non mauris.
+                                                                                                    (95, 'uno', 'Morbi non quam nec dui luctus rutrum.', 'Nullam porttitor lacus at turpis. Donec posuere metus vitae ipsum. Aliquam non mauris.
 
 Morbi non lectus. Aliquam sit amet diam in magna bibendum imperdiet. Nullam orci pede, venenatis non, sodales sed, tincidunt eu, felis.
 
 #fuscia', 'Bella', 'Redd', '2021-07-25 10:58:10', '2022-01-03 06:44:01'),
-                                                                                                    ('uno', 'Donec ut mauris eget massa tempor convallis.', 'Phasellus in felis. Donec semper sapien a libero. Nam dui.
+                                                                                                    (96, 'uno', 'Donec ut mauris eget massa tempor convallis.', 'Phasellus in felis. Donec semper sapien a libero. Nam dui.
 
 #maroon', 'Rubie', 'Gallard', '2021-04-17 00:00:13', '2021-01-01 16:09:42'),
-                                                                                                    ('uno', 'Cum sociis natoque penatibus et magnis dis parturient montes, nascetur ridiculus mus.', 'In congue. Etiam justo. Etiam pretium iaculis justo.
+                                                                                                    (97, 'uno', 'Cum sociis natoque penatibus et magnis dis parturient montes, nascetur ridiculus mus.', 'In congue. Etiam justo. Etiam pretium iaculis justo.
 
 In hac habitasse platea dictumst. Etiam faucibus cursus urna. Ut tellus.
 
 Nulla ut erat id mauris vulputate elementum. Nullam varius. Nulla facilisi.
 
 #yellow', 'Meghan', 'Bone', '2021-10-01 06:58:34', '2021-08-06 07:47:53'),
-                                                                                                    ('uno', 'Integer non velit.', 'Vestibulum quam sapien, varius ut, blandit non, interdum in, ante. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Duis faucibus accumsan odio. Curabitur convallis.
+                                                                                                    (98, 'uno', 'Integer non velit.', 'Vestibulum quam sapien, varius ut, blandit non, interdum in, ante. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Duis faucibus accumsan odio. Curabitur convallis.
 
 #orange', 'Meris', 'Griffin', '2021-04-19 01:54:16', '2021-04-23 08:04:24'),
-                                                                                                    ('uno', 'Donec dapibus.', 'In congue. Etiam justo. Etiam pretium iaculis justo.
+                                                                                                    (99, 'uno', 'Donec dapibus.', 'In congue. Etiam justo. Etiam pretium iaculis justo.
 
 In hac habitasse platea dictumst. Etiam faucibus cursus urna. Ut tellus.
 
 Nulla ut erat id mauris vulputate elementum. Nullam varius. Nulla facilisi.
 
 #violet', 'Amy', 'Tann', '2021-05-06 13:30:44', '2021-12-04 03:54:16'),
-                                                                                                    ('uno', 'Duis at velit eu est congue elementum.', 'Lorem ipsum dolor sit amet, consectetuer adipiscing elit. Proin risus. Praesent lectus.
+                                                                                                    (100, 'uno', 'Duis at velit eu est congue elementum.', 'Lorem ipsum dolor sit amet, consectetuer adipiscing elit. Proin risus. Praesent lectus.
 
 Vestibulum quam sapien, varius ut, blandit non, interdum in, ante. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Duis faucibus accumsan odio. Curabitur convallis.
 
 #crimson', 'Colan', 'Anthe', '2021-11-27 23:07:19', '2021-04-21 19:58:19'),
-                                                                                                    ('uno', 'Etiam justo.', 'Vestibulum ac est lacinia nisi venenatis tristique. Fusce congue, diam id ornare imperdiet, sapien urna pretium nisl, ut volutpat sapien arcu sed augue. Aliquam erat volutpat.
+                                                                                                    (101, 'uno', 'Etiam justo.', 'Vestibulum ac est lacinia nisi venenatis tristique. Fusce congue, diam id ornare imperdiet, sapien urna pretium nisl, ut volutpat sapien arcu sed augue. Aliquam erat volutpat.
 
 In congue. Etiam justo. Etiam pretium iaculis justo.', 'Honor', 'Fayina', '2021-05-14 16:02:48', '2022-01-07 21:17:52'),
-                                                                                                    ('uno', 'Pellentesque eget nunc.', 'Sed ante. Vivamus tortor. Duis mattis egestas metus.
+                                                                                                    (102, 'uno', 'Pellentesque eget nunc.', 'Sed ante. Vivamus tortor. Duis mattis egestas metus.
 
 Aenean fermentum. Donec ut mauris eget massa tempor convallis. Nulla neque libero, convallis eget, eleifend luctus, ultricies eu, nibh.
 
 Quisque id justo sit amet sapien dignissim vestibulum. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Nulla dapibus dolor vel est. Donec odio justo, sollicitudin ut, suscipit a, feugiat et, eros.
 
 #puce', 'Brooke', 'Demetris', '2021-11-14 19:35:48', '2021-09-27 23:55:31'),
-                                                                                                    ('uno', 'Curabitur gravida nisi at nibh.', 'Duis bibendum. Morbi non quam nec dui luctus rutrum. Nulla tellus.
+                                                                                                    (103, 'uno', 'Curabitur gravida nisi at nibh.', 'Duis bibendum. Morbi non quam nec dui luctus rutrum. Nulla tellus.
 
 In sagittis dui vel nisl. Duis ac nibh. Fusce lacus purus, aliquet at, feugiat non, pretium quis, lectus.
 
 #red', 'Regina', 'Son', '2021-09-05 08:18:57', '2021-08-29 18:59:01'),
-                                                                                                    ('uno', 'Sed sagittis.', 'Morbi non lectus. Aliquam sit amet diam in magna bibendum imperdiet. Nullam orci pede, venenatis non, sodales sed, tincidunt eu, felis.
+                                                                                                    (104, 'uno', 'Sed sagittis.', 'Morbi non lectus. Aliquam sit amet diam in magna bibendum imperdiet. Nullam orci pede, venenatis non, sodales sed, tincidunt eu, felis.
 
 Fusce posuere felis sed lacus. Morbi sem mauris, laoreet ut, rhoncus aliquet, pulvinar sed, nisl. Nunc rhoncus dui vel sem.
 
 Sed sagittis. Nam congue, risus semper porta volutpat, quam pede lobortis ligula, sit amet eleifend pede libero quis orci. Nullam molestie nibh in lectus.
 
 #khaki', 'Matelda', 'Alla', '2021-09-08 21:13:52', '2021-07-02 08:49:38'),
-                                                                                                    ('uno', 'Morbi porttitor lorem id ligula.', 'Sed sagittis. Nam congue, risus semper porta volutpat, quam pede lobortis ligula, sit amet eleifend pede libero quis orci. Nullam molestie nibh in lectus.
+                                                                                                    (105, 'uno', 'Morbi porttitor lorem id ligula.', 'Sed sagittis. Nam congue, risus semper porta volutpat, quam pede lobortis ligula, sit amet eleifend pede libero quis orci. Nullam molestie nibh in lectus.
 
 #turquoise', 'Brock', 'Ludwig', '2021-06-26 11:28:38', '2021-07-24 17:24:01'),
-                                                                                                    ('uno', 'Fusce consequat.', 'Quisque porta volutpat erat. Quisque erat eros, viverra eget, congue eget, semper rutrum, nulla. Nunc purus.
+                                                                                                    (106, 'uno', 'Fusce consequat.', 'Quisque porta volutpat erat. Quisque erat eros, viverra eget, congue eget, semper rutrum, nulla. Nunc purus.
 
 #red', 'Kat', 'Zelig', '2021-09-24 11:37:56', '2021-07-12 13:57:43'),
-                                                                                                    ('uno', 'Maecenas ut massa quis augue luctus tincidunt.', 'Nulla ut erat id mauris vulputate elementum. Nullam varius. Nulla facilisi.
+                                                                                                    (107, 'uno', 'Maecenas ut massa quis augue luctus tincidunt.', 'Nulla ut erat id mauris vulputate elementum. Nullam varius. Nulla facilisi.
 
 Cras non velit nec nisi vulputate nonummy. Maecenas tincidunt lacus at velit. Vivamus vel nulla eget eros elementum pellentesque.
 
 Quisque porta volutpat erat. Quisque erat eros, viverra eget, congue eget, semper rutrum, nulla. Nunc purus.
 
 #blue', 'Thaddus', 'Merna', '2021-05-23 13:06:03', '2021-03-24 08:32:10'),
-                                                                                                    ('uno', 'Pellentesque viverra pede ac diam.', 'Duis bibendum, felis sed interdum venenatis, turpis enim blandit mi, in porttitor pede justo eu massa. Donec dapibus. Duis at velit eu est congue elementum.
+                                                                                                    (108, 'uno', 'Pellentesque viverra pede ac diam.', 'Duis bibendum, felis sed interdum venenatis, turpis enim blandit mi, in porttitor pede justo eu massa. Donec dapibus. Duis at velit eu est congue elementum.
 
 In hac habitasse platea dictumst. Morbi vestibulum, velit id pretium iaculis, diam erat fermentum justo, nec condimentum neque sapien placerat ante. Nulla justo.
 
 Aliquam quis turpis eget elit sodales scelerisque. Mauris sit amet eros. Suspendisse accumsan tortor quis turpis.', 'Ronnie', 'Brittaney', '2021-12-26 19:23:32', '2021-09-05 19:27:21'),
-                                                                                                    ('uno', 'In quis justo.', 'Integer ac leo. Pellentesque ultrices mattis odio. Donec vitae nisi.
+                                                                                                    (109, 'uno', 'In quis justo.', 'Integer ac leo. Pellentesque ultrices mattis odio. Donec vitae nisi.
 
 Nam ultrices, libero non mattis pulvinar, nulla pede ullamcorper augue, a suscipit nulla elit ac nulla. Sed vel enim sit amet nunc viverra dapibus. Nulla suscipit ligula in lacus.
 
 Curabitur at ipsum ac tellus semper interdum. Mauris ullamcorper purus sit amet nulla. Quisque arcu libero, rutrum ac, lobortis vel, dapibus at, diam.', 'Byron', 'Randy', '2021-08-18 13:40:37', '2021-12-28 08:34:19'),
-                                                                                                    ('uno', 'Fusce consequat.', 'Lorem ipsum dolor sit amet, consectetuer adipiscing elit. Proin risus. Praesent lectus.
+                                                                                                    (110, 'uno', 'Fusce consequat.', 'Lorem ipsum dolor sit amet, consectetuer adipiscing elit. Proin risus. Praesent lectus.
 
 Vestibulum quam sapien, varius ut, blandit non, interdum in, ante. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Duis faucibus accumsan odio. Curabitur convallis.', 'Neron', 'Christa', '2021-05-24 18:32:45', '2021-01-01 16:15:57'),
-                                                                                                    ('uno', 'Lorem ipsum dolor sit amet, consectetuer adipiscing elit.', 'Donec diam neque, vestibulum eget, vulputate ut, ultrices vel, augue. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Donec pharetra, magna vestibulum aliquet ultrices, erat tortor sollicitudin mi, sit amet lobortis sapien sapien non mi. Integer ac neque.
+                                                                                                    (111, 'uno', 'Lorem ipsum dolor sit amet, consectetuer adipiscing elit.', 'Donec diam neque, vestibulum eget, vulputate ut, ultrices vel, augue. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Donec pharetra, magna vestibulum aliquet ultrices, erat tortor sollicitudin mi, sit amet lobortis sapien sapien non mi. Integer ac neque.
 
 Duis bibendum. Morbi non quam nec dui luctus rutrum. Nulla tellus.
 
 In sagittis dui vel nisl. Duis ac nibh. Fusce lacus purus, aliquet at, feugiat non, pretium quis, lectus.
 
 #yellow', 'Merilee', 'Dolli', '2021-04-20 00:10:42', '2021-03-27 16:42:26'),
-                                                                                                    ('uno', 'Proin at turpis a pede posuere nonummy.', 'Vestibulum quam sapien, varius ut, blandit non, interdum in, ante. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Duis faucibus accumsan odio. Curabitur convallis.
+                                                                                                    (112, 'uno', 'Proin at turpis a pede posuere nonummy.', 'Vestibulum quam sapien, varius ut, blandit non, interdum in, ante. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Duis faucibus accumsan odio. Curabitur convallis.
 
 Duis consequat dui nec nisi volutpat eleifend. Donec ut dolor. Morbi vel lectus in quam fringilla rhoncus.
 
 Mauris enim leo, rhoncus sed, vestibulum sit amet, cursus id, turpis. Integer aliquet, massa id lobortis convallis, tortor risus dapibus augue, vel accumsan tellus nisi eu orci. Mauris lacinia sapien quis libero.
 
 #indigo', 'Caron', 'Valle', '2021-11-23 23:38:55', '2021-03-23 16:50:35'),
-                                                                                                    ('uno', 'Quisque arcu libero, rutrum ac, lobortis vel, dapibus at, diam.', 'Morbi porttitor lorem id ligula. Suspendisse ornare consequat lectus. In est risus, auctor sed, tristique in, tempus sit amet, sem.
+                                                                                                    (113, 'uno', 'Quisque arcu libero, rutrum ac, lobortis vel, dapibus at, diam.', 'Morbi porttitor lorem id ligula. Suspendisse ornare consequat lectus. In est risus, auctor sed, tristique in, tempus sit amet, sem.
 
 #mauv', 'Delbert', 'Cammy', '2021-06-03 08:38:23', '2021-07-16 21:36:19'),
-                                                                                                    ('uno', 'Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Nulla dapibus dolor vel est.', 'Maecenas leo odio, condimentum id, luctus nec, molestie sed, justo. Pellentesque viverra pede ac diam. Cras pellentesque volutpat dui.
+                                                                                                    (114, 'uno', 'Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Nulla dapibus dolor vel est.', 'Maecenas leo odio, condimentum id, luctus nec, molestie sed, justo. Pellentesque viverra pede ac diam. Cras pellentesque volutpat dui.
 
 Maecenas tristique, est et tempus semper, est quam pharetra magna, ac consequat metus sapien ut nunc. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Mauris viverra diam vitae quam. Suspendisse potenti.
 
 Nullam porttitor lacus at turpis. Donec posuere metus vitae ipsum. Aliquam non mauris.
 
 #crimson', 'Konstantin', 'Sarine', '2021-12-21 13:46:23', '2021-12-27 03:46:03'),
-                                                                                                    ('uno', 'Nunc purus.', 'Lorem ipsum dolor sit amet, consectetuer adipiscing elit. Proin risus. Praesent lectus.
+                                                                                                    (115, 'uno', 'Nunc purus.', 'Lorem ipsum dolor sit amet, consectetuer adipiscing elit. Proin risus. Praesent lectus.
 
 Vestibulum quam sapien, varius ut, blandit non, interdum in, ante. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Duis faucibus accumsan odio. Curabitur convallis.', 'Krysta', 'Euphemia', '2021-05-03 23:53:27', '2021-04-16 15:39:57'),
-                                                                                                    ('uno', 'Etiam pretium iaculis justo.', 'Morbi non lectus. Aliquam sit amet diam in magna bibendum imperdiet. Nullam orci pede, venenatis non, sodales sed, tincidunt eu, felis.
+                                                                                                    (116, 'uno', 'Etiam pretium iaculis justo.', 'Morbi non lectus. Aliquam sit amet diam in magna bibendum imperdiet. Nullam orci pede, venenatis non, sodales sed, tincidunt eu, felis.
 
 #turquoise', 'Oliver', 'Clint', '2021-06-12 07:00:00', '2021-06-14 11:33:22'),
-                                                                                                    ('uno', 'In quis justo.', 'Vestibulum quam sapien, varius ut, blandit non, interdum in, ante. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Duis faucibus accumsan odio. Curabitur convallis.
+                                                                                                    (117, 'uno', 'In quis justo.', 'Vestibulum quam sapien, varius ut, blandit non, interdum in, ante. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Duis faucibus accumsan odio. Curabitur convallis.
 
 #red', 'Vito', 'Bird', '2021-06-20 08:39:02', '2021-05-06 03:06:08'),
-                                                                                                    ('uno', 'In sagittis dui vel nisl.', 'Integer ac leo. Pellentesque ultrices mattis odio. Donec vitae nisi.', 'Errick', 'Shirlee', '2021-08-18 08:08:42', '2021-11-04 15:44:08'),
-                                                                                                    ('uno', 'Integer ac leo.', 'Nulla ut erat id mauris vulputate elementum. Nullam varius. Nulla facilisi.
+                                                                                                    (118, 'uno', 'In sagittis dui vel nisl.', 'Integer ac leo. Pellentesque ultrices mattis odio. Donec vitae nisi.', 'Errick', 'Shirlee', '2021-08-18 08:08:42', '2021-11-04 15:44:08'),
+                                                                                                    (119, 'uno', 'Integer ac leo.', 'Nulla ut erat id mauris vulputate elementum. Nullam varius. Nulla facilisi.
 
 Cras non velit nec nisi vulputate nonummy. Maecenas tincidunt lacus at velit. Vivamus vel nulla eget eros elementum pellentesque.
 
 Quisque porta volutpat erat. Quisque erat eros, viverra eget, congue eget, semper rutrum, nulla. Nunc purus.
 
 #puce', 'Benjamin', 'Arlie', '2021-11-23 02:21:46', '2021-02-13 07:35:14'),
-                                                                                                    ('uno', 'Morbi non quam nec dui luctus rutrum.', 'Etiam vel augue. Vestibulum rutrum rutrum neque. Aenean auctor gravida sem.
+                                                                                                    (120, 'uno', 'Morbi non quam nec dui luctus rutrum.', 'Etiam vel augue. Vestibulum rutrum rutrum neque. Aenean auctor gravida sem.
 
 Praesent id massa id nisl venenatis lacinia. Aenean sit amet justo. Morbi ut odio.
 
 #yellow', 'Tessy', 'Nan', '2021-10-07 20:30:36', '2021-03-06 01:51:12'),
-                                                                                                    ('uno', 'Nulla justo.', 'Aenean fermentum. Donec ut mauris eget massa tempor convallis. Nulla neque libero, convallis eget, eleifend luctus, ultricies eu, nibh.', 'Babette', 'Dudley', '2021-02-05 15:19:07', '2021-04-01 14:46:59'),
-                                                                                                    ('uno', 'Aenean lectus.', 'Sed sagittis. Nam congue, risus semper porta volutpat, quam pede lobortis ligula, sit amet eleifend pede libero quis orci. Nullam molestie nibh in lectus.
+                                                                                                    (121, 'uno', 'Nulla justo.', 'Aenean fermentum. Donec ut mauris eget massa tempor convallis. Nulla neque libero, convallis eget, eleifend luctus, ultricies eu, nibh.', 'Babette', 'Dudley', '2021-02-05 15:19:07', '2021-04-01 14:46:59'),
+                                                                                                    (122, 'uno', 'Aenean lectus.', 'Sed sagittis. Nam congue, risus semper porta volutpat, quam pede lobortis ligula, sit amet eleifend pede libero quis orci. Nullam molestie nibh in lectus.
 
 Pellentesque at nulla. Suspendisse potenti. Cras in purus eu magna vulputate luctus.
 
 Cum sociis natoque penatibus et magnis dis parturient montes, nascetur ridiculus mus. Vivamus vestibulum sagittis sapien. Cum sociis natoque penatibus et magnis dis parturient montes, nascetur ridiculus mus.
 
 #yellow', 'Hoyt', 'Austina', '2021-06-26 18:20:38', '2021-02-20 16:09:49'),
-                                                                                                    ('uno', 'Ut tellus.', 'Etiam vel augue. Vestibulum rutrum rutrum neque. Aenean auctor gravida sem.
+                                                                                                    (123, 'uno', 'Ut tellus.', 'Etiam vel augue. Vestibulum rutrum rutrum neque. Aenean auctor gravida sem.
 
 Praesent id massa id nisl venenatis lacinia. Aenean sit amet justo. Morbi ut odio.', 'Wilmer', 'Ingra', '2021-07-19 14:18:17', '2022-01-23 17:29:54')
 ;
 
-insert into article_comment (article_id, user_id, parent_comment_id, content, created_at, modified_at, created_by, modified_by) values
-                                                                                                                                    (49, 'uno', null, 'Quisque id justo sit amet sapien dignissim vestibulum. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Nulla dapibus dolor vel est. Donec odio justo, sollicitudin ut, suscipit a, feugiat et, eros.', '2021-03-02 22:40:04', '2021-04-27 15:38:09', 'Lind', 'Orv'),
-                                                                                                                                    (108, 'uno', null, 'Quisque id justo sit amet sapien dignissim vestibulum. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Nulla dapibus dolor vel est. Donec odio justo, sollicitudin ut, suscipit a, feugiat et, eros.', '2021-06-08 04:36:02', '2022-01-25 15:35:42', 'Trstram', 'Loy'),
-                                                                                                                                    (31, 'uno2', null, 'Nam ultrices, libero non mattis pulvinar, nulla pede ullamcorper augue, a suscipit nulla elit ac nulla. Sed vel enim sit amet nunc viverra dapibus. Nulla suscipit ligula in lacus.', '2021-04-10 00:47:10', '2021-02-06 20:58:04', 'Duff', 'Early'),
-                                                                                                                                    (120, 'uno2', null, 'Lorem ipsum dolor sit amet, consectetuer adipiscing elit. Proin risus. Praesent lectus.', '2021-08-21 08:39:39', '2021-11-17 22:47:35', 'Sydney', 'Boony'),
-                                                                                                                                    (123, 'uno2', null, 'Aliquam quis turpis eget elit sodales scelerisque. Mauris sit amet eros. Suspendisse accumsan tortor quis turpis.', '2021-06-17 10:57:29', '2021-05-13 12:28:47', 'Burk', 'Markus'),
-                                                                                                                                    (39, 'uno2', null, 'In sagittis dui vel nisl. Duis ac nibh. Fusce lacus purus, aliquet at, feugiat non, pretium quis, lectus.', '2022-01-15 11:37:12', '2021-02-19 17:42:22', 'Calvin', 'Garreth'),
-                                                                                                                                    (30, 'uno2', null, 'Nam ultrices, libero non mattis pulvinar, nulla pede ullamcorper augue, a suscipit nulla elit ac nulla. Sed vel enim sit amet nunc viverra dapibus. Nulla suscipit ligula in lacus.', '2021-11-23 18:29:30', '2021-03-09 00:57:27', 'Kain', 'Bruno'),
-                                                                                                                                    (57, 'uno2', null, 'Sed sagittis. Nam congue, risus semper porta volutpat, quam pede lobortis ligula, sit amet eleifend pede libero quis orci. Nullam molestie nibh in lectus.', '2021-03-19 18:39:02', '2021-03-16 17:47:17', 'Kippie', 'Alexio'),
-                                                                                                                                    (41, 'uno2', null, 'Aliquam quis turpis eget elit sodales scelerisque. Mauris sit amet eros. Suspendisse accumsan tortor quis turpis.', '2021-03-21 16:34:30', '2021-03-17 15:18:55', 'Frannie', 'Horacio'),
-                                                                                                                                    (100, 'uno2', null, 'Proin eu mi. Nulla ac enim. In tempor, turpis nec euismod scelerisque, quam turpis adipiscing lorem, vitae mattis nibh ligula nec sem.', '2021-02-24 16:53:08', '2021-05-09 06:00:58', 'Osborn', 'Pren'),
-                                                                                                                                    (48, 'uno2', null, 'Integer ac leo. Pellentesque ultrices mattis odio. Donec vitae nisi.', '2021-03-29 08:26:41', '2021-11-22 20:55:26', 'Dorie', 'Georgie'),
-                                                                                                                                    (122, 'uno2', null, 'In hac habitasse platea dictumst. Morbi vestibulum, velit id pretium iaculis, diam erat fermentum justo, nec condimentum neque sapien placerat ante. Nulla justo.', '2021-06-12 07:38:25', '2021-03-03 07:14:43', 'Obed', 'Chrissy'),
-                                                                                                                                    (87, 'uno2', null, 'Phasellus sit amet erat. Nulla tempus. Vivamus in felis eu sapien cursus vestibulum.', '2021-05-11 08:47:16', '2021-04-13 00:47:50', 'Reinhard', 'Robbert'),
-                                                                                                                                    (100, 'uno2', null, 'Nam ultrices, libero non mattis pulvinar, nulla pede ullamcorper augue, a suscipit nulla elit ac nulla. Sed vel enim sit amet nunc viverra dapibus. Nulla suscipit ligula in lacus.', '2022-01-18 23:33:51', '2022-01-14 12:38:23', 'Clim', 'Chester'),
-                                                                                                                                    (22, 'uno2', null, 'Fusce posuere felis sed lacus. Morbi sem mauris, laoreet ut, rhoncus aliquet, pulvinar sed, nisl. Nunc rhoncus dui vel sem.', '2021-09-18 10:27:37', '2021-09-29 20:31:09', 'Odie', 'Britt'),
-                                                                                                                                    (97, 'uno2', null, 'Praesent blandit. Nam nulla. Integer pede justo, lacinia eget, tincidunt eget, tempus vel, pede.', '2021-12-14 01:55:52', '2021-11-02 15:12:00', 'Ulises', 'Denney'),
-                                                                                                                                    (103, 'uno2', null, 'Fusce consequat. Nulla nisl. Nunc nisl.', '2021-04-03 11:44:04', '2022-01-05 21:01:34', 'Kendricks', 'Aubert'),
-                                                                                                                                    (25, 'uno2', null, 'Vestibulum ac est lacinia nisi venenatis tristique. Fusce congue, diam id ornare imperdiet, sapien urna pretium nisl, ut volutpat sapien arcu sed augue. Aliquam erat volutpat.', '2021-05-25 09:46:40', '2021-10-10 18:46:59', 'Dal', 'Maxy'),
-                                                                                                                                    (91, 'uno2', null, 'Phasellus in felis. Donec semper sapien a libero. Nam dui.', '2021-04-29 23:36:48', '2021-12-03 12:08:48', 'Vaclav', 'Patric'),
-                                                                                                                                    (18, 'uno2', null, 'Curabitur gravida nisi at nibh. In hac habitasse platea dictumst. Aliquam augue quam, sollicitudin vitae, consectetuer eget, rutrum at, lorem.', '2021-09-26 00:29:13', '2021-07-10 01:44:07', 'Carl', 'Riley'),
-                                                                                                                                    (89, 'uno2', null, 'Sed sagittis. Nam congue, risus semper porta volutpat, quam pede lobortis ligula, sit amet eleifend pede libero quis orci. Nullam molestie nibh in lectus.', '2021-12-11 05:07:10', '2021-05-31 15:26:03', 'Dex', 'Wallas'),
-                                                                                                                                    (107, 'uno2', null, 'Donec diam neque, vestibulum eget, vulputate ut, ultrices vel, augue. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Donec pharetra, magna vestibulum aliquet ultrices, erat tortor sollicitudin mi, sit amet lobortis sapien sapien non mi. Integer ac neque.', '2021-10-31 11:33:44', '2021-03-04 15:19:35', 'Lutero', 'Hussein'),
-                                                                                                                                    (90, 'uno2', null, 'Proin leo odio, porttitor id, consequat in, consequat ut, nulla. Sed accumsan felis. Ut at dolor quis odio consequat varius.', '2021-08-17 14:52:58', '2021-11-24 16:28:01', 'Garvy', 'Gris'),
-                                                                                                                                    (121, 'uno2', null, 'Proin leo odio, porttitor id, consequat in, consequat ut, nulla. Sed accumsan felis. Ut at dolor quis odio consequat varius.', '2021-02-17 16:50:19', '2021-01-31 09:21:51', 'Shayne', 'Stafford'),
-                                                                                                                                    (91, 'uno2', null, 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.', '2021-06-23 10:06:39', '2021-10-27 22:04:41', 'Haze', 'Giraldo'),
-                                                                                                                                    (32, 'uno2', null, 'Pellentesque at nulla. Suspendisse potenti. Cras in purus eu magna vulputate luctus.', '2021-10-21 19:41:56', '2021-03-12 02:47:38', 'Cobbie', 'Thornton'),
-                                                                                                                                    (47, 'uno2', null, 'Fusce consequat. Nulla nisl. Nunc nisl.', '2021-05-02 07:45:04', '2021-06-26 13:36:44', 'Humfried', 'Bram'),
-                                                                                                                                    (92, 'uno2', null, 'Curabitur in libero ut massa volutpat convallis. Morbi odio odio, elementum eu, interdum eu, tincidunt in, leo. Maecenas pulvinar lobortis est.', '2021-10-22 04:46:24', '2021-07-06 02:25:34', 'Luis', 'Chicky'),
-                                                                                                                                    (76, 'uno2', null, 'Nam ultrices, libero non mattis pulvinar, nulla pede ullamcorper augue, a suscipit nulla elit ac nulla. Sed vel enim sit amet nunc viverra dapibus. Nulla suscipit ligula in lacus.', '2021-12-30 18:39:24', '2021-10-13 03:58:46', 'Derwin', 'Zacherie'),
-                                                                                                                                    (31, 'uno2', null, 'Etiam vel augue. Vestibulum rutrum rutrum neque. Aenean auctor gravida sem.', '2021-11-07 02:25:31', '2021-11-30 11:15:34', 'Boris', 'Egbert'),
-                                                                                                                                    (29, 'uno2', null, 'Nullam porttitor lacus at turpis. Donec posuere metus vitae ipsum. Aliquam non mauris.', '2021-11-27 19:03:53', '2021-02-16 07:42:30', 'Gabriel', 'Gary'),
-                                                                                                                                    (115, 'uno2', null, 'Quisque id justo sit amet sapien dignissim vestibulum. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Nulla dapibus dolor vel est. Donec odio justo, sollicitudin ut, suscipit a, feugiat et, eros.', '2021-12-30 17:50:07', '2021-10-13 11:06:50', 'Gilles', 'Derrek'),
-                                                                                                                                    (106, 'uno2', null, 'In hac habitasse platea dictumst. Etiam faucibus cursus urna. Ut tellus.', '2021-06-10 02:26:59', '2021-12-17 18:00:38', 'Jodie', 'Whitney'),
-                                                                                                                                    (5, 'uno2', null, 'Nullam porttitor lacus at turpis. Donec posuere metus vitae ipsum. Aliquam non mauris.', '2021-04-16 12:44:52', '2022-01-19 17:32:59', 'Palmer', 'Orton'),
-                                                                                                                                    (115, 'uno2', null, 'Sed sagittis. Nam congue, risus semper porta volutpat, quam pede lobortis ligula, sit amet eleifend pede libero quis orci. Nullam molestie nibh in lectus.', '2021-09-09 05:12:56', '2021-07-31 05:07:35', 'Mahmoud', 'Urson'),
-                                                                                                                                    (112, 'uno2', null, 'Vestibulum ac est lacinia nisi venenatis tristique. Fusce congue, diam id ornare imperdiet, sapien urna pretium nisl, ut volutpat sapien arcu sed augue. Aliquam erat volutpat.', '2021-01-31 06:52:27', '2021-02-07 17:19:58', 'Dunn', 'Monti'),
-                                                                                                                                    (119, 'uno2', null, 'Curabitur gravida nisi at nibh. In hac habitasse platea dictumst. Aliquam augue quam, sollicitudin vitae, consectetuer eget, rutrum at, lorem.', '2021-03-20 10:06:32', '2021-07-28 14:45:35', 'Franz', 'Tris'),
-                                                                                                                                    (66, 'uno2', null, 'Integer ac leo. Pellentesque ultrices mattis odio. Donec vitae nisi.', '2021-09-11 09:32:59', '2021-03-17 01:22:39', 'Tony', 'Ikey'),
-                                                                                                                                    (36, 'uno2', null, 'Aliquam quis turpis eget elit sodales scelerisque. Mauris sit amet eros. Suspendisse accumsan tortor quis turpis.', '2021-03-04 17:43:07', '2021-10-08 16:20:32', 'Rees', 'Hubey'),
-                                                                                                                                    (104, 'uno2', null, 'Nullam sit amet turpis elementum ligula vehicula consequat. Morbi a ipsum. Integer a nibh.', '2021-07-11 18:23:15', '2021-06-09 13:23:03', 'Hall', 'Rollie'),
-                                                                                                                                    (63, 'uno2', null, 'Cras mi pede, malesuada in, imperdiet et, commodo vulputate, justo. In blandit ultrices enim. Lorem ipsum dolor sit amet, consectetuer adipiscing elit.', '2021-06-26 18:57:48', '2021-06-30 23:24:08', 'Keir', 'Ky'),
-                                                                                                                                    (99, 'uno2', null, 'Donec diam neque, vestibulum eget, vulputate ut, ultrices vel, augue. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Donec pharetra, magna vestibulum aliquet ultrices, erat tortor sollicitudin mi, sit amet lobortis sapien sapien non mi. Integer ac neque.', '2021-10-03 02:36:13', '2021-11-27 11:12:43', 'Georgi', 'Thane'),
-                                                                                                                                    (17, 'uno2', null, 'Vestibulum ac est lacinia nisi venenatis tristique. Fusce congue, diam id ornare imperdiet, sapien urna pretium nisl, ut volutpat sapien arcu sed augue. Aliquam erat volutpat.', '2021-07-19 19:04:40', '2021-06-30 19:59:12', 'Oliver', 'Jarrad'),
-                                                                                                                                    (33, 'uno2', null, 'Donec diam neque, vestibulum eget, vulputate ut, ultrices vel, augue. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Donec pharetra, magna vestibulum aliquet ultrices, erat tortor sollicitudin mi, sit amet lobortis sapien sapien non mi. Integer ac neque.', '2021-03-19 04:18:04', '2021-11-28 06:15:06', 'Elvin', 'Sunny'),
-                                                                                                                                    (102, 'uno2', null, 'Duis bibendum. Morbi non quam nec dui luctus rutrum. Nulla tellus.', '2021-11-28 18:39:57', '2021-06-24 11:01:37', 'Fax', 'Jayme'),
-                                                                                                                                    (28, 'uno2', null, 'In sagittis dui vel nisl. Duis ac nibh. Fusce lacus purus, aliquet at, feugiat non, pretium quis, lectus.', '2021-08-03 06:01:12', '2021-03-12 08:58:02', 'Eldon', 'Emory'),
-                                                                                                                                    (37, 'uno2', null, 'Phasellus sit amet erat. Nulla tempus. Vivamus in felis eu sapien cursus vestibulum.', '2021-05-31 02:48:41', '2021-10-21 23:00:17', 'Northrup', 'Bart'),
-                                                                                                                                    (75, 'uno2', null, 'Cras mi pede, malesuada in, imperdiet et, commodo vulputate, justo. In blandit ultrices enim. Lorem ipsum dolor sit amet, consectetuer adipiscing elit.', '2021-03-11 21:47:46', '2021-04-19 14:10:05', 'Timmie', 'Roma'),
-                                                                                                                                    (70, 'uno2', null, 'In sagittis dui vel nisl. Duis ac nibh. Fusce lacus purus, aliquet at, feugiat non, pretium quis, lectus.', '2021-10-30 16:41:56', '2021-09-06 14:43:59', 'Maximo', 'Eziechiele'),
-                                                                                                                                    (53, 'uno2', null, 'Quisque id justo sit amet sapien dignissim vestibulum. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Nulla dapibus dolor vel est. Donec odio justo, sollicitudin ut, suscipit a, feugiat et, eros.', '2021-06-09 22:28:41', '2022-01-20 12:47:05', 'Myrvyn', 'Faulkner'),
-                                                                                                                                    (33, 'uno2', null, 'Aenean fermentum. Donec ut mauris eget massa tempor convallis. Nulla neque libero, convallis eget, eleifend luctus, ultricies eu, nibh.', '2021-11-18 08:10:04', '2021-10-15 12:18:35', 'Milty', 'Gordie'),
-                                                                                                                                    (41, 'uno2', null, 'Fusce posuere felis sed lacus. Morbi sem mauris, laoreet ut, rhoncus aliquet, pulvinar sed, nisl. Nunc rhoncus dui vel sem.', '2021-05-05 07:39:10', '2021-03-17 04:48:00', 'Guillaume', 'Holt'),
-                                                                                                                                    (103, 'uno2', null, 'Mauris enim leo, rhoncus sed, vestibulum sit amet, cursus id, turpis. Integer aliquet, massa id lobortis convallis, tortor risus dapibus augue, vel accumsan tellus nisi eu orci. Mauris lacinia sapien quis libero.', '2021-07-16 03:33:44', '2021-12-27 03:33:26', 'Cyrille', 'Ruprecht'),
-                                                                                                                                    (7, 'uno2', null, 'Praesent id massa id nisl venenatis lacinia. Aenean sit amet justo. Morbi ut odio.', '2022-01-04 16:06:48', '2021-06-11 14:41:17', 'Jervis', 'Base'),
-                                                                                                                                    (26, 'uno2', null, 'Aliquam quis turpis eget elit sodales scelerisque. Mauris sit amet eros. Suspendisse accumsan tortor quis turpis.', '2022-01-09 16:07:10', '2021-07-25 22:44:28', 'Nikolos', 'Stanly'),
-                                                                                                                                    (8, 'uno2', null, 'Integer ac leo. Pellentesque ultrices mattis odio. Donec vitae nisi.', '2021-02-14 01:02:43', '2022-01-10 03:11:26', 'Stefano', 'Hillel'),
-                                                                                                                                    (58, 'uno2', null, 'Morbi porttitor lorem id ligula. Suspendisse ornare consequat lectus. In est risus, auctor sed, tristique in, tempus sit amet, sem.', '2021-02-27 03:57:38', '2021-10-16 02:36:54', 'Flinn', 'Pembroke'),
-                                                                                                                                    (87, 'uno2', null, 'Duis bibendum. Morbi non quam nec dui luctus rutrum. Nulla tellus.', '2021-06-17 04:52:04', '2021-09-29 05:08:41', 'Tome', 'Nat'),
-                                                                                                                                    (11, 'uno2', null, 'Proin leo odio, porttitor id, consequat in, consequat ut, nulla. Sed accumsan felis. Ut at dolor quis odio consequat varius.', '2021-06-20 03:31:09', '2021-08-09 08:07:50', 'Garrick', 'Bailey'),
-                                                                                                                                    (103, 'uno2', null, 'Sed ante. Vivamus tortor. Duis mattis egestas metus.', '2022-01-15 03:35:49', '2021-08-19 05:46:11', 'Fonz', 'Mohandas'),
-                                                                                                                                    (119, 'uno2', null, 'Quisque id justo sit amet sapien dignissim vestibulum. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Nulla dapibus dolor vel est. Donec odio justo, sollicitudin ut, suscipit a, feugiat et, eros.', '2021-10-19 22:27:28', '2021-03-18 00:32:07', 'Swen', 'My'),
-                                                                                                                                    (33, 'uno2', null, 'Cras mi pede, malesuada in, imperdiet et, commodo vulputate, justo. In blandit ultrices enim. Lorem ipsum dolor sit amet, consectetuer adipiscing elit.', '2022-01-23 21:02:14', '2021-07-22 18:04:02', 'Klement', 'Giordano'),
-                                                                                                                                    (118, 'uno2', null, 'Maecenas tristique, est et tempus semper, est quam pharetra magna, ac consequat metus sapien ut nunc. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Mauris viverra diam vitae quam. Suspendisse potenti.', '2021-12-25 15:45:04', '2021-07-25 01:53:41', 'Alister', 'Gavan'),
-                                                                                                                                    (87, 'uno2', null, 'Mauris enim leo, rhoncus sed, vestibulum sit amet, cursus id, turpis. Integer aliquet, massa id lobortis convallis, tortor risus dapibus augue, vel accumsan tellus nisi eu orci. Mauris lacinia sapien quis libero.', '2021-03-13 11:05:05', '2021-04-24 11:01:30', 'Scotty', 'Pascal'),
-                                                                                                                                    (95, 'uno2', null, 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.', '2021-08-21 20:13:53', '2021-05-28 10:09:16', 'Clevey', 'Bailey'),
-                                                                                                                                    (48, 'uno2', null, 'Etiam vel augue. Vestibulum rutrum rutrum neque. Aenean auctor gravida sem.', '2021-12-28 19:03:27', '2021-07-19 05:47:56', 'Grantham', 'Hadrian'),
-                                                                                                                                    (27, 'uno2', null, 'Integer ac leo. Pellentesque ultrices mattis odio. Donec vitae nisi.', '2021-09-08 06:14:44', '2021-03-08 01:09:46', 'Gardner', 'Zolly'),
-                                                                                                                                    (93, 'uno2', null, 'Nullam sit amet turpis elementum ligula vehicula consequat. Morbi a ipsum. Integer a nibh.', '2021-11-17 23:36:20', '2021-04-14 08:16:21', 'Jerome', 'Dev'),
-                                                                                                                                    (11, 'uno2', null, 'Fusce posuere felis sed lacus. Morbi sem mauris, laoreet ut, rhoncus aliquet, pulvinar sed, nisl. Nunc rhoncus dui vel sem.', '2021-06-13 21:19:56', '2021-10-29 10:51:51', 'Lincoln', 'Erwin'),
-                                                                                                                                    (68, 'uno2', null, 'In congue. Etiam justo. Etiam pretium iaculis justo.', '2021-08-30 18:51:16', '2021-04-04 13:02:51', 'Sky', 'Lindon'),
-                                                                                                                                    (103, 'uno2', null, 'Vestibulum quam sapien, varius ut, blandit non, interdum in, ante. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Duis faucibus accumsan odio. Curabitur convallis.', '2021-05-25 13:40:27', '2021-07-08 18:29:16', 'Bary', 'Arri'),
-                                                                                                                                    (109, 'uno2', null, 'Sed sagittis. Nam congue, risus semper porta volutpat, quam pede lobortis ligula, sit amet eleifend pede libero quis orci. Nullam molestie nibh in lectus.', '2021-06-13 00:58:44', '2021-11-02 14:32:58', 'Rafael', 'Ivor'),
-                                                                                                                                    (86, 'uno2', null, 'In hac habitasse platea dictumst. Etiam faucibus cursus urna. Ut tellus.', '2022-01-25 01:28:11', '2021-04-17 01:10:19', 'Mathe', 'Mattie'),
-                                                                                                                                    (70, 'uno2', null, 'Maecenas leo odio, condimentum id, luctus nec, molestie sed, justo. Pellentesque viverra pede ac diam. Cras pellentesque volutpat dui.', '2021-04-12 21:18:27', '2021-07-01 12:03:21', 'Geoffrey', 'Tadeo'),
-                                                                                                                                    (37, 'uno2', null, 'Fusce consequat. Nulla nisl. Nunc nisl.', '2021-06-21 12:34:50', '2021-03-09 11:05:09', 'Powell', 'Winifield'),
-                                                                                                                                    (82, 'uno2', null, 'Etiam vel augue. Vestibulum rutrum rutrum neque. Aenean auctor gravida sem.', '2021-10-31 08:16:23', '2021-03-23 18:55:47', 'Winifield', 'Rolando'),
-                                                                                                                                    (69, 'uno2', null, 'Sed ante. Vivamus tortor. Duis mattis egestas metus.', '2021-03-29 13:14:38', '2021-03-23 01:58:27', 'Giordano', 'Averell'),
-                                                                                                                                    (23, 'uno2', null, 'Curabitur gravida nisi at nibh. In hac habitasse platea dictumst. Aliquam augue quam, sollicitudin vitae, consectetuer eget, rutrum at, lorem.', '2021-05-20 07:38:20', '2021-08-05 13:35:48', 'Lammond', 'Martie'),
-                                                                                                                                    (53, 'uno2', null, 'Sed sagittis. Nam congue, risus semper porta volutpat, quam pede lobortis ligula, sit amet eleifend pede libero quis orci. Nullam molestie nibh in lectus.', '2021-02-02 22:43:50', '2021-03-21 01:18:12', 'Tades', 'Jedidiah'),
-                                                                                                                                    (21, 'uno2', null, 'In congue. Etiam justo. Etiam pretium iaculis justo.', '2021-05-29 06:29:02', '2021-10-13 02:23:19', 'Germayne', 'Jermayne'),
-                                                                                                                                    (94, 'uno2', null, 'Donec diam neque, vestibulum eget, vulputate ut, ultrices vel, augue. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Donec pharetra, magna vestibulum aliquet ultrices, erat tortor sollicitudin mi, sit amet lobortis sapien sapien non mi. Integer ac neque.', '2021-06-02 12:21:13', '2021-09-03 15:17:13', 'Gregory', 'Woodrow'),
-                                                                                                                                    (9, 'uno2', null, 'Sed ante. Vivamus tortor. Duis mattis egestas metus.', '2021-06-07 05:33:53', '2021-04-26 03:00:50', 'Theodore', 'Godwin'),
-                                                                                                                                    (74, 'uno2', null, 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.', '2021-11-22 01:27:42', '2021-12-07 13:24:52', 'Richy', 'Garvin'),
-                                                                                                                                    (93, 'uno2', null, 'Suspendisse potenti. In eleifend quam a odio. In hac habitasse platea dictumst.', '2021-11-29 14:10:08', '2021-12-21 15:41:28', 'Skipp', 'Broderick'),
-                                                                                                                                    (66, 'uno2', null, 'Nulla ut erat id mauris vulputate elementum. Nullam varius. Nulla facilisi.', '2021-07-18 13:45:38', '2021-09-07 10:37:11', 'Kaine', 'Rooney'),
-                                                                                                                                    (46, 'uno2', null, 'Nullam sit amet turpis elementum ligula vehicula consequat. Morbi a ipsum. Integer a nibh.', '2021-09-08 17:42:59', '2021-08-28 15:12:30', 'Humfrid', 'Steffen'),
-                                                                                                                                    (26, 'uno2', null, 'Lorem ipsum dolor sit amet, consectetuer adipiscing elit. Proin risus. Praesent lectus.', '2022-01-22 19:23:45', '2021-04-19 07:53:02', 'Jamie', 'Reinaldos'),
-                                                                                                                                    (2, 'uno2', null, 'Nullam porttitor lacus at turpis. Donec posuere metus vitae ipsum. Aliquam non mauris.', '2021-02-23 17:42:56', '2021-10-09 08:03:13', 'Glynn', 'Truman'),
-                                                                                                                                    (15, 'uno2', null, 'Fusce posuere felis sed lacus. Morbi sem mauris, laoreet ut, rhoncus aliquet, pulvinar sed, nisl. Nunc rhoncus dui vel sem.', '2021-10-12 14:19:16', '2021-09-11 22:13:27', 'Maddy', 'Tynan'),
-                                                                                                                                    (96, 'uno2', null, 'Curabitur at ipsum ac tellus semper interdum. Mauris ullamcorper purus sit amet nulla. Quisque arcu libero, rutrum ac, lobortis vel, dapibus at, diam.', '2021-12-27 11:42:15', '2022-01-19 14:11:02', 'Merill', 'Kermit'),
-                                                                                                                                    (118, 'uno2', null, 'In sagittis dui vel nisl. Duis ac nibh. Fusce lacus purus, aliquet at, feugiat non, pretium quis, lectus.', '2021-07-30 23:57:48', '2021-11-13 11:45:31', 'Llewellyn', 'Welch'),
-                                                                                                                                    (118, 'uno2', null, 'Cras non velit nec nisi vulputate nonummy. Maecenas tincidunt lacus at velit. Vivamus vel nulla eget eros elementum pellentesque.', '2021-07-21 15:39:09', '2021-10-24 12:13:07', 'Augustine', 'Cash'),
-                                                                                                                                    (82, 'uno2', null, 'Maecenas tristique, est et tempus semper, est quam pharetra magna, ac consequat metus sapien ut nunc. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Mauris viverra diam vitae quam. Suspendisse potenti.', '2021-04-10 22:46:57', '2021-10-07 06:49:09', 'Jermain', 'Felice'),
-                                                                                                                                    (17, 'uno2', null, 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.', '2021-02-10 12:15:50', '2021-02-08 21:36:20', 'Ned', 'Marlow'),
-                                                                                                                                    (118, 'uno2', null, 'Maecenas leo odio, condimentum id, luctus nec, molestie sed, justo. Pellentesque viverra pede ac diam. Cras pellentesque volutpat dui.', '2021-04-28 19:26:22', '2021-04-01 16:32:22', 'Griswold', 'Brion'),
-                                                                                                                                    (37, 'uno2', null, 'Donec diam neque, vestibulum eget, vulputate ut, ultrices vel, augue. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Donec pharetra, magna vestibulum aliquet ultrices, erat tortor sollicitudin mi, sit amet lobortis sapien sapien non mi. Integer ac neque.', '2021-04-23 15:49:37', '2021-12-14 18:20:38', 'Lemuel', 'Karel'),
-                                                                                                                                    (60, 'uno2', null, 'Nullam sit amet turpis elementum ligula vehicula consequat. Morbi a ipsum. Integer a nibh.', '2021-08-14 16:26:15', '2021-07-05 14:35:38', 'Yance', 'Henderson'),
-                                                                                                                                    (114, 'uno2', null, 'Quisque porta volutpat erat. Quisque erat eros, viverra eget, congue eget, semper rutrum, nulla. Nunc purus.', '2021-05-20 19:07:27', '2022-01-26 17:02:57', 'Munroe', 'Olvan'),
-                                                                                                                                    (20, 'uno2', null, 'Praesent blandit. Nam nulla. Integer pede justo, lacinia eget, tincidunt eget, tempus vel, pede.', '2021-08-30 20:30:28', '2021-09-11 10:18:50', 'Salim', 'Keene'),
-                                                                                                                                    (51, 'uno2', null, 'In hac habitasse platea dictumst. Morbi vestibulum, velit id pretium iaculis, diam erat fermentum justo, nec condimentum neque sapien placerat ante. Nulla justo.', '2021-03-08 12:55:54', '2021-07-12 23:56:12', 'Rustie', 'Lorne'),
-                                                                                                                                    (50, 'uno2', null, 'In hac habitasse platea dictumst. Morbi vestibulum, velit id pretium iaculis, diam erat fermentum justo, nec condimentum neque sapien placerat ante. Nulla justo.', '2021-10-13 17:57:44', '2021-05-10 21:31:48', 'Lorry', 'Alex'),
-                                                                                                                                    (43, 'uno2', null, 'Nam ultrices, libero non mattis pulvinar, nulla pede ullamcorper augue, a suscipit nulla elit ac nulla. Sed vel enim sit amet nunc viverra dapibus. Nulla suscipit ligula in lacus.', '2021-04-02 01:37:13', '2021-09-16 05:24:04', 'Leonidas', 'Fulton'),
-                                                                                                                                    (115, 'uno2', null, 'Lorem ipsum dolor sit amet, consectetuer adipiscing elit. Proin risus. Praesent lectus.', '2021-11-11 04:39:17', '2021-11-03 15:21:42', 'Marietta', 'Brnaba'),
-                                                                                                                                    (97, 'uno2', null, 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.', '2021-01-31 06:45:18', '2021-03-10 22:17:41', 'Obie', 'Allard'),
-                                                                                                                                    (8, 'uno2', null, 'Cum sociis natoque penatibus et magnis dis parturient montes, nascetur ridiculus mus. Vivamus vestibulum sagittis sapien. Cum sociis natoque penatibus et magnis dis parturient montes, nascetur ridiculus mus.', '2021-08-25 23:41:07', '2021-04-19 09:14:12', 'Dru', 'Osborn'),
-                                                                                                                                    (11, 'uno2', null, 'In hac habitasse platea dictumst. Etiam faucibus cursus urna. Ut tellus.', '2021-11-28 19:55:06', '2021-09-22 19:59:06', 'Iain', 'Job'),
-                                                                                                                                    (43, 'uno2', null, 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.', '2021-09-29 14:30:08', '2021-04-05 17:41:49', 'Rikki', 'Hymie'),
-                                                                                                                                    (31, 'uno2', null, 'Duis aliquam convallis nunc. Proin at turpis a pede posuere nonummy. Integer non velit.', '2021-10-05 20:08:45', '2021-10-31 14:59:42', 'Em', 'Aldric'),
-                                                                                                                                    (88, 'uno2', null, 'Aliquam quis turpis eget elit sodales scelerisque. Mauris sit amet eros. Suspendisse accumsan tortor quis turpis.', '2021-03-27 00:02:27', '2021-12-17 06:02:34', 'Burty', 'Martainn'),
-                                                                                                                                    (56, 'uno2', null, 'Morbi porttitor lorem id ligula. Suspendisse ornare consequat lectus. In est risus, auctor sed, tristique in, tempus sit amet, sem.', '2021-12-22 12:41:15', '2021-04-14 03:12:08', 'Garvin', 'Esra'),
-                                                                                                                                    (9, 'uno2', null, 'Fusce consequat. Nulla nisl. Nunc nisl.', '2021-05-29 13:08:55', '2021-08-01 08:38:29', 'Siward', 'Garey'),
-                                                                                                                                    (31, 'uno2', null, 'Vestibulum ac est lacinia nisi venenatis tristique. Fusce congue, diam id ornare imperdiet, sapien urna pretium nisl, ut volutpat sapien arcu sed augue. Aliquam erat volutpat.', '2021-12-15 19:49:25', '2022-01-27 19:49:47', 'Fran', 'Cece'),
-                                                                                                                                    (1, 'uno2', null, 'Proin eu mi. Nulla ac enim. In tempor, turpis nec euismod scelerisque, quam turpis adipiscing lorem, vitae mattis nibh ligula nec sem.', '2021-03-02 11:57:54', '2021-05-09 12:36:08', 'Torry', 'Rolando'),
-                                                                                                                                    (110, 'uno2', null, 'In quis justo. Maecenas rhoncus aliquam lacus. Morbi quis tortor id nulla ultrices aliquet.', '2021-07-27 01:40:15', '2021-06-25 16:54:44', 'Kevin', 'Chico'),
-                                                                                                                                    (78, 'uno2', null, 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.', '2021-03-30 22:33:45', '2021-03-13 12:40:17', 'Xavier', 'Nicol'),
-                                                                                                                                    (73, 'uno2', null, 'Sed sagittis. Nam congue, risus semper porta volutpat, quam pede lobortis ligula, sit amet eleifend pede libero quis orci. Nullam molestie nibh in lectus.', '2021-11-26 19:26:39', '2021-04-14 20:32:25', 'Grannie', 'Cobbie'),
-                                                                                                                                    (20, 'uno2', null, 'Fusce consequat. Nulla nisl. Nunc nisl.', '2021-06-30 06:56:10', '2021-02-25 03:34:01', 'Haskell', 'Terence'),
-                                                                                                                                    (99, 'uno2', null, 'Duis aliquam convallis nunc. Proin at turpis a pede posuere nonummy. Integer non velit.', '2021-07-27 20:53:45', '2021-03-13 15:29:58', 'Nealy', 'Doyle'),
-                                                                                                                                    (58, 'uno2', null, 'Nullam sit amet turpis elementum ligula vehicula consequat. Morbi a ipsum. Integer a nibh.', '2021-08-04 21:54:34', '2021-05-17 14:36:46', 'Sibyl', 'Consalve'),
-                                                                                                                                    (33, 'uno2', null, 'Sed ante. Vivamus tortor. Duis mattis egestas metus.', '2021-08-12 10:07:09', '2021-02-14 00:36:15', 'Arvy', 'Tymothy'),
-                                                                                                                                    (111, 'uno2', null, 'Nullam sit amet turpis elementum ligula vehicula consequat. Morbi a ipsum. Integer a nibh.', '2021-09-16 06:12:57', '2021-09-04 15:51:30', 'Morten', 'Gerhard'),
-                                                                                                                                    (83, 'uno2', null, 'Curabitur at ipsum ac tellus semper interdum. Mauris ullamcorper purus sit amet nulla. Quisque arcu libero, rutrum ac, lobortis vel, dapibus at, diam.', '2021-12-16 10:24:39', '2021-02-25 21:15:30', 'Sheridan', 'Cash'),
-                                                                                                                                    (13, 'uno', null, 'In quis justo. Maecenas rhoncus aliquam lacus. Morbi quis tortor id nulla ultrices aliquet.', '2021-09-25 16:26:15', '2021-09-04 06:36:17', 'Heath', 'Irwinn'),
-                                                                                                                                    (47, 'uno', null, 'Proin eu mi. Nulla ac enim. In tempor, turpis nec euismod scelerisque, quam turpis adipiscing lorem, vitae mattis nibh ligula nec sem.', '2021-02-15 09:00:36', '2021-12-02 02:50:19', 'Bordy', 'Kliment'),
-                                                                                                                                    (37, 'uno', null, 'Duis consequat dui nec nisi volutpat eleifend. Donec ut dolor. Morbi vel lectus in quam fringilla rhoncus.', '2021-08-08 15:11:06', '2021-05-31 22:32:58', 'Graeme', 'Cody'),
-                                                                                                                                    (19, 'uno', null, 'Quisque id justo sit amet sapien dignissim vestibulum. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Nulla dapibus dolor vel est. Donec odio justo, sollicitudin ut, suscipit a, feugiat et, eros.', '2021-01-29 18:57:18', '2021-10-01 12:57:33', 'Ram', 'Gino'),
-                                                                                                                                    (9, 'uno', null, 'Phasellus sit amet erat. Nulla tempus. Vivamus in felis eu sapien cursus vestibulum.', '2021-12-31 02:29:25', '2021-02-04 09:29:05', 'Umberto', 'Timotheus'),
-                                                                                                                                    (3, 'uno', null, 'Cras non velit nec nisi vulputate nonummy. Maecenas tincidunt lacus at velit. Vivamus vel nulla eget eros elementum pellentesque.', '2021-09-01 13:11:45', '2021-10-28 14:30:23', 'Juan', 'Forest'),
-                                                                                                                                    (97, 'uno', null, 'Praesent blandit. Nam nulla. Integer pede justo, lacinia eget, tincidunt eget, tempus vel, pede.', '2021-12-19 15:39:54', '2021-07-10 04:11:12', 'Urbanus', 'Noach'),
-                                                                                                                                    (88, 'uno', null, 'Suspendisse potenti. In eleifend quam a odio. In hac habitasse platea dictumst.', '2021-11-12 11:38:06', '2021-12-13 15:21:53', 'Zack', 'Jammal'),
-                                                                                                                                    (20, 'uno', null, 'Duis bibendum. Morbi non quam nec dui luctus rutrum. Nulla tellus.', '2021-10-20 18:22:32', '2021-07-10 16:15:54', 'Norrie', 'Barny'),
-                                                                                                                                    (93, 'uno', null, 'Curabitur gravida nisi at nibh. In hac habitasse platea dictumst. Aliquam augue quam, sollicitudin vitae, consectetuer eget, rutrum at, lorem.', '2021-09-08 08:49:05', '2021-02-27 04:15:27', 'Donn', 'Adan'),
-                                                                                                                                    (61, 'uno', null, 'In hac habitasse platea dictumst. Morbi vestibulum, velit id pretium iaculis, diam erat fermentum justo, nec condimentum neque sapien placerat ante. Nulla justo.', '2021-06-24 16:06:45', '2021-10-31 08:38:22', 'Paxton', 'Stevy'),
-                                                                                                                                    (73, 'uno', null, 'Sed sagittis. Nam congue, risus semper porta volutpat, quam pede lobortis ligula, sit amet eleifend pede libero quis orci. Nullam molestie nibh in lectus.', '2021-03-11 20:20:34', '2021-04-19 22:24:56', 'Carolus', 'Niven'),
-                                                                                                                                    (60, 'uno', null, 'Aenean fermentum. Donec ut mauris eget massa tempor convallis. Nulla neque libero, convallis eget, eleifend luctus, ultricies eu, nibh.', '2021-10-12 16:46:55', '2021-05-08 14:42:18', 'Cameron', 'Beniamino'),
-                                                                                                                                    (41, 'uno', null, 'Maecenas tristique, est et tempus semper, est quam pharetra magna, ac consequat metus sapien ut nunc. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Mauris viverra diam vitae quam. Suspendisse potenti.', '2021-03-16 05:38:39', '2021-02-26 21:41:53', 'Flint', 'Artur'),
-                                                                                                                                    (116, 'uno', null, 'Phasellus sit amet erat. Nulla tempus. Vivamus in felis eu sapien cursus vestibulum.', '2021-08-15 22:55:29', '2021-09-22 03:03:29', 'Efren', 'Carrol'),
-                                                                                                                                    (113, 'uno', null, 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.', '2021-06-13 10:25:18', '2021-10-27 10:34:16', 'Nevins', 'Caspar'),
-                                                                                                                                    (86, 'uno', null, 'Curabitur in libero ut massa volutpat convallis. Morbi odio odio, elementum eu, interdum eu, tincidunt in, leo. Maecenas pulvinar lobortis est.', '2021-04-12 11:14:15', '2021-02-13 09:33:29', 'Carrol', 'Isac'),
-                                                                                                                                    (122, 'uno', null, 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.', '2021-11-30 20:48:06', '2021-02-19 12:25:33', 'Dagny', 'Silvain'),
-                                                                                                                                    (42, 'uno', null, 'Curabitur at ipsum ac tellus semper interdum. Mauris ullamcorper purus sit amet nulla. Quisque arcu libero, rutrum ac, lobortis vel, dapibus at, diam.', '2021-09-29 09:08:16', '2021-01-29 16:01:20', 'Thurstan', 'Vidovic'),
-                                                                                                                                    (3, 'uno', null, 'Aliquam quis turpis eget elit sodales scelerisque. Mauris sit amet eros. Suspendisse accumsan tortor quis turpis.', '2021-02-10 03:27:32', '2021-11-07 23:23:44', 'Jerrold', 'Mac'),
-                                                                                                                                    (92, 'uno', null, 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.', '2021-09-24 15:03:04', '2021-03-09 13:36:02', 'Tommie', 'Uriel'),
-                                                                                                                                    (3, 'uno', null, 'In sagittis dui vel nisl. Duis ac nibh. Fusce lacus purus, aliquet at, feugiat non, pretium quis, lectus.', '2021-03-18 14:50:37', '2021-04-25 15:04:11', 'Desi', 'Patrizius'),
-                                                                                                                                    (24, 'uno', null, 'In congue. Etiam justo. Etiam pretium iaculis justo.', '2021-04-26 17:14:34', '2021-07-04 04:58:06', 'Frederigo', 'Heath'),
-                                                                                                                                    (62, 'uno', null, 'Suspendisse potenti. In eleifend quam a odio. In hac habitasse platea dictumst.', '2021-07-30 17:36:48', '2021-02-22 02:50:31', 'Conroy', 'Ralf'),
-                                                                                                                                    (49, 'uno', null, 'Proin leo odio, porttitor id, consequat in, consequat ut, nulla. Sed accumsan felis. Ut at dolor quis odio consequat varius.', '2021-06-30 07:55:25', '2021-05-01 04:31:05', 'Carolus', 'Kiley'),
-                                                                                                                                    (11, 'uno', null, 'Proin eu mi. Nulla ac enim. In tempor, turpis nec euismod scelerisque, quam turpis adipiscing lorem, vitae mattis nibh ligula nec sem.', '2021-11-30 02:55:08', '2021-12-17 10:25:02', 'Killian', 'Ewell'),
-                                                                                                                                    (3, 'uno', null, 'Proin leo odio, porttitor id, consequat in, consequat ut, nulla. Sed accumsan felis. Ut at dolor quis odio consequat varius.', '2021-10-17 05:31:12', '2021-12-19 13:25:46', 'Gary', 'Korey'),
-                                                                                                                                    (89, 'uno', null, 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.', '2021-05-16 00:33:39', '2021-04-21 11:16:34', 'Jeth', 'Shem'),
-                                                                                                                                    (104, 'uno', null, 'Phasellus in felis. Donec semper sapien a libero. Nam dui.', '2021-04-11 19:12:30', '2021-07-28 21:58:46', 'Archambault', 'Elwyn'),
-                                                                                                                                    (120, 'uno', null, 'Maecenas leo odio, condimentum id, luctus nec, molestie sed, justo. Pellentesque viverra pede ac diam. Cras pellentesque volutpat dui.', '2021-11-09 07:48:20', '2021-05-25 01:18:53', 'Owen', 'Aldrich'),
-                                                                                                                                    (119, 'uno', null, 'Duis bibendum. Morbi non quam nec dui luctus rutrum. Nulla tellus.', '2021-12-11 18:39:03', '2021-05-29 15:07:40', 'Fleming', 'Kaine'),
-                                                                                                                                    (71, 'uno', null, 'Proin leo odio, porttitor id, consequat in, consequat ut, nulla. Sed accumsan felis. Ut at dolor quis odio consequat varius.', '2021-09-22 10:07:58', '2021-06-29 20:27:29', 'Gianni', 'Leroi'),
-                                                                                                                                    (45, 'uno', null, 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.', '2021-06-03 15:54:44', '2022-01-21 14:50:05', 'Saundra', 'Timofei'),
-                                                                                                                                    (78, 'uno', null, 'Etiam vel augue. Vestibulum rutrum rutrum neque. Aenean auctor gravida sem.', '2021-05-19 04:22:01', '2021-02-23 20:41:21', 'Raphael', 'Earl'),
-                                                                                                                                    (29, 'uno', null, 'Phasellus sit amet erat. Nulla tempus. Vivamus in felis eu sapien cursus vestibulum.', '2021-02-14 18:22:02', '2021-03-16 18:55:35', 'Thorstein', 'Boycie'),
-                                                                                                                                    (14, 'uno', null, 'Nullam sit amet turpis elementum ligula vehicula consequat. Morbi a ipsum. Integer a nibh.', '2021-12-12 21:27:12', '2022-01-13 21:51:23', 'Haywood', 'Orland'),
-                                                                                                                                    (36, 'uno', null, 'In congue. Etiam justo. Etiam pretium iaculis justo.', '2021-12-04 23:26:12', '2021-06-24 00:39:21', 'Arley', 'Bealle'),
-                                                                                                                                    (16, 'uno', null, 'Proin eu mi. Nulla ac enim. In tempor, turpis nec euismod scelerisque, quam turpis adipiscing lorem, vitae mattis nibh ligula nec sem.', '2021-10-20 22:49:39', '2021-09-16 21:40:00', 'Gerik', 'Tom'),
-                                                                                                                                    (30, 'uno', null, 'Phasellus sit amet erat. Nulla tempus. Vivamus in felis eu sapien cursus vestibulum.', '2021-04-22 18:41:14', '2021-02-14 23:42:46', 'Kimbell', 'Avigdor'),
-                                                                                                                                    (119, 'uno', null, 'Fusce posuere felis sed lacus. Morbi sem mauris, laoreet ut, rhoncus aliquet, pulvinar sed, nisl. Nunc rhoncus dui vel sem.', '2021-11-05 20:30:44', '2021-08-23 04:17:55', 'Manny', 'Roth'),
-                                                                                                                                    (49, 'uno', null, 'Lorem ipsum dolor sit amet, consectetuer adipiscing elit. Proin risus. Praesent lectus.', '2021-03-30 20:19:39', '2021-11-11 18:15:08', 'Clare', 'Frants'),
-                                                                                                                                    (53, 'uno', null, 'Integer tincidunt ante vel ipsum. Praesent blandit lacinia erat. Vestibulum sed magna at nunc commodo placerat.', '2021-07-25 16:59:57', '2021-12-26 16:40:39', 'Verge', 'Uriel'),
-                                                                                                                                    (58, 'uno', null, 'Fusce posuere felis sed lacus. Morbi sem mauris, laoreet ut, rhoncus aliquet, pulvinar sed, nisl. Nunc rhoncus dui vel sem.', '2021-10-24 00:02:07', '2021-05-14 21:38:51', 'Tobe', 'Padraig'),
-                                                                                                                                    (97, 'uno', null, 'Mauris enim leo, rhoncus sed, vestibulum sit amet, cursus id, turpis. Integer aliquet, massa id lobortis convallis, tortor risus dapibus augue, vel accumsan tellus nisi eu orci. Mauris lacinia sapien quis libero.', '2021-03-15 03:17:22', '2021-03-09 07:40:08', 'Tommy', 'Stanton'),
-                                                                                                                                    (58, 'uno', null, 'Fusce posuere felis sed lacus. Morbi sem mauris, laoreet ut, rhoncus aliquet, pulvinar sed, nisl. Nunc rhoncus dui vel sem.', '2021-02-17 15:44:23', '2021-05-12 19:09:44', 'Addy', 'Georas'),
-                                                                                                                                    (18, 'uno', null, 'Vestibulum ac est lacinia nisi venenatis tristique. Fusce congue, diam id ornare imperdiet, sapien urna pretium nisl, ut volutpat sapien arcu sed augue. Aliquam erat volutpat.', '2022-01-14 07:16:57', '2022-01-18 13:43:16', 'Salem', 'Franklin'),
-                                                                                                                                    (48, 'uno', null, 'In quis justo. Maecenas rhoncus aliquam lacus. Morbi quis tortor id nulla ultrices aliquet.', '2021-03-25 20:09:14', '2021-06-05 06:26:54', 'Wang', 'Gunner'),
-                                                                                                                                    (1, 'uno', null, 'Vestibulum quam sapien, varius ut, blandit non, interdum in, ante. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Duis faucibus accumsan odio. Curabitur convallis.', '2021-10-28 04:52:36', '2021-12-25 06:43:01', 'Brendan', 'Rouvin'),
-                                                                                                                                    (102, 'uno', null, 'Nam ultrices, libero non mattis pulvinar, nulla pede ullamcorper augue, a suscipit nulla elit ac nulla. Sed vel enim sit amet nunc viverra dapibus. Nulla suscipit ligula in lacus.', '2021-06-13 23:00:54', '2021-03-02 16:25:07', 'Bran', 'Chet'),
-                                                                                                                                    (105, 'uno', null, 'Donec diam neque, vestibulum eget, vulputate ut, ultrices vel, augue. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Donec pharetra, magna vestibulum aliquet ultrices, erat tortor sollicitudin mi, sit amet lobortis sapien sapien non mi. Integer ac neque.', '2021-07-23 01:10:10', '2021-10-09 04:58:11', 'My', 'Conny'),
-                                                                                                                                    (1, 'uno', null, 'Nulla ut erat id mauris vulputate elementum. Nullam varius. Nulla facilisi.', '2021-06-15 07:11:35', '2021-11-10 07:57:55', 'Raimondo', 'Lou'),
-                                                                                                                                    (87, 'uno', null, 'Phasellus sit amet erat. Nulla tempus. Vivamus in felis eu sapien cursus vestibulum.', '2021-04-12 09:26:39', '2021-02-05 04:29:18', 'Curry', 'Gian'),
-                                                                                                                                    (113, 'uno', null, 'Maecenas ut massa quis augue luctus tincidunt. Nulla mollis molestie lorem. Quisque ut erat.', '2021-04-14 23:17:12', '2021-12-21 20:18:49', 'Raleigh', 'Marlon'),
-                                                                                                                                    (74, 'uno', null, 'Fusce posuere felis sed lacus. Morbi sem mauris, laoreet ut, rhoncus aliquet, pulvinar sed, nisl. Nunc rhoncus dui vel sem.', '2021-10-26 17:58:35', '2022-01-27 11:45:17', 'Lauren', 'Hoebart'),
-                                                                                                                                    (28, 'uno', null, 'Suspendisse potenti. In eleifend quam a odio. In hac habitasse platea dictumst.', '2021-05-17 07:57:54', '2021-03-16 07:48:16', 'Tonnie', 'Borden'),
-                                                                                                                                    (47, 'uno', null, 'Proin leo odio, porttitor id, consequat in, consequat ut, nulla. Sed accumsan felis. Ut at dolor quis odio consequat varius.', '2021-07-30 20:29:36', '2021-12-29 07:52:24', 'Galvin', 'Olenolin'),
-                                                                                                                                    (104, 'uno', null, 'In congue. Etiam justo. Etiam pretium iaculis justo.', '2021-07-16 13:21:55', '2021-02-18 15:51:26', 'Burty', 'Nicky'),
-                                                                                                                                    (121, 'uno', null, 'Duis bibendum. Morbi non quam nec dui luctus rutrum. Nulla tellus.', '2021-02-02 04:12:07', '2021-12-07 02:32:36', 'Ashton', 'Galvin'),
-                                                                                                                                    (12, 'uno', null, 'Nulla ut erat id mauris vulputate elementum. Nullam varius. Nulla facilisi.', '2021-10-18 21:01:27', '2021-10-02 00:45:14', 'Pacorro', 'Johan'),
-                                                                                                                                    (62, 'uno', null, 'Quisque porta volutpat erat. Quisque erat eros, viverra eget, congue eget, semper rutrum, nulla. Nunc purus.', '2021-02-26 12:57:07', '2021-05-28 13:25:39', 'Chip', 'Lazaro'),
-                                                                                                                                    (3, 'uno', null, 'Cras non velit nec nisi vulputate nonummy. Maecenas tincidunt lacus at velit. Vivamus vel nulla eget eros elementum pellentesque.', '2021-08-09 03:26:07', '2021-11-24 20:01:46', 'Odey', 'Alasdair'),
-                                                                                                                                    (111, 'uno', null, 'Nullam porttitor lacus at turpis. Donec posuere metus vitae ipsum. Aliquam non mauris.', '2021-09-11 06:11:36', '2021-02-08 18:50:27', 'Francis', 'Clywd'),
-                                                                                                                                    (15, 'uno', null, 'Duis consequat dui nec nisi volutpat eleifend. Donec ut dolor. Morbi vel lectus in quam fringilla rhoncus.', '2021-10-28 03:52:43', '2021-05-07 04:46:57', 'Ambros', 'Allistir'),
-                                                                                                                                    (63, 'uno', null, 'Praesent blandit. Nam nulla. Integer pede justo, lacinia eget, tincidunt eget, tempus vel, pede.', '2021-02-26 11:44:06', '2021-04-04 10:50:51', 'Godwin', 'Darn'),
-                                                                                                                                    (64, 'uno', null, 'Cum sociis natoque penatibus et magnis dis parturient montes, nascetur ridiculus mus. Vivamus vestibulum sagittis sapien. Cum sociis natoque penatibus et magnis dis parturient montes, nascetur ridiculus mus.', '2021-09-18 01:26:49', '2021-10-18 22:02:35', 'Saw', 'Hersch'),
-                                                                                                                                    (75, 'uno', null, 'Phasellus sit amet erat. Nulla tempus. Vivamus in felis eu sapien cursus vestibulum.', '2021-05-07 22:15:22', '2021-04-09 04:53:46', 'Jonas', 'Walther'),
-                                                                                                                                    (115, 'uno', null, 'Integer tincidunt ante vel ipsum. Praesent blandit lacinia erat. Vestibulum sed magna at nunc commodo placerat.', '2022-01-09 09:24:31', '2021-11-23 05:50:30', 'Maison', 'Rutledge'),
-                                                                                                                                    (66, 'uno', null, 'Phasellus in felis. Donec semper sapien a libero. Nam dui.', '2021-04-29 15:50:03', '2021-10-09 05:24:40', 'Warde', 'Ezra'),
-                                                                                                                                    (113, 'uno', null, 'Aenean fermentum. Donec ut mauris eget massa tempor convallis. Nulla neque libero, convallis eget, eleifend luctus, ultricies eu, nibh.', '2021-11-27 02:08:50', '2021-09-17 23:44:27', 'Beale', 'John'),
-                                                                                                                                    (22, 'uno', null, 'Duis bibendum. Morbi non quam nec dui luctus rutrum. Nulla tellus.', '2021-12-07 04:27:25', '2021-08-01 16:35:36', 'Stephanus', 'Woodie'),
-                                                                                                                                    (101, 'uno', null, 'Maecenas ut massa quis augue luctus tincidunt. Nulla mollis molestie lorem. Quisque ut erat.', '2022-01-09 23:00:02', '2021-02-03 16:50:34', 'Kendrick', 'Stevie'),
-                                                                                                                                    (74, 'uno', null, 'Phasellus sit amet erat. Nulla tempus. Vivamus in felis eu sapien cursus vestibulum.', '2021-11-13 17:40:36', '2021-05-24 19:48:38', 'Renato', 'Lazar'),
-                                                                                                                                    (117, 'uno', null, 'Vestibulum ac est lacinia nisi venenatis tristique. Fusce congue, diam id ornare imperdiet, sapien urna pretium nisl, ut volutpat sapien arcu sed augue. Aliquam erat volutpat.', '2021-04-07 23:37:24', '2021-07-31 23:54:24', 'Clim', 'Kerwin'),
-                                                                                                                                    (109, 'uno', null, 'Phasellus sit amet erat. Nulla tempus. Vivamus in felis eu sapien cursus vestibulum.', '2021-06-01 10:19:17', '2021-05-05 01:35:40', 'Merry', 'Alejoa'),
-                                                                                                                                    (35, 'uno', null, 'Morbi non lectus. Aliquam sit amet diam in magna bibendum imperdiet. Nullam orci pede, venenatis non, sodales sed, tincidunt eu, felis.', '2021-07-26 04:44:47', '2021-08-04 20:39:24', 'Hank', 'Bronnie'),
-                                                                                                                                    (58, 'uno', null, 'Integer tincidunt ante vel ipsum. Praesent blandit lacinia erat. Vestibulum sed magna at nunc commodo placerat.', '2021-06-05 17:56:40', '2021-12-16 06:08:45', 'Pembroke', 'Rudolfo'),
-                                                                                                                                    (94, 'uno', null, 'Morbi porttitor lorem id ligula. Suspendisse ornare consequat lectus. In est risus, auctor sed, tristique in, tempus sit amet, sem.', '2021-07-27 15:28:41', '2021-02-03 15:56:24', 'Skye', 'Travus'),
-                                                                                                                                    (110, 'uno', null, 'Duis bibendum. Morbi non quam nec dui luctus rutrum. Nulla tellus.', '2021-05-13 08:24:45', '2021-11-05 10:30:53', 'Anatole', 'Josh'),
-                                                                                                                                    (38, 'uno', null, 'Integer ac leo. Pellentesque ultrices mattis odio. Donec vitae nisi.', '2022-01-03 09:28:12', '2021-06-15 10:09:44', 'Wolfy', 'Denver'),
-                                                                                                                                    (112, 'uno', null, 'In quis justo. Maecenas rhoncus aliquam lacus. Morbi quis tortor id nulla ultrices aliquet.', '2021-10-28 06:09:00', '2021-04-18 09:32:47', 'Ave', 'Samson'),
-                                                                                                                                    (55, 'uno', null, 'Nulla ut erat id mauris vulputate elementum. Nullam varius. Nulla facilisi.', '2021-03-30 07:04:00', '2021-06-11 23:16:21', 'Merrick', 'Taddeo'),
-                                                                                                                                    (38, 'uno', null, 'Duis aliquam convallis nunc. Proin at turpis a pede posuere nonummy. Integer non velit.', '2021-05-12 15:07:01', '2021-03-01 11:26:25', 'Lamar', 'Denver'),
-                                                                                                                                    (57, 'uno', null, 'Pellentesque at nulla. Suspendisse potenti. Cras in purus eu magna vulputate luctus.', '2021-07-19 19:58:41', '2022-01-09 10:16:22', 'Marc', 'Dudley'),
-                                                                                                                                    (110, 'uno', null, 'Morbi porttitor lorem id ligula. Suspendisse ornare consequat lectus. In est risus, auctor sed, tristique in, tempus sit amet, sem.', '2021-10-10 12:35:10', '2021-06-08 16:03:44', 'Cirilo', 'Hewie'),
-                                                                                                                                    (16, 'uno', null, 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.', '2021-09-15 20:31:58', '2021-09-10 04:08:45', 'Parnell', 'Justen'),
-                                                                                                                                    (77, 'uno', null, 'Donec diam neque, vestibulum eget, vulputate ut, ultrices vel, augue. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Donec pharetra, magna vestibulum aliquet ultrices, erat tortor sollicitudin mi, sit amet lobortis sapien sapien non mi. Integer ac neque.', '2021-10-10 05:06:58', '2021-03-07 18:41:41', 'Wait', 'Jefferey'),
-                                                                                                                                    (80, 'uno', null, 'In congue. Etiam justo. Etiam pretium iaculis justo.', '2021-11-29 14:56:54', '2021-08-11 08:38:14', 'Oliver', 'Gordan'),
-                                                                                                                                    (93, 'uno', null, 'Sed ante. Vivamus tortor. Duis mattis egestas metus.', '2021-08-08 12:08:41', '2021-02-21 14:20:28', 'Boy', 'Erhard'),
-                                                                                                                                    (21, 'uno', null, 'Nullam porttitor lacus at turpis. Donec posuere metus vitae ipsum. Aliquam non mauris.', '2021-02-02 10:37:42', '2021-07-07 09:13:50', 'Kingsley', 'Cristiano'),
-                                                                                                                                    (121, 'uno', null, 'Vestibulum ac est lacinia nisi venenatis tristique. Fusce congue, diam id ornare imperdiet, sapien urna pretium nisl, ut volutpat sapien arcu sed augue. Aliquam erat volutpat.', '2021-05-01 16:02:15', '2021-03-16 04:57:53', 'Jack', 'Emerson'),
-                                                                                                                                    (81, 'uno', null, 'Nullam porttitor lacus at turpis. Donec posuere metus vitae ipsum. Aliquam non mauris.', '2021-10-06 07:22:15', '2021-04-13 18:38:19', 'Shadow', 'Olivero'),
-                                                                                                                                    (115, 'uno', null, 'Curabitur at ipsum ac tellus semper interdum. Mauris ullamcorper purus sit amet nulla. Quisque arcu libero, rutrum ac, lobortis vel, dapibus at, diam.', '2021-08-21 18:30:28', '2022-01-27 04:56:23', 'Torrance', 'Jay'),
-                                                                                                                                    (71, 'uno', null, 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.', '2021-07-14 22:27:52', '2021-12-20 14:06:44', 'Griz', 'Rice'),
-                                                                                                                                    (10, 'uno', null, 'Duis consequat dui nec nisi volutpat eleifend. Donec ut dolor. Morbi vel lectus in quam fringilla rhoncus.', '2021-09-22 03:34:12', '2021-08-02 23:30:33', 'Johnathan', 'Gasper'),
-                                                                                                                                    (83, 'uno', null, 'Lorem ipsum dolor sit amet, consectetuer adipiscing elit. Proin risus. Praesent lectus.', '2021-11-09 09:44:05', '2021-09-27 16:32:41', 'Krishnah', 'Gauthier'),
-                                                                                                                                    (65, 'uno', null, 'Duis consequat dui nec nisi volutpat eleifend. Donec ut dolor. Morbi vel lectus in quam fringilla rhoncus.', '2021-06-05 10:03:50', '2021-04-03 21:14:02', 'Padraig', 'Hagan'),
-                                                                                                                                    (65, 'uno', null, 'Fusce posuere felis sed lacus. Morbi sem mauris, laoreet ut, rhoncus aliquet, pulvinar sed, nisl. Nunc rhoncus dui vel sem.', '2021-02-08 03:59:27', '2022-01-05 18:54:29', 'Marven', 'Cesaro'),
-                                                                                                                                    (40, 'uno', null, 'Fusce consequat. Nulla nisl. Nunc nisl.', '2021-09-10 06:18:43', '2022-01-05 12:44:51', 'Iggy', 'Giffer'),
-                                                                                                                                    (40, 'uno', null, 'Curabitur gravida nisi at nibh. In hac habitasse platea dictumst. Aliquam augue quam, sollicitudin vitae, consectetuer eget, rutrum at, lorem.', '2021-11-24 21:14:01', '2021-07-24 00:45:50', 'Tanner', 'Alasdair'),
-                                                                                                                                    (53, 'uno', null, 'Curabitur in libero ut massa volutpat convallis. Morbi odio odio, elementum eu, interdum eu, tincidunt in, leo. Maecenas pulvinar lobortis est.', '2021-04-30 20:09:55', '2021-07-19 23:40:23', 'Germain', 'Raffaello'),
-                                                                                                                                    (35, 'uno', null, 'Cum sociis natoque penatibus et magnis dis parturient montes, nascetur ridiculus mus. Vivamus vestibulum sagittis sapien. Cum sociis natoque penatibus et magnis dis parturient montes, nascetur ridiculus mus.', '2021-09-23 19:49:04', '2021-07-17 12:46:19', 'Pat', 'Lynn'),
-                                                                                                                                    (108, 'uno', null, 'Praesent blandit. Nam nulla. Integer pede justo, lacinia eget, tincidunt eget, tempus vel, pede.', '2021-02-26 17:41:27', '2021-06-19 13:50:02', 'Ancell', 'Zack'),
-                                                                                                                                    (123, 'uno', null, 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.', '2021-04-02 23:38:41', '2021-05-25 09:51:50', 'Augustus', 'Noak'),
-                                                                                                                                    (10, 'uno', null, 'Vestibulum ac est lacinia nisi venenatis tristique. Fusce congue, diam id ornare imperdiet, sapien urna pretium nisl, ut volutpat sapien arcu sed augue. Aliquam erat volutpat.', '2021-08-04 16:14:43', '2021-05-14 16:24:37', 'Verne', 'Jae'),
-                                                                                                                                    (70, 'uno', null, 'Donec diam neque, vestibulum eget, vulputate ut, ultrices vel, augue. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Donec pharetra, magna vestibulum aliquet ultrices, erat tortor sollicitudin mi, sit amet lobortis sapien sapien non mi. Integer ac neque.', '2021-11-06 06:46:35', '2022-01-10 16:32:48', 'Guillermo', 'Donavon'),
-                                                                                                                                    (66, 'uno', null, 'Sed sagittis. Nam congue, risus semper porta volutpat, quam pede lobortis ligula, sit amet eleifend pede libero quis orci. Nullam molestie nibh in lectus.', '2022-01-14 20:49:05', '2021-02-17 00:51:12', 'Ermin', 'Eugenius'),
-                                                                                                                                    (60, 'uno', null, 'Quisque id justo sit amet sapien dignissim vestibulum. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Nulla dapibus dolor vel est. Donec odio justo, sollicitudin ut, suscipit a, feugiat et, eros.', '2021-10-31 12:14:52', '2021-12-16 14:05:55', 'Beniamino', 'Lucius'),
-                                                                                                                                    (86, 'uno', null, 'Donec diam neque, vestibulum eget, vulputate ut, ultrices vel, augue. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Donec pharetra, magna vestibulum aliquet ultrices, erat tortor sollicitudin mi, sit amet lobortis sapien sapien non mi. Integer ac neque.', '2021-05-14 17:45:54', '2021-11-04 17:25:01', 'Roman', 'Pippo'),
-                                                                                                                                    (46, 'uno', null, 'In hac habitasse platea dictumst. Morbi vestibulum, velit id pretium iaculis, diam erat fermentum justo, nec condimentum neque sapien placerat ante. Nulla justo.', '2021-12-30 18:54:39', '2021-10-27 17:51:06', 'Laird', 'Rooney'),
-                                                                                                                                    (109, 'uno', null, 'Phasellus in felis. Donec semper sapien a libero. Nam dui.', '2021-02-15 22:55:20', '2021-05-19 06:29:30', 'Harwell', 'Hamish'),
-                                                                                                                                    (29, 'uno', null, 'Vestibulum quam sapien, varius ut, blandit non, interdum in, ante. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Duis faucibus accumsan odio. Curabitur convallis.', '2021-03-03 14:41:45', '2021-08-21 19:45:03', 'Farrell', 'Putnam'),
-                                                                                                                                    (4, 'uno', null, 'Duis bibendum, felis sed interdum venenatis, turpis enim blandit mi, in porttitor pede justo eu massa. Donec dapibus. Duis at velit eu est congue elementum.', '2021-05-07 23:41:49', '2021-07-20 15:05:46', 'Cullan', 'Brenden'),
-                                                                                                                                    (72, 'uno', null, 'Quisque id justo sit amet sapien dignissim vestibulum. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Nulla dapibus dolor vel est. Donec odio justo, sollicitudin ut, suscipit a, feugiat et, eros.', '2022-01-21 09:58:07', '2021-09-30 10:22:58', 'Reinhard', 'Gustav'),
-                                                                                                                                    (103, 'uno', null, 'Proin eu mi. Nulla ac enim. In tempor, turpis nec euismod scelerisque, quam turpis adipiscing lorem, vitae mattis nibh ligula nec sem.', '2021-06-21 04:54:38', '2021-02-04 14:03:34', 'Redford', 'Odey'),
-                                                                                                                                    (3, 'uno', null, 'Duis aliquam convallis nunc. Proin at turpis a pede posuere nonummy. Integer non velit.', '2021-07-03 22:53:01', '2021-12-17 02:16:19', 'Onofredo', 'Burnard'),
-                                                                                                                                    (47, 'uno', null, 'In congue. Etiam justo. Etiam pretium iaculis justo.', '2021-04-14 07:12:05', '2022-01-25 09:31:18', 'Ludwig', 'Bink'),
-                                                                                                                                    (108, 'uno', null, 'Cras mi pede, malesuada in, imperdiet et, commodo vulputate, justo. In blandit ultrices enim. Lorem ipsum dolor sit amet, consectetuer adipiscing elit.', '2021-01-29 06:11:21', '2021-11-28 10:36:30', 'Brose', 'Dory'),
-                                                                                                                                    (18, 'uno', null, 'Curabitur in libero ut massa volutpat convallis. Morbi odio odio, elementum eu, interdum eu, tincidunt in, leo. Maecenas pulvinar lobortis est.', '2021-07-11 22:57:32', '2021-12-29 13:13:47', 'Jorgan', 'Tully'),
-                                                                                                                                    (122, 'uno', null, 'Quisque porta volutpat erat. Quisque erat eros, viverra eget, congue eget, semper rutrum, nulla. Nunc purus.', '2021-07-07 11:28:36', '2022-01-11 22:25:11', 'Noak', 'Randi'),
-                                                                                                                                    (10, 'uno', null, 'Duis bibendum, felis sed interdum venenatis, turpis enim blandit mi, in porttitor pede justo eu massa. Donec dapibus. Duis at velit eu est congue elementum.', '2021-01-28 04:18:05', '2021-03-15 00:49:20', 'Robers', 'Lucien'),
-                                                                                                                                    (100, 'uno', null, 'In quis justo. Maecenas rhoncus aliquam lacus. Morbi quis tortor id nulla ultrices aliquet.', '2021-10-21 10:15:11', '2021-07-15 02:29:24', 'Ellwood', 'Haley'),
-                                                                                                                                    (109, 'uno', null, 'In sagittis dui vel nisl. Duis ac nibh. Fusce lacus purus, aliquet at, feugiat non, pretium quis, lectus.', '2021-09-20 02:30:44', '2021-02-23 21:10:19', 'Rand', 'Farr'),
-                                                                                                                                    (7, 'uno', null, 'Aenean fermentum. Donec ut mauris eget massa tempor convallis. Nulla neque libero, convallis eget, eleifend luctus, ultricies eu, nibh.', '2021-03-30 03:51:17', '2021-03-12 03:31:28', 'Benn', 'Felicio'),
-                                                                                                                                    (3, 'uno', null, 'In hac habitasse platea dictumst. Etiam faucibus cursus urna. Ut tellus.', '2021-09-28 17:14:00', '2021-11-10 07:58:33', 'Bram', 'Reamonn'),
-                                                                                                                                    (19, 'uno', null, 'Nam ultrices, libero non mattis pulvinar, nulla pede ullamcorper augue, a suscipit nulla elit ac nulla. Sed vel enim sit amet nunc viverra dapibus. Nulla suscipit ligula in lacus.', '2021-11-21 02:15:09', '2021-09-26 07:25:00', 'Tobiah', 'Elvyn'),
-                                                                                                                                    (29, 'uno', null, 'Integer ac leo. Pellentesque ultrices mattis odio. Donec vitae nisi.', '2021-06-17 22:45:24', '2021-02-22 00:27:48', 'Tuckie', 'Alano'),
-                                                                                                                                    (38, 'uno', null, 'Praesent blandit. Nam nulla. Integer pede justo, lacinia eget, tincidunt eget, tempus vel, pede.', '2021-03-08 06:05:41', '2021-08-23 14:39:11', 'Torrey', 'Lincoln'),
-                                                                                                                                    (89, 'uno', null, 'Praesent blandit. Nam nulla. Integer pede justo, lacinia eget, tincidunt eget, tempus vel, pede.', '2021-05-02 07:48:14', '2021-04-21 23:59:10', 'Sheppard', 'Mordy'),
-                                                                                                                                    (37, 'uno', null, 'Quisque porta volutpat erat. Quisque erat eros, viverra eget, congue eget, semper rutrum, nulla. Nunc purus.', '2021-09-23 10:38:38', '2021-09-28 17:28:23', 'Alasteir', 'Rodolph'),
-                                                                                                                                    (96, 'uno', null, 'Curabitur at ipsum ac tellus semper interdum. Mauris ullamcorper purus sit amet nulla. Quisque arcu libero, rutrum ac, lobortis vel, dapibus at, diam.', '2021-12-13 02:05:08', '2021-08-13 20:19:31', 'Curcio', 'Frankie'),
-                                                                                                                                    (9, 'uno', null, 'Curabitur in libero ut massa volutpat convallis. Morbi odio odio, elementum eu, interdum eu, tincidunt in, leo. Maecenas pulvinar lobortis est.', '2021-08-03 08:05:59', '2021-07-18 13:07:29', 'Randal', 'Lowrance'),
-                                                                                                                                    (95, 'uno', null, 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.', '2021-05-23 16:26:14', '2022-01-27 15:13:11', 'Corbin', 'Gardy'),
-                                                                                                                                    (41, 'uno', null, 'In hac habitasse platea dictumst. Morbi vestibulum, velit id pretium iaculis, diam erat fermentum justo, nec condimentum neque sapien placerat ante. Nulla justo.', '2021-04-12 18:28:56', '2021-09-16 06:18:28', 'Sammie', 'Jerrold'),
-                                                                                                                                    (80, 'uno', null, 'Aliquam quis turpis eget elit sodales scelerisque. Mauris sit amet eros. Suspendisse accumsan tortor quis turpis.', '2021-02-20 22:12:07', '2021-05-20 15:04:18', 'Abram', 'Foster'),
-                                                                                                                                    (46, 'uno', null, 'Fusce posuere felis sed lacus. Morbi sem mauris, laoreet ut, rhoncus aliquet, pulvinar sed, nisl. Nunc rhoncus dui vel sem.', '2021-02-05 14:12:10', '2021-04-21 22:37:57', 'Rusty', 'Martin'),
-                                                                                                                                    (117, 'uno', null, 'Morbi porttitor lorem id ligula. Suspendisse ornare consequat lectus. In est risus, auctor sed, tristique in, tempus sit amet, sem.', '2021-08-30 23:52:53', '2021-04-13 04:02:26', 'Mohammed', 'Roman'),
-                                                                                                                                    (117, 'uno', null, 'Maecenas tristique, est et tempus semper, est quam pharetra magna, ac consequat metus sapien ut nunc. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Mauris viverra diam vitae quam. Suspendisse potenti.', '2021-11-28 01:58:02', '2021-12-21 11:52:52', 'Tomas', 'Lorry'),
-                                                                                                                                    (102, 'uno', null, 'Curabitur at ipsum ac tellus semper interdum. Mauris ullamcorper purus sit amet nulla. Quisque arcu libero, rutrum ac, lobortis vel, dapibus at, diam.', '2021-02-07 07:54:20', '2022-01-26 07:40:14', 'Laurence', 'Obediah'),
-                                                                                                                                    (105, 'uno', null, 'Aenean fermentum. Donec ut mauris eget massa tempor convallis. Nulla neque libero, convallis eget, eleifend luctus, ultricies eu, nibh.', '2021-12-07 21:09:27', '2021-02-25 05:08:10', 'Doyle', 'Manolo'),
-                                                                                                                                    (31, 'uno', null, 'Maecenas leo odio, condimentum id, luctus nec, molestie sed, justo. Pellentesque viverra pede ac diam. Cras pellentesque volutpat dui.', '2021-06-08 17:54:29', '2021-04-09 21:42:54', 'Alfons', 'Merrel'),
-                                                                                                                                    (104, 'uno', null, 'Cras mi pede, malesuada in, imperdiet et, commodo vulputate, justo. In blandit ultrices enim. Lorem ipsum dolor sit amet, consectetuer adipiscing elit.', '2021-02-15 00:43:19', '2021-05-11 00:01:36', 'Barris', 'Thayne'),
-                                                                                                                                    (6, 'uno', null, 'Vestibulum ac est lacinia nisi venenatis tristique. Fusce congue, diam id ornare imperdiet, sapien urna pretium nisl, ut volutpat sapien arcu sed augue. Aliquam erat volutpat.', '2021-08-23 18:08:15', '2021-02-14 18:46:55', 'Chester', 'Raimund'),
-                                                                                                                                    (23, 'uno', null, 'Proin eu mi. Nulla ac enim. In tempor, turpis nec euismod scelerisque, quam turpis adipiscing lorem, vitae mattis nibh ligula nec sem.', '2021-08-22 05:10:51', '2021-11-14 05:48:36', 'Gunner', 'Daryle'),
-                                                                                                                                    (9, 'uno', null, 'Vestibulum quam sapien, varius ut, blandit non, interdum in, ante. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Duis faucibus accumsan odio. Curabitur convallis.', '2021-07-08 21:49:32', '2021-10-16 05:19:59', 'Garey', 'Newton'),
-                                                                                                                                    (61, 'uno', null, 'Vestibulum ac est lacinia nisi venenatis tristique. Fusce congue, diam id ornare imperdiet, sapien urna pretium nisl, ut volutpat sapien arcu sed augue. Aliquam erat volutpat.', '2021-02-16 21:02:31', '2021-03-14 09:32:46', 'Pryce', 'Ruggiero'),
-                                                                                                                                    (60, 'uno', null, 'Vestibulum ac est lacinia nisi venenatis tristique. Fusce congue, diam id ornare imperdiet, sapien urna pretium nisl, ut volutpat sapien arcu sed augue. Aliquam erat volutpat.', '2021-07-01 14:11:02', '2022-01-05 14:35:41', 'Alphonse', 'Jimmie'),
-                                                                                                                                    (66, 'uno', null, 'In congue. Etiam justo. Etiam pretium iaculis justo.', '2021-07-21 22:00:47', '2021-04-15 01:34:52', 'Francesco', 'Sigismond'),
-                                                                                                                                    (110, 'uno', null, 'Maecenas ut massa quis augue luctus tincidunt. Nulla mollis molestie lorem. Quisque ut erat.', '2022-01-20 13:04:44', '2021-07-23 13:46:46', 'Lee', 'Hillie'),
-                                                                                                                                    (49, 'uno', null, 'Curabitur in libero ut massa volutpat convallis. Morbi odio odio, elementum eu, interdum eu, tincidunt in, leo. Maecenas pulvinar lobortis est.', '2021-08-17 22:15:55', '2021-08-14 18:08:06', 'Xerxes', 'Gavan'),
-                                                                                                                                    (30, 'uno', null, 'Praesent id massa id nisl venenatis lacinia. Aenean sit amet justo. Morbi ut odio.', '2022-01-01 09:01:26', '2021-02-05 06:06:11', 'Nilson', 'Abramo'),
-                                                                                                                                    (66, 'uno', null, 'Maecenas leo odio, condimentum id, luctus nec, molestie sed, justo. Pellentesque viverra pede ac diam. Cras pellentesque volutpat dui.', '2021-03-19 18:31:00', '2021-02-02 18:13:43', 'Efrem', 'Nappie'),
-                                                                                                                                    (20, 'uno', null, 'Sed sagittis. Nam congue, risus semper porta volutpat, quam pede lobortis ligula, sit amet eleifend pede libero quis orci. Nullam molestie nibh in lectus.', '2021-08-10 09:50:08', '2021-06-10 09:21:44', 'Killy', 'Link'),
-                                                                                                                                    (60, 'uno', null, 'Quisque id justo sit amet sapien dignissim vestibulum. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Nulla dapibus dolor vel est. Donec odio justo, sollicitudin ut, suscipit a, feugiat et, eros.', '2021-07-01 11:17:44', '2021-06-12 14:47:11', 'Redd', 'Findlay'),
-                                                                                                                                    (84, 'uno', null, 'Curabitur in libero ut massa volutpat convallis. Morbi odio odio, elementum eu, interdum eu, tincidunt in, leo. Maecenas pulvinar lobortis est.', '2021-11-20 19:24:29', '2021-07-09 22:30:51', 'Jermaine', 'Giordano'),
-                                                                                                                                    (16, 'uno', null, 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.', '2021-03-31 15:02:53', '2022-01-27 10:41:22', 'Nevins', 'Tades'),
-                                                                                                                                    (24, 'uno', null, 'Aenean lectus. Pellentesque eget nunc. Donec quis orci eget orci vehicula condimentum.', '2021-12-14 16:08:30', '2021-07-27 17:14:42', 'Ford', 'Bert'),
-                                                                                                                                    (118, 'uno', null, 'Aliquam quis turpis eget elit sodales scelerisque. Mauris sit amet eros. Suspendisse accumsan tortor quis turpis.', '2021-04-06 13:22:24', '2021-03-22 21:55:23', 'Derward', 'Gilberto'),
-                                                                                                                                    (80, 'uno', null, 'Curabitur in libero ut massa volutpat convallis. Morbi odio odio, elementum eu, interdum eu, tincidunt in, leo. Maecenas pulvinar lobortis est.', '2021-11-11 14:40:19', '2021-03-18 04:28:34', 'Raynard', 'Harmon'),
-                                                                                                                                    (15, 'uno', null, 'Aliquam quis turpis eget elit sodales scelerisque. Mauris sit amet eros. Suspendisse accumsan tortor quis turpis.', '2021-08-03 10:39:41', '2021-10-10 14:36:42', 'Link', 'Herculie'),
-                                                                                                                                    (53, 'uno', null, 'Mauris enim leo, rhoncus sed, vestibulum sit amet, cursus id, turpis. Integer aliquet, massa id lobortis convallis, tortor risus dapibus augue, vel accumsan tellus nisi eu orci. Mauris lacinia sapien quis libero.', '2021-10-16 21:35:19', '2021-02-03 11:50:26', 'Bruno', 'Morry'),
-                                                                                                                                    (116, 'uno', null, 'Quisque id justo sit amet sapien dignissim vestibulum. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Nulla dapibus dolor vel est. Donec odio justo, sollicitudin ut, suscipit a, feugiat et, eros.', '2021-06-30 09:33:06', '2021-03-14 15:57:56', 'Ash', 'Kain'),
-                                                                                                                                    (18, 'uno', null, 'Vestibulum quam sapien, varius ut, blandit non, interdum in, ante. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Duis faucibus accumsan odio. Curabitur convallis.', '2021-12-17 04:35:08', '2021-12-03 02:48:23', 'Vance', 'Sherwood'),
-                                                                                                                                    (39, 'uno', null, 'Fusce posuere felis sed lacus. Morbi sem mauris, laoreet ut, rhoncus aliquet, pulvinar sed, nisl. Nunc rhoncus dui vel sem.', '2022-01-24 11:08:07', '2021-03-10 17:24:44', 'Alexio', 'Zak'),
-                                                                                                                                    (36, 'uno', null, 'Duis bibendum. Morbi non quam nec dui luctus rutrum. Nulla tellus.', '2021-10-26 14:32:13', '2021-12-09 16:40:34', 'Gustavus', 'Dennis'),
-                                                                                                                                    (95, 'uno', null, 'Suspendisse potenti. In eleifend quam a odio. In hac habitasse platea dictumst.', '2022-01-04 18:07:58', '2021-06-09 11:32:21', 'Correy', 'Michale'),
-                                                                                                                                    (83, 'uno', null, 'Proin eu mi. Nulla ac enim. In tempor, turpis nec euismod scelerisque, quam turpis adipiscing lorem, vitae mattis nibh ligula nec sem.', '2021-08-26 19:21:23', '2021-08-18 00:16:06', 'Marsh', 'Jake'),
-                                                                                                                                    (32, 'uno', null, 'Fusce posuere felis sed lacus. Morbi sem mauris, laoreet ut, rhoncus aliquet, pulvinar sed, nisl. Nunc rhoncus dui vel sem.', '2021-04-06 03:33:13', '2021-02-08 18:06:28', 'Joey', 'Jeddy'),
-                                                                                                                                    (97, 'uno', null, 'Curabitur in libero ut massa volutpat convallis. Morbi odio odio, elementum eu, interdum eu, tincidunt in, leo. Maecenas pulvinar lobortis est.', '2021-10-02 12:32:35', '2021-03-31 17:12:09', 'Ermin', 'Randy'),
-                                                                                                                                    (101, 'uno', null, 'In congue. Etiam justo. Etiam pretium iaculis justo.', '2021-06-26 12:29:52', '2021-01-29 02:54:16', 'Archer', 'Denney'),
-                                                                                                                                    (109, 'uno', null, 'Cras non velit nec nisi vulputate nonummy. Maecenas tincidunt lacus at velit. Vivamus vel nulla eget eros elementum pellentesque.', '2021-05-01 12:24:18', '2021-05-30 21:29:42', 'Fransisco', 'Francisco'),
-                                                                                                                                    (93, 'uno', null, 'Quisque porta volutpat erat. Quisque erat eros, viverra eget, congue eget, semper rutrum, nulla. Nunc purus.', '2021-02-22 10:56:34', '2021-09-02 15:20:32', 'Georgy', 'Wells'),
-                                                                                                                                    (118, 'uno', null, 'Quisque id justo sit amet sapien dignissim vestibulum. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Nulla dapibus dolor vel est. Donec odio justo, sollicitudin ut, suscipit a, feugiat et, eros.', '2021-11-04 07:35:10', '2021-12-24 13:17:12', 'Oates', 'Clayborne'),
-                                                                                                                                    (97, 'uno', null, 'Nullam porttitor lacus at turpis. Donec posuere metus vitae ipsum. Aliquam non mauris.', '2021-07-18 10:42:20', '2021-12-25 13:59:02', 'Richmound', 'Wilmar'),
-                                                                                                                                    (6, 'uno', null, 'Phasellus in felis. Donec semper sapien a libero. Nam dui.', '2021-02-08 10:45:24', '2021-04-04 03:18:49', 'Rees', 'Kerk'),
-                                                                                                                                    (106, 'uno', null, 'Etiam vel augue. Vestibulum rutrum rutrum neque. Aenean auctor gravida sem.', '2021-02-12 12:56:15', '2021-06-19 00:23:26', 'Kiley', 'Keenan'),
-                                                                                                                                    (77, 'uno', null, 'Aenean lectus. Pellentesque eget nunc. Donec quis orci eget orci vehicula condimentum.', '2022-01-08 02:32:10', '2021-07-23 12:21:01', 'Harlen', 'Zacharia'),
-                                                                                                                                    (56, 'uno', null, 'Sed ante. Vivamus tortor. Duis mattis egestas metus.', '2021-11-18 01:32:48', '2021-06-06 01:59:25', 'Vittorio', 'Milty'),
-                                                                                                                                    (19, 'uno', null, 'In hac habitasse platea dictumst. Etiam faucibus cursus urna. Ut tellus.', '2021-05-07 23:57:29', '2021-04-03 21:55:11', 'Oliver', 'Graehme')
+insert into article_comment (id, article_id, user_id, parent_comment_id, content, created_at, modified_at, created_by, modified_by) values
+                                                                                                                                    (1, 49, 'uno', null, 'Quisque id justo sit amet sapien dignissim vestibulum. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Nulla dapibus dolor vel est. Donec odio justo, sollicitudin ut, suscipit a, feugiat et, eros.', '2021-03-02 22:40:04', '2021-04-27 15:38:09', 'Lind', 'Orv'),
+                                                                                                                                    (2, 108, 'uno', null, 'Quisque id justo sit amet sapien dignissim vestibulum. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Nulla dapibus dolor vel est. Donec odio justo, sollicitudin ut, suscipit a, feugiat et, eros.', '2021-06-08 04:36:02', '2022-01-25 15:35:42', 'Trstram', 'Loy'),
+                                                                                                                                    (3, 31, 'uno2', null, 'Nam ultrices, libero non mattis pulvinar, nulla pede ullamcorper augue, a suscipit nulla elit ac nulla. Sed vel enim sit amet nunc viverra dapibus. Nulla suscipit ligula in lacus.', '2021-04-10 00:47:10', '2021-02-06 20:58:04', 'Duff', 'Early'),
+                                                                                                                                    (4, 120, 'uno2', null, 'Lorem ipsum dolor sit amet, consectetuer adipiscing elit. Proin risus. Praesent lectus.', '2021-08-21 08:39:39', '2021-11-17 22:47:35', 'Sydney', 'Boony'),
+                                                                                                                                    (5, 123, 'uno2', null, 'Aliquam quis turpis eget elit sodales scelerisque. Mauris sit amet eros. Suspendisse accumsan tortor quis turpis.', '2021-06-17 10:57:29', '2021-05-13 12:28:47', 'Burk', 'Markus'),
+                                                                                                                                    (6, 39, 'uno2', null, 'In sagittis dui vel nisl. Duis ac nibh. Fusce lacus purus, aliquet at, feugiat non, pretium quis, lectus.', '2022-01-15 11:37:12', '2021-02-19 17:42:22', 'Calvin', 'Garreth'),
+                                                                                                                                    (7, 30, 'uno2', null, 'Nam ultrices, libero non mattis pulvinar, nulla pede ullamcorper augue, a suscipit nulla elit ac nulla. Sed vel enim sit amet nunc viverra dapibus. Nulla suscipit ligula in lacus.', '2021-11-23 18:29:30', '2021-03-09 00:57:27', 'Kain', 'Bruno'),
+                                                                                                                                    (8, 57, 'uno2', null, 'Sed sagittis. Nam congue, risus semper porta volutpat, quam pede lobortis ligula, sit amet eleifend pede libero quis orci. Nullam molestie nibh in lectus.', '2021-03-19 18:39:02', '2021-03-16 17:47:17', 'Kippie', 'Alexio'),
+                                                                                                                                    (9, 41, 'uno2', null, 'Aliquam quis turpis eget elit sodales scelerisque. Mauris sit amet eros. Suspendisse accumsan tortor quis turpis.', '2021-03-21 16:34:30', '2021-03-17 15:18:55', 'Frannie', 'Horacio'),
+                                                                                                                                    (10, 100, 'uno2', null, 'Proin eu mi. Nulla ac enim. In tempor, turpis nec euismod scelerisque, quam turpis adipiscing lorem, vitae mattis nibh ligula nec sem.', '2021-02-24 16:53:08', '2021-05-09 06:00:58', 'Osborn', 'Pren'),
+                                                                                                                                    (11, 48, 'uno2', null, 'Integer ac leo. Pellentesque ultrices mattis odio. Donec vitae nisi.', '2021-03-29 08:26:41', '2021-11-22 20:55:26', 'Dorie', 'Georgie'),
+                                                                                                                                    (12, 122, 'uno2', null, 'In hac habitasse platea dictumst. Morbi vestibulum, velit id pretium iaculis, diam erat fermentum justo, nec condimentum neque sapien placerat ante. Nulla justo.', '2021-06-12 07:38:25', '2021-03-03 07:14:43', 'Obed', 'Chrissy'),
+                                                                                                                                    (13, 87, 'uno2', null, 'Phasellus sit amet erat. Nulla tempus. Vivamus in felis eu sapien cursus vestibulum.', '2021-05-11 08:47:16', '2021-04-13 00:47:50', 'Reinhard', 'Robbert'),
+                                                                                                                                    (14, 100, 'uno2', null, 'Nam ultrices, libero non mattis pulvinar, nulla pede ullamcorper augue, a suscipit nulla elit ac nulla. Sed vel enim sit amet nunc viverra dapibus. Nulla suscipit ligula in lacus.', '2022-01-18 23:33:51', '2022-01-14 12:38:23', 'Clim', 'Chester'),
+                                                                                                                                    (15, 22, 'uno2', null, 'Fusce posuere felis sed lacus. Morbi sem mauris, laoreet ut, rhoncus aliquet, pulvinar sed, nisl. Nunc rhoncus dui vel sem.', '2021-09-18 10:27:37', '2021-09-29 20:31:09', 'Odie', 'Britt'),
+                                                                                                                                    (16, 97, 'uno2', null, 'Praesent blandit. Nam nulla. Integer pede justo, lacinia eget, tincidunt eget, tempus vel, pede.', '2021-12-14 01:55:52', '2021-11-02 15:12:00', 'Ulises', 'Denney'),
+                                                                                                                                    (17, 103, 'uno2', null, 'Fusce consequat. Nulla nisl. Nunc nisl.', '2021-04-03 11:44:04', '2022-01-05 21:01:34', 'Kendricks', 'Aubert'),
+                                                                                                                                    (18, 25, 'uno2', null, 'Vestibulum ac est lacinia nisi venenatis tristique. Fusce congue, diam id ornare imperdiet, sapien urna pretium nisl, ut volutpat sapien arcu sed augue. Aliquam erat volutpat.', '2021-05-25 09:46:40', '2021-10-10 18:46:59', 'Dal', 'Maxy'),
+                                                                                                                                    (19, 91, 'uno2', null, 'Phasellus in felis. Donec semper sapien a libero. Nam dui.', '2021-04-29 23:36:48', '2021-12-03 12:08:48', 'Vaclav', 'Patric'),
+                                                                                                                                    (20, 18, 'uno2', null, 'Curabitur gravida nisi at nibh. In hac habitasse platea dictumst. Aliquam augue quam, sollicitudin vitae, consectetuer eget, rutrum at, lorem.', '2021-09-26 00:29:13', '2021-07-10 01:44:07', 'Carl', 'Riley'),
+                                                                                                                                    (21, 89, 'uno2', null, 'Sed sagittis. Nam congue, risus semper porta volutpat, quam pede lobortis ligula, sit amet eleifend pede libero quis orci. Nullam molestie nibh in lectus.', '2021-12-11 05:07:10', '2021-05-31 15:26:03', 'Dex', 'Wallas'),
+                                                                                                                                    (22, 107, 'uno2', null, 'Donec diam neque, vestibulum eget, vulputate ut, ultrices vel, augue. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Donec pharetra, magna vestibulum aliquet ultrices, erat tortor sollicitudin mi, sit amet lobortis sapien sapien non mi. Integer ac neque.', '2021-10-31 11:33:44', '2021-03-04 15:19:35', 'Lutero', 'Hussein'),
+                                                                                                                                    (23, 90, 'uno2', null, 'Proin leo odio, porttitor id, consequat in, consequat ut, nulla. Sed accumsan felis. Ut at dolor quis odio consequat varius.', '2021-08-17 14:52:58', '2021-11-24 16:28:01', 'Garvy', 'Gris'),
+                                                                                                                                    (24, 121, 'uno2', null, 'Proin leo odio, porttitor id, consequat in, consequat ut, nulla. Sed accumsan felis. Ut at dolor quis odio consequat varius.', '2021-02-17 16:50:19', '2021-01-31 09:21:51', 'Shayne', 'Stafford'),
+                                                                                                                                    (25, 91, 'uno2', null, 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.', '2021-06-23 10:06:39', '2021-10-27 22:04:41', 'Haze', 'Giraldo'),
+                                                                                                                                    (26, 32, 'uno2', null, 'Pellentesque at nulla. Suspendisse potenti. Cras in purus eu magna vulputate luctus.', '2021-10-21 19:41:56', '2021-03-12 02:47:38', 'Cobbie', 'Thornton'),
+                                                                                                                                    (27, 47, 'uno2', null, 'Fusce consequat. Nulla nisl. Nunc nisl.', '2021-05-02 07:45:04', '2021-06-26 13:36:44', 'Humfried', 'Bram'),
+                                                                                                                                    (28, 92, 'uno2', null, 'Curabitur in libero ut massa volutpat convallis. Morbi odio odio, elementum eu, interdum eu, tincidunt in, leo. Maecenas pulvinar lobortis est.', '2021-10-22 04:46:24', '2021-07-06 02:25:34', 'Luis', 'Chicky'),
+                                                                                                                                    (29, 76, 'uno2', null, 'Nam ultrices, libero non mattis pulvinar, nulla pede ullamcorper augue, a suscipit nulla elit ac nulla. Sed vel enim sit amet nunc viverra dapibus. Nulla suscipit ligula in lacus.', '2021-12-30 18:39:24', '2021-10-13 03:58:46', 'Derwin', 'Zacherie'),
+                                                                                                                                    (30, 31, 'uno2', null, 'Etiam vel augue. Vestibulum rutrum rutrum neque. Aenean auctor gravida sem.', '2021-11-07 02:25:31', '2021-11-30 11:15:34', 'Boris', 'Egbert'),
+                                                                                                                                    (31, 29, 'uno2', null, 'Nullam porttitor lacus at turpis. Donec posuere metus vitae ipsum. Aliquam non mauris.', '2021-11-27 19:03:53', '2021-02-16 07:42:30', 'Gabriel', 'Gary'),
+                                                                                                                                    (32, 115, 'uno2', null, 'Quisque id justo sit amet sapien dignissim vestibulum. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Nulla dapibus dolor vel est. Donec odio justo, sollicitudin ut, suscipit a, feugiat et, eros.', '2021-12-30 17:50:07', '2021-10-13 11:06:50', 'Gilles', 'Derrek'),
+                                                                                                                                    (33, 106, 'uno2', null, 'In hac habitasse platea dictumst. Etiam faucibus cursus urna. Ut tellus.', '2021-06-10 02:26:59', '2021-12-17 18:00:38', 'Jodie', 'Whitney'),
+                                                                                                                                    (34, 5, 'uno2', null, 'Nullam porttitor lacus at turpis. Donec posuere metus vitae ipsum. Aliquam non mauris.', '2021-04-16 12:44:52', '2022-01-19 17:32:59', 'Palmer', 'Orton'),
+                                                                                                                                    (35, 115, 'uno2', null, 'Sed sagittis. Nam congue, risus semper porta volutpat, quam pede lobortis ligula, sit amet eleifend pede libero quis orci. Nullam molestie nibh in lectus.', '2021-09-09 05:12:56', '2021-07-31 05:07:35', 'Mahmoud', 'Urson'),
+                                                                                                                                    (36, 112, 'uno2', null, 'Vestibulum ac est lacinia nisi venenatis tristique. Fusce congue, diam id ornare imperdiet, sapien urna pretium nisl, ut volutpat sapien arcu sed augue. Aliquam erat volutpat.', '2021-01-31 06:52:27', '2021-02-07 17:19:58', 'Dunn', 'Monti'),
+                                                                                                                                    (37, 119, 'uno2', null, 'Curabitur gravida nisi at nibh. In hac habitasse platea dictumst. Aliquam augue quam, sollicitudin vitae, consectetuer eget, rutrum at, lorem.', '2021-03-20 10:06:32', '2021-07-28 14:45:35', 'Franz', 'Tris'),
+                                                                                                                                    (38, 66, 'uno2', null, 'Integer ac leo. Pellentesque ultrices mattis odio. Donec vitae nisi.', '2021-09-11 09:32:59', '2021-03-17 01:22:39', 'Tony', 'Ikey'),
+                                                                                                                                    (39, 36, 'uno2', null, 'Aliquam quis turpis eget elit sodales scelerisque. Mauris sit amet eros. Suspendisse accumsan tortor quis turpis.', '2021-03-04 17:43:07', '2021-10-08 16:20:32', 'Rees', 'Hubey'),
+                                                                                                                                    (40, 104, 'uno2', null, 'Nullam sit amet turpis elementum ligula vehicula consequat. Morbi a ipsum. Integer a nibh.', '2021-07-11 18:23:15', '2021-06-09 13:23:03', 'Hall', 'Rollie'),
+                                                                                                                                    (41, 63, 'uno2', null, 'Cras mi pede, malesuada in, imperdiet et, commodo vulputate, justo. In blandit ultrices enim. Lorem ipsum dolor sit amet, consectetuer adipiscing elit.', '2021-06-26 18:57:48', '2021-06-30 23:24:08', 'Keir', 'Ky'),
+                                                                                                                                    (42, 99, 'uno2', null, 'Donec diam neque, vestibulum eget, vulputate ut, ultrices vel, augue. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Donec pharetra, magna vestibulum aliquet ultrices, erat tortor sollicitudin mi, sit amet lobortis sapien sapien non mi. Integer ac neque.', '2021-10-03 02:36:13', '2021-11-27 11:12:43', 'Georgi', 'Thane'),
+                                                                                                                                    (43, 17, 'uno2', null, 'Vestibulum ac est lacinia nisi venenatis tristique. Fusce congue, diam id ornare imperdiet, sapien urna pretium nisl, ut volutpat sapien arcu sed augue. Aliquam erat volutpat.', '2021-07-19 19:04:40', '2021-06-30 19:59:12', 'Oliver', 'Jarrad'),
+                                                                                                                                    (44, 33, 'uno2', null, 'Donec diam neque, vestibulum eget, vulputate ut, ultrices vel, augue. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Donec pharetra, magna vestibulum aliquet ultrices, erat tortor sollicitudin mi, sit amet lobortis sapien sapien non mi. Integer ac neque.', '2021-03-19 04:18:04', '2021-11-28 06:15:06', 'Elvin', 'Sunny'),
+                                                                                                                                    (45, 102, 'uno2', null, 'Duis bibendum. Morbi non quam nec dui luctus rutrum. Nulla tellus.', '2021-11-28 18:39:57', '2021-06-24 11:01:37', 'Fax', 'Jayme'),
+                                                                                                                                    (46, 28, 'uno2', null, 'In sagittis dui vel nisl. Duis ac nibh. Fusce lacus purus, aliquet at, feugiat non, pretium quis, lectus.', '2021-08-03 06:01:12', '2021-03-12 08:58:02', 'Eldon', 'Emory'),
+                                                                                                                                    (47, 37, 'uno2', null, 'Phasellus sit amet erat. Nulla tempus. Vivamus in felis eu sapien cursus vestibulum.', '2021-05-31 02:48:41', '2021-10-21 23:00:17', 'Northrup', 'Bart'),
+                                                                                                                                    (48, 75, 'uno2', null, 'Cras mi pede, malesuada in, imperdiet et, commodo vulputate, justo. In blandit ultrices enim. Lorem ipsum dolor sit amet, consectetuer adipiscing elit.', '2021-03-11 21:47:46', '2021-04-19 14:10:05', 'Timmie', 'Roma'),
+                                                                                                                                    (49, 70, 'uno2', null, 'In sagittis dui vel nisl. Duis ac nibh. Fusce lacus purus, aliquet at, feugiat non, pretium quis, lectus.', '2021-10-30 16:41:56', '2021-09-06 14:43:59', 'Maximo', 'Eziechiele'),
+                                                                                                                                    (50, 53, 'uno2', null, 'Quisque id justo sit amet sapien dignissim vestibulum. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Nulla dapibus dolor vel est. Donec odio justo, sollicitudin ut, suscipit a, feugiat et, eros.', '2021-06-09 22:28:41', '2022-01-20 12:47:05', 'Myrvyn', 'Faulkner'),
+                                                                                                                                    (51, 33, 'uno2', null, 'Aenean fermentum. Donec ut mauris eget massa tempor convallis. Nulla neque libero, convallis eget, eleifend luctus, ultricies eu, nibh.', '2021-11-18 08:10:04', '2021-10-15 12:18:35', 'Milty', 'Gordie'),
+                                                                                                                                    (52, 41, 'uno2', null, 'Fusce posuere felis sed lacus. Morbi sem mauris, laoreet ut, rhoncus aliquet, pulvinar sed, nisl. Nunc rhoncus dui vel sem.', '2021-05-05 07:39:10', '2021-03-17 04:48:00', 'Guillaume', 'Holt'),
+                                                                                                                                    (53, 103, 'uno2', null, 'Mauris enim leo, rhoncus sed, vestibulum sit amet, cursus id, turpis. Integer aliquet, massa id lobortis convallis, tortor risus dapibus augue, vel accumsan tellus nisi eu orci. Mauris lacinia sapien quis libero.', '2021-07-16 03:33:44', '2021-12-27 03:33:26', 'Cyrille', 'Ruprecht'),
+                                                                                                                                    (54, 7, 'uno2', null, 'Praesent id massa id nisl venenatis lacinia. Aenean sit amet justo. Morbi ut odio.', '2022-01-04 16:06:48', '2021-06-11 14:41:17', 'Jervis', 'Base'),
+                                                                                                                                    (55, 26, 'uno2', null, 'Aliquam quis turpis eget elit sodales scelerisque. Mauris sit amet eros. Suspendisse accumsan tortor quis turpis.', '2022-01-09 16:07:10', '2021-07-25 22:44:28', 'Nikolos', 'Stanly'),
+                                                                                                                                    (56, 8, 'uno2', null, 'Integer ac leo. Pellentesque ultrices mattis odio. Donec vitae nisi.', '2021-02-14 01:02:43', '2022-01-10 03:11:26', 'Stefano', 'Hillel'),
+                                                                                                                                    (57, 58, 'uno2', null, 'Morbi porttitor lorem id ligula. Suspendisse ornare consequat lectus. In est risus, auctor sed, tristique in, tempus sit amet, sem.', '2021-02-27 03:57:38', '2021-10-16 02:36:54', 'Flinn', 'Pembroke'),
+                                                                                                                                    (58, 87, 'uno2', null, 'Duis bibendum. Morbi non quam nec dui luctus rutrum. Nulla tellus.', '2021-06-17 04:52:04', '2021-09-29 05:08:41', 'Tome', 'Nat'),
+                                                                                                                                    (59, 11, 'uno2', null, 'Proin leo odio, porttitor id, consequat in, consequat ut, nulla. Sed accumsan felis. Ut at dolor quis odio consequat varius.', '2021-06-20 03:31:09', '2021-08-09 08:07:50', 'Garrick', 'Bailey'),
+                                                                                                                                    (60, 103, 'uno2', null, 'Sed ante. Vivamus tortor. Duis mattis egestas metus.', '2022-01-15 03:35:49', '2021-08-19 05:46:11', 'Fonz', 'Mohandas'),
+                                                                                                                                    (61, 119, 'uno2', null, 'Quisque id justo sit amet sapien dignissim vestibulum. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Nulla dapibus dolor vel est. Donec odio justo, sollicitudin ut, suscipit a, feugiat et, eros.', '2021-10-19 22:27:28', '2021-03-18 00:32:07', 'Swen', 'My'),
+                                                                                                                                    (62, 33, 'uno2', null, 'Cras mi pede, malesuada in, imperdiet et, commodo vulputate, justo. In blandit ultrices enim. Lorem ipsum dolor sit amet, consectetuer adipiscing elit.', '2022-01-23 21:02:14', '2021-07-22 18:04:02', 'Klement', 'Giordano'),
+                                                                                                                                    (63, 118, 'uno2', null, 'Maecenas tristique, est et tempus semper, est quam pharetra magna, ac consequat metus sapien ut nunc. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Mauris viverra diam vitae quam. Suspendisse potenti.', '2021-12-25 15:45:04', '2021-07-25 01:53:41', 'Alister', 'Gavan'),
+                                                                                                                                    (64, 87, 'uno2', null, 'Mauris enim leo, rhoncus sed, vestibulum sit amet, cursus id, turpis. Integer aliquet, massa id lobortis convallis, tortor risus dapibus augue, vel accumsan tellus nisi eu orci. Mauris lacinia sapien quis libero.', '2021-03-13 11:05:05', '2021-04-24 11:01:30', 'Scotty', 'Pascal'),
+                                                                                                                                    (65, 95, 'uno2', null, 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.', '2021-08-21 20:13:53', '2021-05-28 10:09:16', 'Clevey', 'Bailey'),
+                                                                                                                                    (66, 48, 'uno2', null, 'Etiam vel augue. Vestibulum rutrum rutrum neque. Aenean auctor gravida sem.', '2021-12-28 19:03:27', '2021-07-19 05:47:56', 'Grantham', 'Hadrian'),
+                                                                                                                                    (67, 27, 'uno2', null, 'Integer ac leo. Pellentesque ultrices mattis odio. Donec vitae nisi.', '2021-09-08 06:14:44', '2021-03-08 01:09:46', 'Gardner', 'Zolly'),
+                                                                                                                                    (68, 93, 'uno2', null, 'Nullam sit amet turpis elementum ligula vehicula consequat. Morbi a ipsum. Integer a nibh.', '2021-11-17 23:36:20', '2021-04-14 08:16:21', 'Jerome', 'Dev'),
+                                                                                                                                    (69, 11, 'uno2', null, 'Fusce posuere felis sed lacus. Morbi sem mauris, laoreet ut, rhoncus aliquet, pulvinar sed, nisl. Nunc rhoncus dui vel sem.', '2021-06-13 21:19:56', '2021-10-29 10:51:51', 'Lincoln', 'Erwin'),
+                                                                                                                                    (70, 68, 'uno2', null, 'In congue. Etiam justo. Etiam pretium iaculis justo.', '2021-08-30 18:51:16', '2021-04-04 13:02:51', 'Sky', 'Lindon'),
+                                                                                                                                    (71, 103, 'uno2', null, 'Vestibulum quam sapien, varius ut, blandit non, interdum in, ante. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Duis faucibus accumsan odio. Curabitur convallis.', '2021-05-25 13:40:27', '2021-07-08 18:29:16', 'Bary', 'Arri'),
+                                                                                                                                    (72, 109, 'uno2', null, 'Sed sagittis. Nam congue, risus semper porta volutpat, quam pede lobortis ligula, sit amet eleifend pede libero quis orci. Nullam molestie nibh in lectus.', '2021-06-13 00:58:44', '2021-11-02 14:32:58', 'Rafael', 'Ivor'),
+                                                                                                                                    (73, 86, 'uno2', null, 'In hac habitasse platea dictumst. Etiam faucibus cursus urna. Ut tellus.', '2022-01-25 01:28:11', '2021-04-17 01:10:19', 'Mathe', 'Mattie'),
+                                                                                                                                    (74, 70, 'uno2', null, 'Maecenas leo odio, condimentum id, luctus nec, molestie sed, justo. Pellentesque viverra pede ac diam. Cras pellentesque volutpat dui.', '2021-04-12 21:18:27', '2021-07-01 12:03:21', 'Geoffrey', 'Tadeo'),
+                                                                                                                                    (75, 37, 'uno2', null, 'Fusce consequat. Nulla nisl. Nunc nisl.', '2021-06-21 12:34:50', '2021-03-09 11:05:09', 'Powell', 'Winifield'),
+                                                                                                                                    (76, 82, 'uno2', null, 'Etiam vel augue. Vestibulum rutrum rutrum neque. Aenean auctor gravida sem.', '2021-10-31 08:16:23', '2021-03-23 18:55:47', 'Winifield', 'Rolando'),
+                                                                                                                                    (77, 69, 'uno2', null, 'Sed ante. Vivamus tortor. Duis mattis egestas metus.', '2021-03-29 13:14:38', '2021-03-23 01:58:27', 'Giordano', 'Averell'),
+                                                                                                                                    (78, 23, 'uno2', null, 'Curabitur gravida nisi at nibh. In hac habitasse platea dictumst. Aliquam augue quam, sollicitudin vitae, consectetuer eget, rutrum at, lorem.', '2021-05-20 07:38:20', '2021-08-05 13:35:48', 'Lammond', 'Martie'),
+                                                                                                                                    (79, 53, 'uno2', null, 'Sed sagittis. Nam congue, risus semper porta volutpat, quam pede lobortis ligula, sit amet eleifend pede libero quis orci. Nullam molestie nibh in lectus.', '2021-02-02 22:43:50', '2021-03-21 01:18:12', 'Tades', 'Jedidiah'),
+                                                                                                                                    (80, 21, 'uno2', null, 'In congue. Etiam justo. Etiam pretium iaculis justo.', '2021-05-29 06:29:02', '2021-10-13 02:23:19', 'Germayne', 'Jermayne'),
+                                                                                                                                    (81, 94, 'uno2', null, 'Donec diam neque, vestibulum eget, vulputate ut, ultrices vel, augue. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Donec pharetra, magna vestibulum aliquet ultrices, erat tortor sollicitudin mi, sit amet lobortis sapien sapien non mi. Integer ac neque.', '2021-06-02 12:21:13', '2021-09-03 15:17:13', 'Gregory', 'Woodrow'),
+                                                                                                                                    (82, 9, 'uno2', null, 'Sed ante. Vivamus tortor. Duis mattis egestas metus.', '2021-06-07 05:33:53', '2021-04-26 03:00:50', 'Theodore', 'Godwin'),
+                                                                                                                                    (83, 74, 'uno2', null, 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.', '2021-11-22 01:27:42', '2021-12-07 13:24:52', 'Richy', 'Garvin'),
+                                                                                                                                    (84, 93, 'uno2', null, 'Suspendisse potenti. In eleifend quam a odio. In hac habitasse platea dictumst.', '2021-11-29 14:10:08', '2021-12-21 15:41:28', 'Skipp', 'Broderick'),
+                                                                                                                                    (85, 66, 'uno2', null, 'Nulla ut erat id mauris vulputate elementum. Nullam varius. Nulla facilisi.', '2021-07-18 13:45:38', '2021-09-07 10:37:11', 'Kaine', 'Rooney'),
+                                                                                                                                    (86, 46, 'uno2', null, 'Nullam sit amet turpis elementum ligula vehicula consequat. Morbi a ipsum. Integer a nibh.', '2021-09-08 17:42:59', '2021-08-28 15:12:30', 'Humfrid', 'Steffen'),
+                                                                                                                                    (87, 26, 'uno2', null, 'Lorem ipsum dolor sit amet, consectetuer adipiscing elit. Proin risus. Praesent lectus.', '2022-01-22 19:23:45', '2021-04-19 07:53:02', 'Jamie', 'Reinaldos'),
+                                                                                                                                    (88, 2, 'uno2', null, 'Nullam porttitor lacus at turpis. Donec posuere metus vitae ipsum. Aliquam non mauris.', '2021-02-23 17:42:56', '2021-10-09 08:03:13', 'Glynn', 'Truman'),
+                                                                                                                                    (89, 15, 'uno2', null, 'Fusce posuere felis sed lacus. Morbi sem mauris, laoreet ut, rhoncus aliquet, pulvinar sed, nisl. Nunc rhoncus dui vel sem.', '2021-10-12 14:19:16', '2021-09-11 22:13:27', 'Maddy', 'Tynan'),
+                                                                                                                                    (90, 96, 'uno2', null, 'Curabitur at ipsum ac tellus semper interdum. Mauris ullamcorper purus sit amet nulla. Quisque arcu libero, rutrum ac, lobortis vel, dapibus at, diam.', '2021-12-27 11:42:15', '2022-01-19 14:11:02', 'Merill', 'Kermit'),
+                                                                                                                                    (91, 118, 'uno2', null, 'In sagittis dui vel nisl. Duis ac nibh. Fusce lacus purus, aliquet at, feugiat non, pretium quis, lectus.', '2021-07-30 23:57:48', '2021-11-13 11:45:31', 'Llewellyn', 'Welch'),
+                                                                                                                                    (92, 118, 'uno2', null, 'Cras non velit nec nisi vulputate nonummy. Maecenas tincidunt lacus at velit. Vivamus vel nulla eget eros elementum pellentesque.', '2021-07-21 15:39:09', '2021-10-24 12:13:07', 'Augustine', 'Cash'),
+                                                                                                                                    (93, 82, 'uno2', null, 'Maecenas tristique, est et tempus semper, est quam pharetra magna, ac consequat metus sapien ut nunc. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Mauris viverra diam vitae quam. Suspendisse potenti.', '2021-04-10 22:46:57', '2021-10-07 06:49:09', 'Jermain', 'Felice'),
+                                                                                                                                    (94, 17, 'uno2', null, 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.', '2021-02-10 12:15:50', '2021-02-08 21:36:20', 'Ned', 'Marlow'),
+                                                                                                                                    (95, 118, 'uno2', null, 'Maecenas leo odio, condimentum id, luctus nec, molestie sed, justo. Pellentesque viverra pede ac diam. Cras pellentesque volutpat dui.', '2021-04-28 19:26:22', '2021-04-01 16:32:22', 'Griswold', 'Brion'),
+                                                                                                                                    (96, 37, 'uno2', null, 'Donec diam neque, vestibulum eget, vulputate ut, ultrices vel, augue. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Donec pharetra, magna vestibulum aliquet ultrices, erat tortor sollicitudin mi, sit amet lobortis sapien sapien non mi. Integer ac neque.', '2021-04-23 15:49:37', '2021-12-14 18:20:38', 'Lemuel', 'Karel'),
+                                                                                                                                    (97, 60, 'uno2', null, 'Nullam sit amet turpis elementum ligula vehicula consequat. Morbi a ipsum. Integer a nibh.', '2021-08-14 16:26:15', '2021-07-05 14:35:38', 'Yance', 'Henderson'),
+                                                                                                                                    (98, 114, 'uno2', null, 'Quisque porta volutpat erat. Quisque erat eros, viverra eget, congue eget, semper rutrum, nulla. Nunc purus.', '2021-05-20 19:07:27', '2022-01-26 17:02:57', 'Munroe', 'Olvan'),
+                                                                                                                                    (99, 20, 'uno2', null, 'Praesent blandit. Nam nulla. Integer pede justo, lacinia eget, tincidunt eget, tempus vel, pede.', '2021-08-30 20:30:28', '2021-09-11 10:18:50', 'Salim', 'Keene'),
+                                                                                                                                    (100, 51, 'uno2', null, 'In hac habitasse platea dictumst. Morbi vestibulum, velit id pretium iaculis, diam erat fermentum justo, nec condimentum neque sapien placerat ante. Nulla justo.', '2021-03-08 12:55:54', '2021-07-12 23:56:12', 'Rustie', 'Lorne'),
+                                                                                                                                    (101, 50, 'uno2', null, 'In hac habitasse platea dictumst. Morbi vestibulum, velit id pretium iaculis, diam erat fermentum justo, nec condimentum neque sapien placerat ante. Nulla justo.', '2021-10-13 17:57:44', '2021-05-10 21:31:48', 'Lorry', 'Alex'),
+                                                                                                                                    (102, 43, 'uno2', null, 'Nam ultrices, libero non mattis pulvinar, nulla pede ullamcorper augue, a suscipit nulla elit ac nulla. Sed vel enim sit amet nunc viverra dapibus. Nulla suscipit ligula in lacus.', '2021-04-02 01:37:13', '2021-09-16 05:24:04', 'Leonidas', 'Fulton'),
+                                                                                                                                    (103, 115, 'uno2', null, 'Lorem ipsum dolor sit amet, consectetuer adipiscing elit. Proin risus. Praesent lectus.', '2021-11-11 04:39:17', '2021-11-03 15:21:42', 'Marietta', 'Brnaba'),
+                                                                                                                                    (104, 97, 'uno2', null, 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.', '2021-01-31 06:45:18', '2021-03-10 22:17:41', 'Obie', 'Allard'),
+                                                                                                                                    (105, 8, 'uno2', null, 'Cum sociis natoque penatibus et magnis dis parturient montes, nascetur ridiculus mus. Vivamus vestibulum sagittis sapien. Cum sociis natoque penatibus et magnis dis parturient montes, nascetur ridiculus mus.', '2021-08-25 23:41:07', '2021-04-19 09:14:12', 'Dru', 'Osborn'),
+                                                                                                                                    (106, 11, 'uno2', null, 'In hac habitasse platea dictumst. Etiam faucibus cursus urna. Ut tellus.', '2021-11-28 19:55:06', '2021-09-22 19:59:06', 'Iain', 'Job'),
+                                                                                                                                    (107, 43, 'uno2', null, 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.', '2021-09-29 14:30:08', '2021-04-05 17:41:49', 'Rikki', 'Hymie'),
+                                                                                                                                    (108, 31, 'uno2', null, 'Duis aliquam convallis nunc. Proin at turpis a pede posuere nonummy. Integer non velit.', '2021-10-05 20:08:45', '2021-10-31 14:59:42', 'Em', 'Aldric'),
+                                                                                                                                    (109, 88, 'uno2', null, 'Aliquam quis turpis eget elit sodales scelerisque. Mauris sit amet eros. Suspendisse accumsan tortor quis turpis.', '2021-03-27 00:02:27', '2021-12-17 06:02:34', 'Burty', 'Martainn'),
+                                                                                                                                    (110, 56, 'uno2', null, 'Morbi porttitor lorem id ligula. Suspendisse ornare consequat lectus. In est risus, auctor sed, tristique in, tempus sit amet, sem.', '2021-12-22 12:41:15', '2021-04-14 03:12:08', 'Garvin', 'Esra'),
+                                                                                                                                    (111, 9, 'uno2', null, 'Fusce consequat. Nulla nisl. Nunc nisl.', '2021-05-29 13:08:55', '2021-08-01 08:38:29', 'Siward', 'Garey'),
+                                                                                                                                    (112, 31, 'uno2', null, 'Vestibulum ac est lacinia nisi venenatis tristique. Fusce congue, diam id ornare imperdiet, sapien urna pretium nisl, ut volutpat sapien arcu sed augue. Aliquam erat volutpat.', '2021-12-15 19:49:25', '2022-01-27 19:49:47', 'Fran', 'Cece'),
+                                                                                                                                    (113, 1, 'uno2', null, 'Proin eu mi. Nulla ac enim. In tempor, turpis nec euismod scelerisque, quam turpis adipiscing lorem, vitae mattis nibh ligula nec sem.', '2021-03-02 11:57:54', '2021-05-09 12:36:08', 'Torry', 'Rolando'),
+                                                                                                                                    (114, 110, 'uno2', null, 'In quis justo. Maecenas rhoncus aliquam lacus. Morbi quis tortor id nulla ultrices aliquet.', '2021-07-27 01:40:15', '2021-06-25 16:54:44', 'Kevin', 'Chico'),
+                                                                                                                                    (115, 78, 'uno2', null, 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.', '2021-03-30 22:33:45', '2021-03-13 12:40:17', 'Xavier', 'Nicol'),
+                                                                                                                                    (116, 73, 'uno2', null, 'Sed sagittis. Nam congue, risus semper porta volutpat, quam pede lobortis ligula, sit amet eleifend pede libero quis orci. Nullam molestie nibh in lectus.', '2021-11-26 19:26:39', '2021-04-14 20:32:25', 'Grannie', 'Cobbie'),
+                                                                                                                                    (117, 20, 'uno2', null, 'Fusce consequat. Nulla nisl. Nunc nisl.', '2021-06-30 06:56:10', '2021-02-25 03:34:01', 'Haskell', 'Terence'),
+                                                                                                                                    (118, 99, 'uno2', null, 'Duis aliquam convallis nunc. Proin at turpis a pede posuere nonummy. Integer non velit.', '2021-07-27 20:53:45', '2021-03-13 15:29:58', 'Nealy', 'Doyle'),
+                                                                                                                                    (119, 58, 'uno2', null, 'Nullam sit amet turpis elementum ligula vehicula consequat. Morbi a ipsum. Integer a nibh.', '2021-08-04 21:54:34', '2021-05-17 14:36:46', 'Sibyl', 'Consalve'),
+                                                                                                                                    (120, 33, 'uno2', null, 'Sed ante. Vivamus tortor. Duis mattis egestas metus.', '2021-08-12 10:07:09', '2021-02-14 00:36:15', 'Arvy', 'Tymothy'),
+                                                                                                                                    (121, 111, 'uno2', null, 'Nullam sit amet turpis elementum ligula vehicula consequat. Morbi a ipsum. Integer a nibh.', '2021-09-16 06:12:57', '2021-09-04 15:51:30', 'Morten', 'Gerhard'),
+                                                                                                                                    (122, 83, 'uno2', null, 'Curabitur at ipsum ac tellus semper interdum. Mauris ullamcorper purus sit amet nulla. Quisque arcu libero, rutrum ac, lobortis vel, dapibus at, diam.', '2021-12-16 10:24:39', '2021-02-25 21:15:30', 'Sheridan', 'Cash'),
+                                                                                                                                    (123, 13, 'uno', null, 'In quis justo. Maecenas rhoncus aliquam lacus. Morbi quis tortor id nulla ultrices aliquet.', '2021-09-25 16:26:15', '2021-09-04 06:36:17', 'Heath', 'Irwinn'),
+                                                                                                                                    (124, 47, 'uno', null, 'Proin eu mi. Nulla ac enim. In tempor, turpis nec euismod scelerisque, quam turpis adipiscing lorem, vitae mattis nibh ligula nec sem.', '2021-02-15 09:00:36', '2021-12-02 02:50:19', 'Bordy', 'Kliment'),
+                                                                                                                                    (125, 37, 'uno', null, 'Duis consequat dui nec nisi volutpat eleifend. Donec ut dolor. Morbi vel lectus in quam fringilla rhoncus.', '2021-08-08 15:11:06', '2021-05-31 22:32:58', 'Graeme', 'Cody'),
+                                                                                                                                    (126, 19, 'uno', null, 'Quisque id justo sit amet sapien dignissim vestibulum. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Nulla dapibus dolor vel est. Donec odio justo, sollicitudin ut, suscipit a, feugiat et, eros.', '2021-01-29 18:57:18', '2021-10-01 12:57:33', 'Ram', 'Gino'),
+                                                                                                                                    (127, 9, 'uno', null, 'Phasellus sit amet erat. Nulla tempus. Vivamus in felis eu sapien cursus vestibulum.', '2021-12-31 02:29:25', '2021-02-04 09:29:05', 'Umberto', 'Timotheus'),
+                                                                                                                                    (128, 3, 'uno', null, 'Cras non velit nec nisi vulputate nonummy. Maecenas tincidunt lacus at velit. Vivamus vel nulla eget eros elementum pellentesque.', '2021-09-01 13:11:45', '2021-10-28 14:30:23', 'Juan', 'Forest'),
+                                                                                                                                    (129, 97, 'uno', null, 'Praesent blandit. Nam nulla. Integer pede justo, lacinia eget, tincidunt eget, tempus vel, pede.', '2021-12-19 15:39:54', '2021-07-10 04:11:12', 'Urbanus', 'Noach'),
+                                                                                                                                    (130, 88, 'uno', null, 'Suspendisse potenti. In eleifend quam a odio. In hac habitasse platea dictumst.', '2021-11-12 11:38:06', '2021-12-13 15:21:53', 'Zack', 'Jammal'),
+                                                                                                                                    (131, 20, 'uno', null, 'Duis bibendum. Morbi non quam nec dui luctus rutrum. Nulla tellus.', '2021-10-20 18:22:32', '2021-07-10 16:15:54', 'Norrie', 'Barny'),
+                                                                                                                                    (132, 93, 'uno', null, 'Curabitur gravida nisi at nibh. In hac habitasse platea dictumst. Aliquam augue quam, sollicitudin vitae, consectetuer eget, rutrum at, lorem.', '2021-09-08 08:49:05', '2021-02-27 04:15:27', 'Donn', 'Adan'),
+                                                                                                                                    (133, 61, 'uno', null, 'In hac habitasse platea dictumst. Morbi vestibulum, velit id pretium iaculis, diam erat fermentum justo, nec condimentum neque sapien placerat ante. Nulla justo.', '2021-06-24 16:06:45', '2021-10-31 08:38:22', 'Paxton', 'Stevy'),
+                                                                                                                                    (134, 73, 'uno', null, 'Sed sagittis. Nam congue, risus semper porta volutpat, quam pede lobortis ligula, sit amet eleifend pede libero quis orci. Nullam molestie nibh in lectus.', '2021-03-11 20:20:34', '2021-04-19 22:24:56', 'Carolus', 'Niven'),
+                                                                                                                                    (135, 60, 'uno', null, 'Aenean fermentum. Donec ut mauris eget massa tempor convallis. Nulla neque libero, convallis eget, eleifend luctus, ultricies eu, nibh.', '2021-10-12 16:46:55', '2021-05-08 14:42:18', 'Cameron', 'Beniamino'),
+                                                                                                                                    (136, 41, 'uno', null, 'Maecenas tristique, est et tempus semper, est quam pharetra magna, ac consequat metus sapien ut nunc. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Mauris viverra diam vitae quam. Suspendisse potenti.', '2021-03-16 05:38:39', '2021-02-26 21:41:53', 'Flint', 'Artur'),
+                                                                                                                                    (137, 116, 'uno', null, 'Phasellus sit amet erat. Nulla tempus. Vivamus in felis eu sapien cursus vestibulum.', '2021-08-15 22:55:29', '2021-09-22 03:03:29', 'Efren', 'Carrol'),
+                                                                                                                                    (138, 113, 'uno', null, 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.', '2021-06-13 10:25:18', '2021-10-27 10:34:16', 'Nevins', 'Caspar'),
+                                                                                                                                    (139, 86, 'uno', null, 'Curabitur in libero ut massa volutpat convallis. Morbi odio odio, elementum eu, interdum eu, tincidunt in, leo. Maecenas pulvinar lobortis est.', '2021-04-12 11:14:15', '2021-02-13 09:33:29', 'Carrol', 'Isac'),
+                                                                                                                                    (140, 122, 'uno', null, 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.', '2021-11-30 20:48:06', '2021-02-19 12:25:33', 'Dagny', 'Silvain'),
+                                                                                                                                    (141, 42, 'uno', null, 'Curabitur at ipsum ac tellus semper interdum. Mauris ullamcorper purus sit amet nulla. Quisque arcu libero, rutrum ac, lobortis vel, dapibus at, diam.', '2021-09-29 09:08:16', '2021-01-29 16:01:20', 'Thurstan', 'Vidovic'),
+                                                                                                                                    (142, 3, 'uno', null, 'Aliquam quis turpis eget elit sodales scelerisque. Mauris sit amet eros. Suspendisse accumsan tortor quis turpis.', '2021-02-10 03:27:32', '2021-11-07 23:23:44', 'Jerrold', 'Mac'),
+                                                                                                                                    (143, 92, 'uno', null, 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.', '2021-09-24 15:03:04', '2021-03-09 13:36:02', 'Tommie', 'Uriel'),
+                                                                                                                                    (144, 3, 'uno', null, 'In sagittis dui vel nisl. Duis ac nibh. Fusce lacus purus, aliquet at, feugiat non, pretium quis, lectus.', '2021-03-18 14:50:37', '2021-04-25 15:04:11', 'Desi', 'Patrizius'),
+                                                                                                                                    (145, 24, 'uno', null, 'In congue. Etiam justo. Etiam pretium iaculis justo.', '2021-04-26 17:14:34', '2021-07-04 04:58:06', 'Frederigo', 'Heath'),
+                                                                                                                                    (146, 62, 'uno', null, 'Suspendisse potenti. In eleifend quam a odio. In hac habitasse platea dictumst.', '2021-07-30 17:36:48', '2021-02-22 02:50:31', 'Conroy', 'Ralf'),
+                                                                                                                                    (147, 49, 'uno', null, 'Proin leo odio, porttitor id, consequat in, consequat ut, nulla. Sed accumsan felis. Ut at dolor quis odio consequat varius.', '2021-06-30 07:55:25', '2021-05-01 04:31:05', 'Carolus', 'Kiley'),
+                                                                                                                                    (148, 11, 'uno', null, 'Proin eu mi. Nulla ac enim. In tempor, turpis nec euismod scelerisque, quam turpis adipiscing lorem, vitae mattis nibh ligula nec sem.', '2021-11-30 02:55:08', '2021-12-17 10:25:02', 'Killian', 'Ewell'),
+                                                                                                                                    (149, 3, 'uno', null, 'Proin leo odio, porttitor id, consequat in, consequat ut, nulla. Sed accumsan felis. Ut at dolor quis odio consequat varius.', '2021-10-17 05:31:12', '2021-12-19 13:25:46', 'Gary', 'Korey'),
+                                                                                                                                    (150, 89, 'uno', null, 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.', '2021-05-16 00:33:39', '2021-04-21 11:16:34', 'Jeth', 'Shem'),
+                                                                                                                                    (151, 104, 'uno', null, 'Phasellus in felis. Donec semper sapien a libero. Nam dui.', '2021-04-11 19:12:30', '2021-07-28 21:58:46', 'Archambault', 'Elwyn'),
+                                                                                                                                    (152, 120, 'uno', null, 'Maecenas leo odio, condimentum id, luctus nec, molestie sed, justo. Pellentesque viverra pede ac diam. Cras pellentesque volutpat dui.', '2021-11-09 07:48:20', '2021-05-25 01:18:53', 'Owen', 'Aldrich'),
+                                                                                                                                    (153, 119, 'uno', null, 'Duis bibendum. Morbi non quam nec dui luctus rutrum. Nulla tellus.', '2021-12-11 18:39:03', '2021-05-29 15:07:40', 'Fleming', 'Kaine'),
+                                                                                                                                    (154, 71, 'uno', null, 'Proin leo odio, porttitor id, consequat in, consequat ut, nulla. Sed accumsan felis. Ut at dolor quis odio consequat varius.', '2021-09-22 10:07:58', '2021-06-29 20:27:29', 'Gianni', 'Leroi'),
+                                                                                                                                    (155, 45, 'uno', null, 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.', '2021-06-03 15:54:44', '2022-01-21 14:50:05', 'Saundra', 'Timofei'),
+                                                                                                                                    (156, 78, 'uno', null, 'Etiam vel augue. Vestibulum rutrum rutrum neque. Aenean auctor gravida sem.', '2021-05-19 04:22:01', '2021-02-23 20:41:21', 'Raphael', 'Earl'),
+                                                                                                                                    (157, 29, 'uno', null, 'Phasellus sit amet erat. Nulla tempus. Vivamus in felis eu sapien cursus vestibulum.', '2021-02-14 18:22:02', '2021-03-16 18:55:35', 'Thorstein', 'Boycie'),
+                                                                                                                                    (158, 14, 'uno', null, 'Nullam sit amet turpis elementum ligula vehicula consequat. Morbi a ipsum. Integer a nibh.', '2021-12-12 21:27:12', '2022-01-13 21:51:23', 'Haywood', 'Orland'),
+                                                                                                                                    (159, 36, 'uno', null, 'In congue. Etiam justo. Etiam pretium iaculis justo.', '2021-12-04 23:26:12', '2021-06-24 00:39:21', 'Arley', 'Bealle'),
+                                                                                                                                    (160, 16, 'uno', null, 'Proin eu mi. Nulla ac enim. In tempor, turpis nec euismod scelerisque, quam turpis adipiscing lorem, vitae mattis nibh ligula nec sem.', '2021-10-20 22:49:39', '2021-09-16 21:40:00', 'Gerik', 'Tom'),
+                                                                                                                                    (161, 30, 'uno', null, 'Phasellus sit amet erat. Nulla tempus. Vivamus in felis eu sapien cursus vestibulum.', '2021-04-22 18:41:14', '2021-02-14 23:42:46', 'Kimbell', 'Avigdor'),
+                                                                                                                                    (162, 119, 'uno', null, 'Fusce posuere felis sed lacus. Morbi sem mauris, laoreet ut, rhoncus aliquet, pulvinar sed, nisl. Nunc rhoncus dui vel sem.', '2021-11-05 20:30:44', '2021-08-23 04:17:55', 'Manny', 'Roth'),
+                                                                                                                                    (163, 49, 'uno', null, 'Lorem ipsum dolor sit amet, consectetuer adipiscing elit. Proin risus. Praesent lectus.', '2021-03-30 20:19:39', '2021-11-11 18:15:08', 'Clare', 'Frants'),
+                                                                                                                                    (164, 53, 'uno', null, 'Integer tincidunt ante vel ipsum. Praesent blandit lacinia erat. Vestibulum sed magna at nunc commodo placerat.', '2021-07-25 16:59:57', '2021-12-26 16:40:39', 'Verge', 'Uriel'),
+                                                                                                                                    (165, 58, 'uno', null, 'Fusce posuere felis sed lacus. Morbi sem mauris, laoreet ut, rhoncus aliquet, pulvinar sed, nisl. Nunc rhoncus dui vel sem.', '2021-10-24 00:02:07', '2021-05-14 21:38:51', 'Tobe', 'Padraig'),
+                                                                                                                                    (166, 97, 'uno', null, 'Mauris enim leo, rhoncus sed, vestibulum sit amet, cursus id, turpis. Integer aliquet, massa id lobortis convallis, tortor risus dapibus augue, vel accumsan tellus nisi eu orci. Mauris lacinia sapien quis libero.', '2021-03-15 03:17:22', '2021-03-09 07:40:08', 'Tommy', 'Stanton'),
+                                                                                                                                    (167, 58, 'uno', null, 'Fusce posuere felis sed lacus. Morbi sem mauris, laoreet ut, rhoncus aliquet, pulvinar sed, nisl. Nunc rhoncus dui vel sem.', '2021-02-17 15:44:23', '2021-05-12 19:09:44', 'Addy', 'Georas'),
+                                                                                                                                    (168, 18, 'uno', null, 'Vestibulum ac est lacinia nisi venenatis tristique. Fusce congue, diam id ornare imperdiet, sapien urna pretium nisl, ut volutpat sapien arcu sed augue. Aliquam erat volutpat.', '2022-01-14 07:16:57', '2022-01-18 13:43:16', 'Salem', 'Franklin'),
+                                                                                                                                    (169, 48, 'uno', null, 'In quis justo. Maecenas rhoncus aliquam lacus. Morbi quis tortor id nulla ultrices aliquet.', '2021-03-25 20:09:14', '2021-06-05 06:26:54', 'Wang', 'Gunner'),
+                                                                                                                                    (170, 1, 'uno', null, 'Vestibulum quam sapien, varius ut, blandit non, interdum in, ante. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Duis faucibus accumsan odio. Curabitur convallis.', '2021-10-28 04:52:36', '2021-12-25 06:43:01', 'Brendan', 'Rouvin'),
+                                                                                                                                    (171, 102, 'uno', null, 'Nam ultrices, libero non mattis pulvinar, nulla pede ullamcorper augue, a suscipit nulla elit ac nulla. Sed vel enim sit amet nunc viverra dapibus. Nulla suscipit ligula in lacus.', '2021-06-13 23:00:54', '2021-03-02 16:25:07', 'Bran', 'Chet'),
+                                                                                                                                    (172, 105, 'uno', null, 'Donec diam neque, vestibulum eget, vulputate ut, ultrices vel, augue. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Donec pharetra, magna vestibulum aliquet ultrices, erat tortor sollicitudin mi, sit amet lobortis sapien sapien non mi. Integer ac neque.', '2021-07-23 01:10:10', '2021-10-09 04:58:11', 'My', 'Conny'),
+                                                                                                                                    (173, 1, 'uno', null, 'Nulla ut erat id mauris vulputate elementum. Nullam varius. Nulla facilisi.', '2021-06-15 07:11:35', '2021-11-10 07:57:55', 'Raimondo', 'Lou'),
+                                                                                                                                    (174, 87, 'uno', null, 'Phasellus sit amet erat. Nulla tempus. Vivamus in felis eu sapien cursus vestibulum.', '2021-04-12 09:26:39', '2021-02-05 04:29:18', 'Curry', 'Gian'),
+                                                                                                                                    (175, 113, 'uno', null, 'Maecenas ut massa quis augue luctus tincidunt. Nulla mollis molestie lorem. Quisque ut erat.', '2021-04-14 23:17:12', '2021-12-21 20:18:49', 'Raleigh', 'Marlon'),
+                                                                                                                                    (176, 74, 'uno', null, 'Fusce posuere felis sed lacus. Morbi sem mauris, laoreet ut, rhoncus aliquet, pulvinar sed, nisl. Nunc rhoncus dui vel sem.', '2021-10-26 17:58:35', '2022-01-27 11:45:17', 'Lauren', 'Hoebart'),
+                                                                                                                                    (177, 28, 'uno', null, 'Suspendisse potenti. In eleifend quam a odio. In hac habitasse platea dictumst.', '2021-05-17 07:57:54', '2021-03-16 07:48:16', 'Tonnie', 'Borden'),
+                                                                                                                                    (178, 47, 'uno', null, 'Proin leo odio, porttitor id, consequat in, consequat ut, nulla. Sed accumsan felis. Ut at dolor quis odio consequat varius.', '2021-07-30 20:29:36', '2021-12-29 07:52:24', 'Galvin', 'Olenolin'),
+                                                                                                                                    (179, 104, 'uno', null, 'In congue. Etiam justo. Etiam pretium iaculis justo.', '2021-07-16 13:21:55', '2021-02-18 15:51:26', 'Burty', 'Nicky'),
+                                                                                                                                    (180, 121, 'uno', null, 'Duis bibendum. Morbi non quam nec dui luctus rutrum. Nulla tellus.', '2021-02-02 04:12:07', '2021-12-07 02:32:36', 'Ashton', 'Galvin'),
+                                                                                                                                    (181, 12, 'uno', null, 'Nulla ut erat id mauris vulputate elementum. Nullam varius. Nulla facilisi.', '2021-10-18 21:01:27', '2021-10-02 00:45:14', 'Pacorro', 'Johan'),
+                                                                                                                                    (182, 62, 'uno', null, 'Quisque porta volutpat erat. Quisque erat eros, viverra eget, congue eget, semper rutrum, nulla. Nunc purus.', '2021-02-26 12:57:07', '2021-05-28 13:25:39', 'Chip', 'Lazaro'),
+                                                                                                                                    (183, 3, 'uno', null, 'Cras non velit nec nisi vulputate nonummy. Maecenas tincidunt lacus at velit. Vivamus vel nulla eget eros elementum pellentesque.', '2021-08-09 03:26:07', '2021-11-24 20:01:46', 'Odey', 'Alasdair'),
+                                                                                                                                    (184, 111, 'uno', null, 'Nullam porttitor lacus at turpis. Donec posuere metus vitae ipsum. Aliquam non mauris.', '2021-09-11 06:11:36', '2021-02-08 18:50:27', 'Francis', 'Clywd'),
+                                                                                                                                    (185, 15, 'uno', null, 'Duis consequat dui nec nisi volutpat eleifend. Donec ut dolor. Morbi vel lectus in quam fringilla rhoncus.', '2021-10-28 03:52:43', '2021-05-07 04:46:57', 'Ambros', 'Allistir'),
+                                                                                                                                    (186, 63, 'uno', null, 'Praesent blandit. Nam nulla. Integer pede justo, lacinia eget, tincidunt eget, tempus vel, pede.', '2021-02-26 11:44:06', '2021-04-04 10:50:51', 'Godwin', 'Darn'),
+                                                                                                                                    (187, 64, 'uno', null, 'Cum sociis natoque penatibus et magnis dis parturient montes, nascetur ridiculus mus. Vivamus vestibulum sagittis sapien. Cum sociis natoque penatibus et magnis dis parturient montes, nascetur ridiculus mus.', '2021-09-18 01:26:49', '2021-10-18 22:02:35', 'Saw', 'Hersch'),
+                                                                                                                                    (188, 75, 'uno', null, 'Phasellus sit amet erat. Nulla tempus. Vivamus in felis eu sapien cursus vestibulum.', '2021-05-07 22:15:22', '2021-04-09 04:53:46', 'Jonas', 'Walther'),
+                                                                                                                                    (189, 115, 'uno', null, 'Integer tincidunt ante vel ipsum. Praesent blandit lacinia erat. Vestibulum sed magna at nunc commodo placerat.', '2022-01-09 09:24:31', '2021-11-23 05:50:30', 'Maison', 'Rutledge'),
+                                                                                                                                    (190, 66, 'uno', null, 'Phasellus in felis. Donec semper sapien a libero. Nam dui.', '2021-04-29 15:50:03', '2021-10-09 05:24:40', 'Warde', 'Ezra'),
+                                                                                                                                    (191, 113, 'uno', null, 'Aenean fermentum. Donec ut mauris eget massa tempor convallis. Nulla neque libero, convallis eget, eleifend luctus, ultricies eu, nibh.', '2021-11-27 02:08:50', '2021-09-17 23:44:27', 'Beale', 'John'),
+                                                                                                                                    (192, 22, 'uno', null, 'Duis bibendum. Morbi non quam nec dui luctus rutrum. Nulla tellus.', '2021-12-07 04:27:25', '2021-08-01 16:35:36', 'Stephanus', 'Woodie'),
+                                                                                                                                    (193, 101, 'uno', null, 'Maecenas ut massa quis augue luctus tincidunt. Nulla mollis molestie lorem. Quisque ut erat.', '2022-01-09 23:00:02', '2021-02-03 16:50:34', 'Kendrick', 'Stevie'),
+                                                                                                                                    (194, 74, 'uno', null, 'Phasellus sit amet erat. Nulla tempus. Vivamus in felis eu sapien cursus vestibulum.', '2021-11-13 17:40:36', '2021-05-24 19:48:38', 'Renato', 'Lazar'),
+                                                                                                                                    (195, 117, 'uno', null, 'Vestibulum ac est lacinia nisi venenatis tristique. Fusce congue, diam id ornare imperdiet, sapien urna pretium nisl, ut volutpat sapien arcu sed augue. Aliquam erat volutpat.', '2021-04-07 23:37:24', '2021-07-31 23:54:24', 'Clim', 'Kerwin'),
+                                                                                                                                    (196, 109, 'uno', null, 'Phasellus sit amet erat. Nulla tempus. Vivamus in felis eu sapien cursus vestibulum.', '2021-06-01 10:19:17', '2021-05-05 01:35:40', 'Merry', 'Alejoa'),
+                                                                                                                                    (197, 35, 'uno', null, 'Morbi non lectus. Aliquam sit amet diam in magna bibendum imperdiet. Nullam orci pede, venenatis non, sodales sed, tincidunt eu, felis.', '2021-07-26 04:44:47', '2021-08-04 20:39:24', 'Hank', 'Bronnie'),
+                                                                                                                                    (198, 58, 'uno', null, 'Integer tincidunt ante vel ipsum. Praesent blandit lacinia erat. Vestibulum sed magna at nunc commodo placerat.', '2021-06-05 17:56:40', '2021-12-16 06:08:45', 'Pembroke', 'Rudolfo'),
+                                                                                                                                    (199, 94, 'uno', null, 'Morbi porttitor lorem id ligula. Suspendisse ornare consequat lectus. In est risus, auctor sed, tristique in, tempus sit amet, sem.', '2021-07-27 15:28:41', '2021-02-03 15:56:24', 'Skye', 'Travus'),
+                                                                                                                                    (200, 110, 'uno', null, 'Duis bibendum. Morbi non quam nec dui luctus rutrum. Nulla tellus.', '2021-05-13 08:24:45', '2021-11-05 10:30:53', 'Anatole', 'Josh'),
+                                                                                                                                    (201, 38, 'uno', null, 'Integer ac leo. Pellentesque ultrices mattis odio. Donec vitae nisi.', '2022-01-03 09:28:12', '2021-06-15 10:09:44', 'Wolfy', 'Denver'),
+                                                                                                                                    (202, 112, 'uno', null, 'In quis justo. Maecenas rhoncus aliquam lacus. Morbi quis tortor id nulla ultrices aliquet.', '2021-10-28 06:09:00', '2021-04-18 09:32:47', 'Ave', 'Samson'),
+                                                                                                                                    (203, 55, 'uno', null, 'Nulla ut erat id mauris vulputate elementum. Nullam varius. Nulla facilisi.', '2021-03-30 07:04:00', '2021-06-11 23:16:21', 'Merrick', 'Taddeo'),
+                                                                                                                                    (204, 38, 'uno', null, 'Duis aliquam convallis nunc. Proin at turpis a pede posuere nonummy. Integer non velit.', '2021-05-12 15:07:01', '2021-03-01 11:26:25', 'Lamar', 'Denver'),
+                                                                                                                                    (205, 57, 'uno', null, 'Pellentesque at nulla. Suspendisse potenti. Cras in purus eu magna vulputate luctus.', '2021-07-19 19:58:41', '2022-01-09 10:16:22', 'Marc', 'Dudley'),
+                                                                                                                                    (206, 110, 'uno', null, 'Morbi porttitor lorem id ligula. Suspendisse ornare consequat lectus. In est risus, auctor sed, tristique in, tempus sit amet, sem.', '2021-10-10 12:35:10', '2021-06-08 16:03:44', 'Cirilo', 'Hewie'),
+                                                                                                                                    (207, 16, 'uno', null, 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.', '2021-09-15 20:31:58', '2021-09-10 04:08:45', 'Parnell', 'Justen'),
+                                                                                                                                    (208, 77, 'uno', null, 'Donec diam neque, vestibulum eget, vulputate ut, ultrices vel, augue. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Donec pharetra, magna vestibulum aliquet ultrices, erat tortor sollicitudin mi, sit amet lobortis sapien sapien non mi. Integer ac neque.', '2021-10-10 05:06:58', '2021-03-07 18:41:41', 'Wait', 'Jefferey'),
+                                                                                                                                    (209, 80, 'uno', null, 'In congue. Etiam justo. Etiam pretium iaculis justo.', '2021-11-29 14:56:54', '2021-08-11 08:38:14', 'Oliver', 'Gordan'),
+                                                                                                                                    (210, 93, 'uno', null, 'Sed ante. Vivamus tortor. Duis mattis egestas metus.', '2021-08-08 12:08:41', '2021-02-21 14:20:28', 'Boy', 'Erhard'),
+                                                                                                                                    (211, 21, 'uno', null, 'Nullam porttitor lacus at turpis. Donec posuere metus vitae ipsum. Aliquam non mauris.', '2021-02-02 10:37:42', '2021-07-07 09:13:50', 'Kingsley', 'Cristiano'),
+                                                                                                                                    (212, 121, 'uno', null, 'Vestibulum ac est lacinia nisi venenatis tristique. Fusce congue, diam id ornare imperdiet, sapien urna pretium nisl, ut volutpat sapien arcu sed augue. Aliquam erat volutpat.', '2021-05-01 16:02:15', '2021-03-16 04:57:53', 'Jack', 'Emerson'),
+                                                                                                                                    (213, 81, 'uno', null, 'Nullam porttitor lacus at turpis. Donec posuere metus vitae ipsum. Aliquam non mauris.', '2021-10-06 07:22:15', '2021-04-13 18:38:19', 'Shadow', 'Olivero'),
+                                                                                                                                    (214, 115, 'uno', null, 'Curabitur at ipsum ac tellus semper interdum. Mauris ullamcorper purus sit amet nulla. Quisque arcu libero, rutrum ac, lobortis vel, dapibus at, diam.', '2021-08-21 18:30:28', '2022-01-27 04:56:23', 'Torrance', 'Jay'),
+                                                                                                                                    (215, 71, 'uno', null, 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.', '2021-07-14 22:27:52', '2021-12-20 14:06:44', 'Griz', 'Rice'),
+                                                                                                                                    (216, 10, 'uno', null, 'Duis consequat dui nec nisi volutpat eleifend. Donec ut dolor. Morbi vel lectus in quam fringilla rhoncus.', '2021-09-22 03:34:12', '2021-08-02 23:30:33', 'Johnathan', 'Gasper'),
+                                                                                                                                    (217, 83, 'uno', null, 'Lorem ipsum dolor sit amet, consectetuer adipiscing elit. Proin risus. Praesent lectus.', '2021-11-09 09:44:05', '2021-09-27 16:32:41', 'Krishnah', 'Gauthier'),
+                                                                                                                                    (218, 65, 'uno', null, 'Duis consequat dui nec nisi volutpat eleifend. Donec ut dolor. Morbi vel lectus in quam fringilla rhoncus.', '2021-06-05 10:03:50', '2021-04-03 21:14:02', 'Padraig', 'Hagan'),
+                                                                                                                                    (219, 65, 'uno', null, 'Fusce posuere felis sed lacus. Morbi sem mauris, laoreet ut, rhoncus aliquet, pulvinar sed, nisl. Nunc rhoncus dui vel sem.', '2021-02-08 03:59:27', '2022-01-05 18:54:29', 'Marven', 'Cesaro'),
+                                                                                                                                    (220, 40, 'uno', null, 'Fusce consequat. Nulla nisl. Nunc nisl.', '2021-09-10 06:18:43', '2022-01-05 12:44:51', 'Iggy', 'Giffer'),
+                                                                                                                                    (221, 40, 'uno', null, 'Curabitur gravida nisi at nibh. In hac habitasse platea dictumst. Aliquam augue quam, sollicitudin vitae, consectetuer eget, rutrum at, lorem.', '2021-11-24 21:14:01', '2021-07-24 00:45:50', 'Tanner', 'Alasdair'),
+                                                                                                                                    (222, 53, 'uno', null, 'Curabitur in libero ut massa volutpat convallis. Morbi odio odio, elementum eu, interdum eu, tincidunt in, leo. Maecenas pulvinar lobortis est.', '2021-04-30 20:09:55', '2021-07-19 23:40:23', 'Germain', 'Raffaello'),
+                                                                                                                                    (223, 35, 'uno', null, 'Cum sociis natoque penatibus et magnis dis parturient montes, nascetur ridiculus mus. Vivamus vestibulum sagittis sapien. Cum sociis natoque penatibus et magnis dis parturient montes, nascetur ridiculus mus.', '2021-09-23 19:49:04', '2021-07-17 12:46:19', 'Pat', 'Lynn'),
+                                                                                                                                    (224, 108, 'uno', null, 'Praesent blandit. Nam nulla. Integer pede justo, lacinia eget, tincidunt eget, tempus vel, pede.', '2021-02-26 17:41:27', '2021-06-19 13:50:02', 'Ancell', 'Zack'),
+                                                                                                                                    (225, 123, 'uno', null, 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.', '2021-04-02 23:38:41', '2021-05-25 09:51:50', 'Augustus', 'Noak'),
+                                                                                                                                    (226, 10, 'uno', null, 'Vestibulum ac est lacinia nisi venenatis tristique. Fusce congue, diam id ornare imperdiet, sapien urna pretium nisl, ut volutpat sapien arcu sed augue. Aliquam erat volutpat.', '2021-08-04 16:14:43', '2021-05-14 16:24:37', 'Verne', 'Jae'),
+                                                                                                                                    (227, 70, 'uno', null, 'Donec diam neque, vestibulum eget, vulputate ut, ultrices vel, augue. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Donec pharetra, magna vestibulum aliquet ultrices, erat tortor sollicitudin mi, sit amet lobortis sapien sapien non mi. Integer ac neque.', '2021-11-06 06:46:35', '2022-01-10 16:32:48', 'Guillermo', 'Donavon'),
+                                                                                                                                    (228, 66, 'uno', null, 'Sed sagittis. Nam congue, risus semper porta volutpat, quam pede lobortis ligula, sit amet eleifend pede libero quis orci. Nullam molestie nibh in lectus.', '2022-01-14 20:49:05', '2021-02-17 00:51:12', 'Ermin', 'Eugenius'),
+                                                                                                                                    (229, 60, 'uno', null, 'Quisque id justo sit amet sapien dignissim vestibulum. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Nulla dapibus dolor vel est. Donec odio justo, sollicitudin ut, suscipit a, feugiat et, eros.', '2021-10-31 12:14:52', '2021-12-16 14:05:55', 'Beniamino', 'Lucius'),
+                                                                                                                                    (230, 86, 'uno', null, 'Donec diam neque, vestibulum eget, vulputate ut, ultrices vel, augue. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Donec pharetra, magna vestibulum aliquet ultrices, erat tortor sollicitudin mi, sit amet lobortis sapien sapien non mi. Integer ac neque.', '2021-05-14 17:45:54', '2021-11-04 17:25:01', 'Roman', 'Pippo'),
+                                                                                                                                    (231, 46, 'uno', null, 'In hac habitasse platea dictumst. Morbi vestibulum, velit id pretium iaculis, diam erat fermentum justo, nec condimentum neque sapien placerat ante. Nulla justo.', '2021-12-30 18:54:39', '2021-10-27 17:51:06', 'Laird', 'Rooney'),
+                                                                                                                                    (232, 109, 'uno', null, 'Phasellus in felis. Donec semper sapien a libero. Nam dui.', '2021-02-15 22:55:20', '2021-05-19 06:29:30', 'Harwell', 'Hamish'),
+                                                                                                                                    (233, 29, 'uno', null, 'Vestibulum quam sapien, varius ut, blandit non, interdum in, ante. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Duis faucibus accumsan odio. Curabitur convallis.', '2021-03-03 14:41:45', '2021-08-21 19:45:03', 'Farrell', 'Putnam'),
+                                                                                                                                    (234, 4, 'uno', null, 'Duis bibendum, felis sed interdum venenatis, turpis enim blandit mi, in porttitor pede justo eu massa. Donec dapibus. Duis at velit eu est congue elementum.', '2021-05-07 23:41:49', '2021-07-20 15:05:46', 'Cullan', 'Brenden'),
+                                                                                                                                    (235, 72, 'uno', null, 'Quisque id justo sit amet sapien dignissim vestibulum. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Nulla dapibus dolor vel est. Donec odio justo, sollicitudin ut, suscipit a, feugiat et, eros.', '2022-01-21 09:58:07', '2021-09-30 10:22:58', 'Reinhard', 'Gustav'),
+                                                                                                                                    (236, 103, 'uno', null, 'Proin eu mi. Nulla ac enim. In tempor, turpis nec euismod scelerisque, quam turpis adipiscing lorem, vitae mattis nibh ligula nec sem.', '2021-06-21 04:54:38', '2021-02-04 14:03:34', 'Redford', 'Odey'),
+                                                                                                                                    (237, 3, 'uno', null, 'Duis aliquam convallis nunc. Proin at turpis a pede posuere nonummy. Integer non velit.', '2021-07-03 22:53:01', '2021-12-17 02:16:19', 'Onofredo', 'Burnard'),
+                                                                                                                                    (238, 47, 'uno', null, 'In congue. Etiam justo. Etiam pretium iaculis justo.', '2021-04-14 07:12:05', '2022-01-25 09:31:18', 'Ludwig', 'Bink'),
+                                                                                                                                    (239, 108, 'uno', null, 'Cras mi pede, malesuada in, imperdiet et, commodo vulputate, justo. In blandit ultrices enim. Lorem ipsum dolor sit amet, consectetuer adipiscing elit.', '2021-01-29 06:11:21', '2021-11-28 10:36:30', 'Brose', 'Dory'),
+                                                                                                                                    (240, 18, 'uno', null, 'Curabitur in libero ut massa volutpat convallis. Morbi odio odio, elementum eu, interdum eu, tincidunt in, leo. Maecenas pulvinar lobortis est.', '2021-07-11 22:57:32', '2021-12-29 13:13:47', 'Jorgan', 'Tully'),
+                                                                                                                                    (241, 122, 'uno', null, 'Quisque porta volutpat erat. Quisque erat eros, viverra eget, congue eget, semper rutrum, nulla. Nunc purus.', '2021-07-07 11:28:36', '2022-01-11 22:25:11', 'Noak', 'Randi'),
+                                                                                                                                    (242, 10, 'uno', null, 'Duis bibendum, felis sed interdum venenatis, turpis enim blandit mi, in porttitor pede justo eu massa. Donec dapibus. Duis at velit eu est congue elementum.', '2021-01-28 04:18:05', '2021-03-15 00:49:20', 'Robers', 'Lucien'),
+                                                                                                                                    (243, 100, 'uno', null, 'In quis justo. Maecenas rhoncus aliquam lacus. Morbi quis tortor id nulla ultrices aliquet.', '2021-10-21 10:15:11', '2021-07-15 02:29:24', 'Ellwood', 'Haley'),
+                                                                                                                                    (244, 109, 'uno', null, 'In sagittis dui vel nisl. Duis ac nibh. Fusce lacus purus, aliquet at, feugiat non, pretium quis, lectus.', '2021-09-20 02:30:44', '2021-02-23 21:10:19', 'Rand', 'Farr'),
+                                                                                                                                    (245, 7, 'uno', null, 'Aenean fermentum. Donec ut mauris eget massa tempor convallis. Nulla neque libero, convallis eget, eleifend luctus, ultricies eu, nibh.', '2021-03-30 03:51:17', '2021-03-12 03:31:28', 'Benn', 'Felicio'),
+                                                                                                                                    (246, 3, 'uno', null, 'In hac habitasse platea dictumst. Etiam faucibus cursus urna. Ut tellus.', '2021-09-28 17:14:00', '2021-11-10 07:58:33', 'Bram', 'Reamonn'),
+                                                                                                                                    (247, 19, 'uno', null, 'Nam ultrices, libero non mattis pulvinar, nulla pede ullamcorper augue, a suscipit nulla elit ac nulla. Sed vel enim sit amet nunc viverra dapibus. Nulla suscipit ligula in lacus.', '2021-11-21 02:15:09', '2021-09-26 07:25:00', 'Tobiah', 'Elvyn'),
+                                                                                                                                    (248, 29, 'uno', null, 'Integer ac leo. Pellentesque ultrices mattis odio. Donec vitae nisi.', '2021-06-17 22:45:24', '2021-02-22 00:27:48', 'Tuckie', 'Alano'),
+                                                                                                                                    (249, 38, 'uno', null, 'Praesent blandit. Nam nulla. Integer pede justo, lacinia eget, tincidunt eget, tempus vel, pede.', '2021-03-08 06:05:41', '2021-08-23 14:39:11', 'Torrey', 'Lincoln'),
+                                                                                                                                    (250, 89, 'uno', null, 'Praesent blandit. Nam nulla. Integer pede justo, lacinia eget, tincidunt eget, tempus vel, pede.', '2021-05-02 07:48:14', '2021-04-21 23:59:10', 'Sheppard', 'Mordy'),
+                                                                                                                                    (251, 37, 'uno', null, 'Quisque porta volutpat erat. Quisque erat eros, viverra eget, congue eget, semper rutrum, nulla. Nunc purus.', '2021-09-23 10:38:38', '2021-09-28 17:28:23', 'Alasteir', 'Rodolph'),
+                                                                                                                                    (252, 96, 'uno', null, 'Curabitur at ipsum ac tellus semper interdum. Mauris ullamcorper purus sit amet nulla. Quisque arcu libero, rutrum ac, lobortis vel, dapibus at, diam.', '2021-12-13 02:05:08', '2021-08-13 20:19:31', 'Curcio', 'Frankie'),
+                                                                                                                                    (253, 9, 'uno', null, 'Curabitur in libero ut massa volutpat convallis. Morbi odio odio, elementum eu, interdum eu, tincidunt in, leo. Maecenas pulvinar lobortis est.', '2021-08-03 08:05:59', '2021-07-18 13:07:29', 'Randal', 'Lowrance'),
+                                                                                                                                    (254, 95, 'uno', null, 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.', '2021-05-23 16:26:14', '2022-01-27 15:13:11', 'Corbin', 'Gardy'),
+                                                                                                                                    (255, 41, 'uno', null, 'In hac habitasse platea dictumst. Morbi vestibulum, velit id pretium iaculis, diam erat fermentum justo, nec condimentum neque sapien placerat ante. Nulla justo.', '2021-04-12 18:28:56', '2021-09-16 06:18:28', 'Sammie', 'Jerrold'),
+                                                                                                                                    (256, 80, 'uno', null, 'Aliquam quis turpis eget elit sodales scelerisque. Mauris sit amet eros. Suspendisse accumsan tortor quis turpis.', '2021-02-20 22:12:07', '2021-05-20 15:04:18', 'Abram', 'Foster'),
+                                                                                                                                    (257, 46, 'uno', null, 'Fusce posuere felis sed lacus. Morbi sem mauris, laoreet ut, rhoncus aliquet, pulvinar sed, nisl. Nunc rhoncus dui vel sem.', '2021-02-05 14:12:10', '2021-04-21 22:37:57', 'Rusty', 'Martin'),
+                                                                                                                                    (258, 117, 'uno', null, 'Morbi porttitor lorem id ligula. Suspendisse ornare consequat lectus. In est risus, auctor sed, tristique in, tempus sit amet, sem.', '2021-08-30 23:52:53', '2021-04-13 04:02:26', 'Mohammed', 'Roman'),
+                                                                                                                                    (259, 117, 'uno', null, 'Maecenas tristique, est et tempus semper, est quam pharetra magna, ac consequat metus sapien ut nunc. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Mauris viverra diam vitae quam. Suspendisse potenti.', '2021-11-28 01:58:02', '2021-12-21 11:52:52', 'Tomas', 'Lorry'),
+                                                                                                                                    (260, 102, 'uno', null, 'Curabitur at ipsum ac tellus semper interdum. Mauris ullamcorper purus sit amet nulla. Quisque arcu libero, rutrum ac, lobortis vel, dapibus at, diam.', '2021-02-07 07:54:20', '2022-01-26 07:40:14', 'Laurence', 'Obediah'),
+                                                                                                                                    (261, 105, 'uno', null, 'Aenean fermentum. Donec ut mauris eget massa tempor convallis. Nulla neque libero, convallis eget, eleifend luctus, ultricies eu, nibh.', '2021-12-07 21:09:27', '2021-02-25 05:08:10', 'Doyle', 'Manolo'),
+                                                                                                                                    (262, 31, 'uno', null, 'Maecenas leo odio, condimentum id, luctus nec, molestie sed, justo. Pellentesque viverra pede ac diam. Cras pellentesque volutpat dui.', '2021-06-08 17:54:29', '2021-04-09 21:42:54', 'Alfons', 'Merrel'),
+                                                                                                                                    (263, 104, 'uno', null, 'Cras mi pede, malesuada in, imperdiet et, commodo vulputate, justo. In blandit ultrices enim. Lorem ipsum dolor sit amet, consectetuer adipiscing elit.', '2021-02-15 00:43:19', '2021-05-11 00:01:36', 'Barris', 'Thayne'),
+                                                                                                                                    (264, 6, 'uno', null, 'Vestibulum ac est lacinia nisi venenatis tristique. Fusce congue, diam id ornare imperdiet, sapien urna pretium nisl, ut volutpat sapien arcu sed augue. Aliquam erat volutpat.', '2021-08-23 18:08:15', '2021-02-14 18:46:55', 'Chester', 'Raimund'),
+                                                                                                                                    (265, 23, 'uno', null, 'Proin eu mi. Nulla ac enim. In tempor, turpis nec euismod scelerisque, quam turpis adipiscing lorem, vitae mattis nibh ligula nec sem.', '2021-08-22 05:10:51', '2021-11-14 05:48:36', 'Gunner', 'Daryle'),
+                                                                                                                                    (266, 9, 'uno', null, 'Vestibulum quam sapien, varius ut, blandit non, interdum in, ante. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Duis faucibus accumsan odio. Curabitur convallis.', '2021-07-08 21:49:32', '2021-10-16 05:19:59', 'Garey', 'Newton'),
+                                                                                                                                    (267, 61, 'uno', null, 'Vestibulum ac est lacinia nisi venenatis tristique. Fusce congue, diam id ornare imperdiet, sapien urna pretium nisl, ut volutpat sapien arcu sed augue. Aliquam erat volutpat.', '2021-02-16 21:02:31', '2021-03-14 09:32:46', 'Pryce', 'Ruggiero'),
+                                                                                                                                    (268, 60, 'uno', null, 'Vestibulum ac est lacinia nisi venenatis tristique. Fusce congue, diam id ornare imperdiet, sapien urna pretium nisl, ut volutpat sapien arcu sed augue. Aliquam erat volutpat.', '2021-07-01 14:11:02', '2022-01-05 14:35:41', 'Alphonse', 'Jimmie'),
+                                                                                                                                    (269, 66, 'uno', null, 'In congue. Etiam justo. Etiam pretium iaculis justo.', '2021-07-21 22:00:47', '2021-04-15 01:34:52', 'Francesco', 'Sigismond'),
+                                                                                                                                    (270, 110, 'uno', null, 'Maecenas ut massa quis augue luctus tincidunt. Nulla mollis molestie lorem. Quisque ut erat.', '2022-01-20 13:04:44', '2021-07-23 13:46:46', 'Lee', 'Hillie'),
+                                                                                                                                    (271, 49, 'uno', null, 'Curabitur in libero ut massa volutpat convallis. Morbi odio odio, elementum eu, interdum eu, tincidunt in, leo. Maecenas pulvinar lobortis est.', '2021-08-17 22:15:55', '2021-08-14 18:08:06', 'Xerxes', 'Gavan'),
+                                                                                                                                    (272, 30, 'uno', null, 'Praesent id massa id nisl venenatis lacinia. Aenean sit amet justo. Morbi ut odio.', '2022-01-01 09:01:26', '2021-02-05 06:06:11', 'Nilson', 'Abramo'),
+                                                                                                                                    (273, 66, 'uno', null, 'Maecenas leo odio, condimentum id, luctus nec, molestie sed, justo. Pellentesque viverra pede ac diam. Cras pellentesque volutpat dui.', '2021-03-19 18:31:00', '2021-02-02 18:13:43', 'Efrem', 'Nappie'),
+                                                                                                                                    (274, 20, 'uno', null, 'Sed sagittis. Nam congue, risus semper porta volutpat, quam pede lobortis ligula, sit amet eleifend pede libero quis orci. Nullam molestie nibh in lectus.', '2021-08-10 09:50:08', '2021-06-10 09:21:44', 'Killy', 'Link'),
+                                                                                                                                    (275, 60, 'uno', null, 'Quisque id justo sit amet sapien dignissim vestibulum. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Nulla dapibus dolor vel est. Donec odio justo, sollicitudin ut, suscipit a, feugiat et, eros.', '2021-07-01 11:17:44', '2021-06-12 14:47:11', 'Redd', 'Findlay'),
+                                                                                                                                    (276, 84, 'uno', null, 'Curabitur in libero ut massa volutpat convallis. Morbi odio odio, elementum eu, interdum eu, tincidunt in, leo. Maecenas pulvinar lobortis est.', '2021-11-20 19:24:29', '2021-07-09 22:30:51', 'Jermaine', 'Giordano'),
+                                                                                                                                    (277, 16, 'uno', null, 'Proin interdum mauris non ligula pellentesque ultrices. Phasellus id sapien in sapien iaculis congue. Vivamus metus arcu, adipiscing molestie, hendrerit at, vulputate vitae, nisl.', '2021-03-31 15:02:53', '2022-01-27 10:41:22', 'Nevins', 'Tades'),
+                                                                                                                                    (278, 24, 'uno', null, 'Aenean lectus. Pellentesque eget nunc. Donec quis orci eget orci vehicula condimentum.', '2021-12-14 16:08:30', '2021-07-27 17:14:42', 'Ford', 'Bert'),
+                                                                                                                                    (279, 118, 'uno', null, 'Aliquam quis turpis eget elit sodales scelerisque. Mauris sit amet eros. Suspendisse accumsan tortor quis turpis.', '2021-04-06 13:22:24', '2021-03-22 21:55:23', 'Derward', 'Gilberto'),
+                                                                                                                                    (280, 80, 'uno', null, 'Curabitur in libero ut massa volutpat convallis. Morbi odio odio, elementum eu, interdum eu, tincidunt in, leo. Maecenas pulvinar lobortis est.', '2021-11-11 14:40:19', '2021-03-18 04:28:34', 'Raynard', 'Harmon'),
+                                                                                                                                    (281, 15, 'uno', null, 'Aliquam quis turpis eget elit sodales scelerisque. Mauris sit amet eros. Suspendisse accumsan tortor quis turpis.', '2021-08-03 10:39:41', '2021-10-10 14:36:42', 'Link', 'Herculie'),
+                                                                                                                                    (282, 53, 'uno', null, 'Mauris enim leo, rhoncus sed, vestibulum sit amet, cursus id, turpis. Integer aliquet, massa id lobortis convallis, tortor risus dapibus augue, vel accumsan tellus nisi eu orci. Mauris lacinia sapien quis libero.', '2021-10-16 21:35:19', '2021-02-03 11:50:26', 'Bruno', 'Morry'),
+                                                                                                                                    (283, 116, 'uno', null, 'Quisque id justo sit amet sapien dignissim vestibulum. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Nulla dapibus dolor vel est. Donec odio justo, sollicitudin ut, suscipit a, feugiat et, eros.', '2021-06-30 09:33:06', '2021-03-14 15:57:56', 'Ash', 'Kain'),
+                                                                                                                                    (284, 18, 'uno', null, 'Vestibulum quam sapien, varius ut, blandit non, interdum in, ante. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Duis faucibus accumsan odio. Curabitur convallis.', '2021-12-17 04:35:08', '2021-12-03 02:48:23', 'Vance', 'Sherwood'),
+                                                                                                                                    (285, 39, 'uno', null, 'Fusce posuere felis sed lacus. Morbi sem mauris, laoreet ut, rhoncus aliquet, pulvinar sed, nisl. Nunc rhoncus dui vel sem.', '2022-01-24 11:08:07', '2021-03-10 17:24:44', 'Alexio', 'Zak'),
+                                                                                                                                    (286, 36, 'uno', null, 'Duis bibendum. Morbi non quam nec dui luctus rutrum. Nulla tellus.', '2021-10-26 14:32:13', '2021-12-09 16:40:34', 'Gustavus', 'Dennis'),
+                                                                                                                                    (287, 95, 'uno', null, 'Suspendisse potenti. In eleifend quam a odio. In hac habitasse platea dictumst.', '2022-01-04 18:07:58', '2021-06-09 11:32:21', 'Correy', 'Michale'),
+                                                                                                                                    (288, 83, 'uno', null, 'Proin eu mi. Nulla ac enim. In tempor, turpis nec euismod scelerisque, quam turpis adipiscing lorem, vitae mattis nibh ligula nec sem.', '2021-08-26 19:21:23', '2021-08-18 00:16:06', 'Marsh', 'Jake'),
+                                                                                                                                    (289, 32, 'uno', null, 'Fusce posuere felis sed lacus. Morbi sem mauris, laoreet ut, rhoncus aliquet, pulvinar sed, nisl. Nunc rhoncus dui vel sem.', '2021-04-06 03:33:13', '2021-02-08 18:06:28', 'Joey', 'Jeddy'),
+                                                                                                                                    (290, 97, 'uno', null, 'Curabitur in libero ut massa volutpat convallis. Morbi odio odio, elementum eu, interdum eu, tincidunt in, leo. Maecenas pulvinar lobortis est.', '2021-10-02 12:32:35', '2021-03-31 17:12:09', 'Ermin', 'Randy'),
+                                                                                                                                    (291, 101, 'uno', null, 'In congue. Etiam justo. Etiam pretium iaculis justo.', '2021-06-26 12:29:52', '2021-01-29 02:54:16', 'Archer', 'Denney'),
+                                                                                                                                    (292, 109, 'uno', null, 'Cras non velit nec nisi vulputate nonummy. Maecenas tincidunt lacus at velit. Vivamus vel nulla eget eros elementum pellentesque.', '2021-05-01 12:24:18', '2021-05-30 21:29:42', 'Fransisco', 'Francisco'),
+                                                                                                                                    (293, 93, 'uno', null, 'Quisque porta volutpat erat. Quisque erat eros, viverra eget, congue eget, semper rutrum, nulla. Nunc purus.', '2021-02-22 10:56:34', '2021-09-02 15:20:32', 'Georgy', 'Wells'),
+                                                                                                                                    (294, 118, 'uno', null, 'Quisque id justo sit amet sapien dignissim vestibulum. Vestibulum ante ipsum primis in faucibus orci luctus et ultrices posuere cubilia Curae; Nulla dapibus dolor vel est. Donec odio justo, sollicitudin ut, suscipit a, feugiat et, eros.', '2021-11-04 07:35:10', '2021-12-24 13:17:12', 'Oates', 'Clayborne'),
+                                                                                                                                    (295, 97, 'uno', null, 'Nullam porttitor lacus at turpis. Donec posuere metus vitae ipsum. Aliquam non mauris.', '2021-07-18 10:42:20', '2021-12-25 13:59:02', 'Richmound', 'Wilmar'),
+                                                                                                                                    (296, 6, 'uno', null, 'Phasellus in felis. Donec semper sapien a libero. Nam dui.', '2021-02-08 10:45:24', '2021-04-04 03:18:49', 'Rees', 'Kerk'),
+                                                                                                                                    (297, 106, 'uno', null, 'Etiam vel augue. Vestibulum rutrum rutrum neque. Aenean auctor gravida sem.', '2021-02-12 12:56:15', '2021-06-19 00:23:26', 'Kiley', 'Keenan'),
+                                                                                                                                    (298, 77, 'uno', null, 'Aenean lectus. Pellentesque eget nunc. Donec quis orci eget orci vehicula condimentum.', '2022-01-08 02:32:10', '2021-07-23 12:21:01', 'Harlen', 'Zacharia'),
+                                                                                                                                    (299, 56, 'uno', null, 'Sed ante. Vivamus tortor. Duis mattis egestas metus.', '2021-11-18 01:32:48', '2021-06-06 01:59:25', 'Vittorio', 'Milty'),
+                                                                                                                                    (300, 19, 'uno', null, 'In hac habitasse platea dictumst. Etiam faucibus cursus urna. Ut tellus.', '2021-05-07 23:57:29', '2021-04-03 21:55:11', 'Oliver', 'Graehme')
 ;
 
 -- 대댓글
-insert into article_comment (article_id, user_id, parent_comment_id, content, created_at, modified_at, created_by, modified_by) values
-                                                                                                                                    (49, 'uno', 1, 'hard agree.', '2021-03-02 22:40:04', '2021-04-27 15:38:09', 'Uno', 'Uno'),
-                                                                                                                                    (49, 'uno2', 1, 'same', '2021-03-03 22:40:04', '2021-04-27 15:38:09', 'Uno2', 'Uno2'),
-                                                                                                                                    (49, 'uno', 1, 'same 2', '2021-03-04 22:40:04', '2021-04-27 15:38:09', 'Uno', 'Uno'),
-                                                                                                                                    (49, 'uno', 1, 'same three', '2021-03-05 22:40:04', '2021-04-27 15:38:09', 'Uno', 'Uno')
+insert into article_comment (id, article_id, user_id, parent_comment_id, content, created_at, modified_at, created_by, modified_by) values
+                                                                                                                                    (301, 49, 'uno', 1, 'hard agree.', '2021-03-02 22:40:04', '2021-04-27 15:38:09', 'Uno', 'Uno'),
+                                                                                                                                    (302, 49, 'uno2', 1, 'same', '2021-03-03 22:40:04', '2021-04-27 15:38:09', 'Uno2', 'Uno2'),
+                                                                                                                                    (303, 49, 'uno', 1, 'same 2', '2021-03-04 22:40:04', '2021-04-27 15:38:09', 'Uno', 'Uno'),
+                                                                                                                                    (304, 49, 'uno', 1, 'same three', '2021-03-05 22:40:04', '2021-04-27 15:38:09', 'Uno', 'Uno')
 ;
 
-insert into hashtag (hashtag_name, created_at, modified_at, created_by, modified_by) values
-                                                                                         ('blue', now(), now(), 'uno', 'uno'),
-                                                                                         ('crimson', now(), now(), 'uno', 'uno'),
-                                                                                         ('fuscia', now(), now(), 'uno', 'uno'),
-                                                                                         ('goldenrod', now(), now(), 'uno', 'uno'),
-                                                                                         ('green', now(), now(), 'uno', 'uno'),
-                                                                                         ('indigo', now(), now(), 'uno', 'uno'),
-                                                                                         ('khaki', now(), now(), 'uno', 'uno'),
-                                                                                         ('maroon', now(), now(), 'uno', 'uno'),
-                                                                                         ('mauv', now(), now(), 'uno', 'uno'),
-                                                                                         ('orange', now(), now(), 'uno', 'uno'),
-                                                                                         ('pink', now(), now(), 'uno', 'uno'),
-                                                                                         ('puce', now(), now(), 'uno', 'uno'),
-                                                                                         ('purple', now(), now(), 'uno', 'uno'),
-                                                                                         ('red', now(), now(), 'uno', 'uno'),
-                                                                                         ('teal', now(), now(), 'uno', 'uno'),
-                                                                                         ('turquoise', now(), now(), 'uno', 'uno'),
-                                                                                         ('violet', now(), now(), 'uno', 'uno'),
-                                                                                         ('yellow', now(), now(), 'uno', 'uno'),
-                                                                                         ('white', now(), now(), 'uno', 'uno')
+insert into hashtag (id, hashtag_name, created_at, modified_at, created_by, modified_by) values
+                                                                                         (1, 'blue', now(), now(), 'uno', 'uno'),
+                                                                                         (2, 'crimson', now(), now(), 'uno', 'uno'),
+                                                                                         (3, 'fuscia', now(), now(), 'uno', 'uno'),
+                                                                                         (4, 'goldenrod', now(), now(), 'uno', 'uno'),
+                                                                                         (5, 'green', now(), now(), 'uno', 'uno'),
+                                                                                         (6, 'indigo', now(), now(), 'uno', 'uno'),
+                                                                                         (7, 'khaki', now(), now(), 'uno', 'uno'),
+                                                                                         (8, 'maroon', now(), now(), 'uno', 'uno'),
+                                                                                         (9, 'mauv', now(), now(), 'uno', 'uno'),
+                                                                                         (10, 'orange', now(), now(), 'uno', 'uno'),
+                                                                                         (11, 'pink', now(), now(), 'uno', 'uno'),
+                                                                                         (12, 'puce', now(), now(), 'uno', 'uno'),
+                                                                                         (13, 'purple', now(), now(), 'uno', 'uno'),
+                                                                                         (14, 'red', now(), now(), 'uno', 'uno'),
+                                                                                         (15, 'teal', now(), now(), 'uno', 'uno'),
+                                                                                         (16, 'turquoise', now(), now(), 'uno', 'uno'),
+                                                                                         (17, 'violet', now(), now(), 'uno', 'uno'),
+                                                                                         (18, 'yellow', now(), now(), 'uno', 'uno'),
+                                                                                         (19, 'white', now(), now(), 'uno', 'uno')
 ;
 
 insert into article_hashtag (article_id, hashtag_id) values
@@ -1003,4 +1003,7 @@ insert into article_hashtag (article_id, hashtag_id) values
                                                          (119, 12),
                                                          (120, 18),
                                                          (122, 18)
-;
\ No newline at end of file
+;
+
+-- initialize the per-hashtag article counters from the links above
+update hashtag h set article_count = (select count(*) from article_hashtag ah where ah.hashtag_id = h.id);
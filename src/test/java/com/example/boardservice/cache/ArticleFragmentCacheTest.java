@@ -0,0 +1,195 @@
+package com.example.boardservice.cache;
+
+import com.example.boardservice.dto.ArticleCommentDto;
+import com.example.boardservice.dto.ArticleFragments;
+import com.example.boardservice.dto.ArticleWithCommentsDto;
+import com.example.boardservice.dto.HashtagDto;
+import com.example.boardservice.dto.UserAccountDto;
+import com.example.boardservice.event.ArticleCommentChangedEvent;
+import com.example.boardservice.event.ArticleSavedEvent;
+import com.example.boardservice.service.ArticleService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.IContext;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@DisplayName("Cache - rendered article fragments")
+@ExtendWith(MockitoExtension.class)
+class ArticleFragmentCacheTest {
+
+  private static final String TEMPLATE = "articles/detail-fragments";
+
+  @Mock private ArticleService articleService;
+  @Mock private ITemplateEngine templateEngine;
+
+  private SimpleMeterRegistry meterRegistry;
+  private ArticleFragmentCache sut;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    sut = new ArticleFragmentCache(articleService, templateEngine, meterRegistry, DataSize.ofMegabytes(1), Duration.ofMinutes(1));
+  }
+
+  @DisplayName("Render an article page only once while it is cached, and report the hits")
+  @Test
+  void givenCachedFragments_whenRequestingThemAgain_thenDoesNotLoadArticle() {
+    // Given
+    Long articleId = 1L;
+    given(articleService.getArticleWithComments(articleId, null)).willReturn(createArticleWithCommentsDto(articleId));
+    given(templateEngine.process(eq(TEMPLATE), eq(Set.of("#article-body")), any(IContext.class))).willReturn("<div>body</div>");
+    given(templateEngine.process(eq(TEMPLATE), eq(Set.of("#article-comment-threads")), any(IContext.class))).willReturn("<div>comments</div>");
+
+    // When
+    ArticleFragments first = sut.getFragments(articleId, null);
+    ArticleFragments second = sut.getFragments(articleId, null);
+
+    // Then
+    assertThat(second).isSameAs(first);
+    assertThat(first.body()).isEqualTo("<div>body</div>");
+    assertThat(first.comments()).isEqualTo("<div>comments</div>");
+    then(articleService).should(times(1)).getArticleWithComments(articleId, null);
+    assertThat(meterRegistry.get("cache.gets").tag("cache", "article.fragments").tag("result", "hit").functionCounter().count())
+        .isEqualTo(1.0);
+    assertThat(meterRegistry.get("board.article.fragments.hit.ratio").gauge().value()).isEqualTo(0.5);
+  }
+
+  @DisplayName("Render an article page again after its article or one of its comments was written")
+  @Test
+  void givenWrittenArticleOrComment_whenRequestingFragments_thenRendersThemAgain() {
+    // Given
+    Long articleId = 1L;
+    given(articleService.getArticleWithComments(articleId, null)).willReturn(createArticleWithCommentsDto(articleId));
+    given(templateEngine.process(eq(TEMPLATE), anySet(), any(IContext.class))).willReturn("<div></div>");
+    ArticleFragments original = sut.getFragments(articleId, null);
+
+    // When
+    sut.onArticleCommentChanged(ArticleCommentChangedEvent.of(articleId));
+    ArticleFragments afterComment = sut.getFragments(articleId, null);
+    sut.onArticleSaved(ArticleSavedEvent.of(articleId, "title", "content", Set.of()));
+    ArticleFragments afterArticle = sut.getFragments(articleId, null);
+
+    // Then
+    assertThat(afterComment).isNotSameAs(original);
+    assertThat(afterArticle).isNotSameAs(afterComment);
+    then(articleService).should(times(3)).getArticleWithComments(articleId, null);
+  }
+
+  @DisplayName("Never serve a page that was being rendered while its article was written")
+  @Test
+  void givenWriteDuringRender_whenRequestingFragments_thenRendersThemAgain() {
+    // Given
+    Long articleId = 1L;
+    given(articleService.getArticleWithComments(articleId, null))
+        .willAnswer(invocation -> {
+          // the write commits after the render has read the article, but before it is stored
+          sut.invalidate(articleId);
+          return createArticleWithCommentsDto(articleId);
+        })
+        .willReturn(createArticleWithCommentsDto(articleId));
+    given(templateEngine.process(eq(TEMPLATE), anySet(), any(IContext.class))).willReturn("<div></div>");
+    ArticleFragments outdated = sut.getFragments(articleId, null);
+
+    // When
+    ArticleFragments current = sut.getFragments(articleId, null);
+
+    // Then
+    assertThat(current).isNotSameAs(outdated);
+    then(articleService).should(times(2)).getArticleWithComments(articleId, null);
+  }
+
+  @DisplayName("Render the article and its comment threads with the real templates, escaped and without forms")
+  @Test
+  void givenArticleWithComments_whenRenderingTemplates_thenReturnsEscapedFragmentsWithoutForms() {
+    // Given
+    // outside of any request, like the renders of the cache, with the decoupled logic of the application
+    ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+    templateResolver.setPrefix("templates/");
+    templateResolver.setSuffix(".html");
+    templateResolver.setTemplateMode(TemplateMode.HTML);
+    templateResolver.setCharacterEncoding("UTF-8");
+    templateResolver.setUseDecoupledLogic(true);
+    SpringTemplateEngine springTemplateEngine = new SpringTemplateEngine();
+    springTemplateEngine.setTemplateResolver(templateResolver);
+    ArticleFragmentCache cache = new ArticleFragmentCache(articleService, springTemplateEngine, new SimpleMeterRegistry(),
+        DataSize.ofMegabytes(1), Duration.ofMinutes(1));
+    Long articleId = 1L;
+    LocalDateTime createdAt = LocalDateTime.of(2023, 1, 1, 9, 30);
+    UserAccountDto userAccountDto = UserAccountDto.of("uno", "pw", "uno@mail.com", "Uno", "memo");
+    Set<ArticleCommentDto> comments = new LinkedHashSet<>(List.of(
+        ArticleCommentDto.of(10L, articleId, userAccountDto, null, "first <b>comment</b>", createdAt, "uno", createdAt, "uno"),
+        ArticleCommentDto.of(11L, articleId, userAccountDto, 10L, "reply <img src=x>", createdAt.plusMinutes(1), "uno", createdAt, "uno")
+    ));
+    given(articleService.getArticleWithComments(articleId, null)).willReturn(ArticleWithCommentsDto.of(
+        articleId,
+        userAccountDto,
+        comments,
+        "Spring & <Boot>",
+        "<script>alert(1)</script>",
+        Set.of(HashtagDto.of("java")),
+        createdAt,
+        "uno",
+        createdAt,
+        "uno",
+        "next-page",
+        Map.of(10L, "more-replies")
+    ));
+
+    // When
+    ArticleFragments fragments = cache.getFragments(articleId, null);
+
+    // Then
+    assertThat(fragments.body())
+        .contains("Spring &amp; &lt;Boot&gt;")
+        .contains("&lt;script&gt;alert(1)&lt;/script&gt;")
+        .doesNotContain("<script>")
+        .contains("2023-01-01 09:30:00")
+        .contains("searchKeyword=java");
+    assertThat(fragments.comments())
+        .contains("first &lt;b&gt;comment&lt;/b&gt;")
+        .contains("reply &lt;img src=x&gt;")
+        .contains("/api/articles/1/comments/10/replies?cursor=more-replies")
+        .contains("/articles/1?comments=next-page")
+        .doesNotContain("Lorem ipsum")
+        .doesNotContain("<form");
+  }
+
+  private ArticleWithCommentsDto createArticleWithCommentsDto(Long articleId) {
+    return ArticleWithCommentsDto.of(
+        articleId,
+        UserAccountDto.of("uno", "pw", "uno@mail.com", "Uno", "memo"),
+        Set.of(),
+        "title",
+        "content",
+        Set.of(HashtagDto.of("java")),
+        LocalDateTime.now(),
+        "uno",
+        LocalDateTime.now(),
+        "uno"
+    );
+  }
+}
@@ -0,0 +1,44 @@
+package com.example.boardservice.cache;
+
+import com.example.boardservice.domain.Article;
+import com.example.boardservice.domain.ArticleComment;
+import com.example.boardservice.domain.UserAccount;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.mockito.BDDMockito.then;
+
+@DisplayName("Cache - article fragments invalidated by Spring Data REST writes")
+@ExtendWith(MockitoExtension.class)
+class ArticleFragmentRestEventHandlerTest {
+
+  @InjectMocks private ArticleFragmentRestEventHandler sut;
+
+  @Mock private ArticleFragmentCache articleFragmentCache;
+
+  @DisplayName("Invalidate the page of the article of a comment written through the REST API")
+  @Test
+  void givenArticleCommentWrittenThroughRestApi_whenHandlingEvent_thenInvalidatesItsArticle() {
+    // Given
+    Article article = createArticle(1L);
+    ArticleComment articleComment = ArticleComment.of(article, article.getUserAccount(), "comment");
+
+    // When
+    sut.onArticleCommentWritten(articleComment);
+
+    // Then
+    then(articleFragmentCache).should().invalidate(1L);
+  }
+
+  private Article createArticle(Long id) {
+    Article article = Article.of(UserAccount.of("uno", "password", "uno@mail.com", "Uno", null), "title", "content");
+    ReflectionTestUtils.setField(article, "id", id);
+
+    return article;
+  }
+}
@@ -0,0 +1,146 @@
+package com.example.boardservice.cache;
+
+import com.example.boardservice.domain.constant.HashtagSort;
+import com.example.boardservice.dto.HashtagDirectoryPage;
+import com.example.boardservice.event.HashtagCreatedEvent;
+import com.example.boardservice.event.HashtagDeletedEvent;
+import com.example.boardservice.repository.HashtagRepository;
+import com.example.boardservice.repository.projection.HashtagSummaryProjection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@DisplayName("Cache - hashtag directory")
+@ExtendWith(MockitoExtension.class)
+class HashtagDirectoryTest {
+
+  @Mock private HashtagRepository hashtagRepository;
+
+  private HashtagDirectory sut;
+
+  @BeforeEach
+  void setUp() {
+    sut = new HashtagDirectory(hashtagRepository, new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+  }
+
+  @DisplayName("Query a page only once while it is cached")
+  @Test
+  void givenCachedPage_whenRequestingPageAgain_thenDoesNotQuery() {
+    // Given
+    PageRequest pageable = PageRequest.of(0, 2, HashtagSort.NAME.getSort());
+    given(hashtagRepository.findSummariesBy(pageable))
+        .willReturn(new SliceImpl<>(List.of(summary("java", 3L), summary("spring", 1L)), pageable, false));
+    given(hashtagRepository.count()).willReturn(2L);
+
+    // When
+    HashtagDirectoryPage first = sut.getPage(HashtagSort.NAME, 0, 2);
+    HashtagDirectoryPage second = sut.getPage(HashtagSort.NAME, 0, 2);
+
+    // Then
+    assertThat(second).isSameAs(first);
+    assertThat(first.hashtags().getContent()).extracting("hashtagName").containsExactly("java", "spring");
+    assertThat(first.hashtags().getTotalElements()).isEqualTo(2);
+    then(hashtagRepository).should(times(1)).findSummariesBy(pageable);
+    then(hashtagRepository).should(times(1)).count();
+  }
+
+  @DisplayName("Keep the total of the pages in a counter instead of counting on every page miss")
+  @Test
+  void givenCountedHashtags_whenHashtagsAreCreatedAndDeleted_thenAdjustsTotalWithoutCounting() {
+    // Given
+    PageRequest pageable = PageRequest.of(0, 2, HashtagSort.NAME.getSort());
+    given(hashtagRepository.findSummariesBy(pageable))
+        .willReturn(new SliceImpl<>(List.of(summary("java", 3L), summary("jpa", 1L)), pageable, true));
+    given(hashtagRepository.count()).willReturn(10L);
+    sut.refreshCount();
+
+    // When
+    sut.onHashtagCreated(HashtagCreatedEvent.of(11L, "kotlin"));
+    sut.onHashtagCreated(HashtagCreatedEvent.of(12L, "spring"));
+    sut.onHashtagDeleted(HashtagDeletedEvent.of(1L, "c"));
+    HashtagDirectoryPage page = sut.getPage(HashtagSort.NAME, 0, 2);
+
+    // Then
+    assertThat(page.hashtags().getTotalElements()).isEqualTo(11);
+    assertThat(page.hashtags().getTotalPages()).isEqualTo(6);
+    then(hashtagRepository).should(times(1)).count();
+  }
+
+  @DisplayName("Trust the page over a counter that is behind")
+  @Test
+  void givenCounterBehind_whenPageGoesPastIt_thenRaisesTotalToThePage() {
+    // Given
+    // another node created hashtags the counter hasn't heard about yet
+    PageRequest pageable = PageRequest.of(1, 2, HashtagSort.NAME.getSort());
+    given(hashtagRepository.findSummariesBy(pageable))
+        .willReturn(new SliceImpl<>(List.of(summary("java", 3L), summary("jpa", 1L)), pageable, true));
+    given(hashtagRepository.count()).willReturn(2L);
+
+    // When
+    HashtagDirectoryPage page = sut.getPage(HashtagSort.NAME, 1, 2);
+
+    // Then
+    assertThat(page.hashtags().hasNext()).isTrue();
+    assertThat(page.hashtags().getTotalElements()).isEqualTo(5);
+  }
+
+  @DisplayName("Keep the ETag of reloaded pages that didn't change, change it once a hashtag was created")
+  @Test
+  void givenCreatedHashtag_whenRequestingPage_thenReloadsPageWithMatchingETag() {
+    // Given
+    PageRequest pageable = PageRequest.of(0, 2, HashtagSort.NAME.getSort());
+    given(hashtagRepository.findSummariesBy(pageable))
+        .willReturn(new SliceImpl<>(List.of(summary("java", 3L)), pageable, false))
+        .willReturn(new SliceImpl<>(List.of(summary("java", 3L)), pageable, false))
+        .willReturn(new SliceImpl<>(List.of(summary("java", 3L), summary("jpa", 1L)), pageable, false));
+    given(hashtagRepository.count()).willReturn(1L);
+    HashtagDirectoryPage original = sut.getPage(HashtagSort.NAME, 0, 2);
+
+    // When
+    // reloaded as if it had expired
+    sut.invalidate();
+    HashtagDirectoryPage unchanged = sut.getPage(HashtagSort.NAME, 0, 2);
+    sut.onHashtagCreated(HashtagCreatedEvent.of(3L, "jpa"));
+    HashtagDirectoryPage changed = sut.getPage(HashtagSort.NAME, 0, 2);
+
+    // Then
+    assertThat(unchanged).isNotSameAs(original);
+    assertThat(unchanged.eTag()).isEqualTo(original.eTag());
+    assertThat(changed.eTag()).isNotEqualTo(original.eTag());
+    then(hashtagRepository).should(times(3)).findSummariesBy(any());
+  }
+
+  private HashtagSummaryProjection summary(String hashtagName, long articleCount) {
+    return new HashtagSummaryProjection() {
+      @Override
+      public Long getId() {
+        return null;
+      }
+
+      @Override
+      public String getHashtagName() {
+        return hashtagName;
+      }
+
+      @Override
+      public long getArticleCount() {
+        return articleCount;
+      }
+    };
+  }
+}
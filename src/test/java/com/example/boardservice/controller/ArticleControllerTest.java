@@ -1,17 +1,30 @@
 package com.example.boardservice.controller;
 
+import com.example.boardservice.cache.ArticleFragmentCache;
 import com.example.boardservice.config.SecurityConfig;
 import com.example.boardservice.config.TestSecurityConfig;
 import com.example.boardservice.domain.constant.FormStatus;
+import com.example.boardservice.domain.constant.HashtagSort;
 import com.example.boardservice.domain.constant.SearchType;
+import com.example.boardservice.domain.constant.TrendWindow;
 import com.example.boardservice.dto.ArticleDto;
+import com.example.boardservice.dto.ArticleFragments;
+import com.example.boardservice.dto.ArticleSummaryDto;
 import com.example.boardservice.dto.ArticleWithCommentsDto;
+import com.example.boardservice.dto.CursorPage;
+import com.example.boardservice.dto.HashtagDirectoryPage;
 import com.example.boardservice.dto.HashtagDto;
+import com.example.boardservice.dto.HashtagSummaryDto;
+import com.example.boardservice.dto.TrendingHashtagDto;
 import com.example.boardservice.dto.UserAccountDto;
 import com.example.boardservice.dto.request.ArticleRequest;
 import com.example.boardservice.dto.response.ArticleResponse;
+import com.example.boardservice.dto.response.CursorPaginationBar;
+import com.example.boardservice.dto.response.TrendingHashtagResponse;
 import com.example.boardservice.service.ArticleService;
+import com.example.boardservice.service.HashtagService;
 import com.example.boardservice.service.PaginationService;
+import com.example.boardservice.trend.HashtagTrendTracker;
 import com.example.boardservice.util.FormDataEncoder;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
@@ -21,6 +34,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -34,6 +48,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -54,6 +69,9 @@ class ArticleControllerTest {
   // mock ArticleController's articleService instead of using the actual thing during testing
   @MockBean private ArticleService articleService;
   @MockBean private PaginationService paginationService;
+  @MockBean private HashtagService hashtagService;
+  @MockBean private HashtagTrendTracker hashtagTrendTracker;
+  @MockBean private ArticleFragmentCache articleFragmentCache;
 
   public ArticleControllerTest(@Autowired MockMvc mvc, @Autowired FormDataEncoder formDataEncoder) {
     this.mvc = mvc;
@@ -136,17 +154,59 @@ class ArticleControllerTest {
     then(paginationService).should().getPaginationBarNumbers(pageable.getPageNumber(), Page.empty().getTotalPages());
   }
 
-  @DisplayName("[View][GET] Single article page - redirect to login page when not authenticated")
+  @DisplayName("[View][GET] Article list page (board) - keyset pagination with cursor")
   @Test
-  public void givenNothing_whenRequestingArticlePage_thenRedirectsToLoginPage() throws Exception {
-    // given
-    long articleId = 1L;
-    // when & then
+  void givenCursor_whenRequestingArticlesView_thenReturnsArticlesViewWithCursorBar() throws Exception {
+    // Given
+    String cursor = "";
+    CursorPage<ArticleSummaryDto> page = CursorPage.of(List.of(createArticleSummaryDto()), null, "next");
+    CursorPaginationBar bar = CursorPaginationBar.of(null, "next");
+    given(articleService.searchArticlesByCursor(cursor, 10)).willReturn(page);
+    given(paginationService.getCursorPaginationBar(any())).willReturn(bar);
+
+    // When & Then
+    mvc.perform(get("/articles").queryParam("cursor", cursor))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_HTML))
+        .andExpect(view().name("articles/index"))
+        .andExpect(model().attributeExists("articles"))
+        .andExpect(model().attribute("cursorPaginationBar", bar))
+        .andExpect(model().attributeDoesNotExist("paginationBarNumbers"));
+    then(articleService).should().searchArticlesByCursor(cursor, 10);
+    then(articleService).shouldHaveNoMoreInteractions();
+    then(paginationService).should(never()).getPaginationBarNumbers(anyInt(), anyInt());
+  }
+
+  @DisplayName("[View][GET] Single article page - served from the rendered fragments when not authenticated")
+  @Test
+  public void givenNothing_whenRequestingArticlePage_thenReturnsCachedArticleView() throws Exception {
+    // Given
+    Long articleId = 1L;
+    ArticleFragments fragments = ArticleFragments.of(articleId,
+        "<div id=\"article-body\"><pre>cached content</pre></div>",
+        "<div id=\"article-comment-threads\"></div>");
+    given(articleFragmentCache.getFragments(articleId, null)).willReturn(fragments);
+
+    // When & Then
     mvc.perform(get("/articles/" + articleId))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_HTML))
+        .andExpect(view().name("articles/detail-anonymous"))
+        .andExpect(model().attribute("fragments", fragments))
+        .andExpect(model().attributeDoesNotExist("totalCount"))
+        .andExpect(content().string(containsString("<pre>cached content</pre>")));
+    then(articleFragmentCache).should().getFragments(articleId, null);
+    then(articleService).shouldHaveNoInteractions();
+  }
+
+  @DisplayName("[View][GET] Article form page - redirect to login page when not authenticated")
+  @Test
+  public void givenNothing_whenRequestingArticleForm_thenRedirectsToLoginPage() throws Exception {
+    // When & Then
+    mvc.perform(get("/articles/form"))
             .andExpect(status().is3xxRedirection())
             .andExpect(redirectedUrlPattern("**/login"));
     then(articleService).shouldHaveNoInteractions();
-    then(articleService).shouldHaveNoInteractions();
   }
 
   @WithMockUser
@@ -156,7 +216,7 @@ class ArticleControllerTest {
     // Given
     Long articleId = 1L;
     long totalCount = 1L;
-    given(articleService.getArticleWithComments(articleId)).willReturn(createArticleWithCommentsDto());
+    given(articleService.getArticleWithComments(articleId, null)).willReturn(createArticleWithCommentsDto());
     given(articleService.getArticleCount()).willReturn(totalCount);
 
     // When & Then
@@ -168,8 +228,9 @@ class ArticleControllerTest {
         .andExpect(model().attributeExists("articleComments"))
         .andExpect(model().attribute("totalCount", totalCount))
         .andExpect(model().attribute("searchTypeHashtag", SearchType.HASHTAG));
-    then(articleService).should().getArticleWithComments(articleId);
+    then(articleService).should().getArticleWithComments(articleId, null);
     then(articleService).should().getArticleCount();
+    then(articleFragmentCache).shouldHaveNoInteractions();
   }
 
   @Disabled("Not yet implemented")
@@ -189,10 +250,11 @@ class ArticleControllerTest {
   @Test
   public void givenNothing_whenRequestingArticleSearchHashtagView_thenReturnsArticleHashtagSearchView() throws Exception {
     // given
-    List<String> hashtags = List.of("#java", "#spring", "#boot");
+    List<String> hashtags = List.of("java", "spring", "boot");
     given(articleService.searchArticlesViaHashtag(eq(null), any(Pageable.class))).willReturn(Page.empty());
     given(paginationService.getPaginationBarNumbers(anyInt(), anyInt())).willReturn(List.of(1, 2, 3, 4, 5));
-    given(articleService.getHashtags()).willReturn(hashtags);
+    given(hashtagService.getHashtagDirectory(HashtagSort.POPULARITY, PageRequest.of(0, 50))).willReturn(createHashtagDirectoryPage(hashtags));
+    given(hashtagTrendTracker.getTrendingHashtags(TrendWindow.DAY, 10)).willReturn(List.of(TrendingHashtagDto.of("java", 3L)));
     // when & then
     mvc.perform(get("/articles/search-hashtag"))
         .andExpect(status().isOk())
@@ -200,9 +262,12 @@ class ArticleControllerTest {
         .andExpect(view().name("articles/search-hashtag"))
         .andExpect(model().attribute("articles", Page.empty()))
         .andExpect(model().attribute("hashtags", hashtags))
+        .andExpect(model().attribute("trendingHashtags", List.of(TrendingHashtagResponse.of("java", 3L))))
+        .andExpect(model().attribute("similarHashtags", List.of()))
         .andExpect(model().attributeExists("paginationBarNumbers"));
     then(articleService).should().searchArticlesViaHashtag(eq(null), any(Pageable.class));
-    then(articleService).should().getHashtags();
+    then(hashtagService).should().getHashtagDirectory(HashtagSort.POPULARITY, PageRequest.of(0, 50));
+    then(hashtagTrendTracker).should().getTrendingHashtags(TrendWindow.DAY, 10);
     then(paginationService).should().getPaginationBarNumbers(anyInt(), anyInt());
   }
 
@@ -211,10 +276,11 @@ class ArticleControllerTest {
   public void givenHashtag_whenRequestingArticleSearchHashtagView_thenReturnsArticleHashtagSearchView() throws Exception {
     // given
     String hashtag = "#java";
-    List<String> hashtags = List.of("#java", "#spring", "#boot");
+    List<String> hashtags = List.of("java", "spring", "boot");
     given(articleService.searchArticlesViaHashtag(eq(hashtag), any(Pageable.class))).willReturn(Page.empty());
     given(paginationService.getPaginationBarNumbers(anyInt(), anyInt())).willReturn(List.of(1, 2, 3, 4, 5));
-    given(articleService.getHashtags()).willReturn(hashtags);
+    given(hashtagService.getHashtagDirectory(HashtagSort.POPULARITY, PageRequest.of(0, 50))).willReturn(createHashtagDirectoryPage(hashtags));
+    given(hashtagService.findSimilarHashtags(hashtag, 5)).willReturn(List.of(HashtagSummaryDto.of("javascript", 2L)));
     // when & then
     mvc.perform(get("/articles/search-hashtag").queryParam("searchKeyword", hashtag))
         .andExpect(status().isOk())
@@ -222,10 +288,11 @@ class ArticleControllerTest {
         .andExpect(view().name("articles/search-hashtag"))
         .andExpect(model().attribute("articles", Page.empty()))
         .andExpect(model().attribute("hashtags", hashtags))
+        .andExpect(model().attribute("similarHashtags", List.of("javascript")))
         .andExpect(model().attributeExists("paginationBarNumbers"))
         .andExpect(model().attribute("searchType", SearchType.HASHTAG));
     then(articleService).should().searchArticlesViaHashtag(eq(hashtag), any(Pageable.class));
-    then(articleService).should().getHashtags();
+    then(hashtagService).should().getHashtagDirectory(HashtagSort.POPULARITY, PageRequest.of(0, 50));
     then(paginationService).should().getPaginationBarNumbers(anyInt(), anyInt());
   }
 
@@ -354,6 +421,10 @@ class ArticleControllerTest {
     );
   }
 
+  private ArticleSummaryDto createArticleSummaryDto() {
+    return ArticleSummaryDto.of(1L, "title", Set.of("java"), LocalDateTime.now(), "uno", "uno@mail.com", "Uno");
+  }
+
   private ArticleWithCommentsDto createArticleWithCommentsDto() {
     return ArticleWithCommentsDto.of(
         1L,
@@ -369,6 +440,13 @@ class ArticleControllerTest {
     );
   }
 
+  private HashtagDirectoryPage createHashtagDirectoryPage(List<String> hashtagNames) {
+    return HashtagDirectoryPage.of(
+        new PageImpl<>(hashtagNames.stream().map(hashtagName -> HashtagSummaryDto.of(hashtagName, 1L)).toList()),
+        "etag"
+    );
+  }
+
   private UserAccountDto createUserAccountDto() {
     return UserAccountDto.of(
         "uno",
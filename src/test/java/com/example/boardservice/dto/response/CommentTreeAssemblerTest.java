@@ -0,0 +1,118 @@
+package com.example.boardservice.dto.response;
+
+import com.example.boardservice.dto.ArticleCommentDto;
+import com.example.boardservice.dto.UserAccountDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("DTO - assemble comment rows into reply trees")
+class CommentTreeAssemblerTest {
+
+  @DisplayName("Nest replies of any depth under their parents from rows sorted oldest first")
+  @Test
+  void givenRowsOldestFirst_whenAssembling_thenNestsRepliesAtAnyDepth() {
+    // Given
+    LocalDateTime now = LocalDateTime.now();
+    List<ArticleCommentDto> rows = List.of(
+        createArticleCommentDto(1L, null, now),
+        createArticleCommentDto(2L, null, now),
+        createArticleCommentDto(3L, 1L, now.plusMinutes(1)),
+        createArticleCommentDto(4L, 3L, now.plusMinutes(2)),
+        createArticleCommentDto(5L, 1L, now.plusMinutes(3)),
+        createArticleCommentDto(6L, null, now.plusMinutes(4)),
+        createArticleCommentDto(7L, 4L, now.plusMinutes(5))
+    );
+
+    // When
+    Set<ArticleCommentResponse> roots = CommentTreeAssembler.assemble(rows);
+
+    // Then
+    assertThat(roots).extracting(ArticleCommentResponse::id).containsExactly(6L, 1L, 2L);
+    ArticleCommentResponse first = roots.stream().filter(root -> root.id().equals(1L)).findFirst().orElseThrow();
+    assertThat(first.childComments()).extracting(ArticleCommentResponse::id).containsExactly(3L, 5L);
+    ArticleCommentResponse reply = first.childComments().iterator().next();
+    assertThat(reply.childComments()).extracting(ArticleCommentResponse::id).containsExactly(4L);
+    assertThat(reply.childComments().iterator().next().childComments())
+        .extracting(ArticleCommentResponse::id)
+        .containsExactly(7L);
+  }
+
+  @DisplayName("Sort rows that are not oldest first, and keep replies whose parent is missing at the top level")
+  @Test
+  void givenUnsortedRowsAndMissingParent_whenAssembling_thenSortsAndKeepsOrphanReplies() {
+    // Given
+    LocalDateTime now = LocalDateTime.now();
+    List<ArticleCommentDto> rows = List.of(
+        createArticleCommentDto(3L, 1L, now.plusMinutes(2)),
+        createArticleCommentDto(9L, 8L, now.plusMinutes(3)),
+        createArticleCommentDto(1L, null, now),
+        createArticleCommentDto(2L, 1L, now.plusMinutes(1))
+    );
+
+    // When
+    Set<ArticleCommentResponse> roots = CommentTreeAssembler.assemble(rows);
+
+    // Then
+    assertThat(roots).extracting(ArticleCommentResponse::id).containsExactly(9L, 1L);
+    assertThat(roots.stream().filter(root -> root.id().equals(1L)).findFirst().orElseThrow().childComments())
+        .extracting(ArticleCommentResponse::id)
+        .containsExactly(2L, 3L);
+  }
+
+  @DisplayName("Return sets that find their comments after the whole tree is assembled")
+  @Test
+  void givenNestedReplies_whenAssembling_thenSetsFindTheirComments() {
+    // Given
+    LocalDateTime now = LocalDateTime.now();
+    List<ArticleCommentDto> rows = List.of(
+        createArticleCommentDto(1L, null, now),
+        createArticleCommentDto(2L, 1L, now.plusMinutes(1)),
+        createArticleCommentDto(3L, 2L, now.plusMinutes(2))
+    );
+
+    // When
+    Set<ArticleCommentResponse> roots = CommentTreeAssembler.assemble(rows);
+
+    // Then
+    ArticleCommentResponse root = roots.iterator().next();
+    ArticleCommentResponse reply = root.childComments().iterator().next();
+    assertThat(roots).contains(root);
+    assertThat(root.childComments()).contains(reply);
+    assertThat(reply.childComments()).extracting(ArticleCommentResponse::id).containsExactly(3L);
+    assertThat(root.childComments().add(reply)).isFalse();
+  }
+
+  private ArticleCommentDto createArticleCommentDto(Long id, Long parentCommentId, LocalDateTime createdAt) {
+    return ArticleCommentDto.of(
+        id,
+        1L,
+        createUserAccountDto(),
+        parentCommentId,
+        "test comment " + id,
+        createdAt,
+        "uno",
+        createdAt,
+        "uno"
+    );
+  }
+
+  private UserAccountDto createUserAccountDto() {
+    return UserAccountDto.of(
+        "uno",
+        "password",
+        "uno@mail.com",
+        "Uno",
+        "This is a memo",
+        LocalDateTime.now(),
+        "uno",
+        LocalDateTime.now(),
+        "uno"
+    );
+  }
+}
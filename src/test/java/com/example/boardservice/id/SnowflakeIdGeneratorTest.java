@@ -0,0 +1,121 @@
+package com.example.boardservice.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Id - snowflake id generator")
+class SnowflakeIdGeneratorTest {
+
+  private static final long NOW = SnowflakeIdGenerator.EPOCH + 1_000_000L;
+
+  @DisplayName("Pack the timestamp and node id into ids that javascript numbers represent exactly")
+  @Test
+  void givenNodeId_whenGeneratingId_thenEncodesTimestampAndNodeId() {
+    // Given
+    SnowflakeIdGenerator sut = new SnowflakeIdGenerator(42, () -> NOW);
+
+    // When
+    long id = sut.nextId();
+
+    // Then
+    assertThat(SnowflakeIdGenerator.timestampOf(id).toEpochMilli()).isEqualTo(NOW);
+    assertThat(SnowflakeIdGenerator.nodeIdOf(id)).isEqualTo(42);
+    // the last id of 2092, the end of the 41 bit timestamp
+    long lastId = ((1L << 41) - 1) << 12 | (1L << 12) - 1;
+    assertThat(lastId).isLessThanOrEqualTo((1L << 53) - 1);
+  }
+
+  @DisplayName("Borrow the next millisecond once the sequence of the current one is used up")
+  @Test
+  void givenMoreIdsThanFitInAMillisecond_whenGeneratingIds_thenBorrowsNextMillisecond() {
+    // Given
+    SnowflakeIdGenerator sut = new SnowflakeIdGenerator(1, () -> NOW);
+
+    // When
+    List<Long> ids = new ArrayList<>();
+    for (int i = 0; i < 65; i++) {
+      ids.add(sut.nextId());
+    }
+
+    // Then
+    assertThat(ids).isSorted().doesNotHaveDuplicates();
+    assertThat(SnowflakeIdGenerator.timestampOf(ids.get(63)).toEpochMilli()).isEqualTo(NOW);
+    assertThat(SnowflakeIdGenerator.timestampOf(ids.get(64)).toEpochMilli()).isEqualTo(NOW + 1);
+    assertThat(sut.clockDrift()).isEqualTo(1);
+  }
+
+  @DisplayName("Keep ids increasing when the clock goes backwards")
+  @Test
+  void givenClockGoingBackwards_whenGeneratingIds_thenIdsKeepIncreasing() {
+    // Given
+    AtomicLong clock = new AtomicLong(NOW);
+    SnowflakeIdGenerator sut = new SnowflakeIdGenerator(1, clock::get);
+    long before = sut.nextId();
+
+    // When
+    clock.set(NOW - 5_000);
+    long after = sut.nextId();
+    clock.set(NOW + 1);
+    long caughtUp = sut.nextId();
+
+    // Then
+    assertThat(after).isGreaterThan(before);
+    assertThat(SnowflakeIdGenerator.timestampOf(after).toEpochMilli()).isEqualTo(NOW);
+    assertThat(SnowflakeIdGenerator.timestampOf(caughtUp).toEpochMilli()).isEqualTo(NOW + 1);
+    assertThat(sut.clockDrift()).isZero();
+  }
+
+  @DisplayName("Reject node ids that don't fit in the node bits")
+  @Test
+  void givenOutOfRangeNodeId_whenCreatingGenerator_thenThrowsException() {
+    assertThatThrownBy(() -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID + 1))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new SnowflakeIdGenerator(-1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @DisplayName("Generate unique ids from many threads at once")
+  @Test
+  void givenManyThreads_whenGeneratingIds_thenIdsAreUnique() throws Exception {
+    // Given
+    SnowflakeIdGenerator sut = new SnowflakeIdGenerator(7);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    List<Future<List<Long>>> futures = new ArrayList<>();
+
+    // When
+    try {
+      for (int thread = 0; thread < 8; thread++) {
+        futures.add(executor.submit((Callable<List<Long>>) () -> {
+          List<Long> ids = new ArrayList<>();
+          for (int i = 0; i < 10_000; i++) {
+            ids.add(sut.nextId());
+          }
+          return ids;
+        }));
+      }
+      Set<Long> ids = new HashSet<>();
+      for (Future<List<Long>> future : futures) {
+        List<Long> threadIds = future.get();
+        // Then
+        assertThat(threadIds).isSorted();
+        ids.addAll(threadIds);
+      }
+      assertThat(ids).hasSize(80_000);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
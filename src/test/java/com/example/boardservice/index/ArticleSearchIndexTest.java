@@ -0,0 +1,210 @@
+package com.example.boardservice.index;
+
+import com.example.boardservice.repository.ArticleRepository;
+import com.example.boardservice.repository.projection.ArticleTextProjection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+@DisplayName("Index - article title/content search")
+@ExtendWith(MockitoExtension.class)
+class ArticleSearchIndexTest {
+
+  @Mock private ArticleRepository articleRepository;
+
+  private ArticleSearchIndex sut;
+
+  @BeforeEach
+  void setUp() {
+    sut = new ArticleSearchIndex(articleRepository, new SimpleMeterRegistry(), Long.MAX_VALUE);
+  }
+
+  @DisplayName("Return ids of articles containing every term of the keyword")
+  @Test
+  void givenIndexedArticles_whenSearching_thenReturnsMatchingArticleIds() {
+    // Given
+    sut.index(1L, "Spring Boot tips", "Hello world");
+    sut.index(2L, "Spring Data", "Hello spring");
+    sut.index(3L, "Java", "Nothing to see here");
+
+    // When
+    Set<Long> titleResult = sut.searchTitle("spring");
+    Set<Long> contentResult = sut.searchContent("HELLO spring");
+
+    // Then
+    assertThat(titleResult).containsExactlyInAnyOrder(1L, 2L);
+    assertThat(contentResult).containsExactly(2L);
+  }
+
+  @DisplayName("Stop returning an article after it has been re-indexed without the term or removed")
+  @Test
+  void givenUpdatedAndRemovedArticles_whenSearching_thenReturnsCurrentMatchesOnly() {
+    // Given
+    sut.index(1L, "Spring", "content");
+    sut.index(2L, "Spring", "content");
+
+    // When
+    sut.update(1L, "Spring", "content", "Java", "content");
+    sut.remove(2L, "Spring", "content");
+
+    // Then
+    assertThat(sut.searchTitle("spring")).isEmpty();
+    assertThat(sut.searchTitle("java")).containsExactly(1L);
+    assertThat(sut.searchContent("content")).containsExactly(1L);
+  }
+
+  @DisplayName("Keep the terms an edited article still has")
+  @Test
+  void givenEditedArticle_whenSearchingUnchangedTerms_thenStillReturnsArticleId() {
+    // Given
+    sut.index(1L, "Spring tips", "content");
+
+    // When
+    sut.update(1L, "Spring tips", "content", "Spring tricks", "content");
+
+    // Then
+    assertThat(sut.searchTitle("spring")).containsExactly(1L);
+    assertThat(sut.searchTitle("tips")).isEmpty();
+    assertThat(sut.searchTitle("tricks")).containsExactly(1L);
+  }
+
+  @DisplayName("Keep articles written while the index is being rebuilt")
+  @Test
+  void givenArticleEditedDuringRebuild_whenSearching_thenReturnsCurrentText() {
+    // Given
+    ArticleTextProjection staleRow = articleText(1L, "Spring", "content");
+    given(articleRepository.findAllBy(any(Pageable.class))).willAnswer(invocation -> {
+      // the scan has read the old text, then the article is edited and a new one is written
+      sut.update(1L, "Spring", "content", "Java", "content");
+      sut.index(2L, "Kotlin", "content");
+      return new SliceImpl<>(List.of(staleRow));
+    });
+
+    // When
+    sut.rebuild();
+
+    // Then
+    assertThat(sut.searchTitle("spring")).isEmpty();
+    assertThat(sut.searchTitle("java")).containsExactly(1L);
+    assertThat(sut.searchTitle("kotlin")).containsExactly(2L);
+  }
+
+  @DisplayName("Fall back to the database once the index outgrows its budget, and come back after a rebuild that fits")
+  @Test
+  void givenIndexOverBudget_whenCheckingIndex_thenCannotSearchUntilRebuilt() {
+    // Given
+    sut = new ArticleSearchIndex(articleRepository, new SimpleMeterRegistry(), 4_096);
+    given(articleRepository.findAllBy(any(Pageable.class))).willReturn(new SliceImpl<>(List.of()));
+    sut.rebuild();
+    sut.index(1L, "Spring", IntStream.range(0, 1_000).mapToObj(i -> "word" + i).collect(Collectors.joining(" ")));
+    assertThat(sut.canSearch("spring")).isFalse();
+    assertThat(sut.searchTitle("spring")).isEmpty();
+
+    // When
+    sut.rebuildIfOverBudget();
+
+    // Then
+    assertThat(sut.canSearch("spring")).isTrue();
+  }
+
+  @DisplayName("Find korean articles by a substring of an agglutinated word")
+  @Test
+  void givenKoreanArticles_whenSearchingWordStem_thenReturnsMatchingArticleIds() {
+    // Given
+    sut.index(1L, "스프링부트 입문", "스프링에서 데이터베이스를 다루는 방법");
+    sut.index(2L, "자바 기초", "자바의 컬렉션을 알아보자");
+
+    // When & Then
+    assertThat(sut.searchTitle("스프링")).containsExactly(1L);
+    assertThat(sut.searchContent("데이터베이스")).containsExactly(1L);
+    assertThat(sut.searchContent("컬렉션")).containsExactly(2L);
+    assertThat(sut.searchContent("스프링 컬렉션")).isEmpty();
+  }
+
+  // the LIKE '%keyword%' search the index replaced found these, so the index has to find them as well
+  @DisplayName("Find latin keywords inside longer words")
+  @Test
+  void givenLatinArticles_whenSearchingPartOfWord_thenReturnsMatchingArticleIds() {
+    // Given
+    sut.index(1L, "springboot in action", "content");
+    sut.index(2L, "javascript basics", "content");
+    sut.index(3L, "Java", "content");
+
+    // When & Then
+    assertThat(sut.searchTitle("spring")).containsExactly(1L);
+    assertThat(sut.searchTitle("java")).containsExactlyInAnyOrder(2L, 3L);
+    assertThat(sut.searchTitle("script")).containsExactly(2L);
+  }
+
+  @DisplayName("Find a single hangul syllable next to latin text")
+  @Test
+  void givenMixedScriptArticle_whenSearchingAcrossScripts_thenReturnsMatchingArticleId() {
+    // Given
+    sut.index(1L, "Spring과 JPA", "content");
+    sut.index(2L, "Spring 그리고 JPA", "content");
+
+    // When & Then
+    assertThat(sut.searchTitle("g과")).containsExactly(1L);
+    assertThat(sut.searchTitle("spring과")).containsExactly(1L);
+  }
+
+  @DisplayName("Report keywords that can't be answered by the index")
+  @Test
+  void givenUnindexableKeyword_whenCheckingIndex_thenCannotSearch() {
+    // Given
+    given(articleRepository.findAllBy(any(Pageable.class))).willReturn(new SliceImpl<>(List.of()));
+    sut.rebuild();
+
+    // When & Then
+    assertThat(sut.canSearch("글")).isFalse();
+    assertThat(sut.canSearch(" ")).isFalse();
+    assertThat(sut.canSearch("j")).isFalse();
+    assertThat(sut.canSearch("글쓰기")).isTrue();
+    assertThat(sut.canSearch("java")).isTrue();
+  }
+
+  @DisplayName("Return nothing for blank keywords")
+  @Test
+  void givenBlankKeyword_whenSearching_thenReturnsEmptySet() {
+    // Given
+    sut.index(1L, "title", "content");
+
+    // When & Then
+    assertThat(sut.searchTitle("  ")).isEmpty();
+    assertThat(sut.searchContent(null)).isEmpty();
+  }
+
+  private static ArticleTextProjection articleText(Long id, String title, String content) {
+    return new ArticleTextProjection() {
+      @Override
+      public Long getId() {
+        return id;
+      }
+
+      @Override
+      public String getTitle() {
+        return title;
+      }
+
+      @Override
+      public String getContent() {
+        return content;
+      }
+    };
+  }
+}
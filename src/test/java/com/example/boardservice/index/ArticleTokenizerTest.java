@@ -0,0 +1,64 @@
+package com.example.boardservice.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+@DisplayName("Index - article tokenizer")
+class ArticleTokenizerTest {
+
+  @DisplayName("Split every run of letters and digits into lowercase n-grams for indexing")
+  @MethodSource
+  @ParameterizedTest(name = "[{index}] \"{0}\" => {1}")
+  void givenText_whenTokenizingForIndex_thenReturnsIndexTerms(String input, Set<String> expected) {
+    // When
+    Set<String> actual = ArticleTokenizer.indexTerms(input);
+
+    // Then
+    assertThat(actual).containsExactlyInAnyOrderElementsOf(expected);
+  }
+
+  static Stream<Arguments> givenText_whenTokenizingForIndex_thenReturnsIndexTerms() {
+    return Stream.of(
+        arguments(null, Set.of()),
+        arguments("   ", Set.of()),
+        arguments("Go JPA!", Set.of("go", "jp", "pa", "jpa")),
+        arguments("a_b, C", Set.of("a_", "_b", "a_b")),
+        arguments("Java", Set.of("ja", "av", "va", "jav", "ava")),
+        arguments("글", Set.of()),
+        arguments("자바", Set.of("자바")),
+        arguments("스프링을", Set.of("스프", "프링", "링을", "스프링", "프링을")),
+        arguments("go스프", Set.of("go", "o스", "스프", "go스", "o스프")),
+        arguments("#자바 #go", Set.of("자바", "go"))
+    );
+  }
+
+  @DisplayName("Use the most selective n-grams for queries")
+  @MethodSource
+  @ParameterizedTest(name = "[{index}] \"{0}\" => {1}")
+  void givenKeyword_whenTokenizingForQuery_thenReturnsQueryTerms(String input, Set<String> expected) {
+    // When
+    Set<String> actual = ArticleTokenizer.queryTerms(input);
+
+    // Then
+    assertThat(actual).containsExactlyInAnyOrderElementsOf(expected);
+  }
+
+  static Stream<Arguments> givenKeyword_whenTokenizingForQuery_thenReturnsQueryTerms() {
+    return Stream.of(
+        arguments("글", Set.of()),
+        arguments("j", Set.of()),
+        arguments("자바", Set.of("자바")),
+        arguments("스프링을", Set.of("스프링", "프링을")),
+        arguments("Java 자바", Set.of("jav", "ava", "자바")),
+        arguments("g과", Set.of("g과"))
+    );
+  }
+}
@@ -0,0 +1,40 @@
+package com.example.boardservice.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+@DisplayName("Index - hangul jamo decomposition")
+class HangulJamoTest {
+
+  @DisplayName("Decompose hangul into the jamo it is typed with, lowercase everything else")
+  @MethodSource
+  @ParameterizedTest(name = "[{index}] \"{0}\" => \"{1}\"")
+  void givenText_whenDecomposing_thenReturnsJamo(String input, String expected) {
+    // When
+    String actual = HangulJamo.decompose(input);
+
+    // Then
+    assertThat(actual).isEqualTo(expected);
+  }
+
+  static Stream<Arguments> givenText_whenDecomposing_thenReturnsJamo() {
+    return Stream.of(
+        arguments("", ""),
+        arguments("Spring_Boot3", "spring_boot3"),
+        arguments("한국", "ㅎㅏㄴㄱㅜㄱ"),
+        arguments("과", "ㄱㅗㅏ"),
+        arguments("닭", "ㄷㅏㄹㄱ"),
+        arguments("의자", "ㅇㅡㅣㅈㅏ"),
+        arguments("까", "ㄲㅏ"),
+        arguments("ㄳㅘ", "ㄱㅅㅗㅏ"),
+        arguments("java자바", "javaㅈㅏㅂㅏ")
+    );
+  }
+}
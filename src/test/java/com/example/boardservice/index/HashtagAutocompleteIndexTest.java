@@ -0,0 +1,100 @@
+package com.example.boardservice.index;
+
+import com.example.boardservice.dto.HashtagSummaryDto;
+import com.example.boardservice.event.HashtagArticleCountAdjustedEvent;
+import com.example.boardservice.event.HashtagCreatedEvent;
+import com.example.boardservice.event.HashtagDeletedEvent;
+import com.example.boardservice.repository.HashtagRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Index - hashtag autocomplete")
+@ExtendWith(MockitoExtension.class)
+class HashtagAutocompleteIndexTest {
+
+  @Mock private HashtagRepository hashtagRepository;
+
+  private HashtagAutocompleteIndex sut;
+
+  @BeforeEach
+  void setUp() {
+    sut = new HashtagAutocompleteIndex(hashtagRepository, new SimpleMeterRegistry(), 5000);
+  }
+
+  @DisplayName("Suggest hashtags starting with the prefix, most used first")
+  @Test
+  void givenPrefix_whenSuggesting_thenReturnsMatchingHashtagsByArticleCount() {
+    // Given
+    sut.add(1L, "spring", 3);
+    sut.add(2L, "springboot", 10);
+    sut.add(3L, "Spring", 3);
+    sut.add(4L, "java", 50);
+
+    // When & Then
+    assertThat(sut.suggest("#SPR", 10)).containsExactly(
+        HashtagSummaryDto.of("springboot", 10),
+        HashtagSummaryDto.of("Spring", 3),
+        HashtagSummaryDto.of("spring", 3)
+    );
+    assertThat(sut.suggest("spr", 1)).containsExactly(HashtagSummaryDto.of("springboot", 10));
+    assertThat(sut.suggest("kotlin", 10)).isEmpty();
+    assertThat(sut.suggest("  ", 10)).isEmpty();
+  }
+
+  @DisplayName("Suggest hangul hashtags for incomplete syllables and single jamo")
+  @Test
+  void givenHalfTypedHangul_whenSuggesting_thenReturnsMatchingHashtags() {
+    // Given
+    sut.add(1L, "한국", 5);
+    sut.add(2L, "한국어", 2);
+    sut.add(3L, "하늘", 1);
+    sut.add(4L, "닭갈비", 1);
+
+    // When & Then
+    assertThat(sut.suggest("ㅎ", 10)).extracting(HashtagSummaryDto::hashtagName).containsExactly("한국", "한국어", "하늘");
+    assertThat(sut.suggest("한구", 10)).extracting(HashtagSummaryDto::hashtagName).containsExactly("한국", "한국어");
+    assertThat(sut.suggest("한국ㅇ", 10)).extracting(HashtagSummaryDto::hashtagName).containsExactly("한국어");
+    assertThat(sut.suggest("달", 10)).extracting(HashtagSummaryDto::hashtagName).containsExactly("닭갈비");
+  }
+
+  @DisplayName("Suggest the most used hashtags even when the prefix matches more names than are ranked directly")
+  @Test
+  void givenShortPrefixMatchingManyNames_whenSuggesting_thenReturnsMostUsedHashtags() {
+    // Given
+    sut = new HashtagAutocompleteIndex(hashtagRepository, new SimpleMeterRegistry(), 2);
+    sut.add(1L, "java", 1);
+    sut.add(2L, "javascript", 2);
+    sut.add(3L, "jpa", 3);
+    sut.add(4L, "junit", 50);
+    sut.add(5L, "kotlin", 100);
+
+    // When & Then
+    // alphabetically last among the names starting with j, so only found by walking the popularity order
+    assertThat(sut.suggest("j", 2)).containsExactly(HashtagSummaryDto.of("junit", 50), HashtagSummaryDto.of("jpa", 3));
+    assertThat(sut.suggest("ja", 1)).containsExactly(HashtagSummaryDto.of("javascript", 2));
+  }
+
+  @DisplayName("Follow created and deleted hashtags and adjusted article counts")
+  @Test
+  void givenHashtagEvents_whenSuggesting_thenReflectsChanges() {
+    // Given
+    sut.add(1L, "java", 1);
+
+    // When
+    sut.onHashtagCreated(HashtagCreatedEvent.of(2L, "javascript"));
+    sut.onArticleCountAdjusted(HashtagArticleCountAdjustedEvent.of(Set.of(2L), 2));
+    sut.onHashtagDeleted(HashtagDeletedEvent.of(1L, "java"));
+
+    // Then
+    assertThat(sut.suggest("jav", 10)).containsExactly(HashtagSummaryDto.of("javascript", 2));
+  }
+}
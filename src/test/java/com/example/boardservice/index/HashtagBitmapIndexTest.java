@@ -0,0 +1,179 @@
+package com.example.boardservice.index;
+
+import com.example.boardservice.repository.ArticleRepository;
+import com.example.boardservice.repository.projection.ArticleHashtagProjection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+
+@DisplayName("Index - hashtag bitmaps")
+@ExtendWith(MockitoExtension.class)
+class HashtagBitmapIndexTest {
+
+  @Mock private ArticleRepository articleRepository;
+
+  @DisplayName("Combine hashtags with OR, AND and NOT, newest articles first")
+  @Test
+  void givenIndexedArticles_whenSearchingHashtagQuery_thenReturnsMatchingArticleIdsNewestFirst() {
+    // Given
+    HashtagBitmapIndex sut = createIndex(Long.MAX_VALUE);
+    sut.index(1L, Set.of("java"));
+    sut.index(2L, Set.of("java", "spring"));
+    sut.index(3L, Set.of("spring"));
+    sut.index(4L, Set.of("kotlin", "spring"));
+    Pageable pageable = PageRequest.of(0, 10);
+
+    // When & Then
+    assertThat(sut.search(HashtagQuery.parse("java spring"), pageable)).containsExactly(4L, 3L, 2L, 1L);
+    assertThat(sut.search(HashtagQuery.parse("+java +spring"), pageable)).containsExactly(2L);
+    assertThat(sut.search(HashtagQuery.parse("spring -java"), pageable)).containsExactly(4L, 3L);
+    assertThat(sut.search(HashtagQuery.parse("java kotlin +spring"), pageable)).containsExactly(4L, 2L);
+    assertThat(sut.search(HashtagQuery.parse("+python"), pageable)).isEmpty();
+    assertThat(sut.search(HashtagQuery.parse("-java"), pageable)).isEmpty();
+  }
+
+  @DisplayName("Page through matches and report the exact total")
+  @Test
+  void givenManyMatches_whenSearchingPage_thenReturnsPageWithTotal() {
+    // Given
+    HashtagBitmapIndex sut = createIndex(Long.MAX_VALUE);
+    for (long articleId = 1; articleId <= 25; articleId++) {
+      sut.index(articleId, Set.of("java"));
+    }
+
+    // When
+    Page<Long> page = sut.search(HashtagQuery.parse("java"), PageRequest.of(2, 10));
+
+    // Then
+    assertThat(page.getContent()).containsExactly(5L, 4L, 3L, 2L, 1L);
+    assertThat(page.getTotalElements()).isEqualTo(25);
+  }
+
+  @DisplayName("Follow changed and removed hashtags of an article")
+  @Test
+  void givenReindexedAndRemovedArticles_whenSearching_thenReturnsCurrentMatchesOnly() {
+    // Given
+    HashtagBitmapIndex sut = createIndex(Long.MAX_VALUE);
+    sut.index(1L, Set.of("java"));
+    sut.index(2L, Set.of("java"));
+
+    // When
+    sut.update(1L, Set.of("java"), Set.of("spring"));
+    sut.remove(2L, Set.of("java"));
+
+    // Then
+    assertThat(sut.search(HashtagQuery.parse("java"), Pageable.unpaged())).isEmpty();
+    assertThat(sut.search(HashtagQuery.parse("spring"), Pageable.unpaged())).containsExactly(1L);
+  }
+
+  @DisplayName("Keep the writes that arrive while the index is being rebuilt")
+  @Test
+  void givenWritesDuringRebuild_whenRebuilding_thenReplaysThemOntoRebuiltIndex() {
+    // Given
+    HashtagBitmapIndex sut = createIndex(Long.MAX_VALUE);
+    // the scan still reads article 1 with its old hashtag, the writes land in the middle of it
+    given(articleRepository.streamAllArticleHashtags()).willReturn(Stream.of(link(1L, "java"), link(2L, "java"))
+        .peek(link -> {
+          if (link.getArticleId() == 1L) {
+            sut.update(1L, Set.of("java"), Set.of("spring"));
+            sut.index(3L, Set.of("java"));
+          }
+        }));
+
+    // When
+    sut.rebuild();
+
+    // Then
+    assertThat(sut.search(HashtagQuery.parse("java"), Pageable.unpaged())).containsExactly(3L, 2L);
+    assertThat(sut.search(HashtagQuery.parse("spring"), Pageable.unpaged())).containsExactly(1L);
+  }
+
+  @DisplayName("Serve only searches ordered by descending id, and step aside once the heap budget is exceeded")
+  @Test
+  void givenRebuiltIndex_whenCheckingSearchability_thenDependsOnSortAndBudget() {
+    // Given
+    HashtagBitmapIndex sut = createIndex(1024);
+    given(articleRepository.streamAllArticleHashtags()).willReturn(Stream.of(link(1L, "java"), link(2L, "spring")));
+    sut.rebuild();
+
+    // When & Then
+    assertThat(sut.canSearch(Sort.by(Sort.Direction.DESC, "id"))).isTrue();
+    // createdAt may disagree with the order of the ids
+    assertThat(sut.canSearch(Sort.by(Sort.Direction.DESC, "createdAt"))).isFalse();
+    assertThat(sut.canSearch(Sort.by("title"))).isFalse();
+    for (long articleId = 1; articleId <= 100_000; articleId += 7) {
+      sut.index(articleId, Set.of("hashtag" + articleId % 50));
+    }
+    assertThat(sut.canSearch(Sort.by(Sort.Direction.DESC, "id"))).isFalse();
+  }
+
+  @DisplayName("Rebuild an index over its heap budget on schedule, and serve searches again once it fits")
+  @Test
+  void givenIndexOverBudget_whenRetryingRebuild_thenServesSearchesAgain() {
+    // Given
+    HashtagBitmapIndex sut = createIndex(1024);
+    given(articleRepository.streamAllArticleHashtags())
+        .willReturn(Stream.of(link(1L, "java")))
+        // most articles have been deleted since
+        .willReturn(Stream.of(link(1L, "java")));
+    sut.rebuild();
+    for (long articleId = 1; articleId <= 100_000; articleId += 7) {
+      sut.index(articleId, Set.of("hashtag" + articleId % 50));
+    }
+    assertThat(sut.canSearch(Sort.by(Sort.Direction.DESC, "id"))).isFalse();
+
+    // When
+    sut.rebuildIfOverBudget();
+
+    // Then
+    assertThat(sut.canSearch(Sort.by(Sort.Direction.DESC, "id"))).isTrue();
+    assertThat(sut.search(HashtagQuery.parse("java"), Pageable.unpaged())).containsExactly(1L);
+    assertThat(sut.search(HashtagQuery.parse("hashtag1"), Pageable.unpaged())).isEmpty();
+  }
+
+  @DisplayName("Leave an index within its budget alone on schedule")
+  @Test
+  void givenIndexWithinBudget_whenRetryingRebuild_thenDoesNotRebuild() {
+    // Given
+    HashtagBitmapIndex sut = createIndex(Long.MAX_VALUE);
+    sut.index(1L, Set.of("java"));
+
+    // When
+    sut.rebuildIfOverBudget();
+
+    // Then
+    then(articleRepository).shouldHaveNoInteractions();
+  }
+
+  private HashtagBitmapIndex createIndex(long maxBytes) {
+    return new HashtagBitmapIndex(articleRepository, new SimpleMeterRegistry(), maxBytes);
+  }
+
+  private ArticleHashtagProjection link(Long articleId, String hashtagName) {
+    return new ArticleHashtagProjection() {
+      @Override
+      public Long getArticleId() {
+        return articleId;
+      }
+
+      @Override
+      public String getHashtagName() {
+        return hashtagName;
+      }
+    };
+  }
+}
@@ -0,0 +1,95 @@
+package com.example.boardservice.index;
+
+import com.example.boardservice.dto.HashtagSummaryDto;
+import com.example.boardservice.repository.HashtagRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Index - fuzzy hashtag lookup")
+@ExtendWith(MockitoExtension.class)
+class HashtagFuzzyIndexTest {
+
+  @Mock private HashtagRepository hashtagRepository;
+
+  private HashtagFuzzyIndex sut;
+
+  @BeforeEach
+  void setUp() {
+    sut = new HashtagFuzzyIndex(hashtagRepository, new SimpleMeterRegistry());
+  }
+
+  @DisplayName("Suggest hashtags within the edit distance, closest and most used first")
+  @Test
+  void givenMisspelledName_whenFindingSimilar_thenReturnsClosestHashtags() {
+    // Given
+    sut.add(1L, "spring", 3);
+    sut.add(2L, "sprint", 10);
+    sut.add(3L, "springboot", 20);
+    sut.add(4L, "string", 1);
+
+    // When & Then
+    assertThat(sut.findSimilar("#sprimg", 10)).containsExactly(
+        HashtagSummaryDto.of("spring", 3),
+        HashtagSummaryDto.of("sprint", 10),
+        HashtagSummaryDto.of("string", 1)
+    );
+    assertThat(sut.findSimilar("sprong", 1)).containsExactly(HashtagSummaryDto.of("spring", 3));
+  }
+
+  @DisplayName("Allow a single edit for short names only")
+  @Test
+  void givenShortName_whenFindingSimilar_thenAllowsOneEdit() {
+    // Given
+    sut.add(1L, "java", 5);
+    sut.add(2L, "jvm", 5);
+
+    // When & Then
+    assertThat(sut.findSimilar("jav", 10)).extracting(HashtagSummaryDto::hashtagName).containsExactly("java");
+  }
+
+  @DisplayName("Measure korean typos at the jamo level")
+  @Test
+  void givenKoreanTypo_whenFindingSimilar_thenReturnsHashtag() {
+    // Given
+    sut.add(1L, "스프링", 5);
+    sut.add(2L, "자바", 5);
+
+    // When & Then
+    assertThat(sut.findSimilar("스푸링", 10)).extracting(HashtagSummaryDto::hashtagName).containsExactly("스프링");
+    assertThat(sut.findSimilar("자", 10)).isEmpty();
+  }
+
+  @DisplayName("Skip the searched name itself, removed hashtags and hashtags without articles")
+  @Test
+  void givenRemovedAndUnusedHashtags_whenFindingSimilar_thenSkipsThem() {
+    // Given
+    sut.add(1L, "spring", 3);
+    sut.add(2L, "sprint", 3);
+    sut.add(3L, "sprung", 0);
+
+    // When
+    sut.remove(2L);
+
+    // Then
+    assertThat(sut.findSimilar("spring", 10)).isEmpty();
+    assertThat(sut.findSimilar("sprink", 10)).extracting(HashtagSummaryDto::hashtagName).containsExactly("spring");
+  }
+
+  @DisplayName("Compute the Levenshtein distance")
+  @ParameterizedTest(name = "[{index}] \"{0}\" <-> \"{1}\" = {2}")
+  @CsvSource({"'', '', 0", "'', abc, 3", "kitten, sitting, 3", "flaw, lawn, 2", "spring, spring, 0"})
+  void givenTwoStrings_whenMeasuringDistance_thenReturnsEditDistance(String source, String target, int expected) {
+    // When & Then
+    assertThat(HashtagFuzzyIndex.distance(source, target)).isEqualTo(expected);
+    assertThat(HashtagFuzzyIndex.distance(target, source)).isEqualTo(expected);
+  }
+}
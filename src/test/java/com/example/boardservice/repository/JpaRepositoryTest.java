@@ -5,6 +5,12 @@ import com.example.boardservice.domain.Article;
 import com.example.boardservice.domain.ArticleComment;
 import com.example.boardservice.domain.Hashtag;
 import com.example.boardservice.domain.UserAccount;
+import com.example.boardservice.domain.constant.HashtagSort;
+import com.example.boardservice.repository.projection.ArticleHashtagProjection;
+import com.example.boardservice.repository.projection.ArticleSummaryProjection;
+import com.example.boardservice.repository.projection.HashtagNameProjection;
+import com.example.boardservice.repository.projection.HashtagSummaryProjection;
+import com.example.boardservice.repository.querydsl.ArticlePredicates;
 import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,6 +23,10 @@ import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -109,18 +119,6 @@ class JpaRepositoryTest {
     assertThat(articleCommentRepository.count()).isEqualTo(previousArticleCommentCount - deletedCommentsSize);
   }
 
-  @DisplayName("[Querydsl] search for name among entire list of hashtags")
-  @Test
-  void givenNothing_whenQueryingHashtags_thenReturnsHashtagNames() {
-    // Given
-
-    // When
-    List<String> hashtagNames = hashtagRepository.findAllHashtagNames();
-
-    // Then
-    assertThat(hashtagNames).hasSize(19);
-  }
-
   @DisplayName("[Querydsl] search paginated articles with hashtag")
   @Test
   void givenHashtagNamesAndPageable_whenQueryingArticles_thenReturnsArticlePage() {
@@ -144,6 +142,227 @@ class JpaRepositoryTest {
     assertThat(articlePage.getTotalPages()).isEqualTo(4);
   }
 
+  @DisplayName("[Querydsl] search articles with any/all/none of the hashtags without duplicates")
+  @Test
+  void givenHashtagQuery_whenQueryingArticleSlice_thenReturnsEachMatchingArticleOnce() {
+    // Given
+    // article 45 is the only article tagged with both red and white
+    Set<String> redAndWhite = Set.of("red", "white");
+    Pageable pageable = PageRequest.of(0, 100, Sort.by(Sort.Direction.DESC, "id"));
+
+    // When
+    long redCount = articleRepository.countByHashtagQuery(Set.of("red"), Set.of(), Set.of());
+    long whiteCount = articleRepository.countByHashtagQuery(Set.of("white"), Set.of(), Set.of());
+    Slice<Article> anyOf = articleRepository.findSliceByHashtagQuery(redAndWhite, Set.of(), Set.of(), pageable);
+    Slice<Article> allOf = articleRepository.findSliceByHashtagQuery(Set.of(), redAndWhite, Set.of(), pageable);
+    long redNotWhiteCount = articleRepository.countByHashtagQuery(Set.of(), Set.of("red"), Set.of("white"));
+
+    // Then
+    assertThat(anyOf.getContent()).hasSize((int) (redCount + whiteCount - 1)).doesNotHaveDuplicates();
+    assertThat(anyOf.hasNext()).isFalse();
+    assertThat(allOf.getContent()).extracting(Article::getId).containsExactly(45L);
+    assertThat(redNotWhiteCount).isEqualTo(redCount - 1);
+  }
+
+  @DisplayName("[Querydsl] read a page of article summaries and their hashtags without loading any article")
+  @Test
+  void givenHashtagQuery_whenQueryingArticleSummaries_thenReturnsSummaryColumnsAndHashtags() {
+    // Given
+    // article 45 is the only article tagged with both red and white
+    Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+    // When
+    Slice<ArticleSummaryProjection> summaries = articleRepository.findSummaries(
+        ArticlePredicates.hashtagQuery(Set.of(), Set.of("red", "white"), Set.of()), pageable);
+    List<ArticleHashtagProjection> hashtags = articleRepository.findArticleHashtags(List.of(45L));
+
+    // Then
+    assertThat(summaries.getContent())
+        .singleElement()
+        .satisfies(summary -> {
+          assertThat(summary.id()).isEqualTo(45L);
+          assertThat(summary.title()).isNotBlank();
+          assertThat(summary.userId()).isNotBlank();
+        });
+    assertThat(summaries.hasNext()).isFalse();
+    assertThat(hashtags)
+        .extracting(ArticleHashtagProjection::getHashtagName)
+        .contains("red", "white");
+  }
+
+  @DisplayName("[Querydsl] search titles ignoring case, like the search index does")
+  @Test
+  void givenKeywordInAnotherCase_whenSearchingTitles_thenFindsArticleAndCountsIt() {
+    // Given
+    UserAccount userAccount = userAccountRepository.getReferenceById("uno");
+    Article article = articleRepository.save(Article.of(userAccount, "Case Insensitive Title", "content"));
+    Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+    // When
+    Slice<ArticleSummaryProjection> summaries = articleRepository.findSummaries(
+        ArticlePredicates.titleContainsIgnoreCase("case INSENSITIVE"), pageable);
+    long count = articleRepository.countByTitleContainingIgnoreCase("case INSENSITIVE");
+
+    // Then
+    assertThat(summaries.getContent())
+        .extracting(ArticleSummaryProjection::id)
+        .containsExactly(article.getId());
+    assertThat(count).isEqualTo(1);
+  }
+
+  @DisplayName("[Querydsl] read the first replies of comments and the replies after a cursor")
+  @Test
+  void givenCommentWithReplies_whenQueryingReplyPages_thenReturnsRepliesOldestFirst() {
+    // Given
+    // comment 1 of article 49 has the replies 301 to 304 in data.sql, in that order
+    Long articleId = 49L;
+    Long parentCommentId = 1L;
+
+    // When
+    List<ArticleComment> firstReplies = articleCommentRepository.findFirstReplies(articleId, List.of(parentCommentId, 2L), 2);
+    ArticleComment lastShown = firstReplies.get(firstReplies.size() - 1);
+    List<ArticleComment> nextReplies = articleCommentRepository.findRepliesByCursor(
+        articleId, parentCommentId, lastShown.getCreatedAt(), lastShown.getId(), 10);
+    List<ArticleComment> roots = articleCommentRepository.findRootsByCursor(articleId, null, null, 100);
+
+    // Then
+    assertThat(firstReplies).extracting(ArticleComment::getId).containsExactly(301L, 302L);
+    assertThat(nextReplies).extracting(ArticleComment::getId).containsExactly(303L, 304L);
+    assertThat(roots)
+        .extracting(ArticleComment::getParentCommentId)
+        .containsOnlyNulls();
+    assertThat(roots).extracting(ArticleComment::getId).contains(parentCommentId);
+  }
+
+  @DisplayName("Find and delete only hashtags whose article counter is zero")
+  @Test
+  void givenUsedAndUnusedHashtags_whenSweepingOrphans_thenDeletesOnlyUnusedHashtags() {
+    // Given
+    // hashtag 1 (blue) is linked to 4 articles in data.sql
+    Long usedHashtagId = 1L;
+    Long unusedHashtagId = hashtagRepository.saveAndFlush(Hashtag.of("unused")).getId();
+
+    // When
+    // a cutoff in the future, so that no hashtag is spared by the grace period
+    List<Long> orphanIds = hashtagRepository.findByArticleCountLessThanEqualAndCreatedAtBefore(0, LocalDateTime.now().plusMinutes(1), PageRequest.of(0, 10)).stream()
+        .map(HashtagNameProjection::getId)
+        .toList();
+    int deleted = hashtagRepository.deleteUnusedByIdIn(List.of(usedHashtagId, unusedHashtagId));
+
+    // Then
+    assertThat(orphanIds).containsExactly(unusedHashtagId);
+    assertThat(deleted).isOne();
+  }
+
+  @DisplayName("Keep a hashtag that is still linked to articles even when its article counter reads zero")
+  @Test
+  void givenLinkedHashtagWithZeroCounter_whenSweepingOrphans_thenKeepsHashtag() {
+    // Given
+    // hashtag 1 (blue) is linked to 4 articles in data.sql, its counter drifts to zero
+    Long linkedHashtagId = 1L;
+    long articleCount = hashtagRepository.findById(linkedHashtagId).orElseThrow().getArticleCount();
+    hashtagRepository.adjustArticleCount(List.of(linkedHashtagId), -articleCount);
+
+    // When
+    int deleted = hashtagRepository.deleteUnusedByIdIn(List.of(linkedHashtagId));
+
+    // Then
+    assertThat(deleted).isZero();
+    assertThat(hashtagRepository.existsById(linkedHashtagId)).isTrue();
+  }
+
+  @DisplayName("Count only the hashtags that still exist when adjusting counters of dictionary ids")
+  @Test
+  void givenExistingAndDeletedHashtagIds_whenAdjustingArticleCount_thenReturnsNumberOfExistingHashtags() {
+    // Given
+    Long existingHashtagId = 1L;
+    Long deletedHashtagId = hashtagRepository.saveAndFlush(Hashtag.of("deleted")).getId();
+    hashtagRepository.deleteUnusedByIdIn(List.of(deletedHashtagId));
+
+    // When
+    int updatedCount = hashtagRepository.adjustArticleCount(List.of(existingHashtagId, deletedHashtagId), 1);
+
+    // Then
+    assertThat(updatedCount).isEqualTo(1);
+    assertThat(hashtagRepository.findIdsByIdIn(List.of(existingHashtagId, deletedHashtagId)))
+        .containsExactly(existingHashtagId);
+  }
+
+  @DisplayName("Repair drifted hashtag article counters against article_hashtag")
+  @Test
+  void givenDriftedCounter_whenReconciling_thenRepairsCounter() {
+    // Given
+    hashtagRepository.adjustArticleCount(List.of(1L), 10);
+
+    // When
+    int repaired = hashtagRepository.reconcileArticleCounts(List.of(1L, 2L));
+
+    // Then
+    assertThat(repaired).isOne();
+    assertThat(hashtagRepository.findById(1L))
+        .get()
+        .extracting(Hashtag::getArticleCount)
+        .isEqualTo(4L);
+  }
+
+  @DisplayName("Lock hashtags batch by batch in id order, for the counter reconciliation")
+  @Test
+  void givenHashtags_whenLockingBatchesAfterIds_thenReturnsNextHashtagsInIdOrder() {
+    // Given
+    List<Long> hashtagIds = hashtagRepository.findAll(Sort.by("id")).stream().map(Hashtag::getId).toList();
+
+    // When
+    List<Hashtag> firstBatch = hashtagRepository.findAndLockByIdGreaterThan(0, PageRequest.of(0, 5));
+    List<Hashtag> secondBatch = hashtagRepository.findAndLockByIdGreaterThan(
+        firstBatch.get(firstBatch.size() - 1).getId(), PageRequest.of(0, 5));
+
+    // Then
+    assertThat(firstBatch).extracting(Hashtag::getId).containsExactlyElementsOf(hashtagIds.subList(0, 5));
+    assertThat(secondBatch).extracting(Hashtag::getId).containsExactlyElementsOf(hashtagIds.subList(5, 10));
+  }
+
+  @DisplayName("[Querydsl] seek through articles by (createdAt, id) without overlapping pages")
+  @Test
+  void givenCursorOfLastArticle_whenQueryingNextArticles_thenReturnsFollowingArticles() {
+    // Given
+    List<ArticleSummaryProjection> firstPage = articleRepository.findSummariesByCursor(null, null, true, 5);
+    ArticleSummaryProjection last = firstPage.get(firstPage.size() - 1);
+
+    // When
+    List<ArticleSummaryProjection> secondPage = articleRepository.findSummariesByCursor(last.createdAt(), last.id(), true, 5);
+    List<ArticleSummaryProjection> backToFirstPage = articleRepository.findSummariesByCursor(secondPage.get(0).createdAt(), secondPage.get(0).id(), false, 5);
+
+    // Then
+    List<ArticleSummaryProjection> firstPageReversed = new ArrayList<>(firstPage);
+    Collections.reverse(firstPageReversed);
+    assertThat(firstPage).hasSize(5);
+    assertThat(secondPage)
+        .hasSize(5)
+        .doesNotContainAnyElementsOf(firstPage)
+        .allMatch(article -> !article.createdAt().isAfter(last.createdAt()));
+    assertThat(backToFirstPage).containsExactlyElementsOf(firstPageReversed);
+  }
+
+  @DisplayName("Page through hashtag summaries ordered by popularity")
+  @Test
+  void givenTestData_whenPagingHashtagsByPopularity_thenReturnsMostUsedHashtagsFirst() {
+    // Given
+    Pageable pageable = PageRequest.of(0, 5, HashtagSort.POPULARITY.getSort());
+
+    // When
+    Slice<HashtagSummaryProjection> firstPage = hashtagRepository.findSummariesBy(pageable);
+    Slice<HashtagSummaryProjection> secondPage = hashtagRepository.findSummariesBy(pageable.next());
+
+    // Then
+    assertThat(firstPage.hasNext()).isTrue();
+    assertThat(firstPage.getContent())
+        .hasSize(5)
+        .isSortedAccordingTo(Comparator.comparingLong(HashtagSummaryProjection::getArticleCount).reversed()
+            .thenComparing(HashtagSummaryProjection::getHashtagName));
+    assertThat(firstPage.getContent().get(4).getArticleCount())
+        .isGreaterThanOrEqualTo(secondPage.getContent().get(0).getArticleCount());
+  }
+
   @DisplayName("Test querying of child comments")
   @Test
   void givenParentCommentId_whenSelecting_thenReturnsChildComments() {
@@ -0,0 +1,104 @@
+package com.example.boardservice.scheduler;
+
+import com.example.boardservice.domain.ArticleComment;
+import com.example.boardservice.domain.CommentPath;
+import com.example.boardservice.repository.ArticleCommentRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Scheduler - comment path backfill")
+@Import({CommentPathBackfillTest.TestConfig.class, CommentPathBackfill.class})
+// small batches, so that a batch can be made up of replies whose parent has no path yet
+@DataJpaTest(properties = "board.comment.path-backfill.batch-size=2")
+class CommentPathBackfillTest {
+
+  @Autowired private CommentPathBackfill sut;
+  @Autowired private ArticleCommentRepository articleCommentRepository;
+  @Autowired private TestEntityManager testEntityManager;
+
+  @DisplayName("Fill in the paths of existing replies, so that subtrees can be read by path prefix")
+  @Test
+  void givenRepliesWithoutPath_whenBackfilling_thenSubtreesAreFoundByPathPrefix() {
+    // Given
+    // the replies 301 to 304 to comment 1 of article 49 are inserted by data.sql without a path, like rows
+    // written before the column existed
+    Long articleId = 49L;
+    ArticleComment parent = articleCommentRepository.findById(1L).orElseThrow();
+    ArticleComment nested = ArticleComment.of(parent.getArticle(), parent.getUserAccount(), "nested reply");
+
+    // When
+    long backfilled = sut.backfill();
+    articleCommentRepository.findById(301L).orElseThrow().addChildComment(nested);
+    articleCommentRepository.save(nested);
+    testEntityManager.flush();
+    testEntityManager.clear();
+
+    // Then
+    assertThat(backfilled).isEqualTo(4);
+    assertThat(sut.backfill()).isZero();
+    String pathPrefix = CommentPath.childPathOf(articleCommentRepository.findById(1L).orElseThrow());
+    List<ArticleComment> subtree = articleCommentRepository.findSubtree(articleId, pathPrefix, 10);
+    assertThat(subtree)
+        .extracting(ArticleComment::getId)
+        .startsWith(301L, 302L, 303L, 304L)
+        .contains(nested.getId())
+        .hasSize(5);
+    assertThat(CommentPath.depthOf(articleCommentRepository.findById(nested.getId()).orElseThrow().getPath())).isEqualTo(2);
+    assertThat(articleCommentRepository.countSubtree(articleId, pathPrefix)).isEqualTo(5);
+  }
+
+  @DisplayName("Keep going past a batch of replies whose parent has no path yet, and fill them in on the next pass")
+  @Test
+  void givenBatchOfRepliesToLaterReply_whenBackfilling_thenBackfillsEveryReply() {
+    // Given
+    // replies 5001 and 5002 answer reply 5003, which comes after them in id order: a whole batch of them can't
+    // be filled in until 5003 has its path
+    insertReply(5003L, 304L);
+    insertReply(5001L, 5003L);
+    insertReply(5002L, 5003L);
+
+    // When
+    long backfilled = sut.backfill();
+    testEntityManager.clear();
+
+    // Then
+    // the 4 replies of data.sql and the 3 above
+    assertThat(backfilled).isEqualTo(7);
+    ArticleComment reply = articleCommentRepository.findById(5003L).orElseThrow();
+    assertThat(articleCommentRepository.findById(5001L).orElseThrow().getPath()).isEqualTo(CommentPath.childPathOf(reply));
+    assertThat(articleCommentRepository.findById(5002L).orElseThrow().getPath()).isEqualTo(CommentPath.childPathOf(reply));
+  }
+
+  // a reply to a comment of article 49 without a path, like rows written before the column existed
+  private void insertReply(Long id, Long parentCommentId) {
+    testEntityManager.getEntityManager().createNativeQuery("""
+            insert into article_comment (id, article_id, user_id, parent_comment_id, content, created_at, modified_at, created_by, modified_by)
+            values (:id, 49, 'uno', :parentCommentId, 'reply', now(), now(), 'Uno', 'Uno')
+            """)
+        .setParameter("id", id)
+        .setParameter("parentCommentId", parentCommentId)
+        .executeUpdate();
+  }
+
+  @EnableJpaAuditing
+  @TestConfiguration
+  static class TestConfig {
+    @Bean
+    public AuditorAware<String> auditorAware() {
+      return () -> Optional.of("uno");
+    }
+  }
+}
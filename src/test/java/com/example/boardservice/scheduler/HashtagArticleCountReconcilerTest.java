@@ -0,0 +1,98 @@
+package com.example.boardservice.scheduler;
+
+import com.example.boardservice.domain.Hashtag;
+import com.example.boardservice.repository.HashtagRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+@DisplayName("Scheduler - hashtag article counter reconciliation")
+@ExtendWith(MockitoExtension.class)
+class HashtagArticleCountReconcilerTest {
+
+  @Mock private HashtagRepository hashtagRepository;
+  @Mock private PlatformTransactionManager transactionManager;
+
+  private SimpleMeterRegistry meterRegistry;
+  private HashtagArticleCountReconciler sut;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    sut = new HashtagArticleCountReconciler(hashtagRepository, transactionManager, meterRegistry, 2);
+  }
+
+  @DisplayName("Lock and recount hashtags batch by batch, each in its own transaction, until a batch comes back short")
+  @Test
+  void givenHashtags_whenReconciling_thenRecountsLockedBatchesInIdOrder() {
+    // Given
+    given(hashtagRepository.findAndLockByIdGreaterThan(0, PageRequest.of(0, 2)))
+        .willReturn(List.of(hashtag(1L, "java"), hashtag(2L, "jpa")));
+    given(hashtagRepository.findAndLockByIdGreaterThan(2L, PageRequest.of(0, 2)))
+        .willReturn(List.of(hashtag(3L, "spring")));
+    given(hashtagRepository.reconcileArticleCounts(List.of(1L, 2L))).willReturn(1);
+    given(hashtagRepository.reconcileArticleCounts(List.of(3L))).willReturn(1);
+
+    // When
+    int repaired = sut.reconcile();
+
+    // Then
+    assertThat(repaired).isEqualTo(2);
+    then(transactionManager).should(times(2)).commit(any());
+    assertThat(meterRegistry.get("board.hashtag.article-count.repaired").counter().count()).isEqualTo(2);
+  }
+
+  @DisplayName("Stop at an empty batch when the last one was full")
+  @Test
+  void givenFullLastBatch_whenReconciling_thenStopsAtEmptyBatch() {
+    // Given
+    given(hashtagRepository.findAndLockByIdGreaterThan(0, PageRequest.of(0, 2)))
+        .willReturn(List.of(hashtag(1L, "java"), hashtag(2L, "jpa")));
+    given(hashtagRepository.findAndLockByIdGreaterThan(2L, PageRequest.of(0, 2))).willReturn(List.of());
+    given(hashtagRepository.reconcileArticleCounts(List.of(1L, 2L))).willReturn(0);
+
+    // When
+    int repaired = sut.reconcile();
+
+    // Then
+    assertThat(repaired).isZero();
+    then(hashtagRepository).should(times(1)).reconcileArticleCounts(any());
+  }
+
+  @DisplayName("Do nothing without hashtags")
+  @Test
+  void givenNoHashtags_whenReconciling_thenDoesNotRecount() {
+    // Given
+    given(hashtagRepository.findAndLockByIdGreaterThan(0, PageRequest.of(0, 2))).willReturn(List.of());
+
+    // When
+    int repaired = sut.reconcile();
+
+    // Then
+    assertThat(repaired).isZero();
+    then(hashtagRepository).should(never()).reconcileArticleCounts(any());
+  }
+
+  private Hashtag hashtag(Long id, String hashtagName) {
+    Hashtag hashtag = Hashtag.of(hashtagName);
+    ReflectionTestUtils.setField(hashtag, "id", id);
+
+    return hashtag;
+  }
+}
@@ -0,0 +1,136 @@
+package com.example.boardservice.scheduler;
+
+import com.example.boardservice.cache.HashtagDictionary;
+import com.example.boardservice.event.HashtagDeletedEvent;
+import com.example.boardservice.event.HashtagsUnlinkedEvent;
+import com.example.boardservice.repository.HashtagRepository;
+import com.example.boardservice.repository.projection.HashtagNameProjection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+@DisplayName("Scheduler - orphan hashtag sweeper")
+@ExtendWith(MockitoExtension.class)
+class OrphanHashtagSweeperTest {
+
+  @Mock private HashtagRepository hashtagRepository;
+  @Mock private HashtagDictionary hashtagDictionary;
+  @Mock private ApplicationEventPublisher eventPublisher;
+  @Mock private PlatformTransactionManager transactionManager;
+  @Mock private TaskScheduler taskScheduler;
+
+  private SimpleMeterRegistry meterRegistry;
+  private OrphanHashtagSweeper sut;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    sut = new OrphanHashtagSweeper(hashtagRepository, hashtagDictionary, eventPublisher, transactionManager,
+        taskScheduler, meterRegistry, 2, 3, Duration.ofMinutes(10));
+  }
+
+  @DisplayName("Delete orphans batch by batch until a batch comes back short")
+  @Test
+  void givenOrphans_whenSweeping_thenDeletesInBatchesAndRecordsMetrics() {
+    // Given
+    given(hashtagRepository.findByArticleCountLessThanEqualAndCreatedAtBefore(anyLong(), any(LocalDateTime.class), any(Pageable.class)))
+        .willReturn(List.of(orphan(1L, "a"), orphan(2L, "b")), List.of(orphan(3L, "c")));
+    given(hashtagRepository.deleteUnusedByIdIn(List.of(1L, 2L))).willReturn(2);
+    given(hashtagRepository.deleteUnusedByIdIn(List.of(3L))).willReturn(1);
+
+    // When
+    sut.sweep();
+
+    // Then
+    then(hashtagDictionary).should().evict("c");
+    then(eventPublisher).should().publishEvent(HashtagDeletedEvent.of(3L, "c"));
+    then(eventPublisher).should(times(3)).publishEvent(any(HashtagDeletedEvent.class));
+    assertThat(meterRegistry.get("board.hashtag.sweep.removed").counter().count()).isEqualTo(3);
+    assertThat(meterRegistry.get("board.hashtag.sweep").timer().count()).isOne();
+  }
+
+  @DisplayName("Announce only the orphans that were deleted, not the ones linked again before the delete")
+  @Test
+  void givenOrphanLinkedAgainBeforeDelete_whenSweeping_thenAnnouncesOnlyDeletedOrphans() {
+    // Given
+    given(hashtagRepository.findByArticleCountLessThanEqualAndCreatedAtBefore(anyLong(), any(LocalDateTime.class), any(Pageable.class)))
+        .willReturn(List.of(orphan(1L, "a"), orphan(2L, "b")));
+    // "b" was linked to an article between the select and the delete, so the delete skips it
+    given(hashtagRepository.deleteUnusedByIdIn(List.of(1L, 2L))).willReturn(1);
+    given(hashtagRepository.findIdsByIdIn(List.of(1L, 2L))).willReturn(Set.of(2L));
+
+    // When
+    sut.sweep();
+
+    // Then
+    then(eventPublisher).should().publishEvent(HashtagDeletedEvent.of(1L, "a"));
+    then(eventPublisher).should(never()).publishEvent(HashtagDeletedEvent.of(2L, "b"));
+    assertThat(meterRegistry.get("board.hashtag.sweep.removed").counter().count()).isEqualTo(1);
+  }
+
+  @DisplayName("Leave hashtags created within the grace period alone")
+  @Test
+  void givenGracePeriod_whenSweeping_thenOnlyLooksForOlderOrphans() {
+    // Given
+    ArgumentCaptor<LocalDateTime> createdBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+    given(hashtagRepository.findByArticleCountLessThanEqualAndCreatedAtBefore(anyLong(), createdBefore.capture(), any(Pageable.class)))
+        .willReturn(List.of());
+    LocalDateTime sweptAt = LocalDateTime.now();
+
+    // When
+    sut.sweep();
+
+    // Then
+    assertThat(createdBefore.getValue()).isBetween(sweptAt.minusMinutes(10), LocalDateTime.now().minusMinutes(10));
+    then(hashtagRepository).should(never()).deleteUnusedByIdIn(any());
+  }
+
+  @DisplayName("Schedule a sweep once enough hashtags have been unlinked")
+  @Test
+  void givenUnlinkedHashtags_whenThresholdIsReached_thenSchedulesSweep() {
+    // When
+    sut.onHashtagsUnlinked(HashtagsUnlinkedEvent.of(Set.of(1L, 2L)));
+    then(taskScheduler).should(never()).schedule(any(Runnable.class), any(Instant.class));
+    sut.onHashtagsUnlinked(HashtagsUnlinkedEvent.of(Set.of(3L)));
+
+    // Then
+    then(taskScheduler).should().schedule(any(Runnable.class), any(Instant.class));
+  }
+
+  private HashtagNameProjection orphan(Long id, String hashtagName) {
+    return new HashtagNameProjection() {
+      @Override
+      public Long getId() {
+        return id;
+      }
+
+      @Override
+      public String getHashtagName() {
+        return hashtagName;
+      }
+    };
+  }
+}
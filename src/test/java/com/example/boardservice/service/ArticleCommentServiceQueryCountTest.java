@@ -0,0 +1,187 @@
+package com.example.boardservice.service;
+
+import com.example.boardservice.domain.Article;
+import com.example.boardservice.domain.ArticleComment;
+import com.example.boardservice.domain.CommentPath;
+import com.example.boardservice.domain.UserAccount;
+import com.example.boardservice.dto.ArticleCommentDto;
+import com.example.boardservice.dto.CommentThreadPage;
+import com.example.boardservice.dto.CursorPage;
+import com.example.boardservice.dto.UserAccountDto;
+import com.example.boardservice.repository.ArticleCommentRepository;
+import com.example.boardservice.repository.ArticleRepository;
+import com.example.boardservice.repository.UserAccountRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// counts the statements hibernate sends to read comment threads, and to reply to or delete a comment that already has many replies
+// read: https://docs.jboss.org/hibernate/orm/6.3/userguide/html_single/Hibernate_User_Guide.html#statistics
+@DisplayName("Business logic - comment reply statement count")
+@Import({ArticleCommentServiceQueryCountTest.TestConfig.class, ArticleCommentService.class})
+// JDBC batching is turned off, so that every statement counts as the round trip it would be without it
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.properties.hibernate.jdbc.batch_size=0"
+})
+class ArticleCommentServiceQueryCountTest {
+
+  // enough for loading every reply to stand out against loading none, the statement counts don't depend on it
+  // the latency at 10k replies is measured by CommentReplyBenchmark (src/jmh)
+  private static final int REPLY_COUNT = 300;
+  private static final int FLUSH_SIZE = 100;
+
+  @Autowired private ArticleCommentService articleCommentService;
+  @Autowired private ArticleRepository articleRepository;
+  @Autowired private ArticleCommentRepository articleCommentRepository;
+  @Autowired private UserAccountRepository userAccountRepository;
+  @Autowired private TestEntityManager testEntityManager;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+  private UserAccount userAccount;
+
+  @BeforeEach
+  void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    userAccount = userAccountRepository.findById("uno").orElseThrow();
+  }
+
+  @DisplayName("Replying to a comment with hundreds of replies sends one lookup and one insert, and loads none of the replies")
+  @Test
+  void givenCommentWithManyReplies_whenReplying_thenLoadsNoSiblingReplies() {
+    // Given
+    Article article = articleRepository.save(Article.of(userAccount, "title", "content"));
+    ArticleComment parent = articleCommentRepository.save(ArticleComment.of(article, userAccount, "parent"));
+    insertReplies(article, parent);
+    Long articleId = article.getId();
+    Long parentId = parent.getId();
+
+    // When
+    statistics.clear();
+    articleCommentService.saveArticleComment(createReplyDto(articleId, parentId));
+    testEntityManager.flush();
+    long appendStatements = statistics.getPrepareStatementCount();
+    long appendLoadedEntities = statistics.getEntityLoadCount();
+    long appendFetchedCollections = statistics.getCollectionFetchCount() + statistics.getCollectionLoadCount();
+    testEntityManager.clear();
+
+    statistics.clear();
+    replyThroughParent(articleId, parentId);
+    testEntityManager.flush();
+    long throughParentLoadedEntities = statistics.getEntityLoadCount();
+    testEntityManager.clear();
+
+    // Then
+    assertThat(appendStatements).isEqualTo(2);
+    assertThat(appendLoadedEntities).isZero();
+    assertThat(appendFetchedCollections).isZero();
+    assertThat(throughParentLoadedEntities).isGreaterThan(REPLY_COUNT);
+    assertThat(articleCommentRepository.countSubtree(articleId, CommentPath.childPathOf(parent))).isEqualTo(REPLY_COUNT + 2);
+  }
+
+  @DisplayName("A page of comment threads reads the roots, the ids of their first replies and the replies, authors included")
+  @Test
+  void givenArticleWithCommentThreads_whenReadingCommentThreads_thenSendsThreeStatements() {
+    // Given
+    // article 49 of data.sql: comment 1 has replies from both users
+    testEntityManager.clear();
+
+    // When
+    statistics.clear();
+    CommentThreadPage threads = articleCommentService.getCommentThreads(49L, null, 20, 3);
+
+    // Then
+    assertThat(threads.comments()).extracting(comment -> comment.userAccountDto().userId()).contains("uno", "uno2");
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+  }
+
+  @DisplayName("A page of replies is read with its authors in one statement")
+  @Test
+  void givenCommentWithReplies_whenReadingReplies_thenSendsOneStatement() {
+    // Given
+    testEntityManager.clear();
+
+    // When
+    statistics.clear();
+    CursorPage<ArticleCommentDto> replies = articleCommentService.getReplies(49L, 1L, null, 20);
+
+    // Then
+    assertThat(replies.content()).extracting(ArticleCommentDto::id).containsExactly(301L, 302L, 303L, 304L);
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  @DisplayName("Deleting a comment with hundreds of replies sends two lookups and two deletes, and loads none of the replies")
+  @Test
+  void givenCommentWithManyReplies_whenDeleting_thenDeletesThreadWithSetBasedStatements() {
+    // Given
+    Article article = articleRepository.save(Article.of(userAccount, "title", "content"));
+    ArticleComment parent = articleCommentRepository.save(ArticleComment.of(article, userAccount, "parent"));
+    insertReplies(article, parent);
+    Long articleId = article.getId();
+    Long parentId = parent.getId();
+    String pathPrefix = CommentPath.childPathOf(parent);
+
+    // When
+    statistics.clear();
+    articleCommentService.deleteArticleComment(parentId, userAccount.getUserId());
+    testEntityManager.flush();
+    long deleteStatements = statistics.getPrepareStatementCount();
+    long deleteLoadedEntities = statistics.getEntityLoadCount();
+    testEntityManager.clear();
+
+    // Then
+    // the comment, whether any reply of the article still lacks a path, then the replies and the comment
+    assertThat(deleteStatements).isEqualTo(4);
+    assertThat(deleteLoadedEntities).isZero();
+    assertThat(articleCommentRepository.existsById(parentId)).isFalse();
+    assertThat(articleCommentRepository.countSubtree(articleId, pathPrefix)).isZero();
+  }
+
+  // what ArticleCommentService.saveArticleComment used to do: add the reply to the parent's replies
+  private void replyThroughParent(Long articleId, Long parentId) {
+    ArticleComment reply = ArticleComment.of(articleRepository.getReferenceById(articleId), userAccount, "reply");
+    articleCommentRepository.getReferenceById(parentId).addChildComment(reply);
+  }
+
+  private void insertReplies(Article article, ArticleComment parent) {
+    String path = CommentPath.childPathOf(parent);
+    for (int i = 0; i < REPLY_COUNT; i++) {
+      articleCommentRepository.save(ArticleComment.replyOf(article, userAccount, parent.getId(), path, "reply " + i));
+      if ((i + 1) % FLUSH_SIZE == 0) {
+        testEntityManager.flush();
+        testEntityManager.clear();
+      }
+    }
+    testEntityManager.flush();
+    testEntityManager.clear();
+  }
+
+  private ArticleCommentDto createReplyDto(Long articleId, Long parentCommentId) {
+    return ArticleCommentDto.of(articleId, UserAccountDto.from(userAccount), parentCommentId, "reply");
+  }
+
+  @EnableJpaAuditing
+  @TestConfiguration
+  static class TestConfig {
+    @Bean
+    public AuditorAware<String> auditorAware() {
+      return () -> Optional.of("uno");
+    }
+  }
+}
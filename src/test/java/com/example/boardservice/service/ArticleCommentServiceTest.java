@@ -2,25 +2,36 @@ package com.example.boardservice.service;
 
 import com.example.boardservice.domain.Article;
 import com.example.boardservice.domain.ArticleComment;
+import com.example.boardservice.domain.CommentPath;
 import com.example.boardservice.domain.Hashtag;
 import com.example.boardservice.domain.UserAccount;
 import com.example.boardservice.dto.ArticleCommentDto;
+import com.example.boardservice.dto.CommentCursor;
+import com.example.boardservice.dto.CommentSubtreeDto;
+import com.example.boardservice.dto.CommentThreadPage;
+import com.example.boardservice.dto.CursorPage;
 import com.example.boardservice.dto.UserAccountDto;
+import com.example.boardservice.event.ArticleCommentChangedEvent;
 import com.example.boardservice.repository.ArticleCommentRepository;
 import com.example.boardservice.repository.ArticleRepository;
 import com.example.boardservice.repository.UserAccountRepository;
+import com.example.boardservice.repository.projection.CommentParentProjection;
+import com.example.boardservice.repository.projection.DeletableCommentProjection;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -37,6 +48,7 @@ class ArticleCommentServiceTest {
   @Mock private ArticleRepository articleRepository;
   @Mock private ArticleCommentRepository articleCommentRepository;
   @Mock private UserAccountRepository userAccountRepository;
+  @Mock private ApplicationEventPublisher eventPublisher;
 
   @DisplayName("Return appropriate comment list when article ID is provided")
   @Test
@@ -63,6 +75,158 @@ class ArticleCommentServiceTest {
     then(articleCommentRepository).should().findByArticle_Id(articleId);
   }
 
+  @DisplayName("Return a page of root comments with their first replies and cursors to the rest")
+  @Test
+  void givenArticleId_whenSearchingCommentThreads_thenReturnsFirstRepliesAndCursors() {
+    // Given
+    Long articleId = 1L;
+    LocalDateTime now = LocalDateTime.of(2023, 1, 1, 0, 0);
+    ArticleComment newest = createArticleComment(10L, null, "Newest", now);
+    ArticleComment older = createArticleComment(9L, null, "Older", now.minusMinutes(1));
+    ArticleComment oldest = createArticleComment(8L, null, "Oldest", now.minusMinutes(2));
+    ArticleComment firstReply = createArticleComment(11L, 10L, "First reply", now.plusMinutes(1));
+    ArticleComment secondReply = createArticleComment(12L, 10L, "Second reply", now.plusMinutes(2));
+    ArticleComment thirdReply = createArticleComment(13L, 10L, "Third reply", now.plusMinutes(3));
+    ArticleComment onlyReply = createArticleComment(14L, 9L, "Only reply", now.plusMinutes(1));
+    given(articleCommentRepository.findRootsByCursor(articleId, null, null, 3)).willReturn(List.of(newest, older, oldest));
+    given(articleCommentRepository.findFirstReplies(articleId, List.of(10L, 9L), 3))
+        .willReturn(List.of(firstReply, secondReply, thirdReply, onlyReply));
+
+    // When
+    CommentThreadPage page = sut.getCommentThreads(articleId, null, 2, 2);
+
+    // Then
+    assertThat(page.comments())
+        .extracting("id")
+        .containsExactly(10L, 9L, 11L, 12L, 14L);
+    assertThat(page.replyCursors()).containsOnlyKeys(10L);
+    assertThat(CommentCursor.decode(page.replyCursors().get(10L))).isEqualTo(CommentCursor.after(secondReply));
+    assertThat(CommentCursor.decode(page.nextCursor())).isEqualTo(CommentCursor.after(older));
+  }
+
+  @DisplayName("Return the replies after the cursor and no cursor when there are no more")
+  @Test
+  void givenReplyCursor_whenSearchingReplies_thenReturnsRepliesAfterCursor() {
+    // Given
+    Long articleId = 1L;
+    LocalDateTime now = LocalDateTime.of(2023, 1, 1, 0, 0);
+    ArticleComment secondReply = createArticleComment(12L, 10L, "Second reply", now.plusMinutes(2));
+    ArticleComment thirdReply = createArticleComment(13L, 10L, "Third reply", now.plusMinutes(3));
+    given(articleCommentRepository.findRepliesByCursor(articleId, 10L, secondReply.getCreatedAt(), 12L, 21))
+        .willReturn(List.of(thirdReply));
+
+    // When
+    CursorPage<ArticleCommentDto> page = sut.getReplies(articleId, 10L, CommentCursor.after(secondReply).encode(), 20);
+
+    // Then
+    assertThat(page.content()).extracting("id").containsExactly(13L);
+    assertThat(page.hasNext()).isFalse();
+  }
+
+  @DisplayName("Count the replies of a collapsed subtree without reading them")
+  @Test
+  void givenCollapsedSubtree_whenSearchingCommentSubtree_thenCountsRepliesOnly() {
+    // Given
+    Long articleId = 1L;
+    ArticleComment parent = createArticleComment(1L, "Parent");
+    ArticleComment reply = createArticleComment(2L, "Reply");
+    parent.addChildComment(reply);
+    String pathPrefix = CommentPath.childPathOf(reply);
+    given(articleCommentRepository.findById(2L)).willReturn(Optional.of(reply));
+    given(articleCommentRepository.countSubtree(articleId, pathPrefix)).willReturn(3L);
+
+    // When
+    CommentSubtreeDto subtree = sut.getCommentSubtree(articleId, 2L, true, 10);
+
+    // Then
+    assertThat(subtree.comment().id()).isEqualTo(2L);
+    assertThat(subtree.depth()).isOne();
+    assertThat(subtree.replyCount()).isEqualTo(3L);
+    assertThat(subtree.replies()).isEmpty();
+    then(articleCommentRepository).should(never()).findSubtree(any(), any(), anyInt());
+  }
+
+  @DisplayName("Read at most the given number of replies of a subtree and count all of them")
+  @Test
+  void givenLargeSubtree_whenSearchingCommentSubtree_thenReturnsOldestRepliesAndCountsAll() {
+    // Given
+    Long articleId = 1L;
+    LocalDateTime now = LocalDateTime.of(2023, 1, 1, 0, 0);
+    ArticleComment parent = createArticleComment(1L, "Parent");
+    ArticleComment reply = createArticleComment(2L, "Reply");
+    parent.addChildComment(reply);
+    String pathPrefix = CommentPath.childPathOf(reply);
+    given(articleCommentRepository.findById(2L)).willReturn(Optional.of(reply));
+    given(articleCommentRepository.findSubtree(articleId, pathPrefix, 3)).willReturn(List.of(
+        createArticleComment(3L, 2L, "First", now),
+        createArticleComment(4L, 3L, "Second", now.plusMinutes(1)),
+        createArticleComment(5L, 2L, "Third", now.plusMinutes(2))
+    ));
+    given(articleCommentRepository.countSubtree(articleId, pathPrefix)).willReturn(40L);
+
+    // When
+    CommentSubtreeDto subtree = sut.getCommentSubtree(articleId, 2L, false, 2);
+
+    // Then
+    assertThat(subtree.replies()).extracting("id").containsExactly(3L, 4L);
+    assertThat(subtree.replyCount()).isEqualTo(40L);
+  }
+
+  @DisplayName("Walk the parents of a comment written before paths existed, instead of failing")
+  @Test
+  void givenCommentWithoutPath_whenSearchingCommentSubtree_thenWalksParentCommentIds() {
+    // Given
+    Long articleId = 1L;
+    LocalDateTime now = LocalDateTime.of(2023, 1, 1, 0, 0);
+    ArticleComment parent = createArticleComment(1L, null, "Parent", now);
+    ArticleComment reply = createArticleComment(2L, 1L, "Reply", now.plusMinutes(1));
+    given(articleCommentRepository.findById(2L)).willReturn(Optional.of(reply));
+    given(articleCommentRepository.findByArticle_Id(articleId)).willReturn(List.of(
+        parent,
+        reply,
+        createArticleComment(3L, 2L, "First", now.plusMinutes(2)),
+        createArticleComment(4L, 3L, "Second", now.plusMinutes(3)),
+        createArticleComment(5L, 2L, "Third", now.plusMinutes(4)),
+        createArticleComment(6L, 1L, "Other thread", now.plusMinutes(5))
+    ));
+
+    // When
+    CommentSubtreeDto subtree = sut.getCommentSubtree(articleId, 2L, false, 2);
+
+    // Then
+    assertThat(subtree.comment().id()).isEqualTo(2L);
+    assertThat(subtree.depth()).isOne();
+    assertThat(subtree.replies()).extracting("id").containsExactly(3L, 4L);
+    assertThat(subtree.replyCount()).isEqualTo(3L);
+    then(articleCommentRepository).should(never()).findSubtree(any(), any(), anyInt());
+  }
+
+  @DisplayName("Walk the parents while replies of the article are waiting for their path, the range scan would miss them")
+  @Test
+  void givenArticleWithRepliesWithoutPath_whenSearchingCollapsedSubtree_thenCountsByWalkingParentCommentIds() {
+    // Given
+    Long articleId = 1L;
+    LocalDateTime now = LocalDateTime.of(2023, 1, 1, 0, 0);
+    ArticleComment root = createArticleComment(1L, "Root");
+    ReflectionTestUtils.setField(root, "createdAt", now);
+    given(articleCommentRepository.findById(1L)).willReturn(Optional.of(root));
+    given(articleCommentRepository.existsByArticle_IdAndParentCommentIdIsNotNullAndPathIsNull(articleId)).willReturn(true);
+    given(articleCommentRepository.findByArticle_Id(articleId)).willReturn(List.of(
+        root,
+        createArticleComment(2L, 1L, "Reply", now.plusMinutes(1)),
+        createArticleComment(3L, 2L, "Reply to reply", now.plusMinutes(2))
+    ));
+
+    // When
+    CommentSubtreeDto subtree = sut.getCommentSubtree(articleId, 1L, true, 10);
+
+    // Then
+    assertThat(subtree.depth()).isZero();
+    assertThat(subtree.replies()).isEmpty();
+    assertThat(subtree.replyCount()).isEqualTo(2L);
+    then(articleCommentRepository).should(never()).countSubtree(any(), any());
+  }
+
   @DisplayName("Save comment when fields are provided")
   @Test
   void givenArticleCommentInfo_whenSavingArticleComment_thenSavesComment() {
@@ -78,6 +242,7 @@ class ArticleCommentServiceTest {
     then(userAccountRepository).should().getReferenceById(dto.userAccountDto().userId());
     then(articleCommentRepository).should(never()).getReferenceById(anyLong());
     then(articleCommentRepository).should().save(any(ArticleComment.class));
+    then(eventPublisher).should().publishEvent(ArticleCommentChangedEvent.of(dto.articleId()));
   }
   @DisplayName("Log warning when attempting to save comment but no article found")
   @Test
@@ -93,6 +258,7 @@ class ArticleCommentServiceTest {
     then(articleRepository).should().getReferenceById(dto.articleId());
     then(userAccountRepository).shouldHaveNoInteractions();
     then(articleCommentRepository).shouldHaveNoInteractions();
+    then(eventPublisher).shouldHaveNoInteractions();
   }
 
   @DisplayName("Delete comment when comment id is provided")
@@ -100,7 +266,68 @@ class ArticleCommentServiceTest {
   void givenArticleCommentId_whenDeletingArticleComment_thenDeletesArticleComment() {
     // Given
     Long articleCommentId = 1L;
+    Long articleId = 1L;
     String userId = "uno";
+    given(articleCommentRepository.findDeletableComment(articleCommentId, userId))
+        .willReturn(Optional.of(createDeletableCommentProjection(articleCommentId, articleId, "")));
+    given(articleCommentRepository.deleteSubtree(articleId, CommentPath.segmentOf(articleCommentId))).willReturn(3);
+    given(articleCommentRepository.deleteRowById(articleCommentId)).willReturn(1);
+
+    // When
+    sut.deleteArticleComment(articleCommentId, userId);
+
+    // Then
+    then(articleCommentRepository).should().deleteSubtree(articleId, CommentPath.segmentOf(articleCommentId));
+    then(articleCommentRepository).should().deleteRowById(articleCommentId);
+    then(articleCommentRepository).should(never()).deleteByIdAndUserAccount_UserId(any(), any());
+    then(eventPublisher).should().publishEvent(ArticleCommentChangedEvent.of(articleId));
+  }
+
+  @DisplayName("Delete nothing when the comment is not the user's")
+  @Test
+  void givenArticleCommentIdOfAnotherUser_whenDeletingArticleComment_thenDeletesNothing() {
+    // Given
+    Long articleCommentId = 1L;
+    String userId = "dos";
+    given(articleCommentRepository.findDeletableComment(articleCommentId, userId)).willReturn(Optional.empty());
+
+    // When
+    sut.deleteArticleComment(articleCommentId, userId);
+
+    // Then
+    then(articleCommentRepository).should().findDeletableComment(articleCommentId, userId);
+    then(articleCommentRepository).shouldHaveNoMoreInteractions();
+    then(eventPublisher).shouldHaveNoInteractions();
+  }
+
+  @DisplayName("Delete comment through the cascade when its path has not been backfilled yet")
+  @Test
+  void givenReplyWithoutPath_whenDeletingArticleComment_thenDeletesArticleCommentThroughCascade() {
+    // Given
+    Long articleCommentId = 2L;
+    String userId = "uno";
+    given(articleCommentRepository.findDeletableComment(articleCommentId, userId))
+        .willReturn(Optional.of(createDeletableCommentProjection(articleCommentId, 1L, null)));
+    willDoNothing().given(articleCommentRepository).deleteByIdAndUserAccount_UserId(articleCommentId, userId);
+
+    // When
+    sut.deleteArticleComment(articleCommentId, userId);
+
+    // Then
+    then(articleCommentRepository).should().deleteByIdAndUserAccount_UserId(articleCommentId, userId);
+    then(articleCommentRepository).should(never()).deleteSubtree(any(), any());
+  }
+
+  @DisplayName("Delete comment through the cascade while replies of its article have not been backfilled yet")
+  @Test
+  void givenArticleWithRepliesWithoutPath_whenDeletingArticleComment_thenDeletesArticleCommentThroughCascade() {
+    // Given
+    Long articleCommentId = 1L;
+    Long articleId = 1L;
+    String userId = "uno";
+    given(articleCommentRepository.findDeletableComment(articleCommentId, userId))
+        .willReturn(Optional.of(createDeletableCommentProjection(articleCommentId, articleId, "")));
+    given(articleCommentRepository.existsByArticle_IdAndParentCommentIdIsNotNullAndPathIsNull(articleId)).willReturn(true);
     willDoNothing().given(articleCommentRepository).deleteByIdAndUserAccount_UserId(articleCommentId, userId);
 
     // When
@@ -108,6 +335,8 @@ class ArticleCommentServiceTest {
 
     // Then
     then(articleCommentRepository).should().deleteByIdAndUserAccount_UserId(articleCommentId, userId);
+    then(articleCommentRepository).should(never()).deleteSubtree(any(), any());
+    then(articleCommentRepository).should(never()).deleteRowById(any());
   }
 
   @DisplayName("Save child comment when given the comment id of its parent and its content")
@@ -115,20 +344,57 @@ class ArticleCommentServiceTest {
   void givenParentCommentIdAndArticleCommentInfo_whenSaving_thenSavesChildComment() {
     // Given
     Long parentCommentId = 1L;
-    ArticleComment parent = createArticleComment(parentCommentId, "Comment");
     ArticleCommentDto child = createArticleCommentDto(parentCommentId, "Child comment");
     given(articleRepository.getReferenceById(child.articleId())).willReturn(createArticle());
     given(userAccountRepository.getReferenceById(child.userAccountDto().userId())).willReturn(createUserAccount());
-    given(articleCommentRepository.getReferenceById(child.parentCommentId())).willReturn(parent);
+    given(articleCommentRepository.findByIdAndArticle_Id(parentCommentId, child.articleId()))
+        .willReturn(Optional.of(createCommentParentProjection(parentCommentId)));
+
+    // When
+    sut.saveArticleComment(child);
+
+    // Then
+    ArgumentCaptor<ArticleComment> saved = ArgumentCaptor.forClass(ArticleComment.class);
+    then(articleCommentRepository).should().save(saved.capture());
+    assertThat(saved.getValue())
+        .hasFieldOrPropertyWithValue("parentCommentId", parentCommentId)
+        .hasFieldOrPropertyWithValue("path", CommentPath.segmentOf(parentCommentId));
+    then(articleCommentRepository).should(never()).getReferenceById(anyLong());
+  }
+
+  @DisplayName("Save nothing when the reply would be nested deeper than the maximum depth")
+  @Test
+  void givenParentCommentAtMaxDepth_whenSaving_thenSavesNothing() {
+    // Given
+    Long parentCommentId = 1L;
+    ArticleCommentDto child = createArticleCommentDto(parentCommentId, "Child comment");
+    String maxDepthPath = CommentPath.segmentOf(2L).repeat(CommentPath.MAX_DEPTH);
+    given(articleRepository.getReferenceById(child.articleId())).willReturn(createArticle());
+    given(userAccountRepository.getReferenceById(child.userAccountDto().userId())).willReturn(createUserAccount());
+    given(articleCommentRepository.findByIdAndArticle_Id(parentCommentId, child.articleId()))
+        .willReturn(Optional.of(createCommentParentProjection(parentCommentId, 2L, maxDepthPath)));
+
+    // When
+    sut.saveArticleComment(child);
+
+    // Then
+    then(articleCommentRepository).should(never()).save(any(ArticleComment.class));
+    then(eventPublisher).shouldHaveNoInteractions();
+  }
+
+  @DisplayName("Save nothing when the parent comment is not in the comment's article")
+  @Test
+  void givenParentCommentOfAnotherArticle_whenSaving_thenSavesNothing() {
+    // Given
+    ArticleCommentDto child = createArticleCommentDto(1L, "Child comment");
+    given(articleRepository.getReferenceById(child.articleId())).willReturn(createArticle());
+    given(userAccountRepository.getReferenceById(child.userAccountDto().userId())).willReturn(createUserAccount());
+    given(articleCommentRepository.findByIdAndArticle_Id(1L, child.articleId())).willReturn(Optional.empty());
 
     // When
     sut.saveArticleComment(child);
 
     // Then
-    assertThat(child.parentCommentId()).isNotNull();
-    then(articleRepository).should().getReferenceById(child.articleId());
-    then(userAccountRepository).should().getReferenceById(child.userAccountDto().userId());
-    then(articleCommentRepository).should().getReferenceById(child.parentCommentId());
     then(articleCommentRepository).should(never()).save(any(ArticleComment.class));
   }
 
@@ -180,6 +446,62 @@ class ArticleCommentServiceTest {
     return articleComment;
   }
 
+  private ArticleComment createArticleComment(Long id, Long parentCommentId, String content, LocalDateTime createdAt) {
+    ArticleComment articleComment = createArticleComment(id, content);
+    articleComment.setParentCommentId(parentCommentId);
+    ReflectionTestUtils.setField(articleComment, "createdAt", createdAt);
+
+    return articleComment;
+  }
+
+  private CommentParentProjection createCommentParentProjection(Long id) {
+    return createCommentParentProjection(id, null, null);
+  }
+
+  private CommentParentProjection createCommentParentProjection(Long id, Long parentCommentId, String path) {
+    return new CommentParentProjection() {
+      @Override
+      public Long getId() {
+        return id;
+      }
+
+      @Override
+      public Long getParentCommentId() {
+        return parentCommentId;
+      }
+
+      @Override
+      public String getPath() {
+        return path;
+      }
+    };
+  }
+
+  // path "" for a root comment, null for a reply written before paths existed
+  private DeletableCommentProjection createDeletableCommentProjection(Long id, Long articleId, String path) {
+    return new DeletableCommentProjection() {
+      @Override
+      public Long getId() {
+        return id;
+      }
+
+      @Override
+      public Long getArticleId() {
+        return articleId;
+      }
+
+      @Override
+      public Long getParentCommentId() {
+        return path == null ? 1L : null;
+      }
+
+      @Override
+      public String getPath() {
+        return path == null || path.isEmpty() ? null : path;
+      }
+    };
+  }
+
   private UserAccount createUserAccount() {
     return UserAccount.of(
         "uno",
@@ -0,0 +1,94 @@
+package com.example.boardservice.service;
+
+import com.example.boardservice.event.ArticleDeletedEvent;
+import com.example.boardservice.event.ArticleSavedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Business logic - cached article counts")
+class ArticleCountServiceTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private ArticleCountService sut;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    sut = new ArticleCountService(meterRegistry, 100, Duration.ofMinutes(1));
+  }
+
+  @DisplayName("Count only once while the count is cached, and report the hits")
+  @Test
+  void givenCachedCount_whenCountingAgain_thenDoesNotRunCountQuery() {
+    // Given
+    AtomicInteger countQueries = new AtomicInteger();
+    sut.cachedCount("ALL", () -> countQueries.incrementAndGet() * 10L);
+
+    // When
+    long count = sut.cachedCount("ALL", () -> countQueries.incrementAndGet() * 10L);
+
+    // Then
+    assertThat(count).isEqualTo(10L);
+    assertThat(countQueries).hasValue(1);
+    assertThat(meterRegistry.get("cache.gets").tag("cache", "article.counts").tag("result", "hit").functionCounter().count())
+        .isEqualTo(1.0);
+  }
+
+  @DisplayName("Count again after an article was saved or deleted")
+  @Test
+  void givenCachedCount_whenArticleIsWritten_thenRunsCountQueryAgain() {
+    // Given
+    AtomicInteger countQueries = new AtomicInteger();
+    sut.cachedCount("ALL", () -> countQueries.incrementAndGet() * 10L);
+
+    // When
+    sut.onArticleSaved(ArticleSavedEvent.of(1L, "title", "content", Set.of()));
+    long afterSave = sut.cachedCount("ALL", () -> countQueries.incrementAndGet() * 10L);
+    sut.onArticleDeleted(ArticleDeletedEvent.of(1L, "title", "content", Set.of()));
+    long afterDelete = sut.cachedCount("ALL", () -> countQueries.incrementAndGet() * 10L);
+
+    // Then
+    assertThat(afterSave).isEqualTo(20L);
+    assertThat(afterDelete).isEqualTo(30L);
+    assertThat(countQueries).hasValue(3);
+  }
+
+  @DisplayName("Never serve a count that was read while an article write committed")
+  @Test
+  void givenWriteCommittingDuringCount_whenCountingAgain_thenDoesNotServeOutdatedCount() {
+    // Given
+    // the count query reads the table as it was, the write commits before the count is stored
+    sut.cachedCount("ALL", () -> {
+      sut.onArticleSaved(ArticleSavedEvent.of(1L, "title", "content", Set.of()));
+      return 10L;
+    });
+
+    // When
+    long count = sut.cachedCount("ALL", () -> 11L);
+
+    // Then
+    assertThat(count).isEqualTo(11L);
+  }
+
+  @DisplayName("Keep counts of different keys apart")
+  @Test
+  void givenCachedCount_whenCountingOtherKey_thenRunsItsOwnCountQuery() {
+    // Given
+    sut.cachedCount("TITLE:java", () -> 3L);
+
+    // When
+    long count = sut.cachedCount("TITLE:spring", () -> 7L);
+
+    // Then
+    assertThat(count).isEqualTo(7L);
+    assertThat(sut.cachedCount("TITLE:java", () -> 0L)).isEqualTo(3L);
+  }
+}
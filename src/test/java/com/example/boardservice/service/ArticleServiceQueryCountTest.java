@@ -0,0 +1,290 @@
+package com.example.boardservice.service;
+
+import com.example.boardservice.cache.HashtagDictionary;
+import com.example.boardservice.cache.HashtagDirectory;
+import com.example.boardservice.domain.Article;
+import com.example.boardservice.domain.Hashtag;
+import com.example.boardservice.domain.UserAccount;
+import com.example.boardservice.domain.constant.CountMode;
+import com.example.boardservice.dto.ArticleDto;
+import com.example.boardservice.dto.ArticleSummaryDto;
+import com.example.boardservice.dto.ArticleWithCommentsDto;
+import com.example.boardservice.dto.UserAccountDto;
+import com.example.boardservice.index.ArticleSearchIndex;
+import com.example.boardservice.index.HashtagBitmapIndex;
+import com.example.boardservice.index.HashtagFuzzyIndex;
+import com.example.boardservice.repository.ArticleRepository;
+import com.example.boardservice.repository.UserAccountRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// counts the statements hibernate sends for typical article edits
+// read: https://docs.jboss.org/hibernate/orm/6.3/userguide/html_single/Hibernate_User_Guide.html#statistics
+@DisplayName("Business logic - article statement count")
+@Import({
+    ArticleServiceQueryCountTest.TestConfig.class,
+    ArticleService.class,
+    ArticleCommentService.class,
+    HashtagService.class,
+    ArticleCountService.class,
+    ArticleSearchIndex.class,
+    HashtagBitmapIndex.class,
+    HashtagDictionary.class,
+    HashtagDirectory.class,
+    HashtagFuzzyIndex.class,
+    HashtagUpsertService.class
+})
+// JDBC batching is turned off, so that every statement counts as the round trip it would be without it
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.properties.hibernate.jdbc.batch_size=0"
+})
+class ArticleServiceQueryCountTest {
+
+  private static final String CONTENT = "content #java #spring #jpa";
+  // the hashtags the edits add, created up front: the first side to meet a new hashtag would pay for its insert
+  private static final String ADDED_HASHTAGS_CONTENT = "content #querydsl #hibernate";
+
+  @Autowired private ArticleService articleService;
+  @Autowired private HashtagService hashtagService;
+  @Autowired private ArticleRepository articleRepository;
+  @Autowired private UserAccountRepository userAccountRepository;
+  @Autowired private TestEntityManager testEntityManager;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+  private UserAccount userAccount;
+
+  @BeforeEach
+  void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    // loaded rather than referenced, since the entity manager is cleared between steps
+    userAccount = userAccountRepository.findById("uno").orElseThrow();
+  }
+
+  @DisplayName("A page of 100 articles in the list is read with two statements, without loading any article")
+  @Test
+  void givenArticles_whenSearchingArticlePage_thenSelectsSummariesAndHashtagsOnly() {
+    // Given
+    // data.sql has 123 articles, most of them with hashtags
+    Pageable pageable = PageRequest.of(0, 100, Sort.by(Sort.Direction.DESC, "createdAt"));
+    testEntityManager.clear();
+
+    // When
+    statistics.clear();
+    Slice<ArticleSummaryDto> articles = articleService.searchArticles(null, null, pageable, CountMode.ESTIMATED);
+
+    // Then
+    assertThat(articles.getContent()).hasSize(100);
+    assertThat(articles.getContent()).anyMatch(article -> !article.hashtagNames().isEmpty());
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    assertThat(statistics.getEntityLoadCount()).isZero();
+    assertThat(statistics.getCollectionFetchCount()).isZero();
+  }
+
+  @DisplayName("The article detail page reads the article, its authors and its hashtags in four statements")
+  @Test
+  void givenArticleWithCommentThreads_whenReadingArticleWithComments_thenSendsFourStatements() {
+    // Given
+    // article 49 of data.sql has comments from both users, and comment 1 has four replies
+    Long articleId = 49L;
+    testEntityManager.clear();
+
+    // When
+    statistics.clear();
+    ArticleWithCommentsDto article = articleService.getArticleWithComments(articleId);
+
+    // Then
+    // the article with its author and hashtags, the root comments with theirs, the ids of the first replies, the replies
+    assertThat(article.articleCommentDtos()).isNotEmpty();
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+  }
+
+  @DisplayName("The article edit page reads the article with its author and hashtags in one statement")
+  @Test
+  void givenArticleId_whenReadingArticle_thenSendsOneStatement() {
+    // Given
+    testEntityManager.clear();
+
+    // When
+    statistics.clear();
+    ArticleDto article = articleService.getArticle(1L);
+
+    // Then
+    assertThat(article.userAccountDto().userId()).isNotBlank();
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  @DisplayName("A page of the hashtag search reads the page's ids and then the articles with their authors and hashtags")
+  @Test
+  void givenHashtag_whenSearchingArticlesViaHashtag_thenSendsTwoStatements() {
+    // Given
+    Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "id"));
+    testEntityManager.clear();
+
+    // When
+    statistics.clear();
+    Slice<ArticleDto> articles = articleService.searchArticlesViaHashtag("red", pageable);
+
+    // Then
+    assertThat(articles.getContent())
+        .isNotEmpty()
+        .allMatch(article -> article.hashtagDtos().stream().anyMatch(hashtag -> hashtag.hashtagName().equals("red")));
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+  }
+
+  @DisplayName("Editing only the title of an article does not touch its hashtag links")
+  @Test
+  void givenTitleOnlyEdit_whenUpdatingArticle_thenSendsNoHashtagStatements() {
+    // Given
+    Long articleId = createArticle(CONTENT);
+
+    // When
+    statistics.clear();
+    articleService.updateArticle(articleId, createArticleDto(articleId, "new title", CONTENT));
+    testEntityManager.flush();
+
+    // Then
+    assertThat(statistics.getCollectionRecreateCount()).isZero();
+    assertThat(statistics.getCollectionUpdateCount()).isZero();
+    assertThat(statistics.getEntityInsertCount()).isZero();
+    assertThat(articleRepository.findById(articleId))
+        .get()
+        .extracting(Article::getTitle)
+        .isEqualTo("new title");
+  }
+
+  @DisplayName("Adding one hashtag sends fewer statements than clearing and re-adding every link")
+  @Test
+  void givenOneHashtagAdded_whenUpdatingArticle_thenSendsFewerStatementsThanRelinkingEverything() {
+    // Given
+    String newContent = CONTENT + " #querydsl";
+    createArticle(ADDED_HASHTAGS_CONTENT);
+    Long diffedArticleId = createArticle(CONTENT);
+    Long relinkedArticleId = createArticle(CONTENT);
+
+    // When
+    statistics.clear();
+    articleService.updateArticle(diffedArticleId, createArticleDto(diffedArticleId, "title", newContent));
+    testEntityManager.flush();
+    long diffedStatements = statistics.getPrepareStatementCount();
+    testEntityManager.clear();
+
+    statistics.clear();
+    relinkEverything(relinkedArticleId, newContent);
+    testEntityManager.flush();
+    long relinkedStatements = statistics.getPrepareStatementCount();
+    testEntityManager.clear();
+
+    // Then
+    assertThat(diffedStatements).isLessThan(relinkedStatements);
+    assertThat(hashtagNamesOf(diffedArticleId)).isEqualTo(hashtagNamesOf(relinkedArticleId));
+  }
+
+  @DisplayName("Replacing one hashtag sends fewer statements than clearing and re-adding every link")
+  @Test
+  void givenOneHashtagReplaced_whenUpdatingArticle_thenSendsFewerStatementsThanRelinkingEverything() {
+    // Given
+    String newContent = "content #java #spring #hibernate";
+    createArticle(ADDED_HASHTAGS_CONTENT);
+    Long diffedArticleId = createArticle(CONTENT);
+    Long relinkedArticleId = createArticle(CONTENT);
+
+    // When
+    statistics.clear();
+    articleService.updateArticle(diffedArticleId, createArticleDto(diffedArticleId, "title", newContent));
+    testEntityManager.flush();
+    long diffedStatements = statistics.getPrepareStatementCount();
+    testEntityManager.clear();
+
+    statistics.clear();
+    relinkEverything(relinkedArticleId, newContent);
+    testEntityManager.flush();
+    long relinkedStatements = statistics.getPrepareStatementCount();
+    testEntityManager.clear();
+
+    // Then
+    assertThat(diffedStatements).isLessThan(relinkedStatements);
+    assertThat(hashtagNamesOf(diffedArticleId)).isEqualTo(hashtagNamesOf(relinkedArticleId));
+  }
+
+  // what ArticleService.updateArticle used to do: unlink every hashtag, then link the parsed ones again
+  private void relinkEverything(Long articleId, String content) {
+    Article article = articleRepository.getReferenceById(articleId);
+    article.setContent(content);
+    Set<Long> hashtagIds = article.getHashtags().stream()
+        .map(Hashtag::getId)
+        .collect(Collectors.toUnmodifiableSet());
+    article.clearHashtags();
+    hashtagService.adjustArticleCount(hashtagIds, -1);
+    article.addHashtags(hashtagService.linkHashtags(hashtagService.parseHashtagNames(content)));
+    articleRepository.flush();
+  }
+
+  private Long createArticle(String content) {
+    Article article = Article.of(userAccount, "title", content);
+    article.addHashtags(hashtagService.linkHashtags(hashtagService.parseHashtagNames(content)));
+    Long articleId = articleRepository.saveAndFlush(article).getId();
+    testEntityManager.clear();
+
+    return articleId;
+  }
+
+  private Set<String> hashtagNamesOf(Long articleId) {
+    return articleRepository.findById(articleId).orElseThrow().getHashtags().stream()
+        .map(Hashtag::getHashtagName)
+        .collect(Collectors.toUnmodifiableSet());
+  }
+
+  private ArticleDto createArticleDto(Long articleId, String title, String content) {
+    return ArticleDto.of(
+        articleId,
+        UserAccountDto.from(userAccount),
+        title,
+        content,
+        null,
+        null,
+        null,
+        null,
+        null
+    );
+  }
+
+  @EnableJpaAuditing
+  @TestConfiguration
+  static class TestConfig {
+    @Bean
+    public AuditorAware<String> auditorAware() {
+      return () -> Optional.of("uno");
+    }
+
+    @Bean
+    public MeterRegistry meterRegistry() {
+      return new SimpleMeterRegistry();
+    }
+  }
+}
@@ -4,14 +4,29 @@ package com.example.boardservice.service;
 import com.example.boardservice.domain.Article;
 import com.example.boardservice.domain.Hashtag;
 import com.example.boardservice.domain.UserAccount;
+import com.example.boardservice.domain.constant.CountMode;
 import com.example.boardservice.domain.constant.SearchType;
+import com.example.boardservice.dto.ArticleCursor;
 import com.example.boardservice.dto.ArticleDto;
+import com.example.boardservice.dto.ArticleSummaryDto;
 import com.example.boardservice.dto.ArticleWithCommentsDto;
+import com.example.boardservice.dto.CommentThreadPage;
+import com.example.boardservice.dto.CursorPage;
 import com.example.boardservice.dto.HashtagDto;
 import com.example.boardservice.dto.UserAccountDto;
+import com.example.boardservice.event.ArticleDeletedEvent;
+import com.example.boardservice.event.ArticleSavedEvent;
+import com.example.boardservice.event.HashtagsUsedEvent;
+import com.example.boardservice.index.ArticleSearchIndex;
+import com.example.boardservice.index.HashtagBitmapIndex;
+import com.example.boardservice.index.HashtagQuery;
 import com.example.boardservice.repository.ArticleRepository;
-import com.example.boardservice.repository.HashtagRepository;
 import com.example.boardservice.repository.UserAccountRepository;
+import com.example.boardservice.repository.projection.ArticleHashtagProjection;
+import com.example.boardservice.repository.projection.ArticleSummaryProjection;
+import com.example.boardservice.repository.querydsl.ArticlePredicates;
+import com.querydsl.core.types.Predicate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.jupiter.api.DisplayName;
@@ -19,19 +34,25 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.test.util.ReflectionTestUtils;
 
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -46,7 +67,12 @@ public class  ArticleServiceTest {
   @Mock private HashtagService hashtagService;
   @Mock private ArticleRepository articleRepository;
   @Mock private UserAccountRepository userAccountRepository;
-  @Mock private HashtagRepository hashtagRepository;
+  @Mock private ArticleSearchIndex articleSearchIndex;
+  @Mock private HashtagBitmapIndex hashtagBitmapIndex;
+  @Mock private ApplicationEventPublisher eventPublisher;
+  @Mock private ArticleCommentService articleCommentService;
+  // real instance: it only assembles pages from what the repository mocks return
+  @Spy private ArticleCountService articleCountService = new ArticleCountService(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
 
 
   @DisplayName("Return article page when searching without keyword")
@@ -54,14 +80,38 @@ public class  ArticleServiceTest {
   void givenNoSearchParameters_whenSearchingArticles_thenReturnsArticlePage() {
     // Given
     Pageable pageable = Pageable.ofSize(20);
-    given(articleRepository.findAll(pageable)).willReturn(Page.empty());
+    given(articleRepository.findSummaries(ArticlePredicates.all(), pageable)).willReturn(new SliceImpl<>(List.of(), pageable, false));
 
     // When
-    Page<ArticleDto> articles = sut.searchArticles(null, null, pageable);
+    Page<ArticleSummaryDto> articles = sut.searchArticles(null, null, pageable);
 
     // Then
     assertThat(articles).isEmpty();
-    then(articleRepository).should().findAll(pageable);
+    then(articleRepository).should().findSummaries(ArticlePredicates.all(), pageable);
+    then(articleRepository).should(never()).findArticleHashtags(any());
+  }
+
+  @DisplayName("Return article summaries with the hashtags of the whole page read in one query")
+  @Test
+  void givenArticlesWithHashtags_whenSearchingArticles_thenReturnsSummariesWithHashtags() {
+    // Given
+    Pageable pageable = Pageable.ofSize(20);
+    given(articleRepository.findSummaries(ArticlePredicates.all(), pageable))
+        .willReturn(new SliceImpl<>(List.of(createArticleSummary(2L), createArticleSummary(1L)), pageable, false));
+    given(articleRepository.findArticleHashtags(List.of(2L, 1L))).willReturn(List.of(
+        createArticleHashtagProjection(2L, "java"),
+        createArticleHashtagProjection(2L, "spring")
+    ));
+
+    // When
+    Page<ArticleSummaryDto> articles = sut.searchArticles(null, null, pageable);
+
+    // Then
+    assertThat(articles.getContent())
+        .extracting(ArticleSummaryDto::id, ArticleSummaryDto::hashtagNames)
+        .containsExactly(tuple(2L, Set.of("java", "spring")), tuple(1L, Set.of()));
+    then(articleRepository).should().findArticleHashtags(List.of(2L, 1L));
+    then(articleRepository).should(never()).findAllById(any());
   }
 
   @DisplayName("Return article list page when searching for article")
@@ -71,14 +121,156 @@ public class  ArticleServiceTest {
     SearchType searchType = SearchType.TITLE;
     String searchKeyword = "title";
     Pageable pageable = Pageable.ofSize(20);
-    given(articleRepository.findByTitleContaining(searchKeyword, pageable)).willReturn(Page.empty());
+    given(articleRepository.findSummaries(ArticlePredicates.titleContainsIgnoreCase(searchKeyword), pageable)).willReturn(new SliceImpl<>(List.of(), pageable, false));
 
     // When
-    Page<ArticleDto> articles = sut.searchArticles(searchType, searchKeyword, pageable);
+    Page<ArticleSummaryDto> articles = sut.searchArticles(searchType, searchKeyword, pageable);
 
     // Then
     assertThat(articles).isEmpty();
-    then(articleRepository).should().findByTitleContaining(searchKeyword, pageable);
+    then(articleRepository).should().findSummaries(ArticlePredicates.titleContainsIgnoreCase(searchKeyword), pageable);
+  }
+
+  @DisplayName("Return article page from the search index when searching by title after the index is built")
+  @Test
+  void givenSearchParametersAndReadyIndex_whenSearchingArticles_thenReturnsArticlePageFromIndex() {
+    // Given
+    SearchType searchType = SearchType.TITLE;
+    String searchKeyword = "title";
+    Pageable pageable = Pageable.ofSize(20);
+    Set<Long> articleIds = Set.of(1L);
+    given(articleSearchIndex.canSearch(searchKeyword)).willReturn(true);
+    given(articleSearchIndex.searchTitle(searchKeyword)).willReturn(articleIds);
+    given(articleRepository.findSummaries(ArticlePredicates.titleContainsIgnoreCase(articleIds, searchKeyword), pageable))
+        .willReturn(new SliceImpl<>(List.of(createArticleSummary(1L)), pageable, false));
+
+    // When
+    Page<ArticleSummaryDto> articles = sut.searchArticles(searchType, searchKeyword, pageable);
+
+    // Then
+    assertThat(articles).hasSize(1);
+    assertThat(articles.getTotalElements()).isEqualTo(1);
+    then(articleSearchIndex).should().searchTitle(searchKeyword);
+    then(articleRepository).should().findSummaries(ArticlePredicates.titleContainsIgnoreCase(articleIds, searchKeyword), pageable);
+    then(articleRepository).should(never()).findSummaries(ArticlePredicates.titleContainsIgnoreCase(searchKeyword), pageable);
+    // the first page isn't full, so it is the whole result and there is nothing to count
+    then(articleRepository).should(never()).count(any(Predicate.class));
+  }
+
+  @DisplayName("Search by LIKE instead of listing the candidates when the search index matches too many articles")
+  @Test
+  void givenCommonKeywordAndReadyIndex_whenSearchingArticles_thenFallsBackToScan() {
+    // Given
+    String searchKeyword = "the";
+    Pageable pageable = Pageable.ofSize(20);
+    Set<Long> articleIds = LongStream.rangeClosed(1, ArticleService.MAX_CANDIDATE_IDS + 1).boxed().collect(Collectors.toSet());
+    given(articleSearchIndex.canSearch(searchKeyword)).willReturn(true);
+    given(articleSearchIndex.searchTitle(searchKeyword)).willReturn(articleIds);
+    given(articleRepository.findSummaries(ArticlePredicates.titleContainsIgnoreCase(searchKeyword), pageable))
+        .willReturn(new SliceImpl<>(List.of(createArticleSummary(1L)), pageable, false));
+
+    // When
+    Page<ArticleSummaryDto> articles = sut.searchArticles(SearchType.TITLE, searchKeyword, pageable);
+
+    // Then
+    assertThat(articles).hasSize(1);
+    then(articleRepository).should().findSummaries(ArticlePredicates.titleContainsIgnoreCase(searchKeyword), pageable);
+    then(articleRepository).should(never()).findSummaries(ArticlePredicates.titleContainsIgnoreCase(articleIds, searchKeyword), pageable);
+  }
+
+  @DisplayName("Return empty page without querying the database when the search index has no match")
+  @Test
+  void givenUnmatchedKeywordAndReadyIndex_whenSearchingArticles_thenReturnsEmptyPage() {
+    // Given
+    String searchKeyword = "nothing";
+    Pageable pageable = Pageable.ofSize(20);
+    given(articleSearchIndex.canSearch(searchKeyword)).willReturn(true);
+    given(articleSearchIndex.searchContent(searchKeyword)).willReturn(Set.of());
+
+    // When
+    Page<ArticleSummaryDto> articles = sut.searchArticles(SearchType.CONTENT, searchKeyword, pageable);
+
+    // Then
+    assertThat(articles).isEmpty();
+    then(articleRepository).shouldHaveNoInteractions();
+  }
+
+  @DisplayName("Return first keyset page with only a next cursor when no cursor is given")
+  @Test
+  void givenNoCursor_whenSearchingArticlesByCursor_thenReturnsFirstPage() {
+    // Given
+    ArticleSummaryProjection first = createArticleSummary(2L, LocalDateTime.of(2023, 1, 2, 0, 0));
+    ArticleSummaryProjection second = createArticleSummary(1L, LocalDateTime.of(2023, 1, 1, 0, 0));
+    given(articleRepository.findSummariesByCursor(null, null, true, 2)).willReturn(List.of(first, second));
+
+    // When
+    CursorPage<ArticleSummaryDto> articles = sut.searchArticlesByCursor(null, 1);
+
+    // Then
+    assertThat(articles.content()).extracting("id").containsExactly(2L);
+    assertThat(articles.hasPrevious()).isFalse();
+    assertThat(ArticleCursor.decode(articles.nextCursor()))
+        .isEqualTo(ArticleCursor.of(first.createdAt(), 2L, false));
+    then(articleRepository).should().findSummariesByCursor(null, null, true, 2);
+    then(articleRepository).should().findArticleHashtags(List.of(2L));
+    then(articleRepository).should(never()).count();
+  }
+
+  @DisplayName("Return newer articles in descending order when paging backwards")
+  @Test
+  void givenPreviousCursor_whenSearchingArticlesByCursor_thenReturnsNewerArticlesInOrder() {
+    // Given
+    LocalDateTime createdAt = LocalDateTime.of(2023, 1, 1, 0, 0);
+    ArticleSummaryProjection older = createArticleSummary(2L, createdAt.plusDays(1));
+    ArticleSummaryProjection newer = createArticleSummary(3L, createdAt.plusDays(2));
+    String cursor = ArticleCursor.of(createdAt, 1L, true).encode();
+    given(articleRepository.findSummariesByCursor(createdAt, 1L, false, 3)).willReturn(List.of(older, newer));
+
+    // When
+    CursorPage<ArticleSummaryDto> articles = sut.searchArticlesByCursor(cursor, 2);
+
+    // Then
+    assertThat(articles.content()).extracting("id").containsExactly(3L, 2L);
+    assertThat(articles.hasPrevious()).isFalse();
+    assertThat(articles.hasNext()).isTrue();
+  }
+
+  @DisplayName("Return the full first page when paging backwards runs out of newer articles")
+  @Test
+  void givenPreviousCursorNearNewest_whenSearchingArticlesByCursor_thenReturnsFirstPage() {
+    // Given
+    LocalDateTime createdAt = LocalDateTime.of(2023, 1, 1, 0, 0);
+    ArticleSummaryProjection newest = createArticleSummary(3L, createdAt.plusDays(2));
+    ArticleSummaryProjection newer = createArticleSummary(2L, createdAt.plusDays(1));
+    ArticleSummaryProjection cursorArticle = createArticleSummary(1L, createdAt);
+    String cursor = ArticleCursor.of(createdAt.plusDays(1), 2L, true).encode();
+    given(articleRepository.findSummariesByCursor(createdAt.plusDays(1), 2L, false, 3)).willReturn(List.of(newest));
+    given(articleRepository.findSummariesByCursor(null, null, true, 3)).willReturn(List.of(newest, newer, cursorArticle));
+
+    // When
+    CursorPage<ArticleSummaryDto> articles = sut.searchArticlesByCursor(cursor, 2);
+
+    // Then
+    assertThat(articles.content()).extracting("id").containsExactly(3L, 2L);
+    assertThat(articles.hasPrevious()).isFalse();
+    assertThat(articles.hasNext()).isTrue();
+  }
+
+  @DisplayName("Link back to newer articles when nothing is left after a cursor")
+  @Test
+  void givenNextCursorPastEnd_whenSearchingArticlesByCursor_thenReturnsEmptyPageWithPreviousCursor() {
+    // Given
+    LocalDateTime createdAt = LocalDateTime.of(2023, 1, 1, 0, 0);
+    String cursor = ArticleCursor.of(createdAt, 1L, false).encode();
+    given(articleRepository.findSummariesByCursor(createdAt, 1L, true, 3)).willReturn(List.of());
+
+    // When
+    CursorPage<ArticleSummaryDto> articles = sut.searchArticlesByCursor(cursor, 2);
+
+    // Then
+    assertThat(articles.content()).isEmpty();
+    assertThat(articles.hasNext()).isFalse();
+    assertThat(ArticleCursor.decode(articles.previousCursor())).isEqualTo(ArticleCursor.of(createdAt, 1L, true));
   }
 
   @DisplayName("Return empty article list when searching with hashtag but empty keyword provided")
@@ -88,11 +280,11 @@ public class  ArticleServiceTest {
     Pageable pageable = Pageable.ofSize(20);
 
     // When
-    Page<ArticleDto> articles = sut.searchArticlesViaHashtag(null, pageable);
+    Slice<ArticleDto> articles = sut.searchArticlesViaHashtag(null, pageable);
 
     // Then
     assertThat(articles).isEqualTo(Page.empty(pageable));
-    then(hashtagRepository).shouldHaveNoInteractions();
+    then(hashtagService).shouldHaveNoInteractions();
     then(articleRepository).shouldHaveNoInteractions();
   }
 
@@ -102,14 +294,15 @@ public class  ArticleServiceTest {
     // Given
     String hashtagName = "IDoNotExist";
     Pageable pageable = Pageable.ofSize(20);
-    given(articleRepository.findByHashtagNames(List.of(hashtagName), pageable)).willReturn(new PageImpl<>(List.of(), pageable, 0));
+    given(articleRepository.findSliceByHashtagQuery(Set.of(hashtagName), Set.of(), Set.of(), pageable)).willReturn(new SliceImpl<>(List.of(), pageable, false));
 
     // When
-    Page<ArticleDto> articles = sut.searchArticlesViaHashtag(hashtagName, pageable);
+    Slice<ArticleDto> articles = sut.searchArticlesViaHashtag(hashtagName, pageable);
 
     // Then
-    assertThat(articles).isEqualTo(Page.empty(pageable));
-    then(articleRepository).should().findByHashtagNames(List.of(hashtagName), pageable);
+    assertThat(articles).isEqualTo(new SliceImpl<>(List.of(), pageable, false));
+    then(articleRepository).should().findSliceByHashtagQuery(Set.of(hashtagName), Set.of(), Set.of(), pageable);
+    then(articleRepository).should(never()).countByHashtagQuery(any(), any(), any());
   }
 
   @DisplayName("Return articles page when searching by hashtag")
@@ -119,24 +312,90 @@ public class  ArticleServiceTest {
     String hashtagName = "java";
     Pageable pageable = Pageable.ofSize(20);
     Article expectedArticle = createArticle();
-    given(articleRepository.findByHashtagNames(List.of(hashtagName), pageable)).willReturn(new PageImpl<>(List.of(expectedArticle), pageable, 1));
+    given(articleRepository.findSliceByHashtagQuery(Set.of(hashtagName), Set.of(), Set.of(), pageable)).willReturn(new SliceImpl<>(List.of(expectedArticle), pageable, false));
 
     // When
-    Page<ArticleDto> articles = sut.searchArticlesViaHashtag(hashtagName, pageable);
+    Slice<ArticleDto> articles = sut.searchArticlesViaHashtag(hashtagName, pageable);
 
     // Then
-    assertThat(articles).isEqualTo(new PageImpl<>(List.of(ArticleDto.from(expectedArticle)), pageable, 1));
-    then(articleRepository).should().findByHashtagNames(List.of(hashtagName), pageable);
+    assertThat(articles).isEqualTo(new SliceImpl<>(List.of(ArticleDto.from(expectedArticle)), pageable, false));
+    then(articleRepository).should().findSliceByHashtagQuery(Set.of(hashtagName), Set.of(), Set.of(), pageable);
+    then(articleRepository).should(never()).countByHashtagQuery(any(), any(), any());
   }
 
 
+  @DisplayName("Report a next page without counting when the hashtag search has more results")
+  @Test
+  void givenHashtagWithMoreResults_whenSearchingArticlesViaHashtag_thenReportsNextPageWithoutCounting() {
+    // Given
+    String hashtagName = "java";
+    Pageable pageable = Pageable.ofSize(1);
+    given(articleRepository.findSliceByHashtagQuery(Set.of(hashtagName), Set.of(), Set.of(), pageable))
+        .willReturn(new SliceImpl<>(List.of(createArticle()), pageable, true));
+
+    // When
+    Slice<ArticleDto> articles = sut.searchArticlesViaHashtag(hashtagName, pageable);
+
+    // Then
+    assertThat(articles.hasNext()).isTrue();
+    // no made-up total: without a count the result is only a Slice
+    assertThat(articles).isNotInstanceOf(Page.class);
+    then(articleRepository).should(never()).countByHashtagQuery(any(), any(), any());
+  }
+
+  @DisplayName("Return articles from the hashtag index in the order of the index when searching by hashtag query")
+  @Test
+  void givenHashtagQueryAndReadyIndex_whenSearchingArticles_thenReturnsArticlesFromIndex() {
+    // Given
+    String searchKeyword = "+java -spring";
+    Pageable pageable = Pageable.ofSize(20);
+    HashtagQuery query = HashtagQuery.of(Set.of(), Set.of("java"), Set.of("spring"));
+    ArticleSummaryProjection newer = createArticleSummary(2L);
+    ArticleSummaryProjection older = createArticleSummary(1L);
+    given(hashtagBitmapIndex.canSearch(pageable.getSort())).willReturn(true);
+    given(hashtagBitmapIndex.search(query, pageable)).willReturn(new PageImpl<>(List.of(2L, 1L), pageable, 2));
+    given(articleRepository.findSummariesById(List.of(2L, 1L))).willReturn(List.of(older, newer));
+
+    // When
+    Page<ArticleSummaryDto> articles = sut.searchArticles(SearchType.HASHTAG, searchKeyword, pageable);
+
+    // Then
+    assertThat(articles.getTotalElements()).isEqualTo(2);
+    assertThat(articles.getContent()).extracting(ArticleSummaryDto::id).containsExactly(2L, 1L);
+    then(articleRepository).should(never()).findSummaries(any(), any());
+    then(articleRepository).should(never()).findAllById(any());
+    // excluded hashtags were not what the user was looking for, so they don't count towards trending hashtags
+    then(eventPublisher).should().publishEvent(HashtagsUsedEvent.of(Set.of("java")));
+  }
+
+  @DisplayName("Count only once when searching the same keyword repeatedly with cached counts")
+  @Test
+  void givenCachedCountMode_whenSearchingArticlesTwice_thenCountsOnce() {
+    // Given
+    SearchType searchType = SearchType.NICKNAME;
+    String searchKeyword = "uno";
+    Pageable pageable = Pageable.ofSize(1);
+    given(articleRepository.findSummaries(ArticlePredicates.nicknameContains(searchKeyword), pageable))
+        .willReturn(new SliceImpl<>(List.of(createArticleSummary(1L)), pageable, true));
+    given(articleRepository.countByUserAccount_NicknameContaining(searchKeyword)).willReturn(5L);
+
+    // When
+    sut.searchArticles(searchType, searchKeyword, pageable, CountMode.CACHED);
+    Slice<ArticleSummaryDto> articles = sut.searchArticles(searchType, searchKeyword, pageable, CountMode.CACHED);
+
+    // Then
+    assertThat(articles).isInstanceOfSatisfying(Page.class, page -> assertThat(page.getTotalElements()).isEqualTo(5));
+    then(articleRepository).should(times(1)).countByUserAccount_NicknameContaining(searchKeyword);
+  }
+
   @DisplayName("Return article with comments when querying article id")
   @Test
   void givenArticleId_whenSearchingArticleWithComments_thenReturnsArticleWithComments() {
     // Given
     Long articleId = 1L;
     Article article = createArticle();
-    given(articleRepository.findById(articleId)).willReturn(Optional.of(article));
+    given(articleRepository.findWithUserAccountAndHashtagsById(articleId)).willReturn(Optional.of(article));
+    given(articleCommentService.getCommentThreads(articleId, null, 20, 3)).willReturn(CommentThreadPage.empty());
 
     // When
     ArticleWithCommentsDto dto = sut.getArticleWithComments(articleId);
@@ -147,8 +406,10 @@ public class  ArticleServiceTest {
         .hasFieldOrPropertyWithValue("content", article.getContent())
         .hasFieldOrPropertyWithValue("hashtagDtos", article.getHashtags().stream()
             .map(HashtagDto::from)
-            .collect(Collectors.toUnmodifiableSet()));
-    then(articleRepository).should().findById(articleId);
+            .collect(Collectors.toUnmodifiableSet()))
+        .hasFieldOrPropertyWithValue("commentCursor", null);
+    then(articleRepository).should().findWithUserAccountAndHashtagsById(articleId);
+    then(articleCommentService).should().getCommentThreads(articleId, null, 20, 3);
   }
 
   @DisplayName("Throw exception when a comment's article does not exist")
@@ -156,7 +417,7 @@ public class  ArticleServiceTest {
   void givenNonexistentArticleId_whenSearchingArticleWithComments_thenThrowsException() {
     // Given
     Long articleId = 0L;
-    given(articleRepository.findById(articleId)).willReturn(Optional.empty());
+    given(articleRepository.findWithUserAccountAndHashtagsById(articleId)).willReturn(Optional.empty());
 
     // When
     Throwable t = catchThrowable(() -> sut.getArticleWithComments(articleId));
@@ -165,7 +426,7 @@ public class  ArticleServiceTest {
     assertThat(t)
         .isInstanceOf(EntityNotFoundException.class)
         .hasMessage("Article does not exist - articleId: " + articleId);
-    then(articleRepository).should().findById(articleId);
+    then(articleRepository).should().findWithUserAccountAndHashtagsById(articleId);
   }
 
   @DisplayName("Return article when requesting article")
@@ -174,7 +435,7 @@ public class  ArticleServiceTest {
     // Given
     Long articleId = 1L;
     Article article = createArticle();
-    given(articleRepository.findById(articleId)).willReturn(Optional.of(article));
+    given(articleRepository.findWithUserAccountAndHashtagsById(articleId)).willReturn(Optional.of(article));
 
     // When
     ArticleDto dto = sut.getArticle(articleId);
@@ -187,7 +448,7 @@ public class  ArticleServiceTest {
             .map(HashtagDto::from)
             .collect(Collectors.toUnmodifiableSet())
         );
-    then(articleRepository).should().findById(articleId);
+    then(articleRepository).should().findWithUserAccountAndHashtagsById(articleId);
   }
 
   @DisplayName("Throw exception when article does not exist")
@@ -195,7 +456,7 @@ public class  ArticleServiceTest {
   void givenNonexistentArticleId_whenSearchingArticle_thenThrowsException() {
     // Given
     Long articleId = 0L;
-    given(articleRepository.findById(articleId)).willReturn(Optional.empty());
+    given(articleRepository.findWithUserAccountAndHashtagsById(articleId)).willReturn(Optional.empty());
 
     // When
     Throwable t = catchThrowable(() -> sut.getArticle(articleId));
@@ -204,7 +465,7 @@ public class  ArticleServiceTest {
     assertThat(t)
         .isInstanceOf(EntityNotFoundException.class)
         .hasMessage("Article does not exist - articleId: " + articleId);
-    then(articleRepository).should().findById(articleId);
+    then(articleRepository).should().findWithUserAccountAndHashtagsById(articleId);
   }
 
   @DisplayName("Extract hashtag data from content and create article with that data when article is created")
@@ -218,7 +479,7 @@ public class  ArticleServiceTest {
 
     given(userAccountRepository.getReferenceById(dto.userAccountDto().userId())).willReturn(createUserAccount());
     given(hashtagService.parseHashtagNames(dto.content())).willReturn(expectedHashtagNames);
-    given(hashtagService.findHashtagsByNames(expectedHashtagNames)).willReturn(expectedHashtags);
+    given(hashtagService.linkHashtags(expectedHashtagNames)).willReturn(expectedHashtags);
     given(articleRepository.save(any(Article.class))).willReturn(createArticle());
 
     // When
@@ -227,8 +488,10 @@ public class  ArticleServiceTest {
     // Then
     then(userAccountRepository).should().getReferenceById(dto.userAccountDto().userId());
      then(hashtagService).should().parseHashtagNames(dto.content());
-    then(hashtagService).should().findHashtagsByNames(expectedHashtagNames);
+    then(hashtagService).should().linkHashtags(expectedHashtagNames);
     then(articleRepository).should().save(any(Article.class));
+    then(eventPublisher).should().publishEvent(any(ArticleSavedEvent.class));
+    then(eventPublisher).should().publishEvent(HashtagsUsedEvent.of(expectedHashtagNames));
   }
 
   @DisplayName("Edit article when article ID and modified fields are provided")
@@ -239,13 +502,12 @@ public class  ArticleServiceTest {
     ArticleDto dto = createArticleDto("New Title", "New content #springboot");
     Set<String> expectedHashtagNames = Set.of("springboot");
     Set<Hashtag> expectedHashtags = new HashSet<>();
+    expectedHashtags.add(createHashtag(3L, "springboot"));
 
     given(articleRepository.getReferenceById(dto.id())).willReturn(article);
     given(userAccountRepository.getReferenceById(dto.userAccountDto().userId())).willReturn(dto.userAccountDto().toEntity());
-    willDoNothing().given(articleRepository).flush();
-    willDoNothing().given(hashtagService).deleteHashtagWithoutArticles(any());
     given(hashtagService.parseHashtagNames(dto.content())).willReturn(expectedHashtagNames);
-    given(hashtagService.findHashtagsByNames(expectedHashtagNames)).willReturn(expectedHashtags);
+    given(hashtagService.linkHashtags(expectedHashtagNames)).willReturn(expectedHashtags);
 
     // When
     sut.updateArticle(dto.id(), dto);
@@ -260,10 +522,68 @@ public class  ArticleServiceTest {
         .containsExactly("springboot");
     then(articleRepository).should().getReferenceById(dto.id());
     then(userAccountRepository).should().getReferenceById(dto.userAccountDto().userId());
-    then(articleRepository).should().flush();
-    then(hashtagService).should(times(2)).deleteHashtagWithoutArticles(any());
+    // new hashtags are already inserted by HashtagService, nothing to flush before counting them
+    then(articleRepository).should(never()).flush();
+    then(hashtagService).should().adjustArticleCount(Set.of(1L, 2L), -1);
+    // linking the added hashtags counts them as well
+    then(hashtagService).should(never()).adjustArticleCount(any(), eq(1L));
     then(hashtagService).should().parseHashtagNames(dto.content());
-    then(hashtagService).should().findHashtagsByNames(expectedHashtagNames);
+    then(hashtagService).should().linkHashtags(expectedHashtagNames);
+  }
+
+  @DisplayName("Leave hashtags untouched when updating article without changing its content")
+  @Test
+  void givenModifiedTitleOnly_whenUpdatingArticle_thenSkipsHashtagRelinking() {
+    // Given
+    Article article = createArticle();
+    String previousTitle = article.getTitle();
+    ArticleDto dto = createArticleDto("New Title", article.getContent());
+    given(articleRepository.getReferenceById(dto.id())).willReturn(article);
+    given(userAccountRepository.getReferenceById(dto.userAccountDto().userId())).willReturn(dto.userAccountDto().toEntity());
+
+    // When
+    sut.updateArticle(dto.id(), dto);
+
+    // Then
+    assertThat(article)
+        .hasFieldOrPropertyWithValue("title", dto.title())
+        .extracting("hashtags", as(InstanceOfAssertFactories.COLLECTION))
+        .hasSize(2);
+    then(articleRepository).should().getReferenceById(dto.id());
+    then(articleRepository).shouldHaveNoMoreInteractions();
+    then(hashtagService).shouldHaveNoInteractions();
+    then(eventPublisher).should().publishEvent(ArticleSavedEvent.of(
+        article.getId(), dto.title(), article.getContent(), Set.of("java", "spring"), Set.of(),
+        previousTitle, article.getContent()));
+  }
+
+  @DisplayName("Only unlink removed hashtags and link added hashtags when updating article content")
+  @Test
+  void givenContentWithOneHashtagReplaced_whenUpdatingArticle_thenRelinksChangedHashtagsOnly() {
+    // Given
+    Article article = createArticle();
+    ArticleDto dto = createArticleDto("title", "content #java #jpa");
+    Set<String> parsedHashtagNames = Set.of("java", "jpa");
+    Hashtag existingHashtag = createHashtag(3L, "jpa");
+    given(articleRepository.getReferenceById(dto.id())).willReturn(article);
+    given(userAccountRepository.getReferenceById(dto.userAccountDto().userId())).willReturn(dto.userAccountDto().toEntity());
+    given(hashtagService.parseHashtagNames(dto.content())).willReturn(parsedHashtagNames);
+    given(hashtagService.linkHashtags(Set.of("jpa"))).willReturn(Set.of(existingHashtag));
+
+    // When
+    sut.updateArticle(dto.id(), dto);
+
+    // Then
+    assertThat(article)
+        .extracting("hashtags", as(InstanceOfAssertFactories.COLLECTION))
+        .extracting("hashtagName")
+        .containsExactlyInAnyOrder("java", "jpa");
+    then(hashtagService).should().adjustArticleCount(Set.of(2L), -1);
+    then(hashtagService).should().linkHashtags(Set.of("jpa"));
+    then(eventPublisher).should().publishEvent(ArticleSavedEvent.of(
+        article.getId(), "title", "content #java #jpa", Set.of("java", "jpa"), Set.of("spring"), "title", "content"));
+    // every added hashtag already has an id, so nothing has to be flushed
+    then(articleRepository).should(never()).flush();
   }
 
   @DisplayName("Log warning when attempting to update nonexistent article")
@@ -309,19 +629,23 @@ public class  ArticleServiceTest {
     // Given
     Long articleId = 1L;
     String userId = "uno";
-    given(articleRepository.getReferenceById(articleId)).willReturn(createArticle());
-    willDoNothing().given(articleRepository).deleteByIdAndUserAccount_UserId(articleId, userId);
-    willDoNothing().given(articleRepository).flush();
-    willDoNothing().given(hashtagService).deleteHashtagWithoutArticles(any());
+    Article article = createArticle();
+    given(articleRepository.getReferenceById(articleId)).willReturn(article);
+    given(articleRepository.deleteByIdAndUserAccount_UserId(articleId, userId)).willReturn(1L);
 
     // When
     sut.deleteArticle(1L, userId);
 
     // Then
     then(articleRepository).should().getReferenceById(articleId);
+    then(articleCommentService).should().deleteArticleComments(articleId);
     then(articleRepository).should().deleteByIdAndUserAccount_UserId(articleId, userId);
-    then(articleRepository).should().flush();
-    then(hashtagService).should(times(2)).deleteHashtagWithoutArticles(any());
+    // orphaned hashtags are left to OrphanHashtagSweeper
+    then(hashtagService).should().adjustArticleCount(Set.of(1L, 2L), -1);
+    then(hashtagService).shouldHaveNoMoreInteractions();
+    // along with its text and hashtags, so that the indexes can unlink them
+    then(eventPublisher).should().publishEvent(ArticleDeletedEvent.of(
+        articleId, article.getTitle(), article.getContent(), Set.of("java", "spring")));
   }
 
   @DisplayName("Return number of articles when querying number of articles")
@@ -339,22 +663,6 @@ public class  ArticleServiceTest {
     then(articleRepository).should().count();
   }
 
-  @DisplayName("Return list of unique hashtags upon request")
-  @Test
-  void givenNothing_whenCalling_thenReturnsHashtags() {
-    // Given
-    Article article = createArticle();
-    List<String> expectedHashtags = List.of("java", "spring", "boot");
-    given(hashtagRepository.findAllHashtagNames()).willReturn(expectedHashtags);
-
-    // When
-    List<String> actualHashtags = sut.getHashtags();
-
-    // Then
-    assertThat(actualHashtags).isEqualTo(expectedHashtags);
-    then(hashtagRepository).should().findAllHashtagNames();
-  }
-
   private UserAccount createUserAccount() {
     return createUserAccount("uno");
   }
@@ -388,6 +696,28 @@ public class  ArticleServiceTest {
     return article;
   }
 
+  private ArticleSummaryProjection createArticleSummary(Long id) {
+    return createArticleSummary(id, LocalDateTime.now());
+  }
+
+  private ArticleSummaryProjection createArticleSummary(Long id, LocalDateTime createdAt) {
+    return new ArticleSummaryProjection(id, "title", createdAt, "uno", "uno@mail.com", "Uno");
+  }
+
+  private ArticleHashtagProjection createArticleHashtagProjection(Long articleId, String hashtagName) {
+    return new ArticleHashtagProjection() {
+      @Override
+      public Long getArticleId() {
+        return articleId;
+      }
+
+      @Override
+      public String getHashtagName() {
+        return hashtagName;
+      }
+    };
+  }
+
   private Hashtag createHashtag(String hashtagName) {
     return createHashtag(1L, hashtagName);
   }
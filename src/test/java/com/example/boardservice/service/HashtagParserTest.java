@@ -0,0 +1,107 @@
+package com.example.boardservice.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+@DisplayName("Business logic - hashtag parsing")
+class HashtagParserTest {
+
+  @DisplayName("Parse article content and return list of unique hashtags")
+  // one way of passing data to parameterized tests(in this case, use method)
+  @MethodSource
+  // parameterize test and specify what to log(print index and content of each test data)
+  @ParameterizedTest(name = "[{index}] \"{0}\" => {1}")
+  void givenContent_whenParsing_thenReturnsUniqueHashtags(String input, Set<String> expected) {
+    // Given
+    // When
+    Set<String> actual = HashtagParser.parse(input);
+    // Then
+    assertThat(actual).containsExactlyInAnyOrderElementsOf(expected);
+  }
+
+  // method with same name as parameterized test to be used to feed data(read junit docs)
+  static Stream<Arguments> givenContent_whenParsing_thenReturnsUniqueHashtags() {
+    return Stream.of(
+        arguments(null, Set.of()),
+        arguments("", Set.of()),
+        arguments("   ", Set.of()),
+        arguments("#", Set.of()),
+        arguments("  #", Set.of()),
+        arguments("#   ", Set.of()),
+        arguments("java", Set.of()),
+        arguments("java#", Set.of()),
+        arguments("ja#va", Set.of("va")),
+        arguments("#java", Set.of("java")),
+        arguments("#java_spring", Set.of("java_spring")),
+        arguments("#java-spring", Set.of("java")),
+        arguments("#_java_spring", Set.of("_java_spring")),
+        arguments("#-java-spring", Set.of()),
+        arguments("#_java_spring__", Set.of("_java_spring__")),
+        arguments("#java#spring", Set.of("java", "spring")),
+        arguments("#java #spring", Set.of("java", "spring")),
+        arguments("#java  #spring", Set.of("java", "spring")),
+        arguments("#java   #spring", Set.of("java", "spring")),
+        arguments("#java     #spring", Set.of("java", "spring")),
+        arguments("  #java     #spring ", Set.of("java", "spring")),
+        arguments("   #java     #spring   ", Set.of("java", "spring")),
+        arguments("#java#spring#부트", Set.of("java", "spring", "부트")),
+        arguments("#java #spring#부트", Set.of("java", "spring", "부트")),
+        arguments("#java#spring #부트", Set.of("java", "spring", "부트")),
+        arguments("#java,#spring,#부트", Set.of("java", "spring", "부트")),
+        arguments("#java.#spring;#부트", Set.of("java", "spring", "부트")),
+        arguments("#java|#spring:#부트", Set.of("java", "spring", "부트")),
+        arguments("#java #spring  #부트", Set.of("java", "spring", "부트")),
+        arguments("   #java,? #spring  ...  #부트 ", Set.of("java", "spring", "부트")),
+        arguments("#java#java#spring#부트", Set.of("java", "spring", "부트")),
+        arguments("#java#java#java#spring#부트", Set.of("java", "spring", "부트")),
+        arguments("#java#spring#java#부트#java", Set.of("java", "spring", "부트")),
+        arguments("#java#스프링 아주 긴 글~~~~~~~~~~~~~~~~~~~~~", Set.of("java", "스프링")),
+        arguments("아주 긴 글~~~~~~~~~~~~~~~~~~~~~#java#스프링", Set.of("java", "스프링")),
+        arguments("아주 긴 글~~~~~~#java#스프링~~~~~~~~~~~~~~~", Set.of("java", "스프링")),
+        arguments("아주 긴 글~~~~~~#java~~~~~~~#스프링~~~~~~~~", Set.of("java", "스프링")),
+        arguments("##java", Set.of("java")),
+        arguments("#JAVA #Java", Set.of("JAVA", "Java")),
+        arguments("#java2023 #ㅋㅋ #é", Set.of("java2023"))
+    );
+  }
+
+  @DisplayName("Parse the same hashtags as the regular expression it replaced")
+  @Test
+  void givenRandomContent_whenParsing_thenMatchesRegularExpression() {
+    // Given
+    Pattern pattern = Pattern.compile("#[\\w가-힣]+");
+    char[] alphabet = {'#', '#', 'a', 'Z', '0', '_', '-', ' ', '가', '힣', 'ㄱ', 'é', '\n'};
+    Random random = new Random(42);
+
+    for (int i = 0; i < 1_000; i++) {
+      StringBuilder content = new StringBuilder();
+      for (int j = random.nextInt(50); j > 0; j--) {
+        content.append(alphabet[random.nextInt(alphabet.length)]);
+      }
+      Set<String> expected = new HashSet<>();
+      Matcher matcher = pattern.matcher(content);
+      while (matcher.find()) {
+        expected.add(matcher.group().substring(1));
+      }
+
+      // When
+      Set<String> actual = HashtagParser.parse(content.toString());
+
+      // Then
+      assertThat(actual).as("content: %s", content).containsExactlyInAnyOrderElementsOf(expected);
+    }
+  }
+}
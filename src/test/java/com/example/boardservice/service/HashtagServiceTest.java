@@ -1,25 +1,30 @@
 package com.example.boardservice.service;
 
+import com.example.boardservice.cache.HashtagDictionary;
+import com.example.boardservice.cache.HashtagDirectory;
 import com.example.boardservice.domain.Hashtag;
+import com.example.boardservice.event.HashtagArticleCountAdjustedEvent;
+import com.example.boardservice.event.HashtagsUnlinkedEvent;
+import com.example.boardservice.index.HashtagFuzzyIndex;
 import com.example.boardservice.repository.HashtagRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.junit.jupiter.params.ParameterizedTest;
-import org.junit.jupiter.params.provider.Arguments;
-import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
-import static org.junit.jupiter.params.provider.Arguments.arguments;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.never;
 import static org.mockito.BDDMockito.then;
 
 @DisplayName("Business logic - Hashtags")
@@ -32,62 +37,20 @@ class HashtagServiceTest {
     @Mock
     private HashtagRepository hashtagRepository;
 
-    @DisplayName("Parse article content and return list of unique hashtags")
-    // one way of passing data to parameterized tests(in this case, use method)
-    @MethodSource
-    // parameterize test and specify what to log(print index and content of each test data)
-    @ParameterizedTest(name = "[{index}] \"{0}\" => {1}")
-    void givenContent_whenParsing_thenReturnsUniqueHashtags(String input, Set<String> expected) {
-        // g
-        // w
-        Set<String> actual = sut.parseHashtagNames(input);
-        // t
-        assertThat(actual).containsExactlyInAnyOrderElementsOf(expected);
-        then(hashtagRepository).shouldHaveNoInteractions();
-    }
+    @Mock
+    private HashtagDictionary hashtagDictionary;
 
-    // method with same name as parameterized test to be used to feed data(read junit docs)
-    static Stream<Arguments> givenContent_whenParsing_thenReturnsUniqueHashtags() {
-        return Stream.of(
-                arguments(null, Set.of()),
-                arguments("", Set.of()),
-                arguments("   ", Set.of()),
-                arguments("#", Set.of()),
-                arguments("  #", Set.of()),
-                arguments("#   ", Set.of()),
-                arguments("java", Set.of()),
-                arguments("java#", Set.of()),
-                arguments("ja#va", Set.of("va")),
-                arguments("#java", Set.of("java")),
-                arguments("#java_spring", Set.of("java_spring")),
-                arguments("#java-spring", Set.of("java")),
-                arguments("#_java_spring", Set.of("_java_spring")),
-                arguments("#-java-spring", Set.of()),
-                arguments("#_java_spring__", Set.of("_java_spring__")),
-                arguments("#java#spring", Set.of("java", "spring")),
-                arguments("#java #spring", Set.of("java", "spring")),
-                arguments("#java  #spring", Set.of("java", "spring")),
-                arguments("#java   #spring", Set.of("java", "spring")),
-                arguments("#java     #spring", Set.of("java", "spring")),
-                arguments("  #java     #spring ", Set.of("java", "spring")),
-                arguments("   #java     #spring   ", Set.of("java", "spring")),
-                arguments("#java#spring#부트", Set.of("java", "spring", "부트")),
-                arguments("#java #spring#부트", Set.of("java", "spring", "부트")),
-                arguments("#java#spring #부트", Set.of("java", "spring", "부트")),
-                arguments("#java,#spring,#부트", Set.of("java", "spring", "부트")),
-                arguments("#java.#spring;#부트", Set.of("java", "spring", "부트")),
-                arguments("#java|#spring:#부트", Set.of("java", "spring", "부트")),
-                arguments("#java #spring  #부트", Set.of("java", "spring", "부트")),
-                arguments("   #java,? #spring  ...  #부트 ", Set.of("java", "spring", "부트")),
-                arguments("#java#java#spring#부트", Set.of("java", "spring", "부트")),
-                arguments("#java#java#java#spring#부트", Set.of("java", "spring", "부트")),
-                arguments("#java#spring#java#부트#java", Set.of("java", "spring", "부트")),
-                arguments("#java#스프링 아주 긴 글~~~~~~~~~~~~~~~~~~~~~", Set.of("java", "스프링")),
-                arguments("아주 긴 글~~~~~~~~~~~~~~~~~~~~~#java#스프링", Set.of("java", "스프링")),
-                arguments("아주 긴 글~~~~~~#java#스프링~~~~~~~~~~~~~~~", Set.of("java", "스프링")),
-                arguments("아주 긴 글~~~~~~#java~~~~~~~#스프링~~~~~~~~", Set.of("java", "스프링"))
-        );
-    }
+    @Mock
+    private HashtagDirectory hashtagDirectory;
+
+    @Mock
+    private HashtagFuzzyIndex hashtagFuzzyIndex;
+
+    @Mock
+    private HashtagUpsertService hashtagUpsertService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @DisplayName("When given hashtags, return unique list of saved hashtags.")
     @Test
@@ -107,4 +70,101 @@ class HashtagServiceTest {
         then(hashtagRepository).should().findByHashtagNameIn(hashtagNames);
     }
 
-}
\ No newline at end of file
+    @DisplayName("Link known hashtags by dictionary id, look up the rest by name and create new ones")
+    @Test
+    void givenHashtagNames_whenLinkingHashtags_thenQueriesOnlyUnknownNamesAndCountsEveryHashtag() {
+        // Given
+        Set<String> hashtagNames = Set.of("java", "spring", "boots");
+        Hashtag java = createHashtag(1L, "java");
+        Hashtag spring = createHashtag(2L, "spring");
+        Hashtag boots = createHashtag(3L, "boots");
+        given(hashtagDictionary.findIds(hashtagNames)).willReturn(Map.of("java", 1L));
+        given(hashtagRepository.adjustArticleCount(Set.of(1L), 1)).willReturn(1);
+        given(hashtagRepository.findByHashtagNameIn(Set.of("spring", "boots"))).willReturn(List.of(spring));
+        given(hashtagRepository.adjustArticleCount(Set.of(2L), 1)).willReturn(1);
+        given(hashtagUpsertService.getOrCreateIds(Set.of("boots"))).willReturn(Map.of("boots", 3L));
+        given(hashtagRepository.adjustArticleCount(Set.of(3L), 1)).willReturn(1);
+        given(hashtagRepository.getReferenceById(1L)).willReturn(java);
+        given(hashtagRepository.getReferenceById(2L)).willReturn(spring);
+        given(hashtagRepository.getReferenceById(3L)).willReturn(boots);
+
+        // When
+        Set<Hashtag> hashtags = sut.linkHashtags(hashtagNames);
+
+        // Then
+        assertThat(hashtags).containsExactlyInAnyOrder(java, spring, boots);
+        then(hashtagDictionary).should().put("spring", 2L);
+        // created by this transaction, the dictionary is told once it commits
+        then(hashtagDictionary).should(never()).put("boots", 3L);
+        then(eventPublisher).should().publishEvent(HashtagArticleCountAdjustedEvent.of(Set.of(1L, 2L, 3L), 1));
+    }
+
+    @DisplayName("Link hashtags without reading them when every name is in the dictionary")
+    @Test
+    void givenKnownHashtagNames_whenLinkingHashtags_thenOnlyUpdatesCounters() {
+        // Given
+        Set<String> hashtagNames = Set.of("java");
+        given(hashtagDictionary.findIds(hashtagNames)).willReturn(Map.of("java", 1L));
+        given(hashtagRepository.adjustArticleCount(Set.of(1L), 1)).willReturn(1);
+        given(hashtagRepository.getReferenceById(1L)).willReturn(createHashtag(1L, "java"));
+
+        // When
+        Set<Hashtag> hashtags = sut.linkHashtags(hashtagNames);
+
+        // Then
+        assertThat(hashtags).hasSize(1);
+        then(hashtagRepository).should(never()).findIdsByIdIn(any());
+        then(hashtagRepository).should(never()).findByHashtagNameIn(any());
+        then(hashtagUpsertService).shouldHaveNoInteractions();
+        then(hashtagDictionary).should(never()).evict(any());
+    }
+
+    @DisplayName("Evict a dictionary entry whose hashtag was deleted and resolve its name again")
+    @Test
+    void givenStaleDictionaryEntry_whenLinkingHashtags_thenEvictsAndResolvesNameAgain() {
+        // Given
+        // "java" was deleted by another node, which couldn't evict it here, the counter update doesn't find it
+        Set<String> hashtagNames = Set.of("java", "spring");
+        Hashtag java = createHashtag(3L, "java");
+        Hashtag spring = createHashtag(2L, "spring");
+        given(hashtagDictionary.findIds(hashtagNames)).willReturn(Map.of("java", 1L, "spring", 2L));
+        given(hashtagRepository.adjustArticleCount(Set.of(1L, 2L), 1)).willReturn(1);
+        given(hashtagRepository.findIdsByIdIn(Set.of(1L, 2L))).willReturn(Set.of(2L));
+        given(hashtagRepository.findByHashtagNameIn(Set.of("java"))).willReturn(List.of());
+        given(hashtagUpsertService.getOrCreateIds(Set.of("java"))).willReturn(Map.of("java", 3L));
+        given(hashtagRepository.adjustArticleCount(Set.of(3L), 1)).willReturn(1);
+        given(hashtagRepository.getReferenceById(2L)).willReturn(spring);
+        given(hashtagRepository.getReferenceById(3L)).willReturn(java);
+
+        // When
+        Set<Hashtag> hashtags = sut.linkHashtags(hashtagNames);
+
+        // Then
+        assertThat(hashtags).containsExactlyInAnyOrder(java, spring);
+        then(hashtagDictionary).should().evict("java");
+        then(hashtagDictionary).should(never()).evict("spring");
+        then(hashtagRepository).should(never()).getReferenceById(1L);
+    }
+
+    @DisplayName("Announce unlinked hashtags to the orphan sweeper when decreasing article counters")
+    @Test
+    void givenHashtagIds_whenDecreasingArticleCount_thenAdjustsCountersAndPublishesEvent() {
+        // Given
+        Set<Long> hashtagIds = Set.of(1L, 2L);
+
+        // When
+        sut.adjustArticleCount(hashtagIds, -1);
+
+        // Then
+        then(hashtagRepository).should().adjustArticleCount(hashtagIds, -1);
+        then(eventPublisher).should().publishEvent(HashtagArticleCountAdjustedEvent.of(hashtagIds, -1));
+        then(eventPublisher).should().publishEvent(HashtagsUnlinkedEvent.of(hashtagIds));
+    }
+
+    private Hashtag createHashtag(Long id, String hashtagName) {
+        Hashtag hashtag = Hashtag.of(hashtagName);
+        ReflectionTestUtils.setField(hashtag, "id", id);
+
+        return hashtag;
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.boardservice.service;
+
+import com.example.boardservice.cache.HashtagDictionary;
+import com.example.boardservice.cache.HashtagDirectory;
+import com.example.boardservice.domain.Hashtag;
+import com.example.boardservice.dto.ArticleDto;
+import com.example.boardservice.dto.UserAccountDto;
+import com.example.boardservice.index.ArticleSearchIndex;
+import com.example.boardservice.index.HashtagBitmapIndex;
+import com.example.boardservice.index.HashtagFuzzyIndex;
+import com.example.boardservice.repository.ArticleRepository;
+import com.example.boardservice.repository.HashtagRepository;
+import com.example.boardservice.repository.UserAccountRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// many users posting the same brand-new hashtags at the same moment, every post has to go through
+// the test runs outside of a test transaction, every post commits like it would in production
+// (the database is private to this test: the hashtags and articles it commits don't leak into other tests)
+@DisplayName("Business logic - concurrent hashtag creation")
+@Import({
+    HashtagUpsertConcurrencyTest.TestConfig.class,
+    ArticleService.class,
+    ArticleCommentService.class,
+    HashtagService.class,
+    HashtagUpsertService.class,
+    ArticleCountService.class,
+    ArticleSearchIndex.class,
+    HashtagBitmapIndex.class,
+    HashtagDictionary.class,
+    HashtagDirectory.class,
+    HashtagFuzzyIndex.class
+})
+// posts wait on each other's hashtag counter updates, give them more than h2's default lock timeout of 1 second
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:hashtag-upsert;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class HashtagUpsertConcurrencyTest {
+
+  private static final int THREADS = 8;
+  private static final int POSTS_PER_THREAD = 20;
+  private static final Set<String> NEW_HASHTAGS = Set.of("race", "condition", "동시성", "upsert", "unique");
+
+  @Autowired private ArticleService articleService;
+  @Autowired private ArticleRepository articleRepository;
+  @Autowired private HashtagRepository hashtagRepository;
+  @Autowired private UserAccountRepository userAccountRepository;
+
+  @DisplayName("Posting the same new hashtags from many threads at once creates each hashtag exactly once")
+  @Test
+  void givenSameNewHashtags_whenPostingConcurrently_thenEveryPostSucceeds() throws Exception {
+    // Given
+    UserAccountDto userAccountDto = UserAccountDto.from(userAccountRepository.findById("uno").orElseThrow());
+    String content = "content #" + String.join(" #", NEW_HASHTAGS);
+    long articleCount = articleRepository.count();
+    assertThat(hashtagRepository.findByHashtagNameIn(NEW_HASHTAGS)).isEmpty();
+
+    // When
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Void>> posts = new ArrayList<>();
+    try {
+      for (int thread = 0; thread < THREADS; thread++) {
+        posts.add(executor.submit((Callable<Void>) () -> {
+          start.await();
+          for (int post = 0; post < POSTS_PER_THREAD; post++) {
+            articleService.saveArticle(ArticleDto.of(userAccountDto, "title", content, null));
+          }
+          return null;
+        }));
+      }
+      start.countDown();
+      // rethrows the exception of a failed post
+      for (Future<Void> post : posts) {
+        post.get(1, TimeUnit.MINUTES);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    // Then
+    List<Hashtag> hashtags = hashtagRepository.findByHashtagNameIn(NEW_HASHTAGS);
+    assertThat(hashtags)
+        .extracting(Hashtag::getHashtagName)
+        .containsExactlyInAnyOrderElementsOf(NEW_HASHTAGS);
+    assertThat(hashtags)
+        .extracting(Hashtag::getArticleCount)
+        .containsOnly((long) THREADS * POSTS_PER_THREAD);
+    assertThat(articleRepository.count()).isEqualTo(articleCount + THREADS * POSTS_PER_THREAD);
+  }
+
+  @EnableJpaAuditing
+  @TestConfiguration
+  static class TestConfig {
+    @Bean
+    public AuditorAware<String> auditorAware() {
+      return () -> Optional.of("uno");
+    }
+
+    @Bean
+    public MeterRegistry meterRegistry() {
+      return new SimpleMeterRegistry();
+    }
+  }
+}
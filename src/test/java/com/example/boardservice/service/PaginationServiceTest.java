@@ -1,5 +1,7 @@
 package com.example.boardservice.service;
 
+import com.example.boardservice.dto.CursorPage;
+import com.example.boardservice.dto.response.CursorPaginationBar;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -52,6 +54,17 @@ class PaginationServiceTest {
     );
   }
 
+  @DisplayName("Given a keyset page, return a bar linking to its neighbouring pages")
+  @Test
+  void givenCursorPage_whenCalculating_thenReturnsCursorPaginationBar() {
+    // g
+    CursorPage<String> page = CursorPage.of(List.of("article"), null, "next-cursor");
+    // w
+    CursorPaginationBar bar = sut.getCursorPaginationBar(page);
+    // t
+    assertThat(bar).isEqualTo(new CursorPaginationBar(false, null, true, "next-cursor"));
+  }
+
   @DisplayName("Return currently configured pagination bar length")
   @Test
   void givenNothing_whenCalling_thenReturnsCurrentBarLength() {
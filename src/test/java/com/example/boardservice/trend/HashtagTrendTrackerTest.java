@@ -0,0 +1,151 @@
+package com.example.boardservice.trend;
+
+import com.example.boardservice.domain.constant.TrendWindow;
+import com.example.boardservice.dto.TrendingHashtagDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Trend - trending hashtags")
+class HashtagTrendTrackerTest {
+
+  private final AtomicLong now = new AtomicLong(Duration.ofDays(365).toMillis());
+
+  private HashtagTrendTracker sut;
+
+  @BeforeEach
+  void setUp() {
+    // no snapshot reuse, so that every query sees the uses recorded right before it
+    sut = new HashtagTrendTracker(new SimpleMeterRegistry(), now::get, 1024, 4, 8, 4, 0);
+  }
+
+  @DisplayName("Rank hashtags by how often they were used")
+  @Test
+  void givenHashtagUses_whenQueryingTrendingHashtags_thenReturnsMostUsedFirst() {
+    // Given
+    sut.record(Collections.nCopies(5, "spring"));
+    sut.record(Collections.nCopies(3, "java"));
+    sut.record(List.of("jpa"));
+
+    // When
+    List<TrendingHashtagDto> trendingHashtags = sut.getTrendingHashtags(TrendWindow.HOUR, 2);
+
+    // Then
+    assertThat(trendingHashtags).containsExactly(
+        TrendingHashtagDto.of("spring", 5L),
+        TrendingHashtagDto.of("java", 3L)
+    );
+  }
+
+  @DisplayName("Forget hashtag uses once they slide out of the window")
+  @Test
+  void givenOldHashtagUses_whenQueryingTrendingHashtags_thenOnlyCountsUsesInsideWindow() {
+    // Given
+    sut.record(Collections.nCopies(5, "spring"));
+    now.addAndGet(Duration.ofHours(2).toMillis());
+    sut.record(Collections.nCopies(2, "java"));
+
+    // When & Then
+    assertThat(sut.getTrendingHashtags(TrendWindow.HOUR, 10)).containsExactly(TrendingHashtagDto.of("java", 2L));
+    assertThat(sut.getTrendingHashtags(TrendWindow.DAY, 10)).containsExactly(
+        TrendingHashtagDto.of("spring", 5L),
+        TrendingHashtagDto.of("java", 2L)
+    );
+    now.addAndGet(Duration.ofDays(8).toMillis());
+    assertThat(sut.getTrendingHashtags(TrendWindow.WEEK, 10)).isEmpty();
+  }
+
+  @DisplayName("Let a newly popular hashtag replace the least used candidate when candidates are full")
+  @Test
+  void givenMoreHashtagsThanCandidates_whenNewHashtagBecomesPopular_thenItIsRanked() {
+    // Given
+    for (int i = 0; i < 8; i++) {
+      sut.record(List.of("tag" + i));
+    }
+
+    // When
+    sut.record(Collections.nCopies(3, "newcomer"));
+
+    // Then
+    List<TrendingHashtagDto> trendingHashtags = sut.getTrendingHashtags(TrendWindow.DAY, 100);
+    assertThat(trendingHashtags).hasSize(8);
+    assertThat(trendingHashtags.get(0)).isEqualTo(TrendingHashtagDto.of("newcomer", 3L));
+  }
+
+  @DisplayName("Count every hashtag use recorded from many threads at once")
+  @Test
+  void givenManyThreads_whenRecording_thenCountsEveryUse() throws Exception {
+    // Given
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    List<Future<?>> futures = new ArrayList<>();
+
+    // When
+    try {
+      for (int thread = 0; thread < 8; thread++) {
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 1_000; i++) {
+            sut.record(List.of("spring", "java"));
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    // Then
+    assertThat(sut.getTrendingHashtags(TrendWindow.HOUR, 10)).containsExactly(
+        TrendingHashtagDto.of("java", 8_000L),
+        TrendingHashtagDto.of("spring", 8_000L)
+    );
+  }
+
+  @DisplayName("Serve the same ranking snapshot until it expires")
+  @Test
+  void givenSnapshotTtl_whenQueryingTrendingHashtagsAgain_thenReusesSnapshotUntilItExpires() {
+    // Given
+    HashtagTrendTracker tracker = new HashtagTrendTracker(new SimpleMeterRegistry(), now::get, 1024, 4, 8, 4, 1_000);
+    tracker.record(List.of("spring"));
+    List<TrendingHashtagDto> snapshot = tracker.getTrendingHashtags(TrendWindow.HOUR, 10);
+    tracker.record(List.of("java"));
+
+    // When & Then
+    assertThat(tracker.getTrendingHashtags(TrendWindow.HOUR, 10)).isEqualTo(snapshot);
+    now.addAndGet(1_000);
+    assertThat(tracker.getTrendingHashtags(TrendWindow.HOUR, 10)).containsExactly(
+        TrendingHashtagDto.of("java", 1L),
+        TrendingHashtagDto.of("spring", 1L)
+    );
+  }
+
+  @DisplayName("Never underestimate counts even when far more hashtags than counters are used")
+  @Test
+  void givenManyDistinctHashtags_whenEstimating_thenCountsAreNeverTooLow() {
+    // Given
+    CountMinSketch sketch = new CountMinSketch(64, 4);
+    for (int i = 0; i < 1_000; i++) {
+      for (int j = 0; j <= i % 7; j++) {
+        sketch.add("tag" + i);
+      }
+    }
+
+    // When & Then
+    for (int i = 0; i < 1_000; i++) {
+      assertThat(sketch.estimate("tag" + i)).isGreaterThanOrEqualTo(i % 7 + 1);
+    }
+  }
+}